@@ -42,4 +42,11 @@ public @interface ActorOf {
 	 */
 	@Nonbinding
 	Class<? extends Actor> value() default NoActor.class;
+
+	/**
+	 * @return True if {@link Idempotent} asks to the injected actor, which should be a router, can
+	 *         be hedged (only when hedging is enabled in configuration)
+	 */
+	@Nonbinding
+	boolean hedged() default false;
 }
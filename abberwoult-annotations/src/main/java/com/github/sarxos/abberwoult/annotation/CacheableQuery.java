@@ -0,0 +1,28 @@
+package com.github.sarxos.abberwoult.annotation;
+
+import static java.lang.annotation.ElementType.TYPE;
+import static java.lang.annotation.RetentionPolicy.RUNTIME;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.Retention;
+import java.lang.annotation.Target;
+
+
+/**
+ * Marks the read query message which reply depends only on the message itself and the state of
+ * the asked actor, so concurrent asks with equal messages can share a single reply. The annotated
+ * message must implement {@link Object#equals(Object)} and {@link Object#hashCode()}.
+ *
+ * @author Bartosz Firyn (sarxos)
+ */
+@Documented
+@Target(TYPE)
+@Retention(RUNTIME)
+public @interface CacheableQuery {
+
+	/**
+	 * @return The time in milliseconds for which the reply is reused after it has been received,
+	 *         zero to share reply only between asks which are in flight at the same time
+	 */
+	long ttl() default 0;
+}
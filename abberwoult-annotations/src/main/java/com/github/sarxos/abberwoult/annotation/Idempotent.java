@@ -0,0 +1,23 @@
+package com.github.sarxos.abberwoult.annotation;
+
+import static java.lang.annotation.ElementType.TYPE;
+import static java.lang.annotation.RetentionPolicy.RUNTIME;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.Retention;
+import java.lang.annotation.Target;
+
+
+/**
+ * Marks the message which can be handled many times with the same effect as if it was handled
+ * once, e.g. a read query. Only such messages can be hedged, i.e. a second copy of the message can
+ * be asked when the first one is not answered fast enough.
+ *
+ * @author Bartosz Firyn (sarxos)
+ */
+@Documented
+@Target(TYPE)
+@Retention(RUNTIME)
+public @interface Idempotent {
+
+}
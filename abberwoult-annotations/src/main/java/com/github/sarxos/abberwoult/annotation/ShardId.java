@@ -20,4 +20,13 @@ import java.lang.annotation.Target;
 @Retention(RUNTIME)
 public @interface ShardId {
 
+	/**
+	 * The name of the shard ID strategy used to map shard ID of the annotated message into the
+	 * shard. It's either one of the built-in strategies, i.e. {@code modulo}, {@code jump} or
+	 * {@code murmur3}, or the name of the strategy class. When empty, the strategy of the sharding
+	 * is used.
+	 *
+	 * @return The shard ID strategy name
+	 */
+	String strategy() default "";
 }
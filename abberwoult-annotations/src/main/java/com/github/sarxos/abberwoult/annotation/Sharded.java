@@ -27,4 +27,47 @@ public @interface Sharded {
 	 * @return True if sharding should be automatically started
 	 */
 	boolean autostart() default true;
+
+	/**
+	 * The name of the shard ID strategy used by the sharding for messages which do not select
+	 * strategy in {@link ShardId#strategy()}. It's either one of the built-in strategies, i.e.
+	 * {@code modulo}, {@code jump} or {@code murmur3}, or the name of the strategy class. When
+	 * empty, the globally configured strategy is used.
+	 *
+	 * @return The shard ID strategy name
+	 */
+	String strategy() default "";
+
+	/**
+	 * The number of shards in the sharding. When zero, the globally configured cardinality is used.
+	 * Can be overridden with {@code akka.cluster.sharding.region.[name].shards} property.
+	 *
+	 * @return The number of shards
+	 */
+	int shards() default 0;
+
+	/**
+	 * The cluster role of the nodes which host the sharded entities. When empty, entities are hosted
+	 * on all nodes. Can be overridden with {@code akka.cluster.sharding.region.[name].role} property.
+	 *
+	 * @return The cluster role
+	 */
+	String role() default "";
+
+	/**
+	 * Tells if entities should be automatically restarted after shard is rebalanced or crashed. Can
+	 * be overridden with {@code akka.cluster.sharding.region.[name].remember-entities} property.
+	 *
+	 * @return True if entities should be remembered
+	 */
+	boolean rememberEntities() default false;
+
+	/**
+	 * The number of seconds after which idle entity is passivated. Zero disables passivation and
+	 * negative value means that Akka default is used. Can be overridden with
+	 * {@code akka.cluster.sharding.region.[name].passivate-idle-after} property.
+	 *
+	 * @return The passivation idle time in seconds
+	 */
+	long passivateIdleAfter() default -1;
 }
@@ -0,0 +1,87 @@
+package com.github.sarxos.abberwoult.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.github.sarxos.abberwoult.AskMultiplexer;
+import com.github.sarxos.abberwoult.AskOptions;
+import com.github.sarxos.abberwoult.AskableActorRef;
+import com.github.sarxos.abberwoult.benchmark.BenchmarkActors.EchoActor;
+import com.github.sarxos.abberwoult.benchmark.BenchmarkMessages.PlainMsg;
+
+import akka.actor.ActorRef;
+import akka.actor.ActorSystem;
+import akka.pattern.Patterns;
+
+
+/**
+ * Measures {@link AskableActorRef#ask(Object)} round trip to the local actor and compares it with
+ * the bare {@link Patterns#ask(ActorRef, Object, java.time.Duration)} to show the overhead of the
+ * sender side validation and response unwrapping, and with the {@link AskMultiplexer} which reuses
+ * reply actors instead of creating temporary one for every ask.
+ *
+ * @author Bartosz Firyn (sarxos)
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AskBenchmark {
+
+	private final Object message = new PlainMsg("abc");
+
+	private ActorRef echo;
+	private AskableActorRef askable;
+	private AskableActorRef multiplexed;
+	private AskMultiplexer multiplexer;
+
+	@Setup
+	public void setup(final BenchmarkApplication application) {
+		echo = application.actor(EchoActor.class);
+		askable = new AskableActorRef(echo, BenchmarkApplication.TIMEOUT);
+		multiplexer = new AskMultiplexer(application.bean(ActorSystem.class), true, 1024, 10, 100);
+		multiplexed = new AskableActorRef(echo, BenchmarkApplication.TIMEOUT, AskOptions.DEFAULT.withMultiplexer(multiplexer));
+	}
+
+	@TearDown
+	public void teardown() {
+		multiplexer.close();
+	}
+
+	@Benchmark
+	public Object askableActorRef() {
+		return askable
+			.ask(message)
+			.toCompletableFuture()
+			.join();
+	}
+
+	@Benchmark
+	public Object multiplexedAsk() {
+		return multiplexed
+			.ask(message)
+			.toCompletableFuture()
+			.join();
+	}
+
+	@Benchmark
+	public Object patternsAsk() {
+		return Patterns
+			.ask(echo, message, BenchmarkApplication.TIMEOUT)
+			.toCompletableFuture()
+			.join();
+	}
+}
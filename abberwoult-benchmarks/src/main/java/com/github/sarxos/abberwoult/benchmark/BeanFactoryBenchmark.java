@@ -0,0 +1,51 @@
+package com.github.sarxos.abberwoult.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.github.sarxos.abberwoult.benchmark.BenchmarkBeans.ConstructorWired;
+import com.github.sarxos.abberwoult.benchmark.BenchmarkBeans.FieldWired;
+import com.github.sarxos.abberwoult.cdi.BeanFactory;
+import com.github.sarxos.abberwoult.cdi.BeanLocator;
+
+
+/**
+ * Measures {@link BeanFactory#create()} for objects wired with field and constructor injection.
+ *
+ * @author Bartosz Firyn (sarxos)
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BeanFactoryBenchmark {
+
+	private BeanLocator locator;
+
+	@Setup
+	public void setup(final BenchmarkApplication application) {
+		locator = application.bean(BeanLocator.class);
+	}
+
+	@Benchmark
+	public FieldWired fieldInjection() {
+		return new BeanFactory<>(locator, FieldWired.class, Object.class).create();
+	}
+
+	@Benchmark
+	public ConstructorWired constructorInjection() {
+		return new BeanFactory<>(locator, ConstructorWired.class, Object.class, "abc").create();
+	}
+}
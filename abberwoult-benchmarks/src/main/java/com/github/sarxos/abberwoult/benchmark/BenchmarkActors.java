@@ -0,0 +1,251 @@
+package com.github.sarxos.abberwoult.benchmark;
+
+import java.time.Duration;
+
+import javax.validation.Valid;
+
+import com.github.sarxos.abberwoult.SimpleActor;
+import com.github.sarxos.abberwoult.annotation.Received;
+import com.github.sarxos.abberwoult.benchmark.BenchmarkMessages.M00;
+import com.github.sarxos.abberwoult.benchmark.BenchmarkMessages.M01;
+import com.github.sarxos.abberwoult.benchmark.BenchmarkMessages.M02;
+import com.github.sarxos.abberwoult.benchmark.BenchmarkMessages.M03;
+import com.github.sarxos.abberwoult.benchmark.BenchmarkMessages.M04;
+import com.github.sarxos.abberwoult.benchmark.BenchmarkMessages.M05;
+import com.github.sarxos.abberwoult.benchmark.BenchmarkMessages.M06;
+import com.github.sarxos.abberwoult.benchmark.BenchmarkMessages.M07;
+import com.github.sarxos.abberwoult.benchmark.BenchmarkMessages.M08;
+import com.github.sarxos.abberwoult.benchmark.BenchmarkMessages.M09;
+import com.github.sarxos.abberwoult.benchmark.BenchmarkMessages.M10;
+import com.github.sarxos.abberwoult.benchmark.BenchmarkMessages.M11;
+import com.github.sarxos.abberwoult.benchmark.BenchmarkMessages.M12;
+import com.github.sarxos.abberwoult.benchmark.BenchmarkMessages.M13;
+import com.github.sarxos.abberwoult.benchmark.BenchmarkMessages.M14;
+import com.github.sarxos.abberwoult.benchmark.BenchmarkMessages.M15;
+import com.github.sarxos.abberwoult.benchmark.BenchmarkMessages.PatternMsg;
+import com.github.sarxos.abberwoult.benchmark.BenchmarkMessages.PlainMsg;
+import com.github.sarxos.abberwoult.benchmark.BenchmarkMessages.ValidMsg;
+import com.github.sarxos.abberwoult.dsl.Buffers;
+import com.github.sarxos.abberwoult.dsl.Schedules;
+import com.github.sarxos.abberwoult.dsl.Utils;
+
+
+/**
+ * Actors used by the benchmarks. These are instrumented in augmentation phase just like any other
+ * actor in the application.
+ *
+ * @author Bartosz Firyn (sarxos)
+ */
+public final class BenchmarkActors {
+
+	private BenchmarkActors() {
+		// actors holder
+	}
+
+	/**
+	 * Request actor to reply with the {@link akka.actor.AbstractActor.Receive} it has created, so
+	 * it can be applied directly from the benchmark thread. Handlers of actors which export receive
+	 * must not touch actor context.
+	 */
+	public static final class ExportReceive {
+	}
+
+	/**
+	 * An actor with many message handlers.
+	 */
+	public static final class ReceivingActor extends SimpleActor implements Utils {
+
+		private long handled;
+
+		public void handleExport(@Received final ExportReceive export) {
+			reply(createReceive());
+		}
+
+		public void handle00(@Received final M00 m) {
+			handled++;
+		}
+
+		public void handle01(@Received final M01 m) {
+			handled++;
+		}
+
+		public void handle02(@Received final M02 m) {
+			handled++;
+		}
+
+		public void handle03(@Received final M03 m) {
+			handled++;
+		}
+
+		public void handle04(@Received final M04 m) {
+			handled++;
+		}
+
+		public void handle05(@Received final M05 m) {
+			handled++;
+		}
+
+		public void handle06(@Received final M06 m) {
+			handled++;
+		}
+
+		public void handle07(@Received final M07 m) {
+			handled++;
+		}
+
+		public void handle08(@Received final M08 m) {
+			handled++;
+		}
+
+		public void handle09(@Received final M09 m) {
+			handled++;
+		}
+
+		public void handle10(@Received final M10 m) {
+			handled++;
+		}
+
+		public void handle11(@Received final M11 m) {
+			handled++;
+		}
+
+		public void handle12(@Received final M12 m) {
+			handled++;
+		}
+
+		public void handle13(@Received final M13 m) {
+			handled++;
+		}
+
+		public void handle14(@Received final M14 m) {
+			handled++;
+		}
+
+		public void handle15(@Received final M15 m) {
+			handled++;
+		}
+
+		public long getHandled() {
+			return handled;
+		}
+	}
+
+	/**
+	 * An actor with validated and not validated message handlers.
+	 */
+	public static final class ValidatingActor extends SimpleActor implements Utils {
+
+		private long handled;
+
+		public void handleExport(@Received final ExportReceive export) {
+			reply(createReceive());
+		}
+
+		public void handlePlain(@Received final PlainMsg msg) {
+			handled++;
+		}
+
+		public void handleValid(@Received @Valid final ValidMsg msg) {
+			handled++;
+		}
+
+		public void handlePattern(@Received @Valid final PatternMsg msg) {
+			handled++;
+		}
+
+		public long getHandled() {
+			return handled;
+		}
+	}
+
+	/**
+	 * An actor which replies with received message.
+	 */
+	public static final class EchoActor extends SimpleActor implements Utils {
+
+		public void handle(@Received final Object message) {
+			reply(message);
+		}
+	}
+
+	/**
+	 * Request {@link BufferingActor} to buffer a given number of messages and reply with the number
+	 * of buffered messages.
+	 */
+	public static final class BufferCycle {
+
+		private final int count;
+
+		public BufferCycle(final int count) {
+			this.count = count;
+		}
+
+		public int getCount() {
+			return count;
+		}
+	}
+
+	/**
+	 * Message buffered by {@link BufferingActor}.
+	 */
+	public static final class BufferItem {
+	}
+
+	/**
+	 * Completes buffering in {@link BufferingActor}.
+	 */
+	public static final class BufferFlush {
+	}
+
+	/**
+	 * An actor which buffers messages it sends to itself.
+	 */
+	public static final class BufferingActor extends SimpleActor implements Buffers, Utils {
+
+		private static final BufferItem ITEM = new BufferItem();
+		private static final BufferFlush FLUSH = new BufferFlush();
+
+		private long handled;
+
+		public void handleCycle(@Received final BufferCycle cycle) {
+
+			final akka.actor.ActorRef sender = sender();
+
+			bufferUntilReceivedMessageOf(BufferFlush.class)
+				.onSuccess(flush -> sender.tell(Integer.valueOf(cycle.getCount()), self()));
+
+			for (int i = 0; i < cycle.getCount(); i++) {
+				self().tell(ITEM, self());
+			}
+
+			self().tell(FLUSH, self());
+		}
+
+		public void handleItem(@Received final BufferItem item) {
+			handled++;
+		}
+
+		public long getHandled() {
+			return handled;
+		}
+	}
+
+	/**
+	 * Request {@link SchedulingActor} to schedule a message and cancel it immediately.
+	 */
+	public static final class ScheduleCycle {
+	}
+
+	/**
+	 * An actor which schedules and cancels messages.
+	 */
+	public static final class SchedulingActor extends SimpleActor implements Schedules, Utils {
+
+		private static final Duration DELAY = Duration.ofHours(1);
+
+		public void handleCycle(@Received final ScheduleCycle cycle) {
+			scheduleOnce("cycle", cycle, DELAY);
+			reply(Boolean.valueOf(cancel("cycle")));
+		}
+	}
+}
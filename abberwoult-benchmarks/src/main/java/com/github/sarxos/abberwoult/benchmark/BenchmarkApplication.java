@@ -0,0 +1,104 @@
+package com.github.sarxos.abberwoult.benchmark;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import com.github.sarxos.abberwoult.ActorUniverse;
+import com.github.sarxos.abberwoult.AskableActorRef;
+
+import akka.actor.Actor;
+import akka.actor.ActorRef;
+import io.quarkus.arc.Arc;
+import io.quarkus.runtime.Application;
+
+
+/**
+ * A JMH state which starts the Quarkus application built from this module, so benchmarks run
+ * against the actor classes instrumented in augmentation phase and against a real actor system
+ * created by the extension. The application is started once per fork and it does not require any
+ * external services (actor system uses local provider).
+ *
+ * @author Bartosz Firyn (sarxos)
+ */
+@State(Scope.Benchmark)
+public class BenchmarkApplication {
+
+	/**
+	 * The application class generated by Quarkus in augmentation phase.
+	 */
+	private static final String APPLICATION_CLASS = "io.quarkus.runner.ApplicationImpl";
+
+	public static final Duration TIMEOUT = Duration.ofSeconds(5);
+
+	private Application application;
+
+	@Setup(Level.Trial)
+	public void start() throws ReflectiveOperationException {
+		application = (Application) Class
+			.forName(APPLICATION_CLASS)
+			.getDeclaredConstructor()
+			.newInstance();
+		application.start(new String[0]);
+	}
+
+	@TearDown(Level.Trial)
+	public void stop() {
+		application.stop();
+	}
+
+	/**
+	 * @param clazz the bean class
+	 * @return Bean from the application container
+	 */
+	public <T> T bean(final Class<T> clazz) {
+		return Arc.container()
+			.instance(clazz)
+			.get();
+	}
+
+	/**
+	 * @return The {@link ActorUniverse} bean
+	 */
+	public ActorUniverse universe() {
+		return bean(ActorUniverse.class);
+	}
+
+	/**
+	 * Create new actor of a given class.
+	 *
+	 * @param clazz the actor class
+	 * @param args the actor constructor arguments
+	 * @return Actor reference
+	 */
+	public ActorRef actor(final Class<? extends Actor> clazz, final Object... args) {
+		return universe()
+			.actor()
+			.of(clazz)
+			.withArguments(args)
+			.create();
+	}
+
+	/**
+	 * Ask actor and wait for the response. This is used in setup phase only.
+	 *
+	 * @param ref the actor reference
+	 * @param message the message
+	 * @return The response
+	 */
+	public <T> T ask(final ActorRef ref, final Object message) {
+		try {
+			return new AskableActorRef(ref, TIMEOUT)
+				.<T> ask(message)
+				.toCompletableFuture()
+				.get(TIMEOUT.toMillis(), TimeUnit.MILLISECONDS);
+		} catch (Exception e) {
+			throw new IllegalStateException(e);
+		}
+	}
+}
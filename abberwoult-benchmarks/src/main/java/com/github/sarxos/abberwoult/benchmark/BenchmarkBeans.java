@@ -0,0 +1,66 @@
+package com.github.sarxos.abberwoult.benchmark;
+
+import javax.inject.Inject;
+import javax.inject.Singleton;
+
+import com.github.sarxos.abberwoult.annotation.Assisted;
+
+import io.quarkus.arc.Unremovable;
+
+
+/**
+ * Beans and wired objects used by the {@link BeanFactoryBenchmark}.
+ *
+ * @author Bartosz Firyn (sarxos)
+ */
+public final class BenchmarkBeans {
+
+	private BenchmarkBeans() {
+		// beans holder
+	}
+
+	@Unremovable
+	@Singleton
+	public static class BenchmarkService {
+
+		public int value() {
+			return 1;
+		}
+	}
+
+	/**
+	 * Object with injected field.
+	 */
+	public static final class FieldWired {
+
+		@Inject
+		BenchmarkService service;
+
+		public BenchmarkService getService() {
+			return service;
+		}
+	}
+
+	/**
+	 * Object with injected constructor parameter and an argument.
+	 */
+	public static final class ConstructorWired {
+
+		private final BenchmarkService service;
+		private final String name;
+
+		@Inject
+		public ConstructorWired(final BenchmarkService service, @Assisted final String name) {
+			this.service = service;
+			this.name = name;
+		}
+
+		public BenchmarkService getService() {
+			return service;
+		}
+
+		public String getName() {
+			return name;
+		}
+	}
+}
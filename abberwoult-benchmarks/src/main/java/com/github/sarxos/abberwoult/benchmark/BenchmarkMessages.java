@@ -0,0 +1,329 @@
+package com.github.sarxos.abberwoult.benchmark;
+
+import javax.validation.constraints.Min;
+import javax.validation.constraints.NotEmpty;
+import javax.validation.constraints.NotNull;
+import javax.validation.constraints.Pattern;
+
+import com.github.sarxos.abberwoult.ShardRoutableMessage;
+import com.github.sarxos.abberwoult.annotation.ShardEntityId;
+import com.github.sarxos.abberwoult.annotation.ShardId;
+
+
+/**
+ * A bunch of distinct message classes used to simulate actors with many message handlers.
+ *
+ * @author Bartosz Firyn (sarxos)
+ */
+public final class BenchmarkMessages {
+
+	/**
+	 * All message classes, in the declaration order.
+	 */
+	public static final Class<?>[] CLASSES = {
+		M00.class, M01.class, M02.class, M03.class, M04.class, M05.class, M06.class, M07.class,
+		M08.class, M09.class, M10.class, M11.class, M12.class, M13.class, M14.class, M15.class,
+		M16.class, M17.class, M18.class, M19.class, M20.class, M21.class, M22.class, M23.class,
+		M24.class, M25.class, M26.class, M27.class, M28.class, M29.class, M30.class, M31.class,
+		M32.class, M33.class, M34.class, M35.class, M36.class, M37.class, M38.class, M39.class,
+		M40.class, M41.class, M42.class, M43.class, M44.class, M45.class, M46.class, M47.class,
+		M48.class, M49.class, M50.class, M51.class, M52.class, M53.class, M54.class, M55.class,
+		M56.class, M57.class, M58.class, M59.class, M60.class, M61.class, M62.class, M63.class
+	};
+
+	private BenchmarkMessages() {
+		// messages holder
+	}
+
+	/**
+	 * Create new message instance of a given class.
+	 *
+	 * @param clazz the message class
+	 * @return New message
+	 */
+	public static Object newMessage(final Class<?> clazz) {
+		try {
+			return clazz.getDeclaredConstructor().newInstance();
+		} catch (ReflectiveOperationException e) {
+			throw new IllegalStateException(e);
+		}
+	}
+
+	public static final class M00 {
+	}
+
+	public static final class M01 {
+	}
+
+	public static final class M02 {
+	}
+
+	public static final class M03 {
+	}
+
+	public static final class M04 {
+	}
+
+	public static final class M05 {
+	}
+
+	public static final class M06 {
+	}
+
+	public static final class M07 {
+	}
+
+	public static final class M08 {
+	}
+
+	public static final class M09 {
+	}
+
+	public static final class M10 {
+	}
+
+	public static final class M11 {
+	}
+
+	public static final class M12 {
+	}
+
+	public static final class M13 {
+	}
+
+	public static final class M14 {
+	}
+
+	public static final class M15 {
+	}
+
+	public static final class M16 {
+	}
+
+	public static final class M17 {
+	}
+
+	public static final class M18 {
+	}
+
+	public static final class M19 {
+	}
+
+	public static final class M20 {
+	}
+
+	public static final class M21 {
+	}
+
+	public static final class M22 {
+	}
+
+	public static final class M23 {
+	}
+
+	public static final class M24 {
+	}
+
+	public static final class M25 {
+	}
+
+	public static final class M26 {
+	}
+
+	public static final class M27 {
+	}
+
+	public static final class M28 {
+	}
+
+	public static final class M29 {
+	}
+
+	public static final class M30 {
+	}
+
+	public static final class M31 {
+	}
+
+	public static final class M32 {
+	}
+
+	public static final class M33 {
+	}
+
+	public static final class M34 {
+	}
+
+	public static final class M35 {
+	}
+
+	public static final class M36 {
+	}
+
+	public static final class M37 {
+	}
+
+	public static final class M38 {
+	}
+
+	public static final class M39 {
+	}
+
+	public static final class M40 {
+	}
+
+	public static final class M41 {
+	}
+
+	public static final class M42 {
+	}
+
+	public static final class M43 {
+	}
+
+	public static final class M44 {
+	}
+
+	public static final class M45 {
+	}
+
+	public static final class M46 {
+	}
+
+	public static final class M47 {
+	}
+
+	public static final class M48 {
+	}
+
+	public static final class M49 {
+	}
+
+	public static final class M50 {
+	}
+
+	public static final class M51 {
+	}
+
+	public static final class M52 {
+	}
+
+	public static final class M53 {
+	}
+
+	public static final class M54 {
+	}
+
+	public static final class M55 {
+	}
+
+	public static final class M56 {
+	}
+
+	public static final class M57 {
+	}
+
+	public static final class M58 {
+	}
+
+	public static final class M59 {
+	}
+
+	public static final class M60 {
+	}
+
+	public static final class M61 {
+	}
+
+	public static final class M62 {
+	}
+
+	public static final class M63 {
+	}
+
+	/**
+	 * Message without constraints.
+	 */
+	public static final class PlainMsg {
+
+		private final String value;
+
+		public PlainMsg(final String value) {
+			this.value = value;
+		}
+
+		public String getValue() {
+			return value;
+		}
+	}
+
+	/**
+	 * Message with constraints checked by synthetic validator.
+	 */
+	public static final class ValidMsg {
+
+		@NotEmpty
+		private final String value;
+
+		@Min(0)
+		private final int count;
+
+		public ValidMsg(final String value, final int count) {
+			this.value = value;
+			this.count = count;
+		}
+
+		public String getValue() {
+			return value;
+		}
+
+		public int getCount() {
+			return count;
+		}
+	}
+
+	/**
+	 * Message with constraint not supported by synthetic validator, so the {@link javax.validation.Validator} is
+	 * used to check it.
+	 */
+	public static final class PatternMsg {
+
+		@NotNull
+		@Pattern(regexp = "[a-z]+")
+		private final String value;
+
+		public PatternMsg(final String value) {
+			this.value = value;
+		}
+
+		public String getValue() {
+			return value;
+		}
+	}
+
+	/**
+	 * Message routed to the shard.
+	 */
+	@SuppressWarnings("serial")
+	public static final class ShardMsg implements ShardRoutableMessage {
+
+		@ShardId
+		private final String shardId;
+
+		@ShardEntityId
+		private final String entityId;
+
+		public ShardMsg(final String shardId, final String entityId) {
+			this.shardId = shardId;
+			this.entityId = entityId;
+		}
+
+		public String getShardId() {
+			return shardId;
+		}
+
+		public String getEntityId() {
+			return entityId;
+		}
+	}
+}
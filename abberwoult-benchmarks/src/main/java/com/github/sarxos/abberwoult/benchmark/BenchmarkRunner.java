@@ -0,0 +1,26 @@
+package com.github.sarxos.abberwoult.benchmark;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+
+/**
+ * Entry point of the benchmarks runner jar. It accepts the same arguments as the JMH main class,
+ * but always adds {@link GCProfiler} so that allocation rate is reported next to the throughput.
+ *
+ * @author Bartosz Firyn (sarxos)
+ */
+public class BenchmarkRunner {
+
+	public static void main(final String[] args) throws RunnerException, CommandLineOptionException {
+		new Runner(new OptionsBuilder()
+			.parent(new CommandLineOptions(args))
+			.addProfiler(GCProfiler.class)
+			.build())
+				.run();
+	}
+}
@@ -0,0 +1,69 @@
+package com.github.sarxos.abberwoult.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.github.sarxos.abberwoult.benchmark.BenchmarkActors.ExportReceive;
+import com.github.sarxos.abberwoult.benchmark.BenchmarkActors.ReceivingActor;
+import com.github.sarxos.abberwoult.benchmark.BenchmarkMessages.M00;
+import com.github.sarxos.abberwoult.benchmark.BenchmarkMessages.M15;
+
+import akka.actor.AbstractActor.Receive;
+import akka.actor.ActorRef;
+import scala.PartialFunction;
+import scala.runtime.BoxedUnit;
+
+
+/**
+ * Measures dispatch of the {@link Receive} generated for instrumented actor. The {@link Receive}
+ * is exported from the actor and applied directly, so the mailbox is not involved. The actor is
+ * receiving messages only from the benchmark thread in the meantime.
+ *
+ * @author Bartosz Firyn (sarxos)
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CreateReceiveBenchmark {
+
+	private final Object first = new M00();
+	private final Object last = new M15();
+	private final Object unhandled = new Object();
+
+	private PartialFunction<Object, BoxedUnit> receive;
+
+	@Setup
+	public void setup(final BenchmarkApplication application) {
+		final ActorRef ref = application.actor(ReceivingActor.class);
+		final Receive exported = application.ask(ref, new ExportReceive());
+		receive = exported.onMessage();
+	}
+
+	@Benchmark
+	public BoxedUnit firstHandler() {
+		return receive.apply(first);
+	}
+
+	@Benchmark
+	public BoxedUnit lastHandler() {
+		return receive.apply(last);
+	}
+
+	@Benchmark
+	public boolean notDefined() {
+		return receive.isDefinedAt(unhandled);
+	}
+}
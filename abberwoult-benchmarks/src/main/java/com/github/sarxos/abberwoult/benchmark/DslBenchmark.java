@@ -0,0 +1,79 @@
+package com.github.sarxos.abberwoult.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.github.sarxos.abberwoult.AskableActorRef;
+import com.github.sarxos.abberwoult.benchmark.BenchmarkActors.BufferCycle;
+import com.github.sarxos.abberwoult.benchmark.BenchmarkActors.BufferingActor;
+import com.github.sarxos.abberwoult.benchmark.BenchmarkActors.EchoActor;
+import com.github.sarxos.abberwoult.benchmark.BenchmarkActors.ScheduleCycle;
+import com.github.sarxos.abberwoult.benchmark.BenchmarkActors.SchedulingActor;
+
+
+/**
+ * Measures overhead of the {@link com.github.sarxos.abberwoult.dsl.Buffers} and
+ * {@link com.github.sarxos.abberwoult.dsl.Schedules} DSL. Every operation is a single ask round
+ * trip so the {@link #echo()} is a baseline to compare with.
+ *
+ * @author Bartosz Firyn (sarxos)
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DslBenchmark {
+
+	@Param({ "0", "16" })
+	int buffered;
+
+	private final ScheduleCycle schedule = new ScheduleCycle();
+
+	private BufferCycle buffer;
+	private AskableActorRef echo;
+	private AskableActorRef buffering;
+	private AskableActorRef scheduling;
+
+	@Setup
+	public void setup(final BenchmarkApplication application) {
+		buffer = new BufferCycle(buffered);
+		echo = new AskableActorRef(application.actor(EchoActor.class), BenchmarkApplication.TIMEOUT);
+		buffering = new AskableActorRef(application.actor(BufferingActor.class), BenchmarkApplication.TIMEOUT);
+		scheduling = new AskableActorRef(application.actor(SchedulingActor.class), BenchmarkApplication.TIMEOUT);
+	}
+
+	private static Object join(final AskableActorRef ref, final Object message) {
+		return ref
+			.ask(message)
+			.toCompletableFuture()
+			.join();
+	}
+
+	@Benchmark
+	public Object echo() {
+		return join(echo, schedule);
+	}
+
+	@Benchmark
+	public Object bufferCycle() {
+		return join(buffering, buffer);
+	}
+
+	@Benchmark
+	public Object scheduleCycle() {
+		return join(scheduling, schedule);
+	}
+}
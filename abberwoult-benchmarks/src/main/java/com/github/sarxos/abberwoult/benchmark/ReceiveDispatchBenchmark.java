@@ -0,0 +1,121 @@
+package com.github.sarxos.abberwoult.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.github.sarxos.abberwoult.ReceiveDispatchTable;
+import com.github.sarxos.abberwoult.ReceiveDispatcher;
+import com.github.sarxos.abberwoult.ReceiveInvoker;
+
+import akka.japi.pf.ReceiveBuilder;
+import scala.PartialFunction;
+import scala.runtime.BoxedUnit;
+
+
+/**
+ * Compares a {@link ReceiveBuilder} chain of type checks (the way receive used to be generated)
+ * with the {@link ReceiveDispatchTable} lookup as the number of message handlers grows.
+ *
+ * @author Bartosz Firyn (sarxos)
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ReceiveDispatchBenchmark {
+
+	@Param({ "1", "8", "16", "32", "64" })
+	int handlers;
+
+	private PartialFunction<Object, BoxedUnit> chain;
+	private PartialFunction<Object, BoxedUnit> table;
+
+	private Object[] messages;
+	private Object last;
+	private int position;
+	private long handled;
+
+	@Setup
+	public void setup() {
+
+		final Class<?>[] types = new Class<?>[handlers];
+		final ReceiveInvoker[] invokers = new ReceiveInvoker[handlers];
+		final ReceiveBuilder builder = ReceiveBuilder.create();
+
+		messages = new Object[handlers];
+
+		for (int i = 0; i < handlers; i++) {
+			types[i] = BenchmarkMessages.CLASSES[i];
+			invokers[i] = this::handle;
+			messages[i] = BenchmarkMessages.newMessage(types[i]);
+			match(builder, types[i]);
+		}
+
+		final ReceiveInvoker unhandled = this::handle;
+		final ReceiveDispatchTable dispatch = new ReceiveDispatchTable(types);
+
+		chain = builder
+			.matchAny(unhandled)
+			.build()
+			.onMessage();
+
+		table = ReceiveBuilder.create()
+			.matchAny(new ReceiveDispatcher(dispatch, invokers, unhandled))
+			.build()
+			.onMessage();
+
+		last = messages[handlers - 1];
+	}
+
+	private <T> void match(final ReceiveBuilder builder, final Class<T> type) {
+		builder.match(type, this::handle);
+	}
+
+	private void handle(final Object message) {
+		handled++;
+	}
+
+	private Object next() {
+		if (++position == messages.length) {
+			position = 0;
+		}
+		return messages[position];
+	}
+
+	@Benchmark
+	public long chainLastHandler() {
+		chain.apply(last);
+		return handled;
+	}
+
+	@Benchmark
+	public long tableLastHandler() {
+		table.apply(last);
+		return handled;
+	}
+
+	@Benchmark
+	public long chainAllHandlers() {
+		chain.apply(next());
+		return handled;
+	}
+
+	@Benchmark
+	public long tableAllHandlers() {
+		table.apply(next());
+		return handled;
+	}
+}
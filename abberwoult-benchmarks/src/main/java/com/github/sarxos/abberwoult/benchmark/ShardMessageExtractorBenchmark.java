@@ -0,0 +1,70 @@
+package com.github.sarxos.abberwoult.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.github.sarxos.abberwoult.ShardMessageExtractor;
+import com.github.sarxos.abberwoult.benchmark.BenchmarkMessages.ShardMsg;
+
+
+/**
+ * Measures shard and entity ID extraction done by the {@link ShardMessageExtractor} bean with the
+ * field reader generated in augmentation phase. No cluster is started, the extractor is used just
+ * as the shard region would use it.
+ *
+ * @author Bartosz Firyn (sarxos)
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ShardMessageExtractorBenchmark {
+
+	@Param({ "1", "1024" })
+	int entities;
+
+	private ShardMessageExtractor extractor;
+	private ShardMsg[] messages;
+	private int position;
+
+	@Setup
+	public void setup(final BenchmarkApplication application) {
+
+		extractor = application.bean(ShardMessageExtractor.class);
+		messages = new ShardMsg[entities];
+
+		for (int i = 0; i < entities; i++) {
+			messages[i] = new ShardMsg("shard-" + i, "entity-" + i);
+		}
+	}
+
+	private ShardMsg next() {
+		if (++position == messages.length) {
+			position = 0;
+		}
+		return messages[position];
+	}
+
+	@Benchmark
+	public String shardId() {
+		return extractor.shardId(next());
+	}
+
+	@Benchmark
+	public String entityId() {
+		return extractor.entityId(next());
+	}
+}
@@ -0,0 +1,85 @@
+package com.github.sarxos.abberwoult.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import javax.validation.Validator;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.github.sarxos.abberwoult.Validation;
+import com.github.sarxos.abberwoult.benchmark.BenchmarkActors.ExportReceive;
+import com.github.sarxos.abberwoult.benchmark.BenchmarkActors.ValidatingActor;
+import com.github.sarxos.abberwoult.benchmark.BenchmarkMessages.PatternMsg;
+import com.github.sarxos.abberwoult.benchmark.BenchmarkMessages.PlainMsg;
+import com.github.sarxos.abberwoult.benchmark.BenchmarkMessages.ValidMsg;
+
+import akka.actor.AbstractActor.Receive;
+import scala.PartialFunction;
+import scala.runtime.BoxedUnit;
+
+
+/**
+ * Measures the cost of message validation in the generated {@link com.github.sarxos.abberwoult.ReceiveInvoker}s
+ * compared with handler which does not validate, and the cost of {@link Validation#validate(Validator, Object)}
+ * alone, both with synthetic validator and with {@link Validator} fallback.
+ *
+ * @author Bartosz Firyn (sarxos)
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ValidationBenchmark {
+
+	private final Object plain = new PlainMsg("abc");
+	private final Object valid = new ValidMsg("abc", 1);
+	private final Object pattern = new PatternMsg("abc");
+
+	private PartialFunction<Object, BoxedUnit> receive;
+	private Validator validator;
+
+	@Setup
+	public void setup(final BenchmarkApplication application) {
+		final Receive exported = application.ask(application.actor(ValidatingActor.class), new ExportReceive());
+		receive = exported.onMessage();
+		validator = application.bean(Validator.class);
+	}
+
+	@Benchmark
+	public BoxedUnit invokePlain() {
+		return receive.apply(plain);
+	}
+
+	@Benchmark
+	public BoxedUnit invokeSyntheticValidated() {
+		return receive.apply(valid);
+	}
+
+	@Benchmark
+	public BoxedUnit invokeValidatorValidated() {
+		return receive.apply(pattern);
+	}
+
+	@Benchmark
+	public Object validateSynthetic() {
+		Validation.validate(validator, valid);
+		return valid;
+	}
+
+	@Benchmark
+	public Object validateValidator() {
+		Validation.validate(validator, pattern);
+		return pattern;
+	}
+}
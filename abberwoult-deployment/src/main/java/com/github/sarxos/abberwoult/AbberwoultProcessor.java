@@ -5,9 +5,12 @@ import static com.github.sarxos.abberwoult.DotNames.ACTOR_SCOPED_ANNOTATION;
 import static com.github.sarxos.abberwoult.DotNames.APPLICATION_SCOPED_ANNOTATION;
 import static com.github.sarxos.abberwoult.DotNames.AUTOSTART_ANNOTATION;
 import static com.github.sarxos.abberwoult.DotNames.INJECT_ANNOTATION;
+import static com.github.sarxos.abberwoult.DotNames.RECEIVERS;
+import static com.github.sarxos.abberwoult.DotNames.SHARDED_ANNOTATION;
 import static com.github.sarxos.abberwoult.DotNames.SHARD_ENTITY_ID_ANNOTATION;
 import static com.github.sarxos.abberwoult.DotNames.SHARD_ID_ANNOTATION;
 import static com.github.sarxos.abberwoult.DotNames.SHARD_ROUTABLE_MESSAGE_INTERFACE;
+import static com.github.sarxos.abberwoult.DotNames.VALID_ANNOTATION;
 import static io.quarkus.deployment.annotations.ExecutionTime.STATIC_INIT;
 import static java.util.stream.Collectors.toCollection;
 import static java.util.stream.Collectors.toList;
@@ -22,24 +25,37 @@ import java.util.function.Consumer;
 
 import org.apache.commons.lang3.ObjectUtils;
 import org.apache.commons.lang3.StringUtils;
+import org.jboss.jandex.AnnotationValue;
 import org.jboss.jandex.DotName;
 import org.jboss.jandex.Index;
 import org.jboss.logging.Logger;
 
 import com.github.sarxos.abberwoult.cdi.BeanLocator;
 import com.github.sarxos.abberwoult.deployment.ActorAutostarter;
+import com.github.sarxos.abberwoult.deployment.ShardAutostarter;
+import com.github.sarxos.abberwoult.deployment.config.AbberwoultBuildConfig;
 import com.github.sarxos.abberwoult.deployment.error.AutostartableLabelAlreadyUsedException;
 import com.github.sarxos.abberwoult.deployment.error.AutostartableNameMissingException;
 import com.github.sarxos.abberwoult.deployment.error.AutostartableNoArgConstrutorMissingException;
 import com.github.sarxos.abberwoult.deployment.error.ImplementationMissingException;
+import com.github.sarxos.abberwoult.deployment.error.ShardedNoArgConstrutorMissingException;
+import com.github.sarxos.abberwoult.deployment.error.ShardingNameAlreadyUsedException;
 import com.github.sarxos.abberwoult.deployment.item.ActorBuildItem;
+import com.github.sarxos.abberwoult.deployment.item.ActorMetadataBuildItem;
 import com.github.sarxos.abberwoult.deployment.item.InstrumentedActorBuildItem;
 import com.github.sarxos.abberwoult.deployment.item.ShardMessageBuildItem;
+import com.github.sarxos.abberwoult.deployment.item.SyntheticActorCreatorBuildItem;
 import com.github.sarxos.abberwoult.deployment.item.SyntheticFieldReaderBuildItem;
+import com.github.sarxos.abberwoult.deployment.item.SyntheticMessageValidatorBuildItem;
 import com.github.sarxos.abberwoult.deployment.item.SyntheticReceiveInvokerBuildItem;
+import com.github.sarxos.abberwoult.deployment.item.ValidatedMessageBuildItem;
+import com.github.sarxos.abberwoult.deployment.util.ActorCreatorGenerator;
 import com.github.sarxos.abberwoult.deployment.util.DeploymentUtils;
+import com.github.sarxos.abberwoult.deployment.util.MessageValidatorGenerator;
 import com.github.sarxos.abberwoult.jandex.Reflector;
+import com.github.sarxos.abberwoult.jandex.Reflector.AnnotationRef;
 import com.github.sarxos.abberwoult.jandex.Reflector.ClassRef;
+import com.github.sarxos.abberwoult.jandex.Reflector.ParameterRef;
 
 import io.quarkus.arc.deployment.AdditionalBeanBuildItem;
 import io.quarkus.arc.deployment.BeanDefiningAnnotationBuildItem;
@@ -53,6 +69,7 @@ import io.quarkus.deployment.builditem.CombinedIndexBuildItem;
 import io.quarkus.deployment.builditem.FeatureBuildItem;
 import io.quarkus.deployment.builditem.GeneratedClassBuildItem;
 import io.quarkus.deployment.builditem.nativeimage.ReflectiveClassBuildItem;
+import io.vavr.control.Option;
 
 
 public class AbberwoultProcessor {
@@ -157,11 +174,12 @@ public class AbberwoultProcessor {
 	@BuildStep(loadsApplicationClasses = true)
 	List<SyntheticReceiveInvokerBuildItem> doCreateSyntheticReceiveInvokers(
 		final List<ActorBuildItem> actors,
-		final BuildProducer<GeneratedClassBuildItem> generated) {
+		final BuildProducer<GeneratedClassBuildItem> generated,
+		final AbberwoultBuildConfig config) {
 
 		return actors.stream()
 			.map(ActorBuildItem::getActorClass)
-			.map(SyntheticReceiveInvokerBuildItem::new)
+			.map(clazz -> new SyntheticReceiveInvokerBuildItem(clazz, config.receiveDispatch))
 			.peek(item -> item.getInvokers()
 				.entrySet()
 				.forEach(entry -> {
@@ -175,14 +193,15 @@ public class AbberwoultProcessor {
 		final List<ActorBuildItem> actors,
 		final List<SyntheticReceiveInvokerBuildItem> invokers,
 		final BuildProducer<GeneratedClassBuildItem> generated,
-		final Reflector reflector) {
+		final Reflector reflector,
+		final AbberwoultBuildConfig config) {
 
 		return actors.stream()
 			.map(ActorBuildItem::getActorClass)
 			.distinct()
 			// .filter(clazz -> clazz.hasAnnotationInClassScope(DotNames.RECEIVERS))
 			.peek(clazz -> LOG.infof("Instrumenting actor class %s", clazz.getName()))
-			.map(clazz -> new InstrumentedActorBuildItem(clazz))
+			.map(clazz -> new InstrumentedActorBuildItem(clazz, config.receiveDispatch))
 			.peek(actor -> generated.produce(new GeneratedClassBuildItem(true, actor.getActorClassName(), actor.getBytecode())))
 			.collect(toList());
 	}
@@ -200,6 +219,35 @@ public class AbberwoultProcessor {
 			.collect(toList());
 	}
 
+	/**
+	 * Read {@link ActorMetadata} of all actor classes from the index.
+	 *
+	 * @param actors the {@link List} of {@link ActorBuildItem}
+	 * @return The {@link List} of {@link ActorMetadataBuildItem}
+	 */
+	@BuildStep
+	List<ActorMetadataBuildItem> doCollectActorMetadata(final List<ActorBuildItem> actors) {
+		return actors.stream()
+			.map(ActorBuildItem::getActorClass)
+			.distinct()
+			.flatMap(clazz -> ActorMetadataBuildItem.of(clazz).toJavaStream())
+			.collect(toList());
+	}
+
+	@BuildStep
+	@Record(STATIC_INIT)
+	void doRecordActorMetadata(final List<ActorMetadataBuildItem> metadata, final ActorMetadataRegistry registry) {
+		metadata.forEach(m -> registry.register(
+			m.getActorClassName(),
+			m.getName(),
+			m.getDispatcher(),
+			m.getMailbox(),
+			m.isAutostart(),
+			m.getSharding(),
+			m.isShardingAutostart(),
+			m.getShardingStrategy()));
+	}
+
 	private boolean isAutostartPresent(final InstrumentedActorBuildItem actor) {
 		return actor.hasAnnotation(AUTOSTART_ANNOTATION);
 	}
@@ -248,6 +296,53 @@ public class AbberwoultProcessor {
 			.forEach(clazz -> autostarter.register(clazz));
 	}
 
+	private boolean isShardedPresent(final InstrumentedActorBuildItem actor) {
+		return actor.hasAnnotation(SHARDED_ANNOTATION);
+	}
+
+	private void assertShardedNoArgConstructorIsPresent(final InstrumentedActorBuildItem actor) {
+		if (!actor.hasNoArgsConstructor()) {
+			throw new ShardedNoArgConstrutorMissingException(actor);
+		}
+	}
+
+	@BuildStep
+	@Record(STATIC_INIT)
+	void doRegisterShardedActors(final List<InstrumentedActorBuildItem> actors, final ShardAutostarter autostarter) {
+
+		final Map<String, InstrumentedActorBuildItem> names = new HashMap<>();
+
+		actors.stream()
+			.filter(this::isShardedPresent)
+			.peek(this::assertShardedNoArgConstructorIsPresent)
+			.forEach(actor -> {
+
+				final AnnotationRef sharded = actor.getAnnotation(SHARDED_ANNOTATION).get();
+				final String name = sharded.getValue("name").map(AnnotationValue::asString).get();
+				final InstrumentedActorBuildItem other = names.put(name, actor);
+
+				if (other != null) {
+					if (ObjectUtils.notEqual(other.getActorClassName(), actor.getActorClassName())) {
+						throw new ShardingNameAlreadyUsedException(actor, other, name);
+					} else {
+						return;
+					}
+				}
+
+				LOG.infof("Registering sharded actor class %s in sharding %s", actor.getActorClassName(), name);
+
+				autostarter.register(
+					actor.getActorClassName(),
+					name,
+					sharded.getValue("autostart").map(AnnotationValue::asBoolean).getOrElse(true),
+					sharded.getValue("shards").map(AnnotationValue::asInt).getOrElse(0),
+					sharded.getValue("role").map(AnnotationValue::asString).getOrElse(""),
+					sharded.getValue("rememberEntities").map(AnnotationValue::asBoolean).getOrElse(false),
+					sharded.getValue("passivateIdleAfter").map(AnnotationValue::asLong).getOrElse(-1L),
+					sharded.getValue("strategy").map(AnnotationValue::asString).getOrElse(""));
+			});
+	}
+
 	private void assertShardRoutableMessageIsImplemented(final ClassRef clazz) {
 		if (!clazz.hasInterface(SHARD_ROUTABLE_MESSAGE_INTERFACE)) {
 			throw new ImplementationMissingException(clazz, SHARD_ROUTABLE_MESSAGE_INTERFACE);
@@ -278,10 +373,114 @@ public class AbberwoultProcessor {
 	List<GeneratedClassBuildItem> doRecordSyntheticFieldReaders(final List<SyntheticFieldReaderBuildItem> readers, final ShardMessageExtractor sre) {
 		return readers.stream()
 			.peek(r -> sre.register(r.getMessageClassName(), r.getSyntheticFieldReaderInstance()))
+			.peek(r -> r.getShardIdStrategy().forEach(strategy -> sre.registerStrategy(r.getMessageClassName(), strategy)))
 			.map(reader -> new GeneratedClassBuildItem(true, reader.getSyntheticClassName(), reader.getBytecode()))
 			.collect(toList());
 	}
 
+	/**
+	 * Find message classes validated in message handlers, i.e. the types of message handler
+	 * parameters annotated with {@link javax.validation.Valid}.
+	 *
+	 * @param reflector the {@link Reflector}
+	 * @return The {@link List} of {@link ValidatedMessageBuildItem}
+	 */
+	@BuildStep
+	List<ValidatedMessageBuildItem> doFindValidatedMessages(final Reflector reflector) {
+		return reflector
+			.findParametersAnnotatedBy(VALID_ANNOTATION)
+			.filter(parameter -> parameter.hasAnnotation(RECEIVERS))
+			.map(ParameterRef::getTypeClass)
+			.flatMap(Option::toJavaStream)
+			.distinct()
+			.map(ValidatedMessageBuildItem::new)
+			.collect(toList());
+	}
+
+	/**
+	 * Generate synthetic validators for the validated messages which use only the constraints
+	 * supported by {@link MessageValidatorGenerator}.
+	 *
+	 * @param messages the validated messages
+	 * @return The {@link List} of {@link SyntheticMessageValidatorBuildItem}
+	 */
+	@BuildStep(loadsApplicationClasses = true)
+	List<SyntheticMessageValidatorBuildItem> doCreateSyntheticMessageValidators(final List<ValidatedMessageBuildItem> messages) {
+
+		final MessageValidatorGenerator generator = new MessageValidatorGenerator();
+		final List<ClassRef> classes = messages.stream()
+			.map(ValidatedMessageBuildItem::getMessageClass)
+			.collect(toList());
+
+		return generator
+			.findValidatedClasses(classes)
+			.stream()
+			.flatMap(clazz -> generator
+				.generate(clazz)
+				.map(validator -> new SyntheticMessageValidatorBuildItem(clazz.getName(), validator))
+				.toJavaStream())
+			.peek(item -> LOG.infof("Synthetized validator for class %s", item.getMessageClassName()))
+			.collect(toList());
+	}
+
+	@BuildStep
+	@Record(STATIC_INIT)
+	List<GeneratedClassBuildItem> doRecordSyntheticMessageValidators(
+		final List<ValidatedMessageBuildItem> messages,
+		final List<SyntheticMessageValidatorBuildItem> validators,
+		final BuildProducer<ReflectiveClassBuildItem> reflectives,
+		final Validation validation) {
+
+		messages.stream()
+			.map(ValidatedMessageBuildItem::getMessageClassName)
+			.forEach(validation::registerValidated);
+
+		return validators.stream()
+			.peek(v -> validation.register(v.getMessageClassName(), v.getSyntheticClassName()))
+			.peek(v -> reflectives.produce(new ReflectiveClassBuildItem(false, false, v.getSyntheticClassName())))
+			.map(v -> new GeneratedClassBuildItem(true, v.getSyntheticClassName(), v.getBytecode()))
+			.collect(toList());
+	}
+
+	/**
+	 * Generate synthetic creators for the instrumented actor classes. This step consumes
+	 * {@link InstrumentedActorBuildItem} because generated creators use the injection bridges
+	 * generated by the actor instrumentation.
+	 *
+	 * @param actors the instrumented actors
+	 * @param reflector the {@link Reflector}
+	 * @return The {@link List} of {@link SyntheticActorCreatorBuildItem}
+	 */
+	@BuildStep(loadsApplicationClasses = true)
+	List<SyntheticActorCreatorBuildItem> doCreateSyntheticActorCreators(final List<InstrumentedActorBuildItem> actors, final Reflector reflector) {
+
+		final ActorCreatorGenerator generator = new ActorCreatorGenerator(reflector);
+
+		return actors.stream()
+			.map(InstrumentedActorBuildItem::getActorClass)
+			.distinct()
+			.flatMap(clazz -> generator
+				.generate(clazz)
+				.map(creator -> new SyntheticActorCreatorBuildItem(clazz.getName(), creator))
+				.toJavaStream())
+			.peek(item -> LOG.infof("Synthetized creator for actor %s", item.getActorClassName()))
+			.collect(toList());
+	}
+
+	@BuildStep
+	@Record(STATIC_INIT)
+	List<GeneratedClassBuildItem> doRecordSyntheticActorCreators(
+		final List<SyntheticActorCreatorBuildItem> creators,
+		final BuildProducer<ReflectiveClassBuildItem> reflectives,
+		final Propser propser) {
+
+		return creators.stream()
+			.peek(c -> propser.register(c.getActorClassName(), c.getSyntheticClassName()))
+			.peek(c -> reflectives.produce(new ReflectiveClassBuildItem(false, false, c.getSyntheticClassName())))
+			.map(c -> new GeneratedClassBuildItem(true, c.getSyntheticClassName(), c.getBytecode()))
+			.collect(toList());
+	}
+
 	@BuildStep
 	UnremovableBeanBuildItem doActorInjecteesUnremovable(final Reflector reflector, List<BeanDefiningAnnotationBuildItem> beanDefiners) {
 
@@ -1,12 +1,19 @@
 package com.github.sarxos.abberwoult;
 
+import javax.annotation.PostConstruct;
 import javax.enterprise.context.ApplicationScoped;
 import javax.enterprise.context.Dependent;
 import javax.inject.Inject;
 import javax.inject.Provider;
 import javax.inject.Scope;
 import javax.inject.Singleton;
+import javax.validation.Constraint;
 import javax.validation.Valid;
+import javax.validation.constraints.Max;
+import javax.validation.constraints.Min;
+import javax.validation.constraints.NotEmpty;
+import javax.validation.constraints.NotNull;
+import javax.validation.constraints.Size;
 
 import org.jboss.jandex.DotName;
 
@@ -14,15 +21,18 @@ import com.github.sarxos.abberwoult.ShardMessageExtractor.FieldReader;
 import com.github.sarxos.abberwoult.annotation.ActorScoped;
 import com.github.sarxos.abberwoult.annotation.Assisted;
 import com.github.sarxos.abberwoult.annotation.Autostart;
+import com.github.sarxos.abberwoult.annotation.Dispatcher;
 import com.github.sarxos.abberwoult.annotation.Event;
 import com.github.sarxos.abberwoult.annotation.Generated;
 import com.github.sarxos.abberwoult.annotation.Instrumented;
+import com.github.sarxos.abberwoult.annotation.Mailbox;
 import com.github.sarxos.abberwoult.annotation.NamedActor;
 import com.github.sarxos.abberwoult.annotation.PostStop;
 import com.github.sarxos.abberwoult.annotation.PreStart;
 import com.github.sarxos.abberwoult.annotation.Received;
 import com.github.sarxos.abberwoult.annotation.ShardEntityId;
 import com.github.sarxos.abberwoult.annotation.ShardId;
+import com.github.sarxos.abberwoult.annotation.Sharded;
 import com.github.sarxos.abberwoult.dsl.Universe;
 
 import akka.actor.AbstractActor;
@@ -39,15 +49,26 @@ public class DotNames {
 	public static final DotName APPLICATION_SCOPED_ANNOTATION = DotName.createSimple(ApplicationScoped.class.getName());
 	public static final DotName RECEIVES_ANNOTATION = DotName.createSimple(Received.class.getName());
 	public static final DotName PRE_START_ANNOTATION = DotName.createSimple(PreStart.class.getName());
+	public static final DotName POST_CONSTRUCT_ANNOTATION = DotName.createSimple(PostConstruct.class.getName());
 	public static final DotName POST_STOP_ANNOTATION = DotName.createSimple(PostStop.class.getName());
 	public static final DotName INJECT_ANNOTATION = DotName.createSimple(Inject.class.getName());
 	public static final DotName SCOPE_ANNOTATION = DotName.createSimple(Scope.class.getName());
 	public static final DotName VALID_ANNOTATION = DotName.createSimple(Valid.class.getName());
+	public static final DotName CONSTRAINT_ANNOTATION = DotName.createSimple(Constraint.class.getName());
+	public static final DotName NOT_NULL_ANNOTATION = DotName.createSimple(NotNull.class.getName());
+	public static final DotName NOT_EMPTY_ANNOTATION = DotName.createSimple(NotEmpty.class.getName());
+	public static final DotName SIZE_ANNOTATION = DotName.createSimple(Size.class.getName());
+	public static final DotName MIN_ANNOTATION = DotName.createSimple(Min.class.getName());
+	public static final DotName MAX_ANNOTATION = DotName.createSimple(Max.class.getName());
 	public static final DotName ASSISTED_ANNOTATION = DotName.createSimple(Assisted.class.getName());
 	public static final DotName EVENT_ANNOTATION = DotName.createSimple(Event.class.getName());
 	public static final DotName NAMED_ANNOTATION = DotName.createSimple(NamedActor.class.getName());
+	public static final DotName DISPATCHER_ANNOTATION = DotName.createSimple(Dispatcher.class.getName());
+	public static final DotName MAILBOX_ANNOTATION = DotName.createSimple(Mailbox.class.getName());
+	public static final DotName SHARDED_ANNOTATION = DotName.createSimple(Sharded.class.getName());
 	public static final DotName SHARD_ID_ANNOTATION = DotName.createSimple(ShardId.class.getName());
 	public static final DotName SHARD_ENTITY_ID_ANNOTATION = DotName.createSimple(ShardEntityId.class.getName());
+	public static final DotName SYNTHETIC_ACTOR_CREATOR_CLASS = DotName.createSimple(SyntheticActorCreator.class.getName());
 	public static final DotName ABSTRACT_ACTOR_CLASS = DotName.createSimple(AbstractActor.class.getName());
 	public static final DotName UNIVERSE_INTERFACE = DotName.createSimple(Universe.class.getName());
 	public static final DotName SIMPLE_ACTOR_CLASS = DotName.createSimple("com.github.sarxos.abberwoult.SimpleActor");
@@ -55,6 +76,8 @@ public class DotNames {
 	public static final DotName FIELD_READER_INTERFACE = DotName.createSimple(FieldReader.class.getName());
 	public static final DotName PROVIDER_INTERFACE = DotName.createSimple(Provider.class.getName());
 	public static final DotName RECEIVE_INVOKER_INTERFACE = DotName.createSimple(ReceiveInvoker.class.getName());
+	public static final DotName MESSAGE_VALIDATOR_INTERFACE = DotName.createSimple(MessageValidator.class.getName());
+	public static final DotName OBJECT_CLASS = DotName.createSimple(Object.class.getName());
 
 	public static final DotName[] RECEIVERS = new DotName[] { RECEIVES_ANNOTATION, EVENT_ANNOTATION };
 
@@ -0,0 +1,24 @@
+package com.github.sarxos.abberwoult.deployment.config;
+
+import io.quarkus.runtime.annotations.ConfigItem;
+import io.quarkus.runtime.annotations.ConfigPhase;
+import io.quarkus.runtime.annotations.ConfigRoot;
+
+
+/**
+ * Build time configuration of the Abberwoult extension. These properties are read in augmentation
+ * phase and cannot be changed in runtime.
+ *
+ * @author Bartosz Firyn (sarxos)
+ */
+@ConfigRoot(name = "abberwoult", phase = ConfigPhase.BUILD_TIME)
+public class AbberwoultBuildConfig {
+
+	/**
+	 * How the generated actor receive dispatches messages to the message handlers. With
+	 * {@code invokers} a separate invoker class is generated for every message handler, with
+	 * {@code dispatcher} a single dispatcher class is generated for every actor class.
+	 */
+	@ConfigItem(defaultValue = "invokers")
+	public ReceiveDispatch receiveDispatch;
+}
@@ -0,0 +1,21 @@
+package com.github.sarxos.abberwoult.deployment.config;
+
+/**
+ * The strategy used to generate code which dispatches messages to the actor message handlers.
+ *
+ * @author Bartosz Firyn (sarxos)
+ */
+public enum ReceiveDispatch {
+
+	/**
+	 * Generate one invoker class per message handler. Every actor instance allocates its own
+	 * instance of each invoker.
+	 */
+	INVOKERS,
+
+	/**
+	 * Generate one dispatcher class per actor class which switches on the handler index and calls
+	 * the handler method directly. Every actor instance allocates only one dispatcher instance.
+	 */
+	DISPATCHER,
+}
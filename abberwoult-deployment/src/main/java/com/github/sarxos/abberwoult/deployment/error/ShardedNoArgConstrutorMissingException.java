@@ -0,0 +1,16 @@
+package com.github.sarxos.abberwoult.deployment.error;
+
+import com.github.sarxos.abberwoult.annotation.Sharded;
+import com.github.sarxos.abberwoult.deployment.item.InstrumentedActorBuildItem;
+
+
+@SuppressWarnings("serial")
+public class ShardedNoArgConstrutorMissingException extends IllegalArgumentException {
+
+	public ShardedNoArgConstrutorMissingException(final InstrumentedActorBuildItem item) {
+		super(""
+			+ "Actor class " + item.getActorClassName() + " is annotated with " + Sharded.class + " "
+			+ "and therefore require no-arg constructor to be present, but no such constructor has "
+			+ "been found");
+	}
+}
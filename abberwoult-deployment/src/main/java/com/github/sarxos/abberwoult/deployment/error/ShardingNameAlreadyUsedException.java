@@ -0,0 +1,16 @@
+package com.github.sarxos.abberwoult.deployment.error;
+
+import com.github.sarxos.abberwoult.annotation.Sharded;
+import com.github.sarxos.abberwoult.deployment.item.InstrumentedActorBuildItem;
+
+
+@SuppressWarnings("serial")
+public class ShardingNameAlreadyUsedException extends IllegalArgumentException {
+
+	public ShardingNameAlreadyUsedException(final InstrumentedActorBuildItem item, final InstrumentedActorBuildItem other, final String name) {
+		super(""
+			+ "Actor class " + item.getActorClassName() + " annotated with " + Sharded.class + " "
+			+ "uses sharding name '" + name + "', but actor class " + other.getActorClassName() + " "
+			+ "also annotated with " + Sharded.class + " uses the very same name");
+	}
+}
@@ -0,0 +1,173 @@
+package com.github.sarxos.abberwoult.deployment.item;
+
+import static com.github.sarxos.abberwoult.DotNames.AUTOSTART_ANNOTATION;
+import static com.github.sarxos.abberwoult.DotNames.DISPATCHER_ANNOTATION;
+import static com.github.sarxos.abberwoult.DotNames.MAILBOX_ANNOTATION;
+import static com.github.sarxos.abberwoult.DotNames.NAMED_ANNOTATION;
+import static com.github.sarxos.abberwoult.DotNames.SHARDED_ANNOTATION;
+
+import org.apache.commons.lang3.builder.ToStringBuilder;
+import org.jboss.jandex.AnnotationValue;
+import org.jboss.jandex.DotName;
+
+import com.github.sarxos.abberwoult.ActorMetadata;
+import com.github.sarxos.abberwoult.annotation.NamedActor;
+import com.github.sarxos.abberwoult.jandex.Reflector;
+import com.github.sarxos.abberwoult.jandex.Reflector.AnnotationRef;
+import com.github.sarxos.abberwoult.jandex.Reflector.ClassRef;
+
+import io.quarkus.builder.item.MultiBuildItem;
+import io.vavr.control.Option;
+
+
+/**
+ * A {@link MultiBuildItem} which carries {@link ActorMetadata} of the actor class read from the
+ * index. Annotations which are read by the runtime from the whole class hierarchy (i.e. dispatcher
+ * and mailbox) are searched in the superclasses and interfaces as well, so the recorded metadata is
+ * exactly the same as the one runtime would read from the class.
+ *
+ * @author Bartosz Firyn (sarxos)
+ */
+public final class ActorMetadataBuildItem extends MultiBuildItem {
+
+	/**
+	 * Packages of the not indexed classes which are known to not declare any actor annotations.
+	 */
+	private static final String[] FOREIGN_PACKAGES = { "java.", "akka.", "scala." };
+
+	private final String actorClassName;
+	private final String name;
+	private final String dispatcher;
+	private final String mailbox;
+	private final boolean autostart;
+	private final String sharding;
+	private final boolean shardingAutostart;
+	private final String shardingStrategy;
+
+	private ActorMetadataBuildItem(final ClassRef clazz, final String dispatcher, final String mailbox) {
+
+		final Option<AnnotationRef> sharded = clazz.getAnnotation(SHARDED_ANNOTATION);
+
+		this.actorClassName = clazz.getName();
+		this.name = clazz.getAnnotation(NAMED_ANNOTATION)
+			.map(a -> a.getValue("value").map(AnnotationValue::asString).getOrElse(NamedActor.UNKNOWN))
+			.getOrNull();
+		this.dispatcher = dispatcher;
+		this.mailbox = mailbox;
+		this.autostart = clazz.hasAnnotation(AUTOSTART_ANNOTATION);
+		this.sharding = sharded
+			.flatMap(a -> a.getValue("name"))
+			.map(AnnotationValue::asString)
+			.getOrNull();
+		this.shardingAutostart = sharded
+			.map(a -> a.getValue("autostart").map(AnnotationValue::asBoolean).getOrElse(true))
+			.getOrElse(false);
+		this.shardingStrategy = sharded
+			.flatMap(a -> a.getValue("strategy"))
+			.map(AnnotationValue::asString)
+			.getOrNull();
+	}
+
+	/**
+	 * Create metadata of a given actor class. If the class hierarchy contains classes which are not
+	 * present in the index, the metadata cannot be determined and none is returned.
+	 *
+	 * @param clazz the actor class
+	 * @return Metadata build item or none if metadata cannot be determined
+	 */
+	public static Option<ActorMetadataBuildItem> of(final ClassRef clazz) {
+
+		final DotName name = DotName.createSimple(clazz.getName());
+		final Option<Option<String>> dispatcher = findValue(clazz.getReflector(), name, DISPATCHER_ANNOTATION);
+		final Option<Option<String>> mailbox = findValue(clazz.getReflector(), name, MAILBOX_ANNOTATION);
+
+		if (dispatcher.isEmpty() || mailbox.isEmpty()) {
+			return Option.none();
+		}
+
+		return Option.of(new ActorMetadataBuildItem(clazz, dispatcher.get().getOrNull(), mailbox.get().getOrNull()));
+	}
+
+	/**
+	 * Find value of a given annotation in the class hierarchy, in the same order as the runtime
+	 * would do, i.e. class, interfaces and then superclass.
+	 *
+	 * @return Empty if hierarchy cannot be scanned, or an option holding annotation value
+	 */
+	private static Option<Option<String>> findValue(final Reflector reflector, final DotName name, final DotName annotation) {
+
+		if (name == null) {
+			return Option.of(Option.none());
+		}
+
+		final Option<ClassRef> found = reflector.findClass(name);
+		if (found.isEmpty()) {
+			if (isForeign(name.toString())) {
+				return Option.of(Option.none());
+			} else {
+				return Option.none();
+			}
+		}
+
+		final ClassRef clazz = found.get();
+		final Option<AnnotationRef> present = clazz.getAnnotation(annotation);
+		if (present.isDefined()) {
+			return Option.of(present.get().getValue("value").map(AnnotationValue::asString));
+		}
+
+		for (final DotName iface : clazz.getInterfaceNames()) {
+			final Option<Option<String>> value = findValue(reflector, iface, annotation);
+			if (value.isEmpty() || value.get().isDefined()) {
+				return value;
+			}
+		}
+
+		return findValue(reflector, clazz.getSuperclassName(), annotation);
+	}
+
+	private static boolean isForeign(final String name) {
+		for (final String prefix : FOREIGN_PACKAGES) {
+			if (name.startsWith(prefix)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	public String getActorClassName() {
+		return actorClassName;
+	}
+
+	public String getName() {
+		return name;
+	}
+
+	public String getDispatcher() {
+		return dispatcher;
+	}
+
+	public String getMailbox() {
+		return mailbox;
+	}
+
+	public boolean isAutostart() {
+		return autostart;
+	}
+
+	public String getSharding() {
+		return sharding;
+	}
+
+	public boolean isShardingAutostart() {
+		return shardingAutostart;
+	}
+
+	public String getShardingStrategy() {
+		return shardingStrategy;
+	}
+
+	@Override
+	public String toString() {
+		return ToStringBuilder.reflectionToString(this);
+	}
+}
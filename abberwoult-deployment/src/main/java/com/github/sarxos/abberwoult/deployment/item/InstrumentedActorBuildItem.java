@@ -7,6 +7,7 @@ import org.apache.commons.lang3.builder.ToStringBuilder;
 import org.jboss.jandex.DotName;
 
 import com.github.sarxos.abberwoult.annotation.NamedActor;
+import com.github.sarxos.abberwoult.deployment.config.ReceiveDispatch;
 import com.github.sarxos.abberwoult.deployment.util.ActorInstrumentor;
 import com.github.sarxos.abberwoult.jandex.Reflector.AnnotationRef;
 import com.github.sarxos.abberwoult.jandex.Reflector.ClassRef;
@@ -28,9 +29,13 @@ public final class InstrumentedActorBuildItem extends MultiBuildItem {
 	private final ClassRef actorClass;
 	private final byte[] bytecode;
 
-	public InstrumentedActorBuildItem(final ClassRef actorClass) {
+	public InstrumentedActorBuildItem(final ClassRef actorClass, final ReceiveDispatch dispatch) {
 		this.actorClass = actorClass;
-		this.bytecode = INSTRUMENTOR.instrument(actorClass);
+		this.bytecode = INSTRUMENTOR.instrument(actorClass, dispatch);
+	}
+
+	public ClassRef getActorClass() {
+		return actorClass;
 	}
 
 	public String getActorClassName() {
@@ -0,0 +1,38 @@
+package com.github.sarxos.abberwoult.deployment.item;
+
+import com.github.sarxos.abberwoult.SyntheticActorCreator;
+import com.github.sarxos.abberwoult.deployment.util.Assistant.AssistedClass;
+
+import io.quarkus.builder.item.MultiBuildItem;
+
+
+/**
+ * A {@link MultiBuildItem} designed to transfer information about the actor class and the bytecode
+ * of a {@link SyntheticActorCreator} generated for it.
+ *
+ * @author Bartosz Firyn (sarxos)
+ */
+public final class SyntheticActorCreatorBuildItem extends MultiBuildItem {
+
+	private final String actorClassName;
+	private final String syntheticClassName;
+	private final byte[] bytecode;
+
+	public SyntheticActorCreatorBuildItem(final String actorClassName, final AssistedClass creator) {
+		this.actorClassName = actorClassName;
+		this.syntheticClassName = creator.getName();
+		this.bytecode = creator.toBytecode();
+	}
+
+	public String getActorClassName() {
+		return actorClassName;
+	}
+
+	public String getSyntheticClassName() {
+		return syntheticClassName;
+	}
+
+	public byte[] getBytecode() {
+		return bytecode;
+	}
+}
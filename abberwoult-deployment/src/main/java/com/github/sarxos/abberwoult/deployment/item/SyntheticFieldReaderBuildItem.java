@@ -26,6 +26,7 @@ public final class SyntheticFieldReaderBuildItem extends MultiBuildItem {
 	private final String syntheticClassName;
 	private final FieldReader reader;
 	private final byte[] bytecode;
+	private final Option<String> strategy;
 
 	public SyntheticFieldReaderBuildItem(final ClassRef messageClass) {
 
@@ -35,6 +36,7 @@ public final class SyntheticFieldReaderBuildItem extends MultiBuildItem {
 		this.syntheticClassName = cc.getName();
 		this.reader = instantiate(cc);
 		this.bytecode = toBytecode(cc);
+		this.strategy = GENERATOR.getShardIdStrategy(messageClass);
 	}
 
 	/**
@@ -80,4 +82,11 @@ public final class SyntheticFieldReaderBuildItem extends MultiBuildItem {
 	public FieldReader getSyntheticFieldReaderInstance() {
 		return reader;
 	}
+
+	/**
+	 * @return The name of shard ID strategy selected for the message class or none
+	 */
+	public Option<String> getShardIdStrategy() {
+		return strategy;
+	}
 }
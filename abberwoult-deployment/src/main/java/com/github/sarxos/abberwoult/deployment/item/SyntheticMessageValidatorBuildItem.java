@@ -0,0 +1,38 @@
+package com.github.sarxos.abberwoult.deployment.item;
+
+import com.github.sarxos.abberwoult.MessageValidator;
+import com.github.sarxos.abberwoult.deployment.util.Assistant.AssistedClass;
+
+import io.quarkus.builder.item.MultiBuildItem;
+
+
+/**
+ * A {@link MultiBuildItem} designed to transfer information about the validated message class and
+ * the bytecode of a synthetic {@link MessageValidator} implementation generated for it.
+ *
+ * @author Bartosz Firyn (sarxos)
+ */
+public final class SyntheticMessageValidatorBuildItem extends MultiBuildItem {
+
+	private final String messageClassName;
+	private final String syntheticClassName;
+	private final byte[] bytecode;
+
+	public SyntheticMessageValidatorBuildItem(final String messageClassName, final AssistedClass validator) {
+		this.messageClassName = messageClassName;
+		this.syntheticClassName = validator.getName();
+		this.bytecode = validator.toBytecode();
+	}
+
+	public String getMessageClassName() {
+		return messageClassName;
+	}
+
+	public String getSyntheticClassName() {
+		return syntheticClassName;
+	}
+
+	public byte[] getBytecode() {
+		return bytecode;
+	}
+}
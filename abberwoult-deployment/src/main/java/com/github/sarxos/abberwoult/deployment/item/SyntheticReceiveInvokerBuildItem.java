@@ -2,6 +2,7 @@ package com.github.sarxos.abberwoult.deployment.item;
 
 import java.util.Map;
 
+import com.github.sarxos.abberwoult.deployment.config.ReceiveDispatch;
 import com.github.sarxos.abberwoult.deployment.util.ReceiveInvokerGenerator;
 import com.github.sarxos.abberwoult.jandex.Reflector.ClassRef;
 
@@ -18,9 +19,9 @@ public final class SyntheticReceiveInvokerBuildItem extends MultiBuildItem {
 	private final ClassRef actorClass;
 	private final Map<String, byte[]> invokers;
 
-	public SyntheticReceiveInvokerBuildItem(final ClassRef actorClass) {
+	public SyntheticReceiveInvokerBuildItem(final ClassRef actorClass, final ReceiveDispatch dispatch) {
 		this.actorClass = actorClass;
-		this.invokers = GENERATOR.generate(actorClass);
+		this.invokers = GENERATOR.generate(actorClass, dispatch);
 	}
 
 	public Map<String, byte[]> getInvokers() {
@@ -0,0 +1,29 @@
+package com.github.sarxos.abberwoult.deployment.item;
+
+import com.github.sarxos.abberwoult.jandex.Reflector.ClassRef;
+
+import io.quarkus.builder.item.MultiBuildItem;
+
+
+/**
+ * A build item which reflects message validated by at least one message handler, i.e. a message
+ * which is a type of handler parameter annotated with {@link javax.validation.Valid}.
+ *
+ * @author Bartosz Firyn (sarxos)
+ */
+public final class ValidatedMessageBuildItem extends MultiBuildItem {
+
+	private final ClassRef messageClass;
+
+	public ValidatedMessageBuildItem(final ClassRef messageClass) {
+		this.messageClass = messageClass;
+	}
+
+	public ClassRef getMessageClass() {
+		return messageClass;
+	}
+
+	public String getMessageClassName() {
+		return messageClass.getName();
+	}
+}
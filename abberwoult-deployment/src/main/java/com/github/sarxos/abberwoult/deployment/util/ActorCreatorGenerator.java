@@ -0,0 +1,362 @@
+package com.github.sarxos.abberwoult.deployment.util;
+
+import static com.github.sarxos.abberwoult.DotNames.ABSTRACT_ACTOR_CLASS;
+import static com.github.sarxos.abberwoult.DotNames.ASSISTED_ANNOTATION;
+import static com.github.sarxos.abberwoult.DotNames.INJECT_ANNOTATION;
+import static com.github.sarxos.abberwoult.DotNames.POST_CONSTRUCT_ANNOTATION;
+import static com.github.sarxos.abberwoult.DotNames.SYNTHETIC_ACTOR_CREATOR_CLASS;
+import static java.util.stream.Collectors.joining;
+import static java.util.stream.Collectors.toList;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.jboss.jandex.DotName;
+import org.jboss.jandex.Type;
+import org.jboss.logging.Logger;
+
+import com.github.sarxos.abberwoult.annotation.Generated;
+import com.github.sarxos.abberwoult.deployment.util.Assistant.AssistedClass;
+import com.github.sarxos.abberwoult.jandex.Reflector;
+import com.github.sarxos.abberwoult.jandex.Reflector.ClassRef;
+import com.github.sarxos.abberwoult.jandex.Reflector.ConstructorRef;
+import com.github.sarxos.abberwoult.jandex.Reflector.FieldRef;
+import com.github.sarxos.abberwoult.jandex.Reflector.MethodRef;
+import com.github.sarxos.abberwoult.jandex.Reflector.ParameterRef;
+
+import io.vavr.control.Option;
+
+
+/**
+ * Generates {@link com.github.sarxos.abberwoult.SyntheticActorCreator} for the actor classes. The
+ * generated creator selects constructor in the same way as
+ * {@link com.github.sarxos.abberwoult.ActorCreator} does, but it calls this constructor directly,
+ * and it assigns injectees and invokes post construct method by using static bridges generated in
+ * the actor class hierarchy by {@link ActorInstrumentor}. No creator is generated for the actors
+ * which cannot be created this way (abstract classes, non-static inner classes, private
+ * constructors, generic or array parameter types, etc). These are created by the reflection based
+ * {@link com.github.sarxos.abberwoult.ActorCreator}.
+ *
+ * @author Bartosz Firyn (sarxos)
+ */
+public class ActorCreatorGenerator {
+
+	private static final Logger LOG = Logger.getLogger(ActorCreatorGenerator.class);
+
+	private static final String SUFIX = "$SyntheticActorCreator";
+	private static final String INJECT_BRIDGE_PREFIX = "synthInject_";
+	private static final String POST_CONSTRUCT_BRIDGE_PREFIX = "synthPostConstruct_";
+	private static final String OUTER_INSTANCE_FIELD = "this$0";
+	private static final String LOCATOR = "com.github.sarxos.abberwoult.cdi.BeanLocator";
+
+	/**
+	 * Primitive type to boxed type mapping.
+	 */
+	private static final Map<String, String> BOXED = new HashMap<>();
+	static {
+		BOXED.put("char", "java.lang.Character");
+		BOXED.put("boolean", "java.lang.Boolean");
+		BOXED.put("byte", "java.lang.Byte");
+		BOXED.put("short", "java.lang.Short");
+		BOXED.put("int", "java.lang.Integer");
+		BOXED.put("long", "java.lang.Long");
+		BOXED.put("float", "java.lang.Float");
+		BOXED.put("double", "java.lang.Double");
+	}
+
+	private final Assistant assistant;
+
+	public ActorCreatorGenerator(final Reflector reflector) {
+		this.assistant = reflector.getAssistant();
+	}
+
+	/**
+	 * @param clazz the class
+	 * @return Non-static fields annotated with {@link javax.inject.Inject} declared in given class
+	 */
+	public static List<FieldRef> getInjectableFields(final ClassRef clazz) {
+		return clazz.getFields().stream()
+			.filter(field -> field.getDeclaringClassName().equals(clazz.getName()))
+			.filter(field -> field.hasAnnotation(INJECT_ANNOTATION))
+			.filter(field -> !field.isStatic())
+			.filter(field -> field.isClassType())
+			.collect(toList());
+	}
+
+	/**
+	 * @param clazz the class
+	 * @return Non-static no-args methods annotated with {@link javax.annotation.PostConstruct}
+	 *         declared in given class
+	 */
+	public static List<MethodRef> getPostConstructMethods(final ClassRef clazz) {
+		return clazz.getDeclaredMethods().stream()
+			.filter(method -> method.hasAnnotation(POST_CONSTRUCT_ANNOTATION))
+			.filter(method -> !method.isStatic())
+			.filter(method -> method.getParametersCount() == 0)
+			.collect(toList());
+	}
+
+	public static String getInjectBridgeName(final FieldRef field) {
+		return INJECT_BRIDGE_PREFIX + field.getName();
+	}
+
+	public static String getPostConstructBridgeName(final MethodRef method) {
+		return POST_CONSTRUCT_BRIDGE_PREFIX + method.getName();
+	}
+
+	public static String getSyntheticClassName(final ClassRef clazz) {
+		return clazz.getName() + SUFIX;
+	}
+
+	public Option<AssistedClass> generate(final ClassRef clazz) {
+
+		final String name = clazz.getName();
+
+		if (clazz.isAbstract() || clazz.isInterface()) {
+			return Option.none();
+		}
+		if (clazz.getDeclaredFields().stream().anyMatch(fi -> fi.name().startsWith(OUTER_INSTANCE_FIELD))) {
+			LOG.debugf("Actor %s is an inner class, synthetic creator will not be generated", name);
+			return Option.none();
+		}
+
+		final List<ConstructorRef> constructors = clazz.getConstructors();
+		if (!constructors.stream().allMatch(this::isSupported)) {
+			LOG.debugf("Actor %s has unsupported constructor, synthetic creator will not be generated", name);
+			return Option.none();
+		}
+
+		final List<ConstructorRef> wired = constructors.stream()
+			.filter(c -> c.hasAnnotation(INJECT_ANNOTATION))
+			.collect(toList());
+		if (wired.size() > 1) {
+			LOG.debugf("Actor %s has more than one wired constructor, synthetic creator will not be generated", name);
+			return Option.none();
+		}
+
+		final List<FieldRef> fields = new ArrayList<>();
+		final List<ClassRef> hierarchy = new ArrayList<>();
+		Option<MethodRef> postConstruct = Option.none();
+
+		for (ClassRef c = clazz; c != null; c = c.getSuperclass()) {
+
+			hierarchy.add(c);
+
+			if (!isBridged(c)) {
+				LOG.debugf("Actor %s superclass %s is not instrumented, synthetic creator will not be generated", name, c);
+				return Option.none();
+			}
+			if (hasUnsupportedInjectionPoint(c)) {
+				LOG.debugf("Actor %s has unsupported injection point, synthetic creator will not be generated", name);
+				return Option.none();
+			}
+
+			fields.addAll(getInjectableFields(c));
+
+			if (postConstruct.isEmpty()) {
+				postConstruct = Option.ofOptional(getPostConstructMethods(c).stream().findFirst());
+			}
+
+			final DotName superclass = c.getSuperclassName();
+			if (superclass == null || ABSTRACT_ACTOR_CLASS.equals(superclass)) {
+				break;
+			}
+			if (c.getSuperclass() == null) {
+				LOG.debugf("Actor %s superclass %s is not indexed, synthetic creator will not be generated", name, superclass);
+				return Option.none();
+			}
+		}
+
+		final String syntheticClassName = getSyntheticClassName(clazz);
+		final AssistedClass newClass = assistant.newClass(syntheticClassName, SYNTHETIC_ACTOR_CREATOR_CLASS);
+
+		for (int i = 0; i < fields.size(); i++) {
+			final FieldRef field = fields.get(i);
+			newClass.newField(""
+				+ "private static final java.lang.reflect.Field F" + i + " = "
+				+ "com.github.sarxos.abberwoult.SyntheticActorCreator.field("
+				+ literal(field.getDeclaringClassName()) + ", \"" + field.getName() + "\");");
+		}
+
+		for (int i = 0; i < constructors.size(); i++) {
+			final ConstructorRef constructor = constructors.get(i);
+			if (constructor.hasAnnotation(INJECT_ANNOTATION)) {
+				newClass.newField(""
+					+ "private static final java.lang.reflect.Constructor C" + i + " = "
+					+ "com.github.sarxos.abberwoult.SyntheticActorCreator.constructor("
+					+ literal(name) + ", " + types(constructor) + ");");
+				newClass.newField(""
+					+ "private static final java.lang.reflect.Parameter[] P" + i + " = C" + i + ".getParameters();");
+			}
+		}
+
+		newClass.newConstructor(""
+			+ "public " + simple(syntheticClassName) + "() {\n"
+			+ "  super(" + literal(name) + ", null, null);\n"
+			+ "}");
+
+		newClass.newConstructor(""
+			+ "public " + simple(syntheticClassName) + "(" + LOCATOR + " locator, Object[] args) {\n"
+			+ "  super(" + literal(name) + ", locator, args);\n"
+			+ "}");
+
+		newClass.newMethod(""
+			+ "public com.github.sarxos.abberwoult.SyntheticActorCreator withArguments(" + LOCATOR + " locator, Object[] args) {\n"
+			+ "  return new " + syntheticClassName + "(locator, args);\n"
+			+ "}");
+
+		final StringBuilder code = new StringBuilder()
+			.append("protected akka.actor.Actor instantiate(Object[] args) {\n")
+			.append("  " + name + " actor = null;\n");
+
+		if (constructors.size() == 1) {
+			code.append(instantiate(constructors.get(0), 0, true));
+		} else {
+			for (int i = 0; i < constructors.size(); i++) {
+				if (!constructors.get(i).hasAnnotation(INJECT_ANNOTATION)) {
+					code.append(instantiate(constructors.get(i), i, false));
+				}
+			}
+			for (int i = 0; i < constructors.size(); i++) {
+				if (constructors.get(i).hasAnnotation(INJECT_ANNOTATION)) {
+					code.append(instantiate(constructors.get(i), i, false));
+				}
+			}
+		}
+
+		code.append("  if (actor == null) {\n");
+		code.append("    return null;\n");
+		code.append("  }\n");
+
+		for (int i = 0; i < fields.size(); i++) {
+			final FieldRef field = fields.get(i);
+			code.append("  " + field.getDeclaringClassName() + "." + getInjectBridgeName(field) + "(actor, inject(F" + i + "));\n");
+		}
+
+		postConstruct.forEach(method -> {
+			code.append("  " + method.getDeclaringClassName() + "." + getPostConstructBridgeName(method) + "(actor);\n");
+		});
+
+		code.append("  return actor;\n");
+		code.append("}");
+
+		newClass.newMethod(code);
+		newClass.debugWriteClass("target/abberwoult/generated-classes");
+		newClass.addAnnotation(Generated.class);
+
+		LOG.tracef("Generated synthetic actor creator %s for %s", syntheticClassName, hierarchy);
+
+		return Option.of(newClass);
+	}
+
+	/**
+	 * Generate code which calls constructor when arguments match it. It follows the rules
+	 * implemented in {@link com.github.sarxos.abberwoult.cdi.BeanFactory}, that is, the wired
+	 * constructor is used when it is the only one constructor or when there are no arguments.
+	 */
+	private String instantiate(final ConstructorRef constructor, final int index, final boolean single) {
+
+		final boolean wired = constructor.hasAnnotation(INJECT_ANNOTATION);
+		final List<ParameterRef> parameters = constructor.getParameters();
+		final List<String> conditions = new ArrayList<>();
+		final List<String> arguments = new ArrayList<>();
+
+		int position = 0;
+
+		for (int i = 0; i < parameters.size(); i++) {
+
+			final ParameterRef parameter = parameters.get(i);
+			final Type type = parameter.getType();
+
+			if (wired && !parameter.hasAnnotation(ASSISTED_ANNOTATION)) {
+				arguments.add(cast(type, "inject(C" + index + ", P" + index + ", " + i + ")"));
+			} else {
+				conditions.add(matches(type, "args[" + position + "]"));
+				arguments.add(cast(type, "args[" + position + "]"));
+				position++;
+			}
+		}
+
+		if (wired && !single && position > 0) {
+			return "";
+		}
+
+		conditions.add(0, "args.length == " + position);
+
+		return ""
+			+ "  if (actor == null && " + String.join(" && ", conditions) + ") {\n"
+			+ "    actor = new " + constructor.getDeclaringClassName() + "(" + String.join(", ", arguments) + ");\n"
+			+ "  }\n";
+	}
+
+	private String matches(final Type type, final String argument) {
+		if (type.kind() == Type.Kind.PRIMITIVE) {
+			return argument + " instanceof " + BOXED.get(type.name().toString());
+		} else {
+			return "(" + argument + " == null || " + argument + " instanceof " + type.name() + ")";
+		}
+	}
+
+	private String cast(final Type type, final String argument) {
+		if (type.kind() == Type.Kind.PRIMITIVE) {
+			final String primitive = type.name().toString();
+			return "((" + BOXED.get(primitive) + ") " + argument + ")." + primitive + "Value()";
+		} else {
+			return "(" + type.name() + ") " + argument;
+		}
+	}
+
+	private String types(final ConstructorRef constructor) {
+		return constructor.getParameters().stream()
+			.map(ParameterRef::getType)
+			.map(type -> literal(type.name().toString()))
+			.collect(joining(", ", "new Class[] { ", " }"));
+	}
+
+	private boolean isSupported(final ConstructorRef constructor) {
+		if (constructor.isPrivate()) {
+			return false;
+		}
+		return constructor.getParameters().stream()
+			.map(ParameterRef::getType)
+			.allMatch(type -> type.kind() == Type.Kind.PRIMITIVE || Reflector.isClassType(type));
+	}
+
+	private boolean hasUnsupportedInjectionPoint(final ClassRef clazz) {
+		return clazz.getFields().stream()
+			.filter(field -> field.getDeclaringClassName().equals(clazz.getName()))
+			.filter(field -> field.hasAnnotation(INJECT_ANNOTATION))
+			.anyMatch(field -> !field.isStatic() && !field.isClassType());
+	}
+
+	/**
+	 * Check if all the bridges required to wire instance of a given class has been generated.
+	 */
+	private boolean isBridged(final ClassRef clazz) {
+
+		final AssistedClass cc = assistant.findClass(clazz.getName());
+
+		for (final FieldRef field : getInjectableFields(clazz)) {
+			if (!cc.hasDeclaredMethod(getInjectBridgeName(field), clazz.getName(), Object.class.getName())) {
+				return false;
+			}
+		}
+		for (final MethodRef method : getPostConstructMethods(clazz)) {
+			if (!cc.hasDeclaredMethod(getPostConstructBridgeName(method), clazz.getName())) {
+				return false;
+			}
+		}
+
+		return true;
+	}
+
+	private static String literal(final String name) {
+		return name.replaceAll("\\$", ".") + ".class";
+	}
+
+	private static String simple(final String name) {
+		return name.substring(name.lastIndexOf('.') + 1);
+	}
+}
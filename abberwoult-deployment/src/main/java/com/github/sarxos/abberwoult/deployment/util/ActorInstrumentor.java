@@ -1,15 +1,12 @@
 package com.github.sarxos.abberwoult.deployment.util;
 
 import static com.github.sarxos.abberwoult.DotNames.EVENT_ANNOTATION;
-import static com.github.sarxos.abberwoult.DotNames.RECEIVERS;
 import static com.github.sarxos.abberwoult.DotNames.SIMPLE_ACTOR_CLASS;
-import static io.vavr.Predicates.not;
 import static java.lang.System.currentTimeMillis;
 import static java.util.stream.Collectors.toList;
 
-import java.util.Arrays;
+import java.util.ArrayList;
 import java.util.List;
-import java.util.function.Predicate;
 import java.util.function.UnaryOperator;
 
 import org.apache.commons.lang3.StringUtils;
@@ -20,11 +17,12 @@ import com.github.sarxos.abberwoult.annotation.Generated;
 import com.github.sarxos.abberwoult.annotation.Instrumented;
 import com.github.sarxos.abberwoult.annotation.PostStop;
 import com.github.sarxos.abberwoult.annotation.PreStart;
+import com.github.sarxos.abberwoult.deployment.config.ReceiveDispatch;
 import com.github.sarxos.abberwoult.deployment.util.Assistant.AssistedClass;
 import com.github.sarxos.abberwoult.deployment.util.Assistant.AssistedMethod;
 import com.github.sarxos.abberwoult.jandex.Reflector.ClassRef;
+import com.github.sarxos.abberwoult.jandex.Reflector.FieldRef;
 import com.github.sarxos.abberwoult.jandex.Reflector.MethodRef;
-import com.github.sarxos.abberwoult.jandex.Reflector.ParameterRef;
 
 import io.vavr.control.Option;
 import javassist.CannotCompileException;
@@ -39,15 +37,16 @@ public class ActorInstrumentor {
 
 	private static final Logger LOG = Logger.getLogger(ActorInstrumentor.class);
 
-	public byte[] instrument(final ClassRef clazz) {
+	public byte[] instrument(final ClassRef clazz, final ReceiveDispatch dispatch) {
 		final AssistedClass cc = clazz.assisted();
 		return Option.of(cc)
 			.filter(this::isInstrumentationEligible)
 			.peek($ -> LOG.tracef("Instrument actor class %s", cc))
+			.map(generateInjectionBridges(clazz))
 			.map(generateEventSubscribtionInvoker(clazz))
 			.map(generatePreStart())
 			.map(generatePostStop())
-			.map(generateReceive(clazz))
+			.map(generateReceive(clazz, dispatch))
 			.map(addInstrumentedAnnotation())
 			.map(debugWriteClass())
 			.onEmpty(() -> LOG.tracef("No instrumentation required for actor class %s", cc.getName()))
@@ -55,6 +54,48 @@ public class ActorInstrumentor {
 			.toBytecode();
 	}
 
+	/**
+	 * Generate static bridges used by the {@link ActorCreatorGenerator synthetic actor creator} to
+	 * assign injectees into the fields annotated with {@link javax.inject.Inject} and to invoke
+	 * method annotated with {@link javax.annotation.PostConstruct} without reflection, even if
+	 * these are private. Bridges are static so they are never overridden by the subclasses.
+	 *
+	 * @param clazz the actor class
+	 * @return Instrumented actor class
+	 */
+	private UnaryOperator<AssistedClass> generateInjectionBridges(final ClassRef clazz) {
+		return cc -> {
+
+			final String name = clazz.getName();
+
+			for (final FieldRef field : ActorCreatorGenerator.getInjectableFields(clazz)) {
+
+				final String code = ""
+					+ "public static void " + ActorCreatorGenerator.getInjectBridgeName(field) + "(" + name + " target, Object value) {\n"
+					+ "  target." + field.getName() + " = (" + field.getTypeName() + ") value;\n"
+					+ "}";
+
+				cc
+					.newMethod(code)
+					.addAnnotation(Generated.class);
+			}
+
+			for (final MethodRef method : ActorCreatorGenerator.getPostConstructMethods(clazz)) {
+
+				final String code = ""
+					+ "public static void " + ActorCreatorGenerator.getPostConstructBridgeName(method) + "(" + name + " target) {\n"
+					+ "  target." + method.getName() + "();\n"
+					+ "}";
+
+				cc
+					.newMethod(code)
+					.addAnnotation(Generated.class);
+			}
+
+			return cc;
+		};
+	}
+
 	private UnaryOperator<AssistedClass> generateEventSubscribtionInvoker(final ClassRef clazz) {
 		return cc -> {
 
@@ -87,23 +128,7 @@ public class ActorInstrumentor {
 		};
 	}
 
-	private void assertExactlyOneReceivedParameterPresent(MethodRef m) {
-		final List<ParameterRef> received = m.getParametersAnnotatedBy(RECEIVERS);
-		if (received.size() < 1) {
-			throw new IllegalStateException(""
-				+ "Method " + m.getLongName() + " does not accept any parameters annotated "
-				+ "with " + Arrays.asList(RECEIVERS) + " where exactly one such parameter "
-				+ "must be present.");
-		}
-		if (received.size() > 1) {
-			throw new IllegalStateException(""
-				+ "Method " + m.getLongName() + " accepts multiple parameters annotated "
-				+ "with " + Arrays.asList(RECEIVERS) + " where only one such parameter "
-				+ "is allowed.");
-		}
-	}
-
-	private UnaryOperator<AssistedClass> generateReceive(final ClassRef clazz) {
+	private UnaryOperator<AssistedClass> generateReceive(final ClassRef clazz, final ReceiveDispatch dispatch) {
 		return cc -> {
 
 			if (cc.isAbstract()) {
@@ -122,30 +147,18 @@ public class ActorInstrumentor {
 				return cc;
 			}
 
-			final Predicate<MethodRef> isReceiver = method -> method.hasParameterAnnotatedBy(RECEIVERS);
-
-			final List<MethodRef> receivers = clazz
-				.methods()
-				.filter(not(MethodRef::isStatic))
-				.filter(isReceiver)
-				.peek(this::assertExactlyOneReceivedParameterPresent)
-				.collect(toList());
+			final List<MethodRef> receivers = ReceiveInvokerGenerator.findReceivers(clazz);
 
 			if (receivers.isEmpty()) {
 				return cc;
 			}
 
-			receivers.sort((m1, m2) -> {
-				final ParameterRef pt1 = m1.getParameter(0);
-				final ParameterRef pt2 = m2.getParameter(0);
-				return pt2.getTypeDistance() - pt1.getTypeDistance();
-			});
+			if (dispatch == ReceiveDispatch.DISPATCHER) {
+				return generateDispatcherReceive(clazz, cc);
+			}
 
-			final StringBuilder code = new StringBuilder(""
-				+ "public akka.actor.AbstractActor.Receive createReceive() {\n"
-			// + " akka.actor.AbstractActor.Receive fallback = super.createReceive();\n"
-				+ "  return akka.japi.pf.ReceiveBuilder\n"
-				+ "    .create()\n");
+			final List<String> types = new ArrayList<>(receivers.size());
+			final List<String> invokers = new ArrayList<>(receivers.size());
 
 			for (MethodRef method : receivers) {
 
@@ -156,13 +169,31 @@ public class ActorInstrumentor {
 
 				final DotName invoker = ReceiveInvokerGenerator.createReceiveInvokerName(clazz, method);
 
-				code.append("    .match(" + type + ".class, new " + invoker + "(this))\n");
+				types.add(type + ".class");
+				invokers.add("new " + invoker + "(this)");
 			}
 
-			code.append(""
-				+ "    .matchAny(new com.github.sarxos.abberwoult.ReceiveInvoker.UnhandledReceiveInvoker(this))\n"
+			// dispatch table is static because it depends only on the actor class, it's resolved
+			// once and then shared between all the actor instances
+
+			final String table = cc.makeUniqueName("synthReceiveDispatchTable");
+
+			cc.newField(""
+				+ "private static final com.github.sarxos.abberwoult.ReceiveDispatchTable " + table + " = "
+				+ "new com.github.sarxos.abberwoult.ReceiveDispatchTable(new java.lang.Class[] { "
+				+ StringUtils.join(types, ", ")
+				+ " });");
+
+			final String code = ""
+				+ "public akka.actor.AbstractActor.Receive createReceive() {\n"
+				+ "  return akka.japi.pf.ReceiveBuilder\n"
+				+ "    .create()\n"
+				+ "    .matchAny(new com.github.sarxos.abberwoult.ReceiveDispatcher(\n"
+				+ "      " + table + ",\n"
+				+ "      new com.github.sarxos.abberwoult.ReceiveInvoker[] { " + StringUtils.join(invokers, ", ") + " },\n"
+				+ "      new com.github.sarxos.abberwoult.ReceiveInvoker.UnhandledReceiveInvoker(this)))\n"
 				+ "    .build();\n"
-				+ "}");
+				+ "}";
 
 			cc
 				.newMethod(code)
@@ -172,6 +203,33 @@ public class ActorInstrumentor {
 		};
 	}
 
+	/**
+	 * Generate receive which passes all messages to the single dispatcher generated for the actor
+	 * class by the {@link ReceiveInvokerGenerator}.
+	 *
+	 * @param clazz the actor class
+	 * @param cc the instrumented actor class
+	 * @return Instrumented actor class
+	 */
+	private AssistedClass generateDispatcherReceive(final ClassRef clazz, final AssistedClass cc) {
+
+		final DotName dispatcher = ReceiveInvokerGenerator.createReceiveDispatcherName(clazz);
+
+		final String code = ""
+			+ "public akka.actor.AbstractActor.Receive createReceive() {\n"
+			+ "  return akka.japi.pf.ReceiveBuilder\n"
+			+ "    .create()\n"
+			+ "    .matchAny(new " + dispatcher + "(this))\n"
+			+ "    .build();\n"
+			+ "}";
+
+		cc
+			.newMethod(code)
+			.addAnnotation(Generated.class);
+
+		return cc;
+	}
+
 	private UnaryOperator<AssistedClass> generatePreStart() {
 		return cc -> {
 
@@ -5,11 +5,19 @@ import static com.github.sarxos.abberwoult.DotNames.SHARD_ID_ANNOTATION;
 import static org.apache.commons.lang3.CharUtils.isAsciiAlphaUpper;
 import static org.apache.commons.lang3.StringUtils.capitalize;
 
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.UUID;
+
 import org.apache.commons.lang3.StringUtils;
+import org.jboss.jandex.AnnotationValue;
 import org.jboss.jandex.ClassInfo;
 import org.jboss.jandex.DotName;
 
+import com.github.sarxos.abberwoult.EntityIdCache;
 import com.github.sarxos.abberwoult.ShardMessageExtractor.FieldReader;
+import com.github.sarxos.abberwoult.jandex.Reflector.AnnotationRef;
 import com.github.sarxos.abberwoult.jandex.Reflector.ClassRef;
 import com.github.sarxos.abberwoult.jandex.Reflector.FieldRef;
 import com.github.sarxos.abberwoult.jandex.Reflector.MethodRef;
@@ -34,6 +42,24 @@ public class FieldReaderGenerator {
 	private static final String PREFIX_GET = "get";
 	private static final String PREFIX_IS = "is";
 
+	/**
+	 * Shard ID types which are hashed by the generated reader without boxing.
+	 */
+	private static final Set<String> HASHABLE_TYPES = new HashSet<>(Arrays.asList(
+		"int",
+		"long",
+		String.class.getName(),
+		UUID.class.getName()));
+
+	/**
+	 * Entity ID types which are looked up in the entity ID cache without boxing.
+	 */
+	private static final Set<String> LONG_TYPES = new HashSet<>(Arrays.asList(
+		"int",
+		"long"));
+
+	private static final String ENTITY_ID_CACHE_CLASS_NAME = EntityIdCache.class.getName();
+
 	/**
 	 * Create new method from a source code.
 	 *
@@ -73,8 +99,10 @@ public class FieldReaderGenerator {
 	private CtClass generate0(final ClassRef clazz) throws CannotCompileException {
 
 		final String clazzName = clazz.getName();
-		final String shardIdGetterName = getAnnotatedMethodName(clazz, SHARD_ID_ANNOTATION);
-		final String shardEntityIdGetterName = getAnnotatedMethodName(clazz, SHARD_ENTITY_ID_ANNOTATION);
+		final MethodRef shardIdGetter = getAnnotatedMethod(clazz, SHARD_ID_ANNOTATION);
+		final String shardIdGetterName = shardIdGetter.getName();
+		final MethodRef shardEntityIdGetter = getAnnotatedMethod(clazz, SHARD_ENTITY_ID_ANNOTATION);
+		final String shardEntityIdGetterName = shardEntityIdGetter.getName();
 		final String syntheticClassName = clazzName + "_FieldReader";
 
 		try {
@@ -86,18 +114,49 @@ public class FieldReaderGenerator {
 			cc.setModifiers(Modifier.FINAL | Modifier.PUBLIC);
 			cc.addMethod(method(cc, "public Object readShardId(Object m) { return value(((%s) m).%s()); }", clazzName, shardIdGetterName));
 			cc.addMethod(method(cc, "public Object readShardEntityId(Object m) { return value(((%s) m).%s()); }", clazzName, shardEntityIdGetterName));
+
+			if (HASHABLE_TYPES.contains(shardIdGetter.getReturnTypeName())) {
+				cc.addMethod(method(cc, "public int getShardIdHash(Object m) { return hash(((%s) m).%s()); }", clazzName, shardIdGetterName));
+			}
+			if (LONG_TYPES.contains(shardEntityIdGetter.getReturnTypeName())) {
+				cc.addMethod(method(cc, "public String getShardEntityId(Object m, %s c) { return c.get((long) ((%s) m).%s()); }", ENTITY_ID_CACHE_CLASS_NAME, clazzName, shardEntityIdGetterName));
+			}
+
 			cc.debugWriteFile("target/abberwoult/generated-classes");
 
 			return cc;
 		}
 	}
 
-	private String getAnnotatedMethodName(final ClassRef clazz, final DotName annotation) {
+	/**
+	 * Find the name of {@link com.github.sarxos.abberwoult.ShardIdStrategy} selected for the
+	 * message class in the {@link com.github.sarxos.abberwoult.annotation.ShardId} annotation.
+	 *
+	 * @param clazz the message class
+	 * @return The strategy name or none if strategy is not selected
+	 */
+	public Option<String> getShardIdStrategy(final ClassRef clazz) {
+
+		final Option<AnnotationRef> annotation = Stream
+			.ofAll(clazz.getMethods())
+			.flatMap(m -> m.getAnnotation(SHARD_ID_ANNOTATION))
+			.headOption()
+			.orElse(() -> Stream
+				.ofAll(clazz.getFields())
+				.flatMap(f -> f.getAnnotation(SHARD_ID_ANNOTATION))
+				.headOption());
+
+		return annotation
+			.flatMap(a -> a.getValue("strategy"))
+			.map(AnnotationValue::asString)
+			.filter(StringUtils::isNotBlank);
+	}
+
+	private MethodRef getAnnotatedMethod(final ClassRef clazz, final DotName annotation) {
 
-		final Option<String> method = Stream
+		final Option<MethodRef> method = Stream
 			.ofAll(clazz.getMethods())
-			.find(m -> m.hasAnnotation(annotation))
-			.map(MethodRef::getName);
+			.find(m -> m.hasAnnotation(annotation));
 
 		if (method.isDefined()) {
 			return method.get();
@@ -120,7 +179,7 @@ public class FieldReaderGenerator {
 		}
 	}
 
-	private String getReadMethod(final ClassRef clazz, FieldRef field) {
+	private MethodRef getReadMethod(final ClassRef clazz, FieldRef field) {
 
 		final String fieldTypeName = field.getTypeName();
 		final boolean isBoolean = StringUtils.equals(fieldTypeName, "boolean");
@@ -138,7 +197,7 @@ public class FieldReaderGenerator {
 			throw new IllegalStateException("Void method " + method + " cannot be a getter for " + field + " in " + clazz);
 		}
 		if (method.getParametersCount() == 0) {
-			return method.getName();
+			return method;
 		}
 
 		throw new IllegalStateException("Method " + method + " must have no arguments to be a getter for " + field + " in " + clazz);
@@ -0,0 +1,506 @@
+package com.github.sarxos.abberwoult.deployment.util;
+
+import static com.github.sarxos.abberwoult.DotNames.CONSTRAINT_ANNOTATION;
+import static com.github.sarxos.abberwoult.DotNames.MAX_ANNOTATION;
+import static com.github.sarxos.abberwoult.DotNames.MESSAGE_VALIDATOR_INTERFACE;
+import static com.github.sarxos.abberwoult.DotNames.MIN_ANNOTATION;
+import static com.github.sarxos.abberwoult.DotNames.NOT_EMPTY_ANNOTATION;
+import static com.github.sarxos.abberwoult.DotNames.NOT_NULL_ANNOTATION;
+import static com.github.sarxos.abberwoult.DotNames.OBJECT_CLASS;
+import static com.github.sarxos.abberwoult.DotNames.SIZE_ANNOTATION;
+import static com.github.sarxos.abberwoult.DotNames.VALID_ANNOTATION;
+import static org.apache.commons.lang3.StringUtils.capitalize;
+
+import java.lang.reflect.Modifier;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+import org.jboss.jandex.AnnotationTarget;
+import org.jboss.jandex.AnnotationValue;
+import org.jboss.jandex.DotName;
+import org.jboss.logging.Logger;
+
+import com.github.sarxos.abberwoult.annotation.Generated;
+import com.github.sarxos.abberwoult.deployment.util.Assistant.AssistedClass;
+import com.github.sarxos.abberwoult.jandex.Reflector;
+import com.github.sarxos.abberwoult.jandex.Reflector.AnnotationRef;
+import com.github.sarxos.abberwoult.jandex.Reflector.ClassRef;
+import com.github.sarxos.abberwoult.jandex.Reflector.FieldRef;
+import com.github.sarxos.abberwoult.jandex.Reflector.MethodRef;
+
+import io.vavr.control.Option;
+
+
+/**
+ * Generates plain Java {@link com.github.sarxos.abberwoult.MessageValidator} implementations for
+ * the message classes validated in message handlers. Only field constraints {@code @NotNull},
+ * {@code @NotEmpty}, {@code @Size}, {@code @Min}, {@code @Max} and the cascading {@code @Valid}
+ * are supported. When message class uses any other constraint (or a supported one in an
+ * unsupported way, e.g. on a getter, with groups or on a type argument), or when any interface it
+ * implements declares a constraint, no validator is generated and the message is validated by the
+ * {@link javax.validation.Validator} only.
+ *
+ * @author Bartosz Firyn (sarxos)
+ */
+public class MessageValidatorGenerator {
+
+	private static final Logger LOG = Logger.getLogger(MessageValidatorGenerator.class);
+
+	private static final String SUFIX = "_MessageValidator";
+	private static final String CONSTRAINTS = "com.github.sarxos.abberwoult.MessageConstraints";
+	private static final String VALIDATION = "com.github.sarxos.abberwoult.Validation";
+
+	private static final Set<DotName> SUPPORTED = new HashSet<>(Arrays.asList(
+		NOT_NULL_ANNOTATION,
+		NOT_EMPTY_ANNOTATION,
+		SIZE_ANNOTATION,
+		MIN_ANNOTATION,
+		MAX_ANNOTATION,
+		VALID_ANNOTATION));
+
+	private static final Set<String> INTEGRAL_PRIMITIVES = new HashSet<>(Arrays.asList(
+		"byte",
+		"short",
+		"int",
+		"long"));
+
+	private static final String[] CONSTRAINT_PACKAGES = {
+		"javax.validation.constraints.",
+		"org.hibernate.validator.constraints.",
+	};
+
+	/**
+	 * Packages of the interfaces which never declare constraints, so these do not have to be
+	 * indexed.
+	 */
+	private static final String[] UNCONSTRAINED_PACKAGES = {
+		"java.",
+		"scala.",
+		"akka.",
+	};
+
+	/**
+	 * Find all classes which need synthetic validator, starting from the given message classes and
+	 * following the fields annotated with {@code @Valid}. Classes which may be part of a reference
+	 * cycle are excluded because generated validators do not track visited objects.
+	 *
+	 * @param roots the validated message classes
+	 * @return Classes which can have synthetic validator generated
+	 */
+	public Set<ClassRef> findValidatedClasses(final Collection<ClassRef> roots) {
+
+		final Map<ClassRef, Set<ClassRef>> graph = new LinkedHashMap<>();
+		final Deque<ClassRef> queue = new ArrayDeque<>(roots);
+
+		while (!queue.isEmpty()) {
+
+			final ClassRef clazz = queue.poll();
+
+			if (graph.containsKey(clazz)) {
+				continue;
+			}
+
+			final Set<ClassRef> cascaded = getCascadedClasses(clazz);
+
+			graph.put(clazz, cascaded);
+			queue.addAll(cascaded);
+			queue.addAll(getSubclasses(clazz));
+		}
+
+		final Set<ClassRef> classes = new LinkedHashSet<>();
+
+		for (final ClassRef clazz : graph.keySet()) {
+			if (isReachable(graph, clazz, clazz)) {
+				LOG.debugf("Class %s is part of the @Valid reference cycle and will not have synthetic validator", clazz);
+			} else {
+				classes.add(clazz);
+			}
+		}
+
+		return classes;
+	}
+
+	/**
+	 * Generate synthetic validator for a given class.
+	 *
+	 * @param clazz the message class
+	 * @return Generated validator or empty {@link Option} when class uses unsupported constraints
+	 */
+	public Option<AssistedClass> generate(final ClassRef clazz) {
+
+		final Option<List<String>> checks = getChecks(clazz);
+
+		if (checks.isEmpty()) {
+			LOG.debugf("Class %s uses unsupported constraints and will not have synthetic validator", clazz);
+			return Option.none();
+		}
+
+		final Assistant assistant = clazz
+			.getReflector()
+			.getAssistant();
+
+		final String clazzName = clazz.getName();
+		final String syntheticClassName = getSyntheticClassName(clazz);
+
+		if (assistant.exists(syntheticClassName)) {
+			return Option.of(assistant.findClass(syntheticClassName));
+		}
+
+		LOG.debugf("Generating message validator %s", syntheticClassName);
+
+		final StringBuilder code = new StringBuilder()
+			.append("public boolean isValid(Object object) {\n")
+			.append("  " + clazzName + " m = (" + clazzName + ") object;\n");
+
+		for (final String check : checks.get()) {
+			code.append("  if (!(" + check + ")) { return false; }\n");
+		}
+
+		code.append("  return true;\n");
+		code.append("}\n");
+
+		final AssistedClass newClass = assistant.newClass(syntheticClassName);
+		newClass.newMethod(code);
+		newClass.implement(MESSAGE_VALIDATOR_INTERFACE);
+		newClass.debugWriteClass("target/abberwoult/generated-classes");
+		newClass.addAnnotation(Generated.class);
+
+		return Option.of(newClass);
+	}
+
+	public static String getSyntheticClassName(final ClassRef clazz) {
+		return clazz.getName() + SUFIX;
+	}
+
+	private Set<ClassRef> getCascadedClasses(final ClassRef clazz) {
+
+		final Reflector reflector = clazz.getReflector();
+		final Set<ClassRef> cascaded = new LinkedHashSet<>();
+
+		for (final FieldRef field : clazz.getFields()) {
+			if (field.hasAnnotation(VALID_ANNOTATION) && !field.isPrimitive()) {
+				reflector
+					.findClass(field.getType())
+					.forEach(cascaded::add);
+			}
+		}
+
+		return cascaded;
+	}
+
+	private Set<ClassRef> getSubclasses(final ClassRef clazz) {
+
+		final Reflector reflector = clazz.getReflector();
+		final Set<ClassRef> subclasses = new LinkedHashSet<>();
+		final DotName name = DotName.createSimple(clazz.getName());
+
+		if (clazz.isInterface()) {
+			reflector
+				.findImplementorsOf(name)
+				.forEach(subclasses::add);
+		} else {
+			reflector
+				.findSubclassesOf(name)
+				.forEach(subclasses::add);
+		}
+
+		return subclasses;
+	}
+
+	private boolean isReachable(final Map<ClassRef, Set<ClassRef>> graph, final ClassRef from, final ClassRef to) {
+
+		final Set<ClassRef> visited = new HashSet<>();
+		final Deque<ClassRef> queue = new ArrayDeque<>();
+
+		for (final ClassRef next : graph.getOrDefault(from, Collections.emptySet())) {
+			queue.add(next);
+			queue.addAll(getSubclasses(next));
+		}
+
+		while (!queue.isEmpty()) {
+
+			final ClassRef clazz = queue.poll();
+
+			if (clazz.equals(to)) {
+				return true;
+			}
+			if (!visited.add(clazz)) {
+				continue;
+			}
+
+			for (final ClassRef next : graph.getOrDefault(clazz, Collections.emptySet())) {
+				queue.add(next);
+				queue.addAll(getSubclasses(next));
+			}
+		}
+
+		return false;
+	}
+
+	/**
+	 * Create checks for all the constraints declared in a given class and its superclasses.
+	 * Constraints declared in the interfaces are inherited by the class as well, but these are
+	 * always declared on getters, so class which implements such interface is not supported.
+	 *
+	 * @param clazz the message class
+	 * @return Checks source code or empty {@link Option} when class uses unsupported constraints
+	 */
+	private Option<List<String>> getChecks(final ClassRef clazz) {
+
+		if (clazz.isInterface() || !isHierarchyIndexed(clazz) || isConstrainedByInterface(clazz)) {
+			return Option.none();
+		}
+
+		for (ClassRef c = clazz; c != null; c = c.getSuperclass()) {
+			for (final AnnotationRef annotation : c.getAnnotationsInClassScope()) {
+				if (isConstraint(annotation) && !isSupported(annotation)) {
+					return Option.none();
+				}
+			}
+		}
+
+		final List<String> checks = new ArrayList<>();
+
+		for (final FieldRef field : clazz.getFields()) {
+			for (final AnnotationRef annotation : field.getAnnotations()) {
+
+				if (!isConstraint(annotation)) {
+					continue;
+				}
+
+				final Option<String> check = getCheck(clazz, field, annotation);
+
+				if (check.isEmpty()) {
+					return Option.none();
+				}
+
+				checks.add(check.get());
+			}
+		}
+
+		return Option.of(checks);
+	}
+
+	private Option<String> getCheck(final ClassRef clazz, final FieldRef field, final AnnotationRef annotation) {
+
+		final Option<String> accessor = getAccessor(clazz, field);
+
+		if (accessor.isEmpty()) {
+			return Option.none();
+		}
+
+		final String value = accessor.get();
+		final DotName name = DotName.createSimple(annotation.getAnnotationClassName());
+		final boolean primitive = field.isPrimitive();
+		final boolean integral = INTEGRAL_PRIMITIVES.contains(field.getTypeName());
+
+		if (NOT_NULL_ANNOTATION.equals(name)) {
+			return Option.of(primitive ? "true" : value + " != null");
+		}
+		if (NOT_EMPTY_ANNOTATION.equals(name) && !primitive) {
+			return Option.of(CONSTRAINTS + ".notEmpty(" + value + ")");
+		}
+		if (SIZE_ANNOTATION.equals(name) && !primitive) {
+			final int min = annotation.getValue("min").map(AnnotationValue::asInt).getOrElse(0);
+			final int max = annotation.getValue("max").map(AnnotationValue::asInt).getOrElse(Integer.MAX_VALUE);
+			return Option.of(CONSTRAINTS + ".size(" + value + ", " + min + ", " + max + ")");
+		}
+		if (MIN_ANNOTATION.equals(name) && (integral || !primitive)) {
+			final long min = annotation.getValue("value").get().asLong();
+			return Option.of(CONSTRAINTS + ".min(" + toBound(value, primitive) + ", " + min + "L)");
+		}
+		if (MAX_ANNOTATION.equals(name) && (integral || !primitive)) {
+			final long max = annotation.getValue("value").get().asLong();
+			return Option.of(CONSTRAINTS + ".max(" + toBound(value, primitive) + ", " + max + "L)");
+		}
+		if (VALID_ANNOTATION.equals(name) && isIndexed(clazz, field)) {
+			return Option.of(VALIDATION + ".isValid((Object) " + value + ")");
+		}
+
+		return Option.none();
+	}
+
+	/**
+	 * Cascaded validation is generated only for fields of the indexed types, so that all the
+	 * possible reference cycles are known when validators are generated.
+	 */
+	private boolean isIndexed(final ClassRef clazz, final FieldRef field) {
+		return !field.isPrimitive() && clazz
+			.getReflector()
+			.findClass(field.getType())
+			.isDefined();
+	}
+
+	private String toBound(final String value, final boolean primitive) {
+		if (primitive) {
+			return "(long) " + value;
+		} else {
+			return "(Object) " + value;
+		}
+	}
+
+	/**
+	 * Return the code which reads field value from message variable. Field is read directly if it's
+	 * accessible from the message package, otherwise the getter is used.
+	 *
+	 * @param clazz the message class
+	 * @param field the field to be read
+	 * @return Field access code or empty {@link Option} if field cannot be read
+	 */
+	private Option<String> getAccessor(final ClassRef clazz, final FieldRef field) {
+
+		final String pkg = getPackageName(clazz.getName());
+
+		if (isAccessible(pkg, field.isPublic(), field.isPrivate(), field.getDeclaringClassName())) {
+			return Option.of("m." + field.getName());
+		}
+
+		final String type = field.getTypeName();
+		final String getter = ("boolean".equals(type) ? "is" : "get") + capitalize(field.getName());
+
+		return Option
+			.ofOptional(clazz.methods()
+				.filter(method -> getter.equals(method.getName()))
+				.filter(method -> method.getParametersCount() == 0)
+				.filter(method -> !method.isStatic())
+				.filter(method -> Objects.equals(type, method.getReturnTypeName()))
+				.filter(method -> isAccessible(pkg, method.isPublic(), method.isPrivate(), method.getDeclaringClassName()))
+				.findFirst())
+			.map(MethodRef::getName)
+			.map(name -> "m." + name + "()");
+	}
+
+	private boolean isAccessible(final String pkg, final boolean isPublic, final boolean isPrivate, final String declaringClass) {
+		if (isPublic) {
+			return true;
+		}
+		if (isPrivate) {
+			return false;
+		}
+		return pkg.equals(getPackageName(declaringClass));
+	}
+
+	private static String getPackageName(final String clazz) {
+		final int index = clazz.lastIndexOf('.');
+		return index < 0 ? "" : clazz.substring(0, index);
+	}
+
+	/**
+	 * Check if all superclasses are available in the index so no constraint can be missed.
+	 */
+	private boolean isHierarchyIndexed(final ClassRef clazz) {
+		for (ClassRef c = clazz; c != null; c = c.getSuperclass()) {
+			final DotName superName = c.getSuperclassName();
+			if (superName == null || OBJECT_CLASS.equals(superName)) {
+				return true;
+			}
+			if (c.getSuperclass() == null) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Check if any interface implemented by the class, its superclasses or other interfaces
+	 * declares a constraint. Interface which is not indexed may declare constraints as well,
+	 * unless it comes from the package which never does.
+	 */
+	private boolean isConstrainedByInterface(final ClassRef clazz) {
+
+		final Reflector reflector = clazz.getReflector();
+		final Set<DotName> visited = new HashSet<>();
+		final Deque<DotName> queue = new ArrayDeque<>();
+
+		for (ClassRef c = clazz; c != null; c = c.getSuperclass()) {
+			queue.addAll(c.getInterfaceNames());
+		}
+
+		while (!queue.isEmpty()) {
+
+			final DotName name = queue.poll();
+
+			if (!visited.add(name) || isUnconstrainedPackage(name)) {
+				continue;
+			}
+
+			final Option<ClassRef> iface = reflector.findClass(name);
+
+			if (iface.isEmpty()) {
+				return true;
+			}
+
+			for (final AnnotationRef annotation : iface.get().getAnnotationsInClassScope()) {
+				if (isConstraint(annotation)) {
+					return true;
+				}
+			}
+
+			queue.addAll(iface.get().getInterfaceNames());
+		}
+
+		return false;
+	}
+
+	private boolean isUnconstrainedPackage(final DotName name) {
+
+		final String clazz = name.toString();
+
+		for (final String pkg : UNCONSTRAINED_PACKAGES) {
+			if (clazz.startsWith(pkg)) {
+				return true;
+			}
+		}
+
+		return false;
+	}
+
+	private boolean isConstraint(final AnnotationRef annotation) {
+
+		final String name = annotation.getAnnotationClassName();
+
+		if (VALID_ANNOTATION.toString().equals(name)) {
+			return true;
+		}
+
+		for (final String pkg : CONSTRAINT_PACKAGES) {
+			if (name.startsWith(pkg)) {
+				return true;
+			}
+		}
+
+		return annotation.hasAnnotation(CONSTRAINT_ANNOTATION);
+	}
+
+	private boolean isSupported(final AnnotationRef annotation) {
+
+		final DotName name = DotName.createSimple(annotation.getAnnotationClassName());
+
+		if (!SUPPORTED.contains(name)) {
+			return false;
+		}
+		if (annotation.getAnnotationTargetKind() != AnnotationTarget.Kind.FIELD) {
+			return false;
+		}
+		if (Modifier.isStatic(annotation.getAnnotationTarget().asField().flags())) {
+			return false;
+		}
+
+		return annotation
+			.getValue("groups")
+			.map(AnnotationValue::asClassArray)
+			.map(groups -> groups.length == 0)
+			.getOrElse(true);
+	}
+}
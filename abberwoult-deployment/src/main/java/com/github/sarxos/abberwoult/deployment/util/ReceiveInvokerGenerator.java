@@ -6,8 +6,10 @@ import static com.github.sarxos.abberwoult.DotNames.UNIVERSE_INTERFACE;
 import static com.github.sarxos.abberwoult.DotNames.VALID_ANNOTATION;
 import static io.vavr.Predicates.not;
 import static java.util.Collections.emptyMap;
+import static java.util.Collections.singletonMap;
 import static java.util.stream.Collectors.toList;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
@@ -19,6 +21,7 @@ import org.jboss.jandex.DotName;
 import org.jboss.logging.Logger;
 
 import com.github.sarxos.abberwoult.annotation.Generated;
+import com.github.sarxos.abberwoult.deployment.config.ReceiveDispatch;
 import com.github.sarxos.abberwoult.deployment.util.Assistant.AssistedClass;
 import com.github.sarxos.abberwoult.jandex.Reflector.ClassRef;
 import com.github.sarxos.abberwoult.jandex.Reflector.MethodRef;
@@ -30,20 +33,21 @@ public class ReceiveInvokerGenerator {
 	private static final Logger LOG = Logger.getLogger(ReceiveInvokerGenerator.class);
 
 	private static final String SUFIX = "ReceiveInvoker";
+	private static final String DISPATCHER_SUFIX = "ReceiveDispatcher";
 
-	public Map<String, byte[]> generate(final ClassRef clazz) {
+	public Map<String, byte[]> generate(final ClassRef clazz, final ReceiveDispatch dispatch) {
 
-		final List<MethodRef> receivers = clazz
-			.methods()
-			.filter(not(MethodRef::isStatic))
-			.filter(method -> method.hasParameterAnnotatedBy(RECEIVERS))
-			.peek(this::assertExactlyOneReceivedParameterPresent)
-			.collect(toList());
+		final List<MethodRef> receivers = findReceivers(clazz);
 
 		if (receivers.isEmpty()) {
 			return emptyMap();
 		}
 
+		if (dispatch == ReceiveDispatch.DISPATCHER) {
+			final AssistedClass dispatcher = createReceiveDispatcher(clazz, receivers);
+			return singletonMap(dispatcher.getName(), dispatcher.toBytecode());
+		}
+
 		final Map<String, byte[]> invokers = new HashMap<>();
 
 		for (final MethodRef receiver : receivers) {
@@ -60,6 +64,37 @@ public class ReceiveInvokerGenerator {
 		return invokers;
 	}
 
+	/**
+	 * Find all message handlers declared in a given class and its superclasses. Handlers are
+	 * ordered from the one which consumes the most specific message type to the one which consumes
+	 * the least specific message type. This is the order in which handlers are matched against the
+	 * incoming message.
+	 *
+	 * @param clazz the actor class
+	 * @return Ordered list of message handlers
+	 */
+	public static List<MethodRef> findReceivers(final ClassRef clazz) {
+
+		final List<MethodRef> receivers = clazz
+			.methods()
+			.filter(not(MethodRef::isStatic))
+			.filter(method -> method.hasParameterAnnotatedBy(RECEIVERS))
+			.peek(ReceiveInvokerGenerator::assertExactlyOneReceivedParameterPresent)
+			.collect(toList());
+
+		receivers.sort((m1, m2) -> {
+			final ParameterRef pt1 = m1.getParameter(0);
+			final ParameterRef pt2 = m2.getParameter(0);
+			return pt2.getTypeDistance() - pt1.getTypeDistance();
+		});
+
+		return receivers;
+	}
+
+	public static final DotName createReceiveDispatcherName(final ClassRef clazz) {
+		return DotName.createSimple(clazz.getName() + "$" + DISPATCHER_SUFIX);
+	}
+
 	public static final DotName createReceiveInvokerName(final ClassRef clazz, final MethodRef receiver) {
 		final String actorClass = clazz.getName();
 		final String payload = StringUtils.repeat(receiver.getSignature(), 10);
@@ -121,7 +156,93 @@ public class ReceiveInvokerGenerator {
 		return newClass;
 	}
 
-	private void assertExactlyOneReceivedParameterPresent(final MethodRef m) {
+	private AssistedClass createReceiveDispatcher(final ClassRef clazz, final List<MethodRef> receivers) {
+
+		for (final MethodRef receiver : receivers) {
+			if (receiver.hasParameterAnnotatedBy(VALID_ANNOTATION)) {
+				assertDeclaringClassInUniverse(receiver);
+			}
+		}
+
+		final Assistant assistant = clazz
+			.getReflector()
+			.getAssistant();
+
+		final String actorClass = clazz.getName();
+		final DotName fullName = createReceiveDispatcherName(clazz);
+
+		if (assistant.exists(fullName)) {
+			return assistant.findClass(fullName);
+		}
+
+		LOG.debugf("Generating receive dispatcher %s", fullName);
+
+		final List<String> types = new ArrayList<>(receivers.size());
+		final StringBuilder cases = new StringBuilder();
+
+		for (int i = 0; i < receivers.size(); i++) {
+
+			final MethodRef receiver = receivers.get(i);
+			final ParameterRef parameter = receiver.getParametersAnnotatedBy(RECEIVERS).get(0);
+			final String typeName = parameter.getTypeName();
+
+			types.add(typeName.replaceAll("\\$", ".") + ".class");
+
+			cases.append("    case " + i + ": {\n");
+
+			if (receiver.hasParameterAnnotatedBy(VALID_ANNOTATION)) {
+				cases.append(""
+					+ "      com.github.sarxos.abberwoult.Validation.validate(\n"
+					+ "        (com.github.sarxos.abberwoult.dsl.Universe) this.actor, \n"
+					+ "        (Object) message);\n");
+			}
+
+			cases.append(""
+				+ "      this.actor." + receiver.getName() + "((" + typeName + ") message);\n"
+				+ "      return;\n"
+				+ "    }\n");
+		}
+
+		final String fieldTable = ""
+			+ "private static final com.github.sarxos.abberwoult.ReceiveDispatchTable table = "
+			+ "new com.github.sarxos.abberwoult.ReceiveDispatchTable(new java.lang.Class[] { "
+			+ String.join(", ", types)
+			+ " });";
+
+		final String fieldActor = "private " + actorClass + " actor;";
+
+		final String constructor = ""
+			+ "public " + fullName.withoutPackagePrefix() + "(" + actorClass + " actor) {\n"
+			+ "  this.actor = actor;\n"
+			+ "}\n";
+
+		final String apply = ""
+			+ "public void apply(Object received) throws Exception {\n"
+			+ "  Object message = com.github.sarxos.abberwoult.AskDeadline.open(received);\n"
+			+ "  if (message == null) {\n"
+			+ "    return;\n"
+			+ "  }\n"
+			+ "  switch (table.indexOf(message.getClass())) {\n"
+			+ cases
+			+ "    default: {\n"
+			+ "      this.actor.unhandled(message);\n"
+			+ "    }\n"
+			+ "  }\n"
+			+ "}\n";
+
+		final AssistedClass newClass = assistant.newClass(fullName);
+		newClass.newField(fieldTable);
+		newClass.newField(fieldActor);
+		newClass.newConstructor(constructor);
+		newClass.newMethod(apply);
+		newClass.implement(RECEIVE_INVOKER_INTERFACE);
+		newClass.debugWriteClass("target/abberwoult/generated-classes");
+		newClass.addAnnotation(Generated.class);
+
+		return newClass;
+	}
+
+	private static void assertExactlyOneReceivedParameterPresent(final MethodRef m) {
 
 		final List<ParameterRef> parameters = m.getParametersAnnotatedBy(RECEIVERS);
 
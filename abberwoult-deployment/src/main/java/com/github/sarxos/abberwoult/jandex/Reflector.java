@@ -90,6 +90,13 @@ public final class Reflector extends SimpleBuildItem {
 			.map(ClassRef::new);
 	}
 
+	public Stream<ClassRef> findImplementorsOf(DotName dn) {
+		return index
+			.getAllKnownImplementors(dn)
+			.stream()
+			.map(ClassRef::new);
+	}
+
 	public Stream<ClassRef> findClassesWithAnnotationInScope(final DotName... annotations) {
 		return Arrays
 			.stream(annotations)
@@ -149,6 +156,20 @@ public final class Reflector extends SimpleBuildItem {
 		throw new IllegalStateException("Not supported " + target.kind());
 	}
 
+	/**
+	 * @param type the type
+	 * @return True if type is a class, either raw or parametrized
+	 */
+	public static boolean isClassType(final Type type) {
+		switch (type.kind()) {
+			case CLASS:
+			case PARAMETERIZED_TYPE:
+				return true;
+			default:
+				return false;
+		}
+	}
+
 	public static String signature(final MethodInfo mi) {
 
 		final StringBuilder sb = new StringBuilder()
@@ -228,6 +249,10 @@ public final class Reflector extends SimpleBuildItem {
 			return findClass(ci.superName()).getOrNull();
 		}
 
+		public DotName getSuperclassName() {
+			return ci.superName();
+		}
+
 		public MethodRef getMethodByName(final String name) {
 			return new MethodRef(ci.method(name));
 		}
@@ -240,6 +265,10 @@ public final class Reflector extends SimpleBuildItem {
 			return ci.interfaceNames().contains(dn);
 		}
 
+		public List<DotName> getInterfaceNames() {
+			return ci.interfaceNames();
+		}
+
 		public boolean hasAnnotationInClassScope(DotName... dns) {
 			for (final DotName dn : dns) {
 				if (ci.annotations().containsKey(dn)) {
@@ -369,6 +398,18 @@ public final class Reflector extends SimpleBuildItem {
 				.collect(toList());
 		}
 
+		/**
+		 * @return All annotations used in this class, including fields, methods and parameters
+		 */
+		public List<AnnotationRef> getAnnotationsInClassScope() {
+			return ci.annotations()
+				.values()
+				.stream()
+				.flatMap(List::stream)
+				.map(AnnotationRef::new)
+				.collect(toList());
+		}
+
 		public List<AnnotationRef> getAnnotations() {
 			return ci.classAnnotations()
 				.stream()
@@ -408,6 +449,10 @@ public final class Reflector extends SimpleBuildItem {
 		public boolean isInterface() {
 			return Modifier.isInterface(ci.flags());
 		}
+
+		public boolean isAbstract() {
+			return Modifier.isAbstract(ci.flags());
+		}
 	}
 
 	public class InvocationRef extends Reflection {
@@ -449,6 +494,13 @@ public final class Reflector extends SimpleBuildItem {
 			return false;
 		}
 
+		public Option<AnnotationRef> getAnnotation(final DotName dn) {
+			return Option
+				.of(mi.annotation(dn))
+				.filter(ai -> ai.target().kind() == Kind.METHOD)
+				.map(AnnotationRef::new);
+		}
+
 		public ClassRef getDeclaringClass() {
 			return new ClassRef(mi.declaringClass());
 		}
@@ -496,6 +548,14 @@ public final class Reflector extends SimpleBuildItem {
 		ConstructorRef(final MethodInfo mi) {
 			super(mi);
 		}
+
+		public boolean isPrivate() {
+			return Modifier.isPrivate(getFlags());
+		}
+
+		public int getFlags() {
+			return mi.flags();
+		}
 	}
 
 	public class MethodRef extends InvocationRef {
@@ -666,6 +726,12 @@ public final class Reflector extends SimpleBuildItem {
 				.collect(toList());
 		}
 
+		public Option<AnnotationRef> getAnnotation(final DotName dn) {
+			return Option
+				.of(fi.annotation(dn))
+				.map(AnnotationRef::new);
+		}
+
 		public boolean hasAnnotation(DotName... dns) {
 			for (final DotName dn : dns) {
 				if (fi.hasAnnotation(dn)) {
@@ -703,6 +769,41 @@ public final class Reflector extends SimpleBuildItem {
 		public boolean isParametrized() {
 			return fi.type().kind() == Type.Kind.PARAMETERIZED_TYPE;
 		}
+
+		public boolean isPrimitive() {
+			return fi.type().kind() == Type.Kind.PRIMITIVE;
+		}
+
+		public boolean isArray() {
+			return fi.type().kind() == Type.Kind.ARRAY;
+		}
+
+		/**
+		 * @return True if field type is a class, either raw or parametrized
+		 */
+		public boolean isClassType() {
+			return Reflector.isClassType(fi.type());
+		}
+
+		public boolean isStatic() {
+			return Modifier.isStatic(getFlags());
+		}
+
+		public boolean isPrivate() {
+			return Modifier.isPrivate(getFlags());
+		}
+
+		public boolean isPublic() {
+			return Modifier.isPublic(getFlags());
+		}
+
+		public int getFlags() {
+			return fi.flags();
+		}
+
+		public String getDeclaringClassName() {
+			return fi.declaringClass().name().toString();
+		}
 	}
 
 	public class AnnotationRef extends Reflection {
@@ -771,6 +872,17 @@ public final class Reflector extends SimpleBuildItem {
 				.isDefined();
 		}
 
+		/**
+		 * Return annotation property value. Please note that default values are not available in
+		 * the index, so this returns empty {@link Option} when property is not explicitly set.
+		 *
+		 * @param name the property name
+		 * @return Property value or empty {@link Option} if value is not set
+		 */
+		public Option<AnnotationValue> getValue(final String name) {
+			return Option.of(ai.value(name));
+		}
+
 		public <A extends Annotation> A toInstance(final Class<A> clazz) {
 			return proxy(clazz, map(ai.values(), AnnotationValue::name, AnnotationValue::value));
 		}
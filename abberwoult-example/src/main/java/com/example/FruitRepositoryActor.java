@@ -12,6 +12,7 @@ import org.jboss.logging.Logger;
 
 import com.github.sarxos.abberwoult.SimpleActor;
 import com.github.sarxos.abberwoult.annotation.Autostart;
+import com.github.sarxos.abberwoult.annotation.CacheableQuery;
 import com.github.sarxos.abberwoult.annotation.NamedActor;
 import com.github.sarxos.abberwoult.annotation.PostStop;
 import com.github.sarxos.abberwoult.annotation.PreStart;
@@ -36,6 +37,7 @@ public class FruitRepositoryActor extends SimpleActor implements Utils {
 		}
 	}
 
+	@CacheableQuery
 	public static final @Data class FruitListMsg {
 		private static final @Getter FruitListMsg instance = new FruitListMsg();
 
@@ -0,0 +1,45 @@
+package com.github.sarxos.abberwoult;
+
+import com.github.sarxos.abberwoult.annotation.Dispatcher;
+import com.github.sarxos.abberwoult.annotation.Mailbox;
+import com.github.sarxos.abberwoult.annotation.NamedActor;
+import com.github.sarxos.abberwoult.annotation.Received;
+
+import akka.actor.AbstractActor;
+
+
+public class ActorMetadataTesting {
+
+	@Mailbox("metadata-mailbox")
+	public static interface MailboxedActor {
+	}
+
+	@NamedActor("metadata-test-actor")
+	@Dispatcher("metadata-dispatcher")
+	public static class NamedTestActor extends SimpleActor {
+	}
+
+	public static class InheritingTestActor extends NamedTestActor implements MailboxedActor {
+	}
+
+	@NamedActor
+	public static class UnknownNameTestActor extends SimpleActor {
+	}
+
+	public static class ReceivingTestActor extends SimpleActor {
+
+		public void handleString(@Received final String value) {
+			reply(value);
+		}
+	}
+
+	public static class PlainAkkaTestActor extends AbstractActor {
+
+		@Override
+		public Receive createReceive() {
+			return receiveBuilder()
+				.matchAny(message -> getSender().tell(message, getSelf()))
+				.build();
+		}
+	}
+}
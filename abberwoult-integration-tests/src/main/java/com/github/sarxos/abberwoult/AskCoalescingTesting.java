@@ -0,0 +1,46 @@
+package com.github.sarxos.abberwoult;
+
+import com.github.sarxos.abberwoult.annotation.CacheableQuery;
+
+
+public class AskCoalescingTesting {
+
+	public static abstract class IdMessage {
+
+		private final int id;
+
+		public IdMessage(final int id) {
+			this.id = id;
+		}
+
+		@Override
+		public boolean equals(final Object other) {
+			return other != null && other.getClass() == getClass() && ((IdMessage) other).id == id;
+		}
+
+		@Override
+		public int hashCode() {
+			return id;
+		}
+	}
+
+	@CacheableQuery
+	public static class Query extends IdMessage {
+		public Query(final int id) {
+			super(id);
+		}
+	}
+
+	@CacheableQuery(ttl = 60_000)
+	public static class CachedQuery extends IdMessage {
+		public CachedQuery(final int id) {
+			super(id);
+		}
+	}
+
+	public static class Command extends IdMessage {
+		public Command(final int id) {
+			super(id);
+		}
+	}
+}
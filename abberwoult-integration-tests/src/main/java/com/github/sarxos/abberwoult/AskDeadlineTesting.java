@@ -0,0 +1,15 @@
+package com.github.sarxos.abberwoult;
+
+import com.github.sarxos.abberwoult.annotation.Received;
+import com.github.sarxos.abberwoult.dsl.Utils;
+
+
+public class AskDeadlineTesting {
+
+	public static class AskDeadlineTestActor extends SimpleActor implements Utils {
+
+		public void onInteger(@Received final Integer i) {
+			reply(i);
+		}
+	}
+}
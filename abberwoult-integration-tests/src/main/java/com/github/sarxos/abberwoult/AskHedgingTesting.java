@@ -0,0 +1,14 @@
+package com.github.sarxos.abberwoult;
+
+import com.github.sarxos.abberwoult.annotation.Idempotent;
+
+
+public class AskHedgingTesting {
+
+	@Idempotent
+	public static class IdempotentQuery {
+	}
+
+	public static class Command {
+	}
+}
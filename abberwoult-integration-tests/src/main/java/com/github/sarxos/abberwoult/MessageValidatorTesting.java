@@ -0,0 +1,105 @@
+package com.github.sarxos.abberwoult;
+
+import java.util.List;
+
+import javax.validation.Valid;
+import javax.validation.constraints.Max;
+import javax.validation.constraints.Min;
+import javax.validation.constraints.NotEmpty;
+import javax.validation.constraints.NotNull;
+import javax.validation.constraints.Pattern;
+import javax.validation.constraints.Size;
+
+import com.github.sarxos.abberwoult.annotation.Received;
+import com.github.sarxos.abberwoult.dsl.Utils;
+
+
+public class MessageValidatorTesting {
+
+	public static final class Address {
+
+		@NotEmpty
+		final String city;
+
+		public Address(final String city) {
+			this.city = city;
+		}
+	}
+
+	public static final class Person {
+
+		@NotNull
+		@Size(min = 2, max = 10)
+		private final String name;
+
+		@Min(18)
+		@Max(99)
+		final int age;
+
+		@Size(max = 2)
+		final List<String> tags;
+
+		@Valid
+		final Address address;
+
+		public Person(final String name, final int age, final List<String> tags, final Address address) {
+			this.name = name;
+			this.age = age;
+			this.tags = tags;
+			this.address = address;
+		}
+
+		public String getName() {
+			return name;
+		}
+	}
+
+	public static final class Unsupported {
+
+		@Pattern(regexp = "[a-z]+")
+		final String value;
+
+		public Unsupported(final String value) {
+			this.value = value;
+		}
+	}
+
+	public static interface Named {
+
+		@NotEmpty
+		String getName();
+	}
+
+	public static final class NamedMessage implements Named {
+
+		final String name;
+
+		public NamedMessage(final String name) {
+			this.name = name;
+		}
+
+		@Override
+		public String getName() {
+			return name;
+		}
+	}
+
+	public static final class TestActor extends SimpleActor implements Utils {
+
+		public void handlePerson(@Received @Valid final Person person) {
+			reply(person);
+		}
+
+		public void handleUnsupported(@Received @Valid final Unsupported unsupported) {
+			reply(unsupported);
+		}
+
+		public void handleNamed(@Received @Valid final NamedMessage named) {
+			reply(named);
+		}
+
+		public void handleText(@Received final String text) {
+			reply(text);
+		}
+	}
+}
@@ -0,0 +1,71 @@
+package com.github.sarxos.abberwoult;
+
+import javax.validation.Valid;
+import javax.validation.constraints.Size;
+
+import com.github.sarxos.abberwoult.annotation.Received;
+import com.github.sarxos.abberwoult.dsl.Utils;
+
+
+public class ReceiveDispatcherTesting {
+
+	public static class Animal {
+
+		private final String name;
+
+		public Animal(final String name) {
+			this.name = name;
+		}
+
+		public String getName() {
+			return name;
+		}
+	}
+
+	public static class Dog extends Animal {
+
+		public Dog(final String name) {
+			super(name);
+		}
+	}
+
+	public static class Cat extends Animal {
+
+		public Cat(final String name) {
+			super(name);
+		}
+	}
+
+	public static class Book {
+
+		@Size(min = 5)
+		private final String title;
+
+		public Book(final String title) {
+			this.title = title;
+		}
+
+		public String getTitle() {
+			return title;
+		}
+	}
+
+	public static class ReceiveDispatcherTestActor extends SimpleActor implements Utils {
+
+		public void onAnimal(@Received final Animal animal) {
+			reply("animal:" + animal.getName());
+		}
+
+		public void onDog(@Received final Dog dog) {
+			reply("dog:" + dog.getName());
+		}
+
+		public void onBook(@Received @Valid final Book book) {
+			reply("book:" + book.getTitle());
+		}
+
+		public void onInteger(@Received final Integer i) {
+			reply(i);
+		}
+	}
+}
@@ -0,0 +1,73 @@
+package com.github.sarxos.abberwoult;
+
+import java.time.Duration;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.github.sarxos.abberwoult.annotation.Received;
+import com.github.sarxos.abberwoult.annotation.ShardEntityIdTesting.ShardEntityIdIntMsg;
+import com.github.sarxos.abberwoult.dsl.Utils;
+
+import akka.Done;
+import akka.actor.ActorSystem;
+
+
+public class ReshardingTesting {
+
+	public static final AtomicInteger HANDOFFS = new AtomicInteger();
+
+	/**
+	 * Entity which replies with the ID of the shard it lives in.
+	 */
+	public static class ReshardingTestEntity extends SimpleShardEntityActor implements Utils {
+
+		public void onMessage(@Received final ShardEntityIdIntMsg msg) {
+			reply(getContext().getParent().path().name());
+		}
+
+		@Override
+		protected void handoff() {
+			HANDOFFS.incrementAndGet();
+		}
+	}
+
+	/**
+	 * Ledger which completes the marks with the gates given by the test, and when there are no more
+	 * gates, marks the shards for real.
+	 */
+	public static class GatedReshardingLedger extends ReshardingLedger {
+
+		private final Queue<CompletableFuture<Done>> gates = new ConcurrentLinkedQueue<>();
+		private final AtomicInteger attempts = new AtomicInteger();
+
+		public GatedReshardingLedger(final ActorSystem system, final String sharding, final int cardinality, final Duration timeout) {
+			super(system, sharding, cardinality, timeout);
+		}
+
+		public CompletableFuture<Done> gate() {
+			final CompletableFuture<Done> gate = new CompletableFuture<>();
+			gates.add(gate);
+			return gate;
+		}
+
+		public int getAttempts() {
+			return attempts.get();
+		}
+
+		@Override
+		public CompletionStage<Done> markMigrated(final int shard) {
+
+			attempts.incrementAndGet();
+
+			final CompletableFuture<Done> gate = gates.poll();
+			if (gate != null) {
+				return gate;
+			}
+
+			return super.markMigrated(shard);
+		}
+	}
+}
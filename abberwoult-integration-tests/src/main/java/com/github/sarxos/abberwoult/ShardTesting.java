@@ -1,7 +1,11 @@
 package com.github.sarxos.abberwoult;
 
+import com.github.sarxos.abberwoult.annotation.Received;
 import com.github.sarxos.abberwoult.annotation.ShardEntityId;
+import com.github.sarxos.abberwoult.annotation.ShardEntityIdTesting.ShardEntityIdIntMsg;
 import com.github.sarxos.abberwoult.annotation.ShardId;
+import com.github.sarxos.abberwoult.annotation.Sharded;
+import com.github.sarxos.abberwoult.dsl.Utils;
 
 
 public class ShardTesting {
@@ -28,4 +32,16 @@ public class ShardTesting {
 			return id;
 		}
 	}
+
+	/**
+	 * Sharded entity which is not {@link SimpleShardEntityActor}, so it cannot unpack
+	 * {@link ShardBatch}.
+	 */
+	@Sharded(name = "plainsharding")
+	public static class PlainShardEntity extends SimpleActor implements Utils {
+
+		public void onMessage(@Received final ShardEntityIdIntMsg msg) {
+			reply(msg.getFoo());
+		}
+	}
 }
@@ -0,0 +1,65 @@
+package com.github.sarxos.abberwoult;
+
+import javax.annotation.PostConstruct;
+import javax.inject.Inject;
+
+import com.github.sarxos.abberwoult.annotation.Assisted;
+import com.github.sarxos.abberwoult.annotation.Received;
+import com.github.sarxos.abberwoult.dsl.Utils;
+
+
+public class SyntheticActorCreatorTesting {
+
+	public static class BaseActor extends SimpleActor implements Utils {
+
+		@Inject
+		private EmptyService baseService;
+
+		protected boolean initialized;
+
+		@PostConstruct
+		private void setup() {
+			initialized = true;
+		}
+
+		public EmptyService getBaseService() {
+			return baseService;
+		}
+	}
+
+	public static final class WiredActor extends BaseActor {
+
+		@Inject
+		EmptyService service;
+
+		private final String name;
+		private final EmptyService constructorService;
+
+		@Inject
+		public WiredActor(@Assisted final String name, final EmptyService constructorService) {
+			this.name = name;
+			this.constructorService = constructorService;
+		}
+
+		public void handleString(@Received final String message) {
+			reply(name + ":" + (service != null) + ":" + (getBaseService() != null) + ":" + (constructorService != null) + ":" + initialized);
+		}
+	}
+
+	public static final class ArgumentsActor extends SimpleActor implements Utils {
+
+		private final String value;
+
+		public ArgumentsActor(final int number) {
+			this.value = "int:" + number;
+		}
+
+		public ArgumentsActor(final String text) {
+			this.value = "string:" + text;
+		}
+
+		public void handleString(@Received final String message) {
+			reply(value);
+		}
+	}
+}
@@ -1,5 +1,7 @@
 package com.github.sarxos.abberwoult.annotation;
 
+import java.util.UUID;
+
 import com.github.sarxos.abberwoult.ShardRoutableMessage;
 
 
@@ -132,4 +134,36 @@ public class ShardEntityIdTesting {
 			return foo;
 		}
 	}
+
+	@SuppressWarnings("serial")
+	public static final class ShardEntityIdUuidMsg implements ShardRoutableMessage {
+
+		@ShardId
+		@ShardEntityId
+		private final UUID foo;
+
+		public ShardEntityIdUuidMsg(UUID foo) {
+			this.foo = foo;
+		}
+
+		public UUID getFoo() {
+			return foo;
+		}
+	}
+
+	@SuppressWarnings("serial")
+	public static final class ShardEntityIdJumpMsg implements ShardRoutableMessage {
+
+		@ShardId(strategy = "jump")
+		@ShardEntityId
+		private final int foo;
+
+		public ShardEntityIdJumpMsg(int foo) {
+			this.foo = foo;
+		}
+
+		public int getFoo() {
+			return foo;
+		}
+	}
 }
@@ -0,0 +1,12 @@
+package com.github.sarxos.abberwoult.cdi.internals;
+
+import javax.enterprise.context.Dependent;
+
+import io.quarkus.arc.Unremovable;
+
+
+@Unremovable
+@Dependent
+public class CdiDependentService {
+
+}
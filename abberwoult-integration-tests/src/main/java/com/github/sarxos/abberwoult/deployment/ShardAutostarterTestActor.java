@@ -0,0 +1,9 @@
+package com.github.sarxos.abberwoult.deployment;
+
+import com.github.sarxos.abberwoult.SimpleShardEntityActor;
+import com.github.sarxos.abberwoult.annotation.Sharded;
+
+
+@Sharded(name = "autostartedsharding", shards = 7, passivateIdleAfter = 60)
+public class ShardAutostarterTestActor extends SimpleShardEntityActor {
+}
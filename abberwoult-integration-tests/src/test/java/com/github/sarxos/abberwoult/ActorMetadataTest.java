@@ -0,0 +1,83 @@
+package com.github.sarxos.abberwoult;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+
+import com.github.sarxos.abberwoult.ActorMetadataTesting.InheritingTestActor;
+import com.github.sarxos.abberwoult.ActorMetadataTesting.NamedTestActor;
+import com.github.sarxos.abberwoult.ActorMetadataTesting.PlainAkkaTestActor;
+import com.github.sarxos.abberwoult.ActorMetadataTesting.ReceivingTestActor;
+import com.github.sarxos.abberwoult.ActorMetadataTesting.UnknownNameTestActor;
+import com.github.sarxos.abberwoult.annotation.AutostartTesting.AutostartActor;
+
+import io.quarkus.test.junit.QuarkusTest;
+
+
+@QuarkusTest
+public class ActorMetadataTest {
+
+	@Test
+	void test_metadataIsRecorded() {
+		assertThat(ActorMetadataRegistry.isRecorded(NamedTestActor.class)).isTrue();
+		assertThat(ActorMetadataRegistry.isRecorded(InheritingTestActor.class)).isTrue();
+		assertThat(ActorMetadataRegistry.isRecorded(UnknownNameTestActor.class)).isTrue();
+	}
+
+	@Test
+	void test_namedActor() {
+
+		final ActorMetadata metadata = ActorMetadataRegistry.get(NamedTestActor.class);
+
+		assertThat(metadata.getName().get()).isEqualTo("metadata-test-actor");
+		assertThat(metadata.getPath()).isEqualTo("/user/metadata-test-actor");
+		assertThat(metadata.getDispatcher()).isEqualTo("metadata-dispatcher");
+		assertThat(metadata.getMailbox()).isEqualTo(ActorMetadata.DEFAULT_MAILBOX_ID);
+		assertThat(metadata.isAutostart()).isFalse();
+		assertThat(metadata.getSharding().isEmpty()).isTrue();
+	}
+
+	@Test
+	void test_inheritedAnnotations() {
+
+		final ActorMetadata metadata = ActorMetadataRegistry.get(InheritingTestActor.class);
+
+		assertThat(metadata.getName().isEmpty()).isTrue();
+		assertThat(metadata.getPath()).isEqualTo("/user/" + InheritingTestActor.class.getName());
+		assertThat(metadata.getDispatcher()).isEqualTo("metadata-dispatcher");
+		assertThat(metadata.getMailbox()).isEqualTo("metadata-mailbox");
+	}
+
+	@Test
+	void test_unknownNameIsClassName() {
+
+		final ActorMetadata metadata = ActorMetadataRegistry.get(UnknownNameTestActor.class);
+
+		assertThat(metadata.getName().get()).isEqualTo(UnknownNameTestActor.class.getName());
+	}
+
+	@Test
+	void test_autostart() {
+		assertThat(ActorMetadataRegistry.get(AutostartActor.class).isAutostart()).isTrue();
+	}
+
+	@Test
+	void test_recordedMetadataIsSameAsReflective() {
+		for (final Class<?> clazz : new Class<?>[] { NamedTestActor.class, InheritingTestActor.class, UnknownNameTestActor.class }) {
+			final ActorMetadata recorded = ActorMetadataRegistry.get(clazz);
+			final ActorMetadata reflective = ActorMetadata.of(clazz);
+			assertThat(recorded.getName()).isEqualTo(reflective.getName());
+			assertThat(recorded.getPath()).isEqualTo(reflective.getPath());
+			assertThat(recorded.getDispatcher()).isEqualTo(reflective.getDispatcher());
+			assertThat(recorded.getMailbox()).isEqualTo(reflective.getMailbox());
+			assertThat(recorded.isAutostart()).isEqualTo(reflective.isAutostart());
+		}
+	}
+
+	@Test
+	void test_receiveGenerated() {
+		assertThat(ActorMetadataRegistry.isReceiveGenerated(ReceivingTestActor.class)).isTrue();
+		assertThat(ActorMetadataRegistry.isReceiveGenerated(NamedTestActor.class)).isFalse();
+		assertThat(ActorMetadataRegistry.isReceiveGenerated(PlainAkkaTestActor.class)).isFalse();
+	}
+}
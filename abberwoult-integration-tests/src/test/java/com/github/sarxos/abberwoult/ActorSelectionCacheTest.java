@@ -0,0 +1,82 @@
+package com.github.sarxos.abberwoult;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+
+import javax.inject.Inject;
+
+import org.junit.jupiter.api.Test;
+
+import com.github.sarxos.abberwoult.testkit.TestKit;
+import com.github.sarxos.abberwoult.testkit.TestKitProbe;
+
+import akka.actor.ActorRef;
+import akka.actor.ActorSelection;
+import akka.actor.ActorSystem;
+import io.quarkus.test.junit.QuarkusTest;
+
+
+@QuarkusTest
+public class ActorSelectionCacheTest {
+
+	@Inject
+	ActorSystem system;
+
+	@Inject
+	TestKit testkit;
+
+	@Inject
+	ActorSelectionCache injected;
+
+	@Test
+	public void test_disabledByDefault() {
+		assertThat(injected.isEnabled()).isFalse();
+		assertThat(injected.get(system.actorSelection("/user/whatever")).isEmpty()).isTrue();
+	}
+
+	@Test
+	public void test_wildcardSelectionIsNotCached() {
+		final ActorSelectionCache cache = new ActorSelectionCache(system, true);
+		assertThat(cache.get(system.actorSelection("/user/*")).isEmpty()).isTrue();
+	}
+
+	@Test
+	public void test_sameEntryForSamePath() {
+		final ActorSelectionCache cache = new ActorSelectionCache(system, true);
+		final ActorSelectionCache.Entry e1 = cache.get(system.actorSelection("/user/samepath")).get();
+		final ActorSelectionCache.Entry e2 = cache.get(system.actorSelection("/user/samepath")).get();
+		assertThat(e1).isSameAs(e2);
+	}
+
+	@Test
+	public void test_resolveAndInvalidateOnTermination() {
+
+		final TestKitProbe probe = testkit.probe();
+		final ActorRef ref = probe.getRef();
+		final ActorSelection selection = system.actorSelection(ref.path());
+		final ActorSelectionCache.Entry entry = new ActorSelectionCache(system, true).get(selection).get();
+
+		await().until(() -> ref.equals(entry.get()));
+
+		system.stop(ref);
+
+		await().until(() -> entry.get() == null);
+	}
+
+	@Test
+	public void test_tellGoesToResolvedRef() {
+
+		final TestKitProbe probe = testkit.probe();
+		final ActorSelectionCache cache = new ActorSelectionCache(system, true);
+		final ActorSelection selection = system.actorSelection(probe.getRef().path());
+		final AskableActorSelection askable = new AskableActorSelection(selection, Askable.DEFAULT_TIMEOUT, AskOptions.DEFAULT.withCache(cache));
+
+		askable.tell("before", ActorRef.noSender());
+		probe.expectMsgEquals("before");
+
+		await().until(() -> cache.get(selection).get().get() != null);
+
+		askable.tell("after", ActorRef.noSender());
+		probe.expectMsgEquals("after");
+	}
+}
@@ -0,0 +1,61 @@
+package com.github.sarxos.abberwoult;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+
+
+public class AdaptiveAskTimeoutTest {
+
+	private static final Duration FLOOR = Duration.ofMillis(100);
+	private static final Duration CEILING = Duration.ofSeconds(10);
+
+	private static void record(final AdaptiveAskTimeout timeout, final int count, final long millis) {
+		for (int i = 0; i < count; i++) {
+			timeout.record(TimeUnit.MILLISECONDS.toNanos(millis));
+		}
+	}
+
+	@Test
+	public void test_ceilingUntilEnoughSamples() {
+
+		final AdaptiveAskTimeout timeout = new AdaptiveAskTimeout(0.99, 3, FLOOR, CEILING, 1000);
+
+		record(timeout, 128, 200);
+
+		assertThat(timeout.getTimeout()).isEqualTo(CEILING);
+	}
+
+	@Test
+	public void test_multipleOfPercentile() {
+
+		final AdaptiveAskTimeout timeout = new AdaptiveAskTimeout(0.99, 3, FLOOR, CEILING, 100);
+
+		record(timeout, 128, 200);
+
+		assertThat(timeout.getTimeout()).isBetween(Duration.ofMillis(600), Duration.ofMillis(700));
+	}
+
+	@Test
+	public void test_boundedByFloor() {
+
+		final AdaptiveAskTimeout timeout = new AdaptiveAskTimeout(0.99, 3, FLOOR, CEILING, 100);
+
+		record(timeout, 128, 1);
+
+		assertThat(timeout.getTimeout()).isEqualTo(FLOOR);
+	}
+
+	@Test
+	public void test_boundedByCeiling() {
+
+		final AdaptiveAskTimeout timeout = new AdaptiveAskTimeout(0.99, 3, FLOOR, CEILING, 100);
+
+		record(timeout, 128, 5000);
+
+		assertThat(timeout.getTimeout()).isEqualTo(CEILING);
+	}
+}
@@ -0,0 +1,148 @@
+package com.github.sarxos.abberwoult;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import javax.inject.Inject;
+
+import org.junit.jupiter.api.Test;
+
+import com.github.sarxos.abberwoult.AskCoalescingTesting.CachedQuery;
+import com.github.sarxos.abberwoult.AskCoalescingTesting.Command;
+import com.github.sarxos.abberwoult.AskCoalescingTesting.Query;
+import com.github.sarxos.abberwoult.testkit.TestKit;
+import com.github.sarxos.abberwoult.testkit.TestKitProbe;
+
+import akka.actor.ActorSelection;
+import akka.actor.ActorSystem;
+import io.quarkus.test.junit.QuarkusTest;
+
+
+@QuarkusTest
+public class AskCoalescingTest {
+
+	@Inject
+	ActorSystem system;
+
+	@Inject
+	TestKit testkit;
+
+	@Inject
+	AskCoalescing injected;
+
+	private AskableActorRef askable(final TestKitProbe probe) {
+		return new AskableActorRef(probe.getRef(), Duration.ofSeconds(5), AskOptions.DEFAULT.withCoalescing(new AskCoalescing(system, true)));
+	}
+
+	@Test
+	public void test_disabledByDefault() {
+		assertThat(injected.isEnabled()).isFalse();
+		assertThat(injected.get("/user/whatever").isEmpty()).isTrue();
+	}
+
+	@Test
+	public void test_ttl() {
+		assertThat(AskCoalescing.getTtl(new Query(1))).isEqualTo(0);
+		assertThat(AskCoalescing.getTtl(new CachedQuery(1))).isEqualTo(60_000);
+		assertThat(AskCoalescing.getTtl(new Command(1))).isEqualTo(-1);
+	}
+
+	@Test
+	public void test_concurrentQueriesShareReply() throws Exception {
+
+		final TestKitProbe probe = testkit.probe();
+		final AskableActorRef askable = askable(probe);
+
+		final CompletableFuture<Object> f1 = askable.ask(new Query(1)).toCompletableFuture();
+		final CompletableFuture<Object> f2 = askable.ask(new Query(1)).toCompletableFuture();
+
+		probe.expectMsgEquals(new Query(1));
+		probe.reply("a");
+		probe.expectNoMessage(Duration.ofMillis(200));
+
+		assertThat(f1.get(3, TimeUnit.SECONDS)).isEqualTo("a");
+		assertThat(f2.get(3, TimeUnit.SECONDS)).isEqualTo("a");
+
+		// no ttl, next query is asked again
+
+		final CompletableFuture<Object> f3 = askable.ask(new Query(1)).toCompletableFuture();
+
+		probe.expectMsgEquals(new Query(1));
+		probe.reply("b");
+
+		assertThat(f3.get(3, TimeUnit.SECONDS)).isEqualTo("b");
+	}
+
+	@Test
+	public void test_differentQueriesAreNotShared() {
+
+		final TestKitProbe probe = testkit.probe();
+		final AskableActorRef askable = askable(probe);
+
+		askable.ask(new Query(1));
+		askable.ask(new Query(2));
+
+		probe.expectMsgEquals(new Query(1));
+		probe.expectMsgEquals(new Query(2));
+	}
+
+	@Test
+	public void test_cachedQueryReusesReply() throws Exception {
+
+		final TestKitProbe probe = testkit.probe();
+		final AskableActorRef askable = askable(probe);
+
+		final CompletableFuture<Object> f1 = askable.ask(new CachedQuery(1)).toCompletableFuture();
+
+		probe.expectMsgEquals(new CachedQuery(1));
+		probe.reply("a");
+
+		assertThat(f1.get(3, TimeUnit.SECONDS)).isEqualTo("a");
+
+		final CompletableFuture<Object> f2 = askable.ask(new CachedQuery(1)).toCompletableFuture();
+
+		assertThat(f2.get(3, TimeUnit.SECONDS)).isEqualTo("a");
+		probe.expectNoMessage(Duration.ofMillis(200));
+	}
+
+	@Test
+	public void test_commandsAreNotCoalesced() {
+
+		final TestKitProbe probe = testkit.probe();
+		final AskableActorRef askable = askable(probe);
+
+		askable.ask(new Command(1));
+		askable.ask(new Command(1));
+
+		probe.expectMsgEquals(new Command(1));
+		probe.expectMsgEquals(new Command(1));
+	}
+
+	@Test
+	public void test_coalescerIsEvictedWhenActorTerminates() {
+
+		final TestKitProbe probe = testkit.probe();
+		final AskCoalescing coalescing = new AskCoalescing(system, true);
+		final AskCoalescer coalescer = coalescing.get(probe.getRef()).get();
+
+		assertThat(coalescing.get(probe.getRef()).get()).isSameAs(coalescer);
+
+		system.stop(probe.getRef());
+
+		await().until(() -> coalescing.get(probe.getRef()).get() != coalescer);
+	}
+
+	@Test
+	public void test_coalescerIsEvictedWhenSelectionDoesNotResolve() {
+
+		final ActorSelection selection = system.actorSelection("/user/no-such-actor");
+		final AskCoalescing coalescing = new AskCoalescing(system, true);
+		final AskCoalescer coalescer = coalescing.get(selection).get();
+
+		await().until(() -> coalescing.get(selection).get() != coalescer);
+	}
+}
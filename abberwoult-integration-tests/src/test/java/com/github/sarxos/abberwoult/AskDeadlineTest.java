@@ -0,0 +1,73 @@
+package com.github.sarxos.abberwoult;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+import javax.inject.Inject;
+
+import org.junit.jupiter.api.Test;
+
+import com.github.sarxos.abberwoult.AskDeadlineTesting.AskDeadlineTestActor;
+import com.github.sarxos.abberwoult.testkit.TestKit;
+import com.github.sarxos.abberwoult.testkit.TestKitProbe;
+
+import akka.actor.ActorRef;
+import io.quarkus.test.junit.QuarkusTest;
+
+
+@QuarkusTest
+public class AskDeadlineTest {
+
+	@Inject
+	TestKit testkit;
+
+	private ActorRef actor() {
+		return testkit.actor()
+			.of(AskDeadlineTestActor.class)
+			.create();
+	}
+
+	@Test
+	public void test_expiredMessageIsSkipped() {
+
+		final TestKitProbe probe = testkit.probe();
+		final ActorRef ref = actor();
+		final long expired = AskDeadline.getExpiredCount();
+
+		ref.tell(new AskDeadline(1, System.currentTimeMillis() - 1000), probe.getRef());
+
+		probe.expectNoMessage();
+
+		assertThat(AskDeadline.getExpiredCount()).isEqualTo(expired + 1);
+	}
+
+	@Test
+	public void test_messageBeforeDeadlineIsHandled() {
+
+		final TestKitProbe probe = testkit.probe();
+		final ActorRef ref = actor();
+
+		ref.tell(new AskDeadline(2, System.currentTimeMillis() + 10_000), probe.getRef());
+
+		probe.expectMsgEquals(2);
+	}
+
+	@Test
+	public void test_askWithDeadline() throws Exception {
+
+		final AskableActorRef askable = new AskableActorRef(actor(), Duration.ofSeconds(3), AskOptions.DEFAULT.withDeadline(true));
+		final Integer result = askable
+			.<Integer> ask(3)
+			.toCompletableFuture()
+			.get(3, TimeUnit.SECONDS);
+
+		assertThat(result).isEqualTo(3);
+	}
+
+	@Test
+	public void test_openPlainMessage() {
+		assertThat(AskDeadline.open("abc")).isEqualTo("abc");
+	}
+}
@@ -0,0 +1,122 @@
+package com.github.sarxos.abberwoult;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import javax.inject.Inject;
+
+import org.junit.jupiter.api.Test;
+
+import com.github.sarxos.abberwoult.AskHedgingTesting.Command;
+import com.github.sarxos.abberwoult.AskHedgingTesting.IdempotentQuery;
+import com.github.sarxos.abberwoult.testkit.TestKit;
+import com.github.sarxos.abberwoult.testkit.TestKitProbe;
+
+import akka.actor.ActorRef;
+import akka.actor.ActorSystem;
+import akka.routing.RoundRobinGroup;
+import io.quarkus.test.junit.QuarkusTest;
+
+
+@QuarkusTest
+public class AskHedgingTest {
+
+	@Inject
+	ActorSystem system;
+
+	@Inject
+	TestKit testkit;
+
+	@Inject
+	AskHedging injected;
+
+	private AskHedging hedging() {
+		return new AskHedging(system, true, 0.95, 10, 50, 100);
+	}
+
+	private ActorRef router(final TestKitProbe... probes) {
+		return system.actorOf(new RoundRobinGroup(Arrays
+			.stream(probes)
+			.map(probe -> probe.getRef().path().toStringWithoutAddress())
+			.toArray(String[]::new))
+			.props());
+	}
+
+	@Test
+	public void test_disabledByDefault() {
+		assertThat(injected.isEnabled()).isFalse();
+		assertThat(injected.get("/user/whatever").isEmpty()).isTrue();
+	}
+
+	@Test
+	public void test_isIdempotent() {
+		assertThat(AskHedging.isIdempotent(new IdempotentQuery())).isTrue();
+		assertThat(AskHedging.isIdempotent(new Command())).isFalse();
+	}
+
+	@Test
+	public void test_idempotentAskIsHedged() throws Exception {
+
+		final TestKitProbe slow = testkit.probe();
+		final TestKitProbe fast = testkit.probe();
+		final ActorRef router = router(slow, fast);
+		final AskableActorRef askable = new AskableActorRef(router, Duration.ofSeconds(5), AskOptions.DEFAULT.withHedging(hedging()));
+
+		final CompletableFuture<Object> result = askable
+			.ask(new IdempotentQuery())
+			.toCompletableFuture();
+
+		slow.expectMsgClass(IdempotentQuery.class);
+		fast.expectMsgClass(IdempotentQuery.class);
+		fast.reply("fast");
+
+		assertThat(result.get(3, TimeUnit.SECONDS)).isEqualTo("fast");
+	}
+
+	@Test
+	public void test_nonIdempotentAskIsNotHedged() throws Exception {
+
+		final TestKitProbe slow = testkit.probe();
+		final TestKitProbe fast = testkit.probe();
+		final ActorRef router = router(slow, fast);
+		final AskableActorRef askable = new AskableActorRef(router, Duration.ofSeconds(5), AskOptions.DEFAULT.withHedging(hedging()));
+
+		final CompletableFuture<Object> result = askable
+			.ask(new Command())
+			.toCompletableFuture();
+
+		slow.expectMsgClass(Command.class);
+		fast.expectNoMessage(Duration.ofMillis(200));
+		slow.reply("slow");
+
+		assertThat(result.get(3, TimeUnit.SECONDS)).isEqualTo("slow");
+	}
+
+	@Test
+	public void test_onlyFirstAskLatencyIsRecorded() throws Exception {
+
+		final AdaptiveAskTimeout delay = new AdaptiveAskTimeout(0.95, 1, Duration.ofMillis(10), Duration.ofMillis(50), 100);
+		final AskHedge hedge = new AskHedge(delay, system.scheduler(), system.dispatcher());
+		final CompletableFuture<Object> primary = new CompletableFuture<>();
+		final Iterator<CompletableFuture<Object>> asks = Arrays
+			.asList(primary, CompletableFuture.completedFuture((Object) "hedged"))
+			.iterator();
+
+		final CompletableFuture<Object> result = hedge
+			.ask(asks::next)
+			.toCompletableFuture();
+
+		assertThat(result.get(3, TimeUnit.SECONDS)).isEqualTo("hedged");
+		assertThat(hedge.getHedgedCount()).isEqualTo(1);
+		assertThat(delay.getHistogram().getCount()).isZero();
+
+		primary.complete("primary");
+
+		assertThat(delay.getHistogram().getCount()).isEqualTo(1);
+	}
+}
@@ -0,0 +1,114 @@
+package com.github.sarxos.abberwoult;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+
+import com.github.sarxos.abberwoult.exception.AskRejectedException;
+
+import akka.pattern.AskTimeoutException;
+
+
+public class AskLimiterTest {
+
+	private static final long THRESHOLD = TimeUnit.MILLISECONDS.toNanos(100);
+
+	@Test
+	public void test_rejectWhenLimitReached() {
+
+		final AskLimiter limiter = new AskLimiter("test", 2, 1, 10, 0.5, THRESHOLD);
+
+		final CompletableFuture<Object> f1 = new CompletableFuture<>();
+		final CompletableFuture<Object> f2 = new CompletableFuture<>();
+
+		limiter.ask(() -> f1);
+		limiter.ask(() -> f2);
+
+		final CompletableFuture<Object> f3 = limiter
+			.ask(() -> CompletableFuture.completedFuture((Object) "c"))
+			.toCompletableFuture();
+
+		assertThatThrownBy(f3::join)
+			.isInstanceOf(CompletionException.class)
+			.hasCauseInstanceOf(AskRejectedException.class);
+
+		assertThat(limiter.getInflight()).isEqualTo(2);
+		assertThat(limiter.getRejected()).isEqualTo(1);
+
+		f1.complete("a");
+
+		assertThat(limiter.getInflight()).isEqualTo(1);
+		assertThat(limiter.tryAcquire()).isTrue();
+	}
+
+	@Test
+	public void test_additiveIncrease() {
+
+		final AskLimiter limiter = new AskLimiter("test", 2, 1, 3, 0.5, THRESHOLD);
+
+		for (int i = 0; i < 3; i++) {
+			assertThat(limiter.tryAcquire()).isTrue();
+			limiter.release(0, false);
+		}
+
+		assertThat(limiter.getLimit()).isEqualTo(3);
+
+		for (int i = 0; i < 10; i++) {
+			assertThat(limiter.tryAcquire()).isTrue();
+			limiter.release(0, false);
+		}
+
+		assertThat(limiter.getLimit()).isEqualTo(3);
+	}
+
+	@Test
+	public void test_multiplicativeDecreaseOnTimeout() {
+
+		final AskLimiter limiter = new AskLimiter("test", 8, 1, 10, 0.5, THRESHOLD);
+
+		final CompletableFuture<Object> future = new CompletableFuture<>();
+		limiter.ask(() -> future);
+		future.completeExceptionally(new AskTimeoutException("timeout"));
+
+		assertThat(limiter.getLimit()).isEqualTo(4);
+		assertThat(limiter.getInflight()).isZero();
+	}
+
+	@Test
+	public void test_multiplicativeDecreaseOnSlowAsk() {
+
+		final AskLimiter limiter = new AskLimiter("test", 2, 1, 10, 0.5, THRESHOLD);
+
+		for (int i = 0; i < 5; i++) {
+			assertThat(limiter.tryAcquire()).isTrue();
+			limiter.release(THRESHOLD + 1, false);
+		}
+
+		assertThat(limiter.getLimit()).isEqualTo(1);
+	}
+
+	@Test
+	public void test_otherFailureDoesNotDecrease() {
+
+		final AskLimiter limiter = new AskLimiter("test", 4, 1, 10, 0.5, THRESHOLD);
+
+		final CompletableFuture<Object> future = new CompletableFuture<>();
+		limiter.ask(() -> future);
+		future.completeExceptionally(new IllegalStateException());
+
+		assertThat(limiter.getLimit()).isEqualTo(4);
+	}
+
+	@Test
+	public void test_invalidLimits() {
+		assertThatThrownBy(() -> new AskLimiter("test", 0, 1, 10, 0.5, THRESHOLD))
+			.isInstanceOf(IllegalArgumentException.class);
+		assertThatThrownBy(() -> new AskLimiter("test", 5, 1, 10, 1.0, THRESHOLD))
+			.isInstanceOf(IllegalArgumentException.class);
+	}
+}
@@ -0,0 +1,230 @@
+package com.github.sarxos.abberwoult;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.awaitility.Awaitility.await;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import javax.inject.Inject;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.github.sarxos.abberwoult.testkit.TestKit;
+import com.github.sarxos.abberwoult.testkit.TestKitProbe;
+
+import akka.actor.ActorRef;
+import akka.actor.ActorSelection;
+import akka.actor.ActorSystem;
+import akka.actor.Status;
+import akka.pattern.AskTimeoutException;
+import io.quarkus.test.junit.QuarkusTest;
+
+
+@QuarkusTest
+public class AskMultiplexerTest {
+
+	@Inject
+	ActorSystem system;
+
+	@Inject
+	TestKit testkit;
+
+	@Inject
+	AskMultiplexer injected;
+
+	AskMultiplexer multiplexer;
+
+	@BeforeEach
+	public void setup() {
+		multiplexer = new AskMultiplexer(system, true, 2, 10, 0);
+	}
+
+	@AfterEach
+	public void teardown() {
+		multiplexer.close();
+	}
+
+	@Test
+	public void test_disabledByDefault() {
+		assertThat(injected.isEnabled()).isFalse();
+	}
+
+	@Test
+	public void test_replyCompletesAskAndSlotIsReused() throws Exception {
+
+		final TestKitProbe probe = testkit.probe();
+
+		for (int i = 0; i < 3; i++) {
+
+			final CompletableFuture<Object> future = multiplexer
+				.ask(probe.getRef(), "ping-" + i, Duration.ofSeconds(5))
+				.toCompletableFuture();
+
+			probe.expectMsgEquals("ping-" + i);
+			probe.reply("pong-" + i);
+
+			assertThat(future.get(5, TimeUnit.SECONDS)).isEqualTo("pong-" + i);
+
+			await().until(() -> multiplexer.getIdleSlots() == 1);
+		}
+
+		assertThat(multiplexer.getSlots()).isEqualTo(1);
+	}
+
+	@Test
+	public void test_failureReplyCompletesExceptionally() {
+
+		final TestKitProbe probe = testkit.probe();
+		final CompletableFuture<Object> future = multiplexer
+			.ask(probe.getRef(), "ping", Duration.ofSeconds(5))
+			.toCompletableFuture();
+
+		probe.expectMsgEquals("ping");
+		probe.reply(new Status.Failure(new IllegalStateException("bad")));
+
+		assertThatThrownBy(() -> future.get(5, TimeUnit.SECONDS))
+			.isInstanceOf(ExecutionException.class)
+			.hasCauseInstanceOf(IllegalStateException.class);
+	}
+
+	@Test
+	public void test_timeoutRetiresSlot() {
+
+		final TestKitProbe probe = testkit.probe();
+		final CompletableFuture<Object> future = multiplexer
+			.ask(probe.getRef(), "ping", Duration.ofMillis(100))
+			.toCompletableFuture();
+
+		assertThatThrownBy(() -> future.get(5, TimeUnit.SECONDS))
+			.isInstanceOf(ExecutionException.class)
+			.hasCauseInstanceOf(AskTimeoutException.class);
+
+		assertThat(multiplexer.getSlots()).isEqualTo(0);
+		assertThat(multiplexer.getIdleSlots()).isEqualTo(0);
+	}
+
+	@Test
+	public void test_fallbackWhenAllSlotsAreBusy() throws Exception {
+
+		final TestKitProbe probe = testkit.probe();
+
+		final CompletableFuture<Object> f1 = multiplexer.ask(probe.getRef(), "a", Duration.ofSeconds(5)).toCompletableFuture();
+		probe.expectMsgEquals("a");
+		final ActorRef s1 = probe.getLastSender();
+
+		final CompletableFuture<Object> f2 = multiplexer.ask(probe.getRef(), "b", Duration.ofSeconds(5)).toCompletableFuture();
+		probe.expectMsgEquals("b");
+		final ActorRef s2 = probe.getLastSender();
+
+		final CompletableFuture<Object> f3 = multiplexer.ask(probe.getRef(), "c", Duration.ofSeconds(5)).toCompletableFuture();
+		probe.expectMsgEquals("c");
+		final ActorRef s3 = probe.getLastSender();
+
+		assertThat(multiplexer.getSlots()).isEqualTo(2);
+
+		s3.tell("C", probe.getRef());
+		s2.tell("B", probe.getRef());
+		s1.tell("A", probe.getRef());
+
+		assertThat(f1.get(5, TimeUnit.SECONDS)).isEqualTo("A");
+		assertThat(f2.get(5, TimeUnit.SECONDS)).isEqualTo("B");
+		assertThat(f3.get(5, TimeUnit.SECONDS)).isEqualTo("C");
+	}
+
+	@Test
+	public void test_wildcardSelectionIsAskedWithoutSlot() throws Exception {
+
+		final TestKitProbe probe = testkit.probe();
+		final String path = probe.getRef().path().toStringWithoutAddress();
+		final ActorSelection wildcard = system.actorSelection(path.substring(0, path.length() - 1) + "?");
+
+		final CompletableFuture<Object> future = multiplexer.ask(wildcard, "ping", Duration.ofSeconds(5)).toCompletableFuture();
+
+		probe.expectMsgEquals("ping");
+		probe.reply("pong");
+
+		assertThat(future.get(5, TimeUnit.SECONDS)).isEqualTo("pong");
+		assertThat(multiplexer.getSlots()).isEqualTo(0);
+
+		multiplexer.ask(system.actorSelection(path), "ping", Duration.ofSeconds(5));
+
+		probe.expectMsgEquals("ping");
+
+		assertThat(multiplexer.getSlots()).isEqualTo(1);
+	}
+
+	@Test
+	public void test_uncorrelatedReplyRetiresSlot() throws Exception {
+
+		final TestKitProbe probe = testkit.probe();
+		final CompletableFuture<Object> future = multiplexer
+			.ask(probe.getRef(), "ping", Duration.ofSeconds(5))
+			.toCompletableFuture();
+
+		probe.expectMsgEquals("ping");
+		final ActorRef slot = probe.getLastSender();
+		probe.reply("pong");
+		slot.tell("pong-again", probe.getRef());
+
+		assertThat(future.get(5, TimeUnit.SECONDS)).isEqualTo("pong");
+
+		await().until(() -> multiplexer.getSlots() == 0);
+
+		assertThat(multiplexer.getIdleSlots()).isEqualTo(0);
+	}
+
+	@Test
+	public void test_duplicateReplyDoesNotCompleteNextAsk() throws Exception {
+
+		final AskMultiplexer quarantined = new AskMultiplexer(system, true, 2, 10, 500);
+		final TestKitProbe probe = testkit.probe();
+
+		try {
+
+			final CompletableFuture<Object> f1 = quarantined.ask(probe.getRef(), "a", Duration.ofSeconds(5)).toCompletableFuture();
+			probe.expectMsgEquals("a");
+			final ActorRef s1 = probe.getLastSender();
+			probe.reply("A");
+
+			assertThat(f1.get(5, TimeUnit.SECONDS)).isEqualTo("A");
+
+			final CompletableFuture<Object> f2 = quarantined.ask(probe.getRef(), "b", Duration.ofSeconds(5)).toCompletableFuture();
+			probe.expectMsgEquals("b");
+			final ActorRef s2 = probe.getLastSender();
+
+			s1.tell("A-again", probe.getRef());
+			s2.tell("B", probe.getRef());
+
+			assertThat(s2).isNotEqualTo(s1);
+			assertThat(f2.get(5, TimeUnit.SECONDS)).isEqualTo("B");
+
+		} finally {
+			quarantined.close();
+		}
+	}
+
+	@Test
+	public void test_closeCompletesAsksInProgress() {
+
+		final TestKitProbe probe = testkit.probe();
+		final CompletableFuture<Object> future = multiplexer
+			.ask(probe.getRef(), "ping", Duration.ofSeconds(30))
+			.toCompletableFuture();
+
+		probe.expectMsgEquals("ping");
+
+		multiplexer.close();
+
+		assertThatThrownBy(() -> future.get(5, TimeUnit.SECONDS))
+			.isInstanceOf(ExecutionException.class)
+			.hasCauseInstanceOf(AskTimeoutException.class);
+
+		assertThat(multiplexer.getSlots()).isEqualTo(0);
+	}
+}
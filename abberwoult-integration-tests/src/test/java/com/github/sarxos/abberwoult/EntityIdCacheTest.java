@@ -0,0 +1,99 @@
+package com.github.sarxos.abberwoult;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.UUID;
+
+import org.junit.jupiter.api.Test;
+
+import com.github.sarxos.abberwoult.annotation.ShardEntityIdTesting.ShardEntityIdIntMsg;
+import com.github.sarxos.abberwoult.annotation.ShardEntityIdTesting.ShardEntityIdLongMsg;
+import com.github.sarxos.abberwoult.annotation.ShardEntityIdTesting.ShardEntityIdUuidMsg;
+
+import io.quarkus.test.junit.QuarkusTest;
+
+
+@QuarkusTest
+public class EntityIdCacheTest {
+
+	@Test
+	public void test_capacityIsPowerOfTwo() {
+		assertThat(new EntityIdCache(0).getCapacity()).isEqualTo(0);
+		assertThat(new EntityIdCache(1).getCapacity()).isEqualTo(1);
+		assertThat(new EntityIdCache(3).getCapacity()).isEqualTo(4);
+		assertThat(new EntityIdCache(4).getCapacity()).isEqualTo(4);
+		assertThat(new EntityIdCache(1000).getCapacity()).isEqualTo(1024);
+	}
+
+	@Test
+	public void test_longIdIsCached() {
+
+		final EntityIdCache cache = new EntityIdCache(16);
+		final String a = cache.get(123L);
+		final String b = cache.get(123L);
+
+		assertThat(a).isEqualTo("123").isSameAs(b);
+		assertThat(cache.getHits()).isEqualTo(1);
+		assertThat(cache.getMisses()).isEqualTo(1);
+		assertThat(cache.getHitRate()).isEqualTo(0.5);
+	}
+
+	@Test
+	public void test_objectIdIsCached() {
+
+		final EntityIdCache cache = new EntityIdCache(16);
+		final UUID uuid = UUID.randomUUID();
+
+		assertThat(cache.get(uuid)).isEqualTo(uuid.toString()).isSameAs(cache.get(new UUID(uuid.getMostSignificantBits(), uuid.getLeastSignificantBits())));
+		assertThat(cache.getHits()).isEqualTo(1);
+	}
+
+	@Test
+	public void test_stringIdIsNotCached() {
+
+		final EntityIdCache cache = new EntityIdCache(16);
+
+		assertThat(cache.get("abc")).isEqualTo("abc");
+		assertThat(cache.getHits()).isEqualTo(0);
+		assertThat(cache.getMisses()).isEqualTo(0);
+	}
+
+	@Test
+	public void test_cacheIsBounded() {
+
+		final EntityIdCache cache = new EntityIdCache(4);
+
+		for (long i = 0; i < 1000; i++) {
+			assertThat(cache.get(i)).isEqualTo(Long.toString(i));
+		}
+
+		assertThat(cache.getMisses()).isEqualTo(1000);
+	}
+
+	@Test
+	public void test_disabledCache() {
+		assertThat(EntityIdCache.NONE.get(5L)).isEqualTo("5");
+		assertThat(EntityIdCache.NONE.getHits()).isEqualTo(0);
+		assertThat(EntityIdCache.NONE.getMisses()).isEqualTo(0);
+	}
+
+	@Test
+	public void test_extractorUsesCache() {
+
+		final EntityIdCache cache = new EntityIdCache(16);
+		final ShardMessageExtractor extractor = new ShardMessageExtractor(100, ShardIdStrategy.MODULO, cache);
+
+		final String a = extractor.entityId(new ShardEntityIdLongMsg(77L));
+		final String b = extractor.entityId(new ShardEntityIdLongMsg(77L));
+		final String c = extractor.entityId(new ShardEntityIdIntMsg(78));
+		final String d = extractor.entityId(new ShardEntityIdIntMsg(78));
+		final String e = extractor.entityId(new ShardEntityIdUuidMsg(new UUID(0, 79)));
+		final String f = extractor.entityId(new ShardEntityIdUuidMsg(new UUID(0, 79)));
+
+		assertThat(a).isEqualTo("77").isSameAs(b);
+		assertThat(c).isEqualTo("78").isSameAs(d);
+		assertThat(e).isSameAs(f);
+		assertThat(cache.getHits()).isEqualTo(3);
+		assertThat(extractor.withStrategy(ShardIdStrategy.JUMP).getEntityIdCache()).isSameAs(cache);
+	}
+}
@@ -0,0 +1,124 @@
+package com.github.sarxos.abberwoult;
+
+import static java.util.Arrays.asList;
+import static java.util.Collections.emptyList;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.TimeUnit;
+
+import javax.inject.Inject;
+import javax.validation.Validator;
+
+import org.junit.jupiter.api.Test;
+
+import com.github.sarxos.abberwoult.MessageValidatorTesting.Address;
+import com.github.sarxos.abberwoult.MessageValidatorTesting.NamedMessage;
+import com.github.sarxos.abberwoult.MessageValidatorTesting.Person;
+import com.github.sarxos.abberwoult.MessageValidatorTesting.TestActor;
+import com.github.sarxos.abberwoult.MessageValidatorTesting.Unsupported;
+import com.github.sarxos.abberwoult.annotation.ActorOf;
+import com.github.sarxos.abberwoult.exception.MessageHandlerValidationException;
+
+import akka.actor.ActorRef;
+import io.quarkus.test.junit.QuarkusTest;
+
+
+@QuarkusTest
+public class MessageValidatorTest {
+
+	@Inject
+	Validator validator;
+
+	@Inject
+	@ActorOf(TestActor.class)
+	ActorRef ref;
+
+	@Test
+	void test_validMessage() {
+		assertThat(Validation.isValid(new Person("Joe", 30, emptyList(), new Address("Warsaw")))).isTrue();
+	}
+
+	@Test
+	void test_validMessageWithNullCascade() {
+		assertThat(Validation.isValid(new Person("Joe", 30, null, null))).isTrue();
+	}
+
+	@Test
+	void test_invalidNotNull() {
+		assertThat(Validation.isValid(new Person(null, 30, emptyList(), null))).isFalse();
+	}
+
+	@Test
+	void test_invalidSize() {
+		assertThat(Validation.isValid(new Person("J", 30, emptyList(), null))).isFalse();
+		assertThat(Validation.isValid(new Person("Joe", 30, asList("a", "b", "c"), null))).isFalse();
+	}
+
+	@Test
+	void test_invalidMinMax() {
+		assertThat(Validation.isValid(new Person("Joe", 17, emptyList(), null))).isFalse();
+		assertThat(Validation.isValid(new Person("Joe", 100, emptyList(), null))).isFalse();
+	}
+
+	@Test
+	void test_invalidCascade() {
+		assertThat(Validation.isValid(new Person("Joe", 30, emptyList(), new Address("")))).isFalse();
+	}
+
+	@Test
+	void test_unsupportedConstraintIsNeverConfirmed() {
+		assertThat(Validation.isValid(new Unsupported("abc"))).isFalse();
+	}
+
+	@Test
+	void test_interfaceConstraintIsNeverConfirmed() {
+		assertThat(Validation.isValid(new NamedMessage("Joe"))).isFalse();
+		assertThat(Validation.isValid(new NamedMessage(""))).isFalse();
+	}
+
+	@Test
+	void test_senderSideValidationOfInterfaceConstraint() throws Exception {
+
+		final AskableActorRef askable = new AskableActorRef(ref, Duration.ofSeconds(3), AskOptions.DEFAULT.withValidator(validator));
+		final NamedMessage valid = new NamedMessage("Joe");
+
+		assertThat(askable.ask(valid).toCompletableFuture().get(3, TimeUnit.SECONDS)).isSameAs(valid);
+		assertThat(askable.ask(new NamedMessage("")))
+			.isCompletedExceptionally()
+			.hasFailedWithThrowableThat()
+			.isInstanceOf(MessageHandlerValidationException.class);
+	}
+
+	@Test
+	void test_senderSideValidationAskValid() throws Exception {
+
+		final AskableActorRef askable = new AskableActorRef(ref, Duration.ofSeconds(3), AskOptions.DEFAULT.withValidator(validator));
+		final Person person = new Person("Joe", 30, emptyList(), null);
+		final CompletionStage<Person> result = askable.ask(person);
+
+		assertThat(result.toCompletableFuture().get(3, TimeUnit.SECONDS)).isSameAs(person);
+	}
+
+	@Test
+	void test_senderSideValidationAskInvalid() {
+
+		final AskableActorRef askable = new AskableActorRef(ref, Duration.ofSeconds(3), AskOptions.DEFAULT.withValidator(validator));
+		final CompletionStage<Person> result = askable.ask(new Person("J", 30, emptyList(), null));
+
+		assertThat(result)
+			.isCompletedExceptionally()
+			.hasFailedWithThrowableThat()
+			.isInstanceOf(MessageHandlerValidationException.class);
+	}
+
+	@Test
+	void test_senderSideValidationSkipsNotValidatedMessages() throws Exception {
+
+		final AskableActorRef askable = new AskableActorRef(ref, Duration.ofSeconds(3), AskOptions.DEFAULT.withValidator(validator));
+		final CompletionStage<String> result = askable.ask("not validated by receiver");
+
+		assertThat(result.toCompletableFuture().get(3, TimeUnit.SECONDS)).isEqualTo("not validated by receiver");
+	}
+}
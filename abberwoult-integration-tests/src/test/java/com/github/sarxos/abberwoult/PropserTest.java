@@ -2,14 +2,21 @@ package com.github.sarxos.abberwoult;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
+import java.time.Duration;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.TimeUnit;
+
 import javax.inject.Inject;
 
 import org.junit.jupiter.api.Test;
 
+import com.github.sarxos.abberwoult.SyntheticActorCreatorTesting.ArgumentsActor;
+import com.github.sarxos.abberwoult.SyntheticActorCreatorTesting.WiredActor;
 import com.github.sarxos.abberwoult.annotation.Dispatcher;
 import com.github.sarxos.abberwoult.annotation.Mailbox;
 import com.github.sarxos.abberwoult.cdi.BeanLocator;
 
+import akka.actor.ActorRef;
 import akka.actor.Props;
 import akka.dispatch.Dispatchers;
 import akka.dispatch.Mailboxes;
@@ -25,6 +32,9 @@ public class PropserTest {
 	@Inject
 	BeanLocator locator;
 
+	@Inject
+	ActorUniverse universe;
+
 	@Test
 	void test_injectPropserIntoTest() {
 		assertThat(propser).isNotNull();
@@ -57,4 +67,87 @@ public class PropserTest {
 		assertThat(props.mailbox()).isEqualTo(Mailboxes.DefaultMailboxId());
 		assertThat(props.dispatcher()).isEqualTo(Dispatchers.DefaultDispatcherId());
 	}
+
+	@Test
+	void test_syntheticCreatorIsGenerated() {
+		assertThat(Propser.hasSyntheticCreator(WiredActor.class)).isTrue();
+		assertThat(Propser.hasSyntheticCreator(ArgumentsActor.class)).isTrue();
+	}
+
+	@Test
+	void test_syntheticCreatorWiresActor() throws Exception {
+
+		final ActorRef ref = universe.actor()
+			.of(WiredActor.class)
+			.withArguments("joe")
+			.create();
+
+		assertThat(ask(ref)).isEqualTo("joe:true:true:true:true");
+	}
+
+	@Test
+	void test_syntheticCreatorSelectsConstructor() throws Exception {
+
+		final ActorRef ref1 = universe.actor()
+			.of(ArgumentsActor.class)
+			.withArguments(5)
+			.create();
+
+		final ActorRef ref2 = universe.actor()
+			.of(ArgumentsActor.class)
+			.withArguments("five")
+			.create();
+
+		assertThat(ask(ref1)).isEqualTo("int:5");
+		assertThat(ask(ref2)).isEqualTo("string:five");
+	}
+
+	@Test
+	void test_propsWithoutArgumentsAreCached() {
+		assertThat(propser.props(EmptySimpleActor.class)).isSameAs(propser.props(EmptySimpleActor.class));
+	}
+
+	@Test
+	void test_propsWithArgumentsAreNotCached() {
+		assertThat(propser.props(ArgumentsActor.class, 1)).isNotSameAs(propser.props(ArgumentsActor.class, 1));
+	}
+
+	@Test
+	void test_templateKeepsDispatcherAndMailbox() {
+
+		@Mailbox("foo")
+		@Dispatcher("bar")
+		class TestActor extends SimpleActor {
+		}
+
+		final PropsTemplate<TestActor> template = propser.template(TestActor.class);
+		final Props props = template.props("a", 1);
+
+		assertThat(props.mailbox()).isEqualTo("foo");
+		assertThat(props.dispatcher()).isEqualTo("bar");
+		assertThat(template.props()).isSameAs(propser.props(TestActor.class));
+	}
+
+	@Test
+	void test_templateCreatesActors() throws Exception {
+
+		final PropsTemplate<ArgumentsActor> template = propser.template(ArgumentsActor.class);
+
+		final ActorRef ref1 = universe.actor()
+			.of(template.props(7))
+			.create();
+
+		final ActorRef ref2 = universe.actor()
+			.of(template.props("seven"))
+			.create();
+
+		assertThat(ask(ref1)).isEqualTo("int:7");
+		assertThat(ask(ref2)).isEqualTo("string:seven");
+	}
+
+	private Object ask(final ActorRef ref) throws Exception {
+		final AskableActorRef askable = new AskableActorRef(ref, Duration.ofSeconds(3));
+		final CompletionStage<Object> result = askable.ask("get");
+		return result.toCompletableFuture().get(3, TimeUnit.SECONDS);
+	}
 }
@@ -0,0 +1,171 @@
+package com.github.sarxos.abberwoult;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import javax.inject.Inject;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.github.sarxos.abberwoult.ReceiveDispatcherTesting.Animal;
+import com.github.sarxos.abberwoult.ReceiveDispatcherTesting.Book;
+import com.github.sarxos.abberwoult.ReceiveDispatcherTesting.Cat;
+import com.github.sarxos.abberwoult.ReceiveDispatcherTesting.Dog;
+import com.github.sarxos.abberwoult.ReceiveDispatcherTesting.ReceiveDispatcherTestActor;
+import com.github.sarxos.abberwoult.testkit.TestKit;
+import com.github.sarxos.abberwoult.testkit.TestKitProbe;
+
+import akka.actor.ActorRef;
+import akka.actor.ActorSystem;
+import akka.actor.UnhandledMessage;
+import io.quarkus.test.junit.QuarkusTest;
+import io.quarkus.test.junit.QuarkusTestProfile;
+import io.quarkus.test.junit.TestProfile;
+
+
+/**
+ * Test of the receive generated with a single dispatcher class per actor class. The dispatch mode
+ * is a build time property, so the application is augmented again with the test profile.
+ */
+@QuarkusTest
+@TestProfile(ReceiveDispatcherTest.DispatcherProfile.class)
+public class ReceiveDispatcherTest {
+
+	public static class DispatcherProfile implements QuarkusTestProfile {
+
+		@Override
+		public Map<String, String> getConfigOverrides() {
+			return Collections.singletonMap("quarkus.abberwoult.receive-dispatch", "dispatcher");
+		}
+	}
+
+	@Inject
+	ActorSystem system;
+
+	@Inject
+	TestKit testkit;
+
+	TestKitProbe probe;
+
+	ActorRef ref;
+
+	@BeforeEach
+	public void setup() {
+
+		probe = testkit.probe();
+
+		ref = testkit.actor()
+			.of(ReceiveDispatcherTestActor.class)
+			.create();
+
+		testkit.awaitForActor(ref);
+	}
+
+	@AfterEach
+	public void teardown() {
+		testkit.kill(ref);
+	}
+
+	@Test
+	public void test_dispatcherIsGenerated() throws Exception {
+		assertThat(Class.forName(ReceiveDispatcherTestActor.class.getName() + "$ReceiveDispatcher")).isNotNull();
+		assertThat(ActorMetadataRegistry.isReceiveGenerated(ReceiveDispatcherTestActor.class)).isTrue();
+	}
+
+	@Test
+	public void test_mostSpecificHandlerIsInvoked() {
+
+		ref.tell(new Dog("rex"), probe.getRef());
+		ref.tell(new Animal("generic"), probe.getRef());
+
+		probe.expectMsgEquals("dog:rex");
+		probe.expectMsgEquals("animal:generic");
+	}
+
+	@Test
+	public void test_subclassWithoutHandlerGoesToSuperclassHandler() {
+
+		ref.tell(new Cat("tom"), probe.getRef());
+
+		probe.expectMsgEquals("animal:tom");
+	}
+
+	@Test
+	public void test_messagesAreHandledInOrder() {
+
+		for (int i = 0; i < 100; i++) {
+			ref.tell(i, probe.getRef());
+		}
+
+		for (int i = 0; i < 100; i++) {
+			probe.expectMsgEquals(i);
+		}
+	}
+
+	@Test
+	public void test_validMessage() {
+
+		ref.tell(new Book("abbabba"), probe.getRef());
+
+		probe.expectMsgEquals("book:abbabba");
+	}
+
+	@Test
+	public void test_invalidMessageIsNotHandled() {
+
+		ref.tell(new Book("a"), probe.getRef());
+		probe.expectNoMessage(Duration.ofSeconds(1));
+
+		ref.tell(new Book("abbabba"), probe.getRef());
+		probe.expectMsgEquals("book:abbabba");
+	}
+
+	@Test
+	public void test_unmatchedMessageIsUnhandled() {
+
+		final TestKitProbe unhandled = testkit.probe();
+		system.eventStream().subscribe(unhandled.getRef(), UnhandledMessage.class);
+
+		try {
+			ref.tell("not handled", probe.getRef());
+			probe.expectNoMessage(Duration.ofMillis(500));
+			final UnhandledMessage message = unhandled.awaitMsgClass(UnhandledMessage.class, m -> ref.equals(m.getRecipient()));
+			assertThat(message.getMessage()).isEqualTo("not handled");
+		} finally {
+			system.eventStream().unsubscribe(unhandled.getRef());
+		}
+	}
+
+	@Test
+	public void test_deadlineIsOpened() {
+
+		ref.tell(new AskDeadline(new Dog("rex"), System.currentTimeMillis() + 10_000), probe.getRef());
+
+		probe.expectMsgEquals("dog:rex");
+	}
+
+	@Test
+	public void test_expiredDeadlineIsSkipped() {
+
+		final long expired = AskDeadline.getExpiredCount();
+
+		ref.tell(new AskDeadline(new Dog("rex"), System.currentTimeMillis() - 1000), probe.getRef());
+		probe.expectNoMessage(Duration.ofMillis(500));
+
+		assertThat(AskDeadline.getExpiredCount()).isEqualTo(expired + 1);
+	}
+
+	@Test
+	public void test_askWithDeadline() throws Exception {
+
+		final AskableActorRef askable = new AskableActorRef(ref, Duration.ofSeconds(3), AskOptions.DEFAULT.withDeadline(true));
+
+		assertThat(askable.ask(new Cat("tom")).toCompletableFuture().get(3, TimeUnit.SECONDS)).isEqualTo("animal:tom");
+	}
+}
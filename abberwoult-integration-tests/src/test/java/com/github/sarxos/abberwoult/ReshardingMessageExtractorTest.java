@@ -0,0 +1,99 @@
+package com.github.sarxos.abberwoult;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+
+import com.github.sarxos.abberwoult.ReshardingMessageExtractor.IncompatibleShardLayoutException;
+import com.github.sarxos.abberwoult.ShardTesting.SomeMsg;
+
+import io.quarkus.test.junit.QuarkusTest;
+
+
+@QuarkusTest
+public class ReshardingMessageExtractorTest {
+
+	private final ShardMessageExtractor from = new ShardMessageExtractor(10, ShardIdStrategy.MODULO);
+	private final ShardMessageExtractor to = new ShardMessageExtractor(100, ShardIdStrategy.MODULO);
+
+	@Test
+	public void test_routeToOldLayoutWhenNotMigrated() {
+
+		final ReshardingMessageExtractor extractor = new ReshardingMessageExtractor(from, to, shard -> false);
+
+		for (int i = 0; i < 1000; i++) {
+			final SomeMsg msg = new SomeMsg("route-" + i, "id-" + i);
+			assertThat(extractor.shardId(msg)).isEqualTo(from.shardId(msg));
+			assertThat(extractor.entityId(msg)).isEqualTo("id-" + i);
+		}
+	}
+
+	@Test
+	public void test_routeToNewLayoutWhenMigrated() {
+
+		final ReshardingMessageExtractor extractor = new ReshardingMessageExtractor(from, to, shard -> true);
+
+		for (int i = 0; i < 1000; i++) {
+			final SomeMsg msg = new SomeMsg("route-" + i, "id-" + i);
+			assertThat(extractor.shardId(msg)).isEqualTo(to.shardId(msg));
+		}
+	}
+
+	@Test
+	public void test_routeToNewLayoutOnlyForMigratedShards() {
+
+		final Set<Integer> migrated = new HashSet<>();
+		migrated.add(3);
+
+		final ReshardingMessageExtractor extractor = new ReshardingMessageExtractor(from, to, migrated::contains);
+
+		for (int i = 0; i < 1000; i++) {
+			final SomeMsg msg = new SomeMsg("route-" + i, "id-" + i);
+			if (from.shardId(msg).equals("3")) {
+				assertThat(extractor.shardId(msg)).isEqualTo(to.shardId(msg));
+			} else {
+				assertThat(extractor.shardId(msg)).isEqualTo(from.shardId(msg));
+			}
+		}
+	}
+
+	@Test
+	public void test_routeHandoff() {
+
+		final ReshardingMessageExtractor extractor = new ReshardingMessageExtractor(from, to, shard -> true);
+		final ReshardingHandoff handoff = new ReshardingHandoff("3", "id-1");
+
+		assertThat(extractor.shardId(handoff)).isEqualTo("3");
+		assertThat(extractor.entityId(handoff)).isEqualTo("id-1");
+		assertThat(extractor.entityMessage(handoff)).isSameAs(handoff);
+	}
+
+	@Test
+	public void test_incompatibleModuloLayout() {
+		final ShardMessageExtractor to = new ShardMessageExtractor(25, ShardIdStrategy.MODULO);
+		assertThatThrownBy(() -> new ReshardingMessageExtractor(from, to, shard -> false)).isInstanceOf(IncompatibleShardLayoutException.class);
+	}
+
+	@Test
+	public void test_compatibleJumpLayout() {
+
+		final ShardMessageExtractor from = new ShardMessageExtractor(10, ShardIdStrategy.JUMP);
+		final ShardMessageExtractor to = new ShardMessageExtractor(25, ShardIdStrategy.JUMP);
+		final ReshardingMessageExtractor extractor = new ReshardingMessageExtractor(from, to, shard -> false);
+
+		for (int i = 0; i < 1000; i++) {
+			final SomeMsg msg = new SomeMsg("route-" + i, "id-" + i);
+			assertThat(extractor.shardId(msg)).isEqualTo(from.shardId(msg));
+		}
+	}
+
+	@Test
+	public void test_strategyCannotBeChanged() {
+		final ShardMessageExtractor to = new ShardMessageExtractor(100, ShardIdStrategy.JUMP);
+		assertThatThrownBy(() -> new ReshardingMessageExtractor(from, to, shard -> false)).isInstanceOf(IncompatibleShardLayoutException.class);
+	}
+}
@@ -0,0 +1,222 @@
+package com.github.sarxos.abberwoult;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.awaitility.Awaitility.await;
+
+import java.time.Duration;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import javax.inject.Inject;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.github.sarxos.abberwoult.Resharding.Route;
+import com.github.sarxos.abberwoult.ReshardingLedger.ReshardingLedgerTimeoutException;
+import com.github.sarxos.abberwoult.ReshardingTesting.GatedReshardingLedger;
+import com.github.sarxos.abberwoult.ReshardingTesting.ReshardingTestEntity;
+import com.github.sarxos.abberwoult.annotation.ShardEntityIdTesting.ShardEntityIdIntMsg;
+
+import akka.Done;
+import akka.actor.ActorRef;
+import akka.actor.ActorSystem;
+import akka.cluster.Cluster;
+import akka.cluster.MemberStatus;
+import akka.cluster.sharding.ClusterSharding;
+import akka.cluster.sharding.ClusterShardingSettings;
+import akka.pattern.Patterns;
+import io.quarkus.test.junit.QuarkusTest;
+
+
+@QuarkusTest
+public class ReshardingTest {
+
+	private static final Duration TIMEOUT = Duration.ofSeconds(5);
+
+	/**
+	 * Shard ID hash is the int value, so with MODULO strategy 1 stays in shard 1 and 3 is moved
+	 * from shard 1 to shard 3.
+	 */
+	private static final ShardEntityIdIntMsg STAYING = new ShardEntityIdIntMsg(1);
+	private static final ShardEntityIdIntMsg MOVING = new ShardEntityIdIntMsg(3);
+
+	@Inject
+	ActorSystem system;
+
+	@Inject
+	Propser propser;
+
+	private final ShardMessageExtractor from = new ShardMessageExtractor(2, ShardIdStrategy.MODULO);
+	private final ShardMessageExtractor to = new ShardMessageExtractor(4, ShardIdStrategy.MODULO);
+
+	@BeforeEach
+	public void awaitClusterUp() {
+		await().until(() -> Cluster.get(system).selfMember().status() == MemberStatus.up());
+	}
+
+	private String name() {
+		return "resharding-" + UUID.randomUUID();
+	}
+
+	private Object ask(final ActorRef region, final Object message) throws Exception {
+		return Patterns.ask(region, message, TIMEOUT).toCompletableFuture().get(10, TimeUnit.SECONDS);
+	}
+
+	@Test
+	public void test_ledgerConvergesBetweenReplicas() throws Exception {
+
+		final String name = name();
+		final ReshardingLedger ledger1 = new ReshardingLedger(system, name, 2, TIMEOUT);
+		final ReshardingLedger ledger2 = new ReshardingLedger(system, name, 2, TIMEOUT);
+
+		ledger1.markMigrated(1).toCompletableFuture().get(10, TimeUnit.SECONDS);
+
+		assertThat(ledger1.isMigrated(1)).isTrue();
+		await().until(() -> ledger2.isMigrated(1));
+		assertThat(ledger2.isMigrated(0)).isFalse();
+		assertThat(ledger2.isComplete()).isFalse();
+
+		ledger2.markMigrated(0).toCompletableFuture().get(10, TimeUnit.SECONDS);
+
+		await().until(ledger1::isComplete);
+		assertThat(ledger2.isComplete()).isTrue();
+	}
+
+	@Test
+	public void test_migrateMovesEntityToNewShard() throws Exception {
+
+		final String name = name();
+		final ReshardingLedger ledger = new ReshardingLedger(system, name, 2, TIMEOUT);
+		final ReshardingMessageExtractor extractor = new ReshardingMessageExtractor(from, to, ledger::isMigrated);
+		final ActorRef region = ClusterSharding.get(system).start(name, propser.props(ReshardingTestEntity.class), ClusterShardingSettings.create(system), extractor);
+		final Resharding resharding = new Resharding(name, region, extractor, ledger, TIMEOUT);
+
+		resharding.start(system.scheduler(), system.dispatcher(), Duration.ofHours(1));
+
+		assertThat(Resharding.of(name).get()).isSameAs(resharding);
+		assertThat(ask(region, MOVING)).isEqualTo("1");
+		assertThat(ask(region, STAYING)).isEqualTo("1");
+
+		final int handoffs = ReshardingTesting.HANDOFFS.get();
+
+		resharding.migrate(1).toCompletableFuture().get(10, TimeUnit.SECONDS);
+
+		assertThat(ledger.isMigrated(1)).isTrue();
+		assertThat(ledger.isMigrated(0)).isFalse();
+		assertThat(ReshardingTesting.HANDOFFS.get()).isEqualTo(handoffs + 1);
+		assertThat(ask(region, MOVING)).isEqualTo("3");
+		assertThat(ask(region, STAYING)).isEqualTo("1");
+	}
+
+	@Test
+	public void test_migrateHoldsMessagesWhileLedgerUpdateIsPending() throws Exception {
+
+		final String name = name();
+		final GatedReshardingLedger ledger = new GatedReshardingLedger(system, name, 2, TIMEOUT);
+		final ReshardingMessageExtractor extractor = new ReshardingMessageExtractor(from, to, ledger::isMigrated);
+		final ActorRef region = ClusterSharding.get(system).start(name, propser.props(ReshardingTestEntity.class), ClusterShardingSettings.create(system), extractor);
+		final Resharding resharding = new Resharding(name, region, extractor, ledger, TIMEOUT);
+
+		resharding.start(system.scheduler(), system.dispatcher(), Duration.ofHours(1));
+
+		assertThat(ask(region, MOVING)).isEqualTo("1");
+
+		final CompletableFuture<Done> gate1 = ledger.gate();
+		final CompletableFuture<Done> gate2 = ledger.gate();
+		final CompletableFuture<Done> migrated = resharding.migrate(1).toCompletableFuture();
+
+		await().until(() -> ledger.getAttempts() == 1);
+
+		assertThat(resharding.route("1", MOVING)).isEqualTo(Route.HOLD);
+		assertThat(resharding.route("1", STAYING)).isEqualTo(Route.DELIVER);
+
+		final CompletableFuture<Object> held = Patterns.ask(region, MOVING, TIMEOUT).toCompletableFuture();
+
+		gate1.completeExceptionally(new ReshardingLedgerTimeoutException(1));
+
+		await().until(() -> ledger.getAttempts() == 2);
+
+		assertThat(resharding.route("1", MOVING)).isEqualTo(Route.HOLD);
+		assertThat(held).isNotDone();
+		assertThat(migrated).isNotDone();
+
+		gate2.completeExceptionally(new ReshardingLedgerTimeoutException(1));
+		migrated.get(10, TimeUnit.SECONDS);
+
+		assertThat(ledger.getAttempts()).isEqualTo(3);
+		assertThat(ledger.isMigrated(1)).isTrue();
+		assertThat(held.get(10, TimeUnit.SECONDS)).isEqualTo("3");
+		assertThat(ask(region, MOVING)).isEqualTo("3");
+	}
+
+	@Test
+	public void test_migrateLiftsFenceWhenLedgerUpdateFails() throws Exception {
+
+		final String name = name();
+		final GatedReshardingLedger ledger = new GatedReshardingLedger(system, name, 2, TIMEOUT);
+		final ReshardingMessageExtractor extractor = new ReshardingMessageExtractor(from, to, ledger::isMigrated);
+		final ActorRef region = ClusterSharding.get(system).start(name, propser.props(ReshardingTestEntity.class), ClusterShardingSettings.create(system), extractor);
+		final Resharding resharding = new Resharding(name, region, extractor, ledger, TIMEOUT);
+
+		resharding.start(system.scheduler(), system.dispatcher(), Duration.ofHours(1));
+
+		assertThat(ask(region, MOVING)).isEqualTo("1");
+
+		ledger.gate().completeExceptionally(new IllegalStateException("failed"));
+
+		assertThatThrownBy(() -> resharding.migrate(1).toCompletableFuture().get(10, TimeUnit.SECONDS))
+			.isInstanceOf(ExecutionException.class);
+
+		assertThat(ledger.getAttempts()).isEqualTo(1);
+		assertThat(ledger.isMigrated(1)).isFalse();
+		assertThat(resharding.route("1", MOVING)).isEqualTo(Route.DELIVER);
+		assertThat(ask(region, MOVING)).isEqualTo("1");
+	}
+
+	@Test
+	public void test_migrateLocalShards() throws Exception {
+
+		final String name = name();
+		final ReshardingLedger ledger = new ReshardingLedger(system, name, 2, TIMEOUT);
+		final ReshardingMessageExtractor extractor = new ReshardingMessageExtractor(from, to, ledger::isMigrated);
+		final ActorRef region = ClusterSharding.get(system).start(name, propser.props(ReshardingTestEntity.class), ClusterShardingSettings.create(system), extractor);
+		final Resharding resharding = new Resharding(name, region, extractor, ledger, TIMEOUT);
+
+		resharding.start(system.scheduler(), system.dispatcher(), Duration.ofMillis(100));
+
+		assertThat(ask(region, MOVING)).isEqualTo("1");
+
+		await().until(() -> ledger.isMigrated(1));
+
+		assertThat(ask(region, MOVING)).isEqualTo("3");
+
+		// shard 0 has never been hosted
+		await().until(resharding::isComplete);
+
+		assertThat(ledger.isMigrated(0)).isTrue();
+	}
+
+	@Test
+	public void test_routeMovedMessageFromMigratedShard() throws Exception {
+
+		final String name = name();
+		final ReshardingLedger ledger = new ReshardingLedger(system, name, 2, TIMEOUT);
+		final ReshardingMessageExtractor extractor = new ReshardingMessageExtractor(from, to, ledger::isMigrated);
+		final Resharding resharding = new Resharding(name, system.deadLetters(), extractor, ledger, TIMEOUT);
+
+		assertThat(resharding.route("1", MOVING)).isEqualTo(Route.DELIVER);
+		assertThat(resharding.route("1", STAYING)).isEqualTo(Route.DELIVER);
+
+		ledger.markMigrated(1).toCompletableFuture().get(10, TimeUnit.SECONDS);
+
+		assertThat(resharding.route("1", MOVING)).isEqualTo(Route.FORWARD);
+		assertThat(resharding.route("1", new AskDeadline(MOVING, Long.MAX_VALUE))).isEqualTo(Route.FORWARD);
+		assertThat(resharding.route("3", MOVING)).isEqualTo(Route.DELIVER);
+		assertThat(resharding.route("1", STAYING)).isEqualTo(Route.DELIVER);
+		assertThat(resharding.route("1", new ReshardingHandoff("1", "3", true))).isEqualTo(Route.DELIVER);
+	}
+}
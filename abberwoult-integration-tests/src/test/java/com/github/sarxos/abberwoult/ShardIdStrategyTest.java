@@ -0,0 +1,97 @@
+package com.github.sarxos.abberwoult;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+import com.github.sarxos.abberwoult.util.ShardDistribution;
+
+
+public class ShardIdStrategyTest {
+
+	private static final ShardIdStrategy[] STRATEGIES = {
+		ShardIdStrategy.MODULO,
+		ShardIdStrategy.JUMP,
+		ShardIdStrategy.MURMUR3
+	};
+
+	@Test
+	public void test_moduloIsCompatibleWithAbsoluteHash() {
+		final Random random = new Random(1);
+		for (int i = 0; i < 10_000; i++) {
+			final int hash = random.nextInt();
+			assertThat(ShardIdStrategy.MODULO.shard(hash, 100)).isEqualTo(Math.abs(hash) % 100);
+		}
+	}
+
+	@Test
+	public void test_shardIsInRange() {
+		final Random random = new Random(2);
+		for (final ShardIdStrategy strategy : STRATEGIES) {
+			assertThat(strategy.shard(Integer.MIN_VALUE, 100)).isBetween(0, 99);
+			assertThat(strategy.shard(Integer.MAX_VALUE, 100)).isBetween(0, 99);
+			assertThat(strategy.shard(0, 1)).isEqualTo(0);
+			for (int i = 0; i < 10_000; i++) {
+				assertThat(strategy.shard(random.nextInt(), 7)).isBetween(0, 6);
+			}
+		}
+	}
+
+	@Test
+	public void test_jumpMovesOnlyFewKeysWhenShardIsAdded() {
+
+		int moved = 0;
+
+		for (int hash = 0; hash < 100_000; hash++) {
+			final int before = ShardIdStrategy.JUMP.shard(hash, 100);
+			final int after = ShardIdStrategy.JUMP.shard(hash, 101);
+			if (before != after) {
+				assertThat(after).isEqualTo(100);
+				moved++;
+			}
+		}
+
+		assertThat(moved).isBetween(800, 1200);
+	}
+
+	@Test
+	public void test_ofBuiltInName() {
+		assertThat(ShardIdStrategy.of("")).isSameAs(ShardIdStrategy.MODULO);
+		assertThat(ShardIdStrategy.of("modulo")).isSameAs(ShardIdStrategy.MODULO);
+		assertThat(ShardIdStrategy.of("jump")).isSameAs(ShardIdStrategy.JUMP);
+		assertThat(ShardIdStrategy.of("murmur3")).isSameAs(ShardIdStrategy.MURMUR3);
+	}
+
+	@Test
+	public void test_ofClassName() {
+		assertThat(ShardIdStrategy.of(ShardIdStrategy.JumpShardIdStrategy.class.getName())).isInstanceOf(ShardIdStrategy.JumpShardIdStrategy.class);
+	}
+
+	@Test
+	public void test_ofWrongClassName() {
+		assertThatThrownBy(() -> ShardIdStrategy.of(String.class.getName())).isInstanceOf(IllegalArgumentException.class);
+	}
+
+	@Test
+	public void test_distribution() {
+
+		final List<String> ids = new ArrayList<>();
+		for (int i = 0; i < 10_000; i++) {
+			ids.add("entity-" + i);
+		}
+
+		final ShardDistribution distribution = ShardDistribution.of(ShardIdStrategy.MURMUR3, 100, ids);
+
+		assertThat(distribution.getTotal()).isEqualTo(10_000);
+		assertThat(distribution.getCardinality()).isEqualTo(100);
+		assertThat(distribution.getMean()).isEqualTo(100.0);
+		assertThat(distribution.getMin()).isLessThanOrEqualTo(distribution.getMax());
+		assertThat(distribution.getCounts()).hasSize(100);
+		assertThat(distribution.toString()).contains("ids=10000");
+	}
+}
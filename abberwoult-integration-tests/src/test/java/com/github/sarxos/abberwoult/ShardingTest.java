@@ -0,0 +1,198 @@
+package com.github.sarxos.abberwoult;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.entry;
+import static org.awaitility.Awaitility.await;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import javax.inject.Inject;
+
+import org.junit.jupiter.api.Test;
+
+import com.github.sarxos.abberwoult.annotation.NamedActor;
+import com.github.sarxos.abberwoult.annotation.ShardEntityIdTesting.ShardEntityIdIntMsg;
+import com.github.sarxos.abberwoult.testkit.TestKit;
+import com.github.sarxos.abberwoult.testkit.TestKitProbe;
+
+import akka.actor.AbstractActor;
+import akka.actor.ActorRef;
+import akka.actor.ActorSystem;
+import akka.actor.Props;
+import akka.actor.Status;
+import akka.cluster.Cluster;
+import akka.cluster.MemberStatus;
+import io.quarkus.test.junit.QuarkusTest;
+
+
+@QuarkusTest
+public class ShardingTest {
+
+	@Inject
+	TestKit testkit;
+
+	@Inject
+	ActorSystem system;
+
+	@Inject
+	@NamedActor("plainsharding")
+	Sharding plain;
+
+	/**
+	 * Fake region which forwards messages to the children named by entity ID. Entities reply with
+	 * entity ID, fail when ID is even and never reply when ID is divisible by 3.
+	 */
+	static final class FakeRegion extends AbstractActor {
+
+		@Override
+		public Receive createReceive() {
+			return receiveBuilder()
+				.match(ShardBatch.class, batch -> batch.getMessages().forEach(m -> getSelf().forward(m, getContext())))
+				.match(ShardEntityIdIntMsg.class, this::onMessage)
+				.build();
+		}
+
+		private void onMessage(final ShardEntityIdIntMsg msg) {
+			final String name = Integer.toString(msg.getFoo());
+			final ActorRef entity = getContext()
+				.findChild(name)
+				.orElseGet(() -> getContext().actorOf(Props.create(FakeEntity.class), name));
+			entity.forward(msg, getContext());
+		}
+	}
+
+	static final class FakeEntity extends AbstractActor {
+
+		@Override
+		public Receive createReceive() {
+			return receiveBuilder()
+				.match(ShardEntityIdIntMsg.class, this::onMessage)
+				.build();
+		}
+
+		private void onMessage(final ShardEntityIdIntMsg msg) {
+			if (msg.getFoo() % 3 == 0) {
+				return;
+			} else if (msg.getFoo() % 2 == 0) {
+				getSender().tell(new Status.Failure(new IllegalStateException("even")), getSelf());
+			} else {
+				getSender().tell("reply-" + msg.getFoo(), getSelf());
+			}
+		}
+	}
+
+	@Test
+	public void test_tellAllBatchesMessagesByShard() {
+
+		final TestKitProbe probe = testkit.probe();
+		final ShardMessageExtractor extractor = new ShardMessageExtractor(100, ShardIdStrategy.MODULO);
+		final Sharding sharding = new Sharding(probe.getRef(), Duration.ofSeconds(1), AskOptions.DEFAULT, extractor, true, null);
+
+		final ShardEntityIdIntMsg m1 = new ShardEntityIdIntMsg(1);
+		final ShardEntityIdIntMsg m2 = new ShardEntityIdIntMsg(2);
+		final ShardEntityIdIntMsg m101 = new ShardEntityIdIntMsg(101);
+		final ShardEntityIdIntMsg m201 = new ShardEntityIdIntMsg(201);
+
+		sharding.tellAll(Arrays.asList(m1, m2, m101, m201));
+
+		final ShardBatch batch = probe.expectMsgClass(ShardBatch.class);
+
+		assertThat(batch.getShardId()).isEqualTo("1");
+		assertThat(batch.getEntityId()).isEqualTo("1");
+		assertThat(batch.getMessages()).containsExactly(m1, m101, m201);
+		assertThat(extractor.shardId(batch)).isEqualTo("1");
+		assertThat(extractor.entityId(batch)).isEqualTo("1");
+
+		assertThat(probe.expectMsgClass(ShardEntityIdIntMsg.class)).isSameAs(m2);
+		probe.expectNoMessage();
+	}
+
+	@Test
+	public void test_askAllGathersResultsFailuresAndMissing() throws Exception {
+
+		final ActorRef region = system.actorOf(Props.create(FakeRegion.class));
+		final ShardMessageExtractor extractor = new ShardMessageExtractor(100, ShardIdStrategy.MODULO);
+		final Sharding sharding = new Sharding(region, Duration.ofSeconds(1), AskOptions.DEFAULT, extractor, true, system);
+
+		final List<ShardEntityIdIntMsg> messages = Arrays.asList(
+			new ShardEntityIdIntMsg(1),
+			new ShardEntityIdIntMsg(101), // same shard as 1
+			new ShardEntityIdIntMsg(2),
+			new ShardEntityIdIntMsg(3));
+
+		final AskAllResult<String> result = sharding
+			.<String> askAll(messages, Duration.ofMillis(500))
+			.toCompletableFuture()
+			.get(5, TimeUnit.SECONDS);
+
+		assertThat(result.getResults()).containsOnly(entry("1", "reply-1"), entry("101", "reply-101"));
+		assertThat(result.getFailures()).containsOnlyKeys("2");
+		assertThat(result.getFailures().get("2")).isInstanceOf(IllegalStateException.class);
+		assertThat(result.getMissing()).containsOnly("3");
+		assertThat(result.isComplete()).isFalse();
+	}
+
+	@Test
+	public void test_askAllCompletesBeforeDeadline() throws Exception {
+
+		final ActorRef region = system.actorOf(Props.create(FakeRegion.class));
+		final ShardMessageExtractor extractor = new ShardMessageExtractor(100, ShardIdStrategy.MODULO);
+		final Sharding sharding = new Sharding(region, Duration.ofSeconds(1), AskOptions.DEFAULT, extractor, true, system);
+
+		final AskAllResult<String> result = sharding
+			.<String> askAll(Arrays.asList(new ShardEntityIdIntMsg(5), new ShardEntityIdIntMsg(7)), Duration.ofSeconds(30))
+			.toCompletableFuture()
+			.get(5, TimeUnit.SECONDS);
+
+		assertThat(result.isComplete()).isTrue();
+		assertThat(result.getResults()).containsOnlyKeys("5", "7");
+	}
+
+	@Test
+	public void test_tellAllWithoutExtractor() {
+
+		final TestKitProbe probe = testkit.probe();
+		final Sharding sharding = new Sharding(probe.getRef(), Duration.ofSeconds(1));
+		final List<ShardEntityIdIntMsg> messages = Arrays.asList(new ShardEntityIdIntMsg(1), new ShardEntityIdIntMsg(101));
+
+		sharding.tellAll(messages);
+
+		assertThat(probe.expectMsgClass(ShardEntityIdIntMsg.class)).isSameAs(messages.get(0));
+		assertThat(probe.expectMsgClass(ShardEntityIdIntMsg.class)).isSameAs(messages.get(1));
+	}
+
+	@Test
+	public void test_tellAllWithoutBatching() {
+
+		final TestKitProbe probe = testkit.probe();
+		final ShardMessageExtractor extractor = new ShardMessageExtractor(100, ShardIdStrategy.MODULO);
+		final Sharding sharding = new Sharding(probe.getRef(), Duration.ofSeconds(1), AskOptions.DEFAULT, extractor, false, system);
+		final List<ShardEntityIdIntMsg> messages = Arrays.asList(new ShardEntityIdIntMsg(1), new ShardEntityIdIntMsg(101));
+
+		sharding.tellAll(messages);
+
+		assertThat(probe.expectMsgClass(ShardEntityIdIntMsg.class)).isSameAs(messages.get(0));
+		assertThat(probe.expectMsgClass(ShardEntityIdIntMsg.class)).isSameAs(messages.get(1));
+	}
+
+	@Test
+	public void test_askAllEntitiesWhichAreNotSimpleShardEntityActors() throws Exception {
+
+		await().until(() -> Cluster.get(system).selfMember().status() == MemberStatus.up());
+
+		final List<ShardEntityIdIntMsg> messages = Arrays.asList(
+			new ShardEntityIdIntMsg(1),
+			new ShardEntityIdIntMsg(101)); // same shard as 1
+
+		final AskAllResult<Integer> result = plain
+			.<Integer> askAll(messages, Duration.ofSeconds(10))
+			.toCompletableFuture()
+			.get(15, TimeUnit.SECONDS);
+
+		assertThat(result.isComplete()).isTrue();
+		assertThat(result.getResults()).containsOnly(entry("1", 1), entry("101", 101));
+	}
+}
@@ -1,6 +1,9 @@
 package com.github.sarxos.abberwoult.annotation;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.UUID;
 
 import javax.inject.Inject;
 
@@ -12,8 +15,11 @@ import com.github.sarxos.abberwoult.annotation.ShardEntityIdTesting.ShardEntityI
 import com.github.sarxos.abberwoult.annotation.ShardEntityIdTesting.ShardEntityIdDoubleMsg;
 import com.github.sarxos.abberwoult.annotation.ShardEntityIdTesting.ShardEntityIdFloatMsg;
 import com.github.sarxos.abberwoult.annotation.ShardEntityIdTesting.ShardEntityIdIntMsg;
+import com.github.sarxos.abberwoult.annotation.ShardEntityIdTesting.ShardEntityIdJumpMsg;
+import com.github.sarxos.abberwoult.annotation.ShardEntityIdTesting.ShardEntityIdLongMsg;
 import com.github.sarxos.abberwoult.annotation.ShardEntityIdTesting.ShardEntityIdShortMsg;
 import com.github.sarxos.abberwoult.annotation.ShardEntityIdTesting.ShardEntityIdStringMsg;
+import com.github.sarxos.abberwoult.annotation.ShardEntityIdTesting.ShardEntityIdUuidMsg;
 
 import io.quarkus.test.junit.QuarkusTest;
 
@@ -47,6 +53,30 @@ public class ShardIdTest {
 		assertThat(extractor.shardId(new ShardEntityIdIntMsg(107))).isEqualTo("7");
 	}
 
+	@Test
+	public void test_intMinValueShardIdExtraction() {
+		assertThat(extractor.shardId(new ShardEntityIdIntMsg(Integer.MIN_VALUE))).isEqualTo("48");
+	}
+
+	@Test
+	public void test_longShardIdExtraction() {
+		assertThat(extractor.shardId(new ShardEntityIdLongMsg(7L))).isEqualTo("7");
+		assertThat(extractor.shardId(new ShardEntityIdLongMsg(107L))).isEqualTo("7");
+		assertThat(extractor.shardId(new ShardEntityIdLongMsg(Long.MIN_VALUE))).isEqualTo("48");
+	}
+
+	@Test
+	public void test_uuidShardIdExtraction() {
+		assertThat(extractor.shardId(new ShardEntityIdUuidMsg(new UUID(0, 7)))).isEqualTo("7");
+		assertThat(extractor.shardId(new ShardEntityIdUuidMsg(new UUID(0, 107)))).isEqualTo("7");
+	}
+
+	@Test
+	public void test_shardIdExtractionWithMessageStrategy() {
+		assertThat(extractor.shardId(new ShardEntityIdJumpMsg(7))).isEqualTo("97");
+		assertThat(extractor.shardId(new ShardEntityIdJumpMsg(107))).isEqualTo("66");
+	}
+
 	@Test
 	public void test_floatShardIdExtraction() {
 		assertThat(extractor.shardId(new ShardEntityIdFloatMsg(8.0f))).isEqualTo("40");
@@ -64,4 +94,16 @@ public class ShardIdTest {
 		assertThat(extractor.shardId(new ShardEntityIdBooleanMsg(true))).isEqualTo("31");
 		assertThat(extractor.shardId(new ShardEntityIdBooleanMsg(false))).isEqualTo("37");
 	}
+
+	@Test
+	public void test_shardIdStringIsReused() {
+		final String a = extractor.shardId(new ShardEntityIdIntMsg(7));
+		final String b = extractor.shardId(new ShardEntityIdIntMsg(107));
+		assertThat(a).isSameAs(b);
+	}
+
+	@Test
+	public void test_shardIdExtractionWithoutReader() {
+		assertThatThrownBy(() -> extractor.shardId(new Object())).isInstanceOf(IllegalArgumentException.class);
+	}
 }
@@ -11,6 +11,7 @@ import javax.inject.Named;
 
 import org.junit.jupiter.api.Test;
 
+import com.github.sarxos.abberwoult.cdi.internals.CdiDependentService;
 import com.github.sarxos.abberwoult.cdi.internals.CdiDummyService;
 import com.github.sarxos.abberwoult.cdi.internals.CdiSomeService;
 import com.github.sarxos.abberwoult.cdi.internals.CdiSomeServiceBarImpl;
@@ -37,6 +38,8 @@ public class BeanLocatorTest {
 
 		CdiDummyService ds;
 
+		CdiDependentService dependent;
+
 		public TestClass(
 			CdiDummyService ds,
 			@Named("foo") CdiSomeService fss,
@@ -114,4 +117,40 @@ public class BeanLocatorTest {
 			.isInstanceOf(CdiSomeServiceBarImpl.class)
 			.isNotNull();
 	}
+
+	@Test
+	void test_findBeanForFieldIsCached() throws NoSuchFieldException, SecurityException {
+
+		final Field field = TestClass.class.getDeclaredField("ds");
+		final Object first = locator.findBeanFor(field);
+		final long hits = locator.getCacheHits();
+		final long misses = locator.getCacheMisses();
+
+		assertThat(locator.findBeanFor(field)).isSameAs(first);
+		assertThat(locator.getCacheHits()).isEqualTo(hits + 1);
+		assertThat(locator.getCacheMisses()).isEqualTo(misses);
+	}
+
+	@Test
+	void test_findBeanForParameterIsCached() throws NoSuchFieldException, SecurityException {
+
+		final Constructor<?> constructor = TestClass.class.getDeclaredConstructors()[0];
+		final Object first = locator.findBeanFor(constructor, constructor.getParameters()[1], 1);
+		final long hits = locator.getCacheHits();
+
+		assertThat(locator.findBeanFor(constructor, constructor.getParameters()[1], 1)).isSameAs(first);
+		assertThat(locator.getCacheHits()).isEqualTo(hits + 1);
+	}
+
+	@Test
+	void test_findBeanForDependentFieldIsResolvedEveryTime() throws NoSuchFieldException, SecurityException {
+
+		final Field field = TestClass.class.getDeclaredField("dependent");
+		final Object first = locator.findBeanFor(field);
+		final Object second = locator.findBeanFor(field);
+
+		assertThat(first).isInstanceOf(CdiDependentService.class);
+		assertThat(second).isInstanceOf(CdiDependentService.class);
+		assertThat(second).isNotSameAs(first);
+	}
 }
@@ -0,0 +1,96 @@
+package com.github.sarxos.abberwoult.deployment;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+import javax.inject.Inject;
+
+import org.eclipse.microprofile.config.Config;
+import org.junit.jupiter.api.Test;
+
+import com.github.sarxos.abberwoult.Resharding;
+import com.github.sarxos.abberwoult.ShardRegionSettings;
+
+import akka.actor.ActorSystem;
+import akka.cluster.Cluster;
+import io.quarkus.test.junit.QuarkusTest;
+import io.smallrye.config.PropertiesConfigSource;
+import io.smallrye.config.SmallRyeConfigBuilder;
+
+
+@QuarkusTest
+public class ShardAutostarterTest {
+
+	@Inject
+	ShardAutostarter autostarter;
+
+	@Inject
+	ActorSystem system;
+
+	@Test
+	public void test_regionStarted() {
+		assertThat(autostarter.getRef(ShardAutostarterTestActor.class)).isNotNull();
+	}
+
+	@Test
+	public void test_settingsFromAnnotationAndConfig() {
+
+		final ShardRegionSettings settings = autostarter.getSettings("autostartedsharding").get();
+
+		assertThat(settings.getActorClassName()).isEqualTo(ShardAutostarterTestActor.class.getName());
+		assertThat(settings.isAutostart()).isTrue();
+		assertThat(settings.getShards()).isEqualTo(11); // overridden in config
+		assertThat(settings.getRole().isEmpty()).isTrue();
+		assertThat(settings.isRememberEntities()).isFalse();
+		assertThat(settings.getPassivateIdleAfter().get()).isEqualTo(Duration.ofSeconds(60));
+		assertThat(settings.getStrategy().isEmpty()).isTrue();
+		assertThat(settings.getFromShards().isEmpty()).isTrue();
+	}
+
+	@Test
+	public void test_proxyStartedWhenRoleIsMissing() {
+
+		final ShardRegionSettings settings = autostarter.getSettings("proxiedsharding").get();
+
+		assertThat(settings.getRole().get()).isEqualTo("backend");
+		assertThat(settings.isHostedOn(Cluster.get(system).getSelfRoles())).isFalse();
+		assertThat(settings.isHostedOn(Collections.singleton("backend"))).isTrue();
+		assertThat(autostarter.getRegion("proxiedsharding").isDefined()).isTrue();
+	}
+
+	@Test
+	public void test_hostedWhenRegionHasNoRole() {
+
+		final ShardRegionSettings settings = autostarter.getSettings("autostartedsharding").get();
+
+		assertThat(settings.isProxyOnly()).isFalse();
+		assertThat(settings.isHostedOn(Collections.emptySet())).isTrue();
+	}
+
+	@Test
+	public void test_globalFromCardinalityOnlyForRegionsWithGlobalShards() {
+
+		final Map<String, String> properties = new HashMap<>();
+		properties.put(Resharding.FROM_CARDINALITY_PROP, "5");
+		properties.put("akka.cluster.sharding.region.fixed.resharding.from-shards", "3");
+
+		final Config config = new SmallRyeConfigBuilder()
+			.withSources(new PropertiesConfigSource(properties, "test", 100))
+			.build();
+
+		final String actor = ShardAutostarterTestActor.class.getName();
+
+		assertThat(new ShardRegionSettings(actor, "global", true, 0, "", false, -1, "").withConfig(config).getFromShards().get()).isEqualTo(5);
+		assertThat(new ShardRegionSettings(actor, "fixed", true, 7, "", false, -1, "").withConfig(config).getFromShards().get()).isEqualTo(3);
+		assertThat(new ShardRegionSettings(actor, "other", true, 7, "", false, -1, "").withConfig(config).getFromShards().isEmpty()).isTrue();
+	}
+
+	@Test
+	public void test_unknownSharding() {
+		assertThat(autostarter.getSettings("nosuchsharding").isEmpty()).isTrue();
+	}
+}
@@ -0,0 +1,61 @@
+package com.github.sarxos.abberwoult.util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import org.junit.jupiter.api.Test;
+
+
+public class LatencyHistogramTest {
+
+	@Test
+	public void test_bucketBoundsContainValue() {
+		for (long value : new long[] { 0, 1, 7, 8, 15, 16, 17, 100, 1_000, 123_456_789, Long.MAX_VALUE }) {
+			final int index = LatencyHistogram.index(value);
+			assertThat(LatencyHistogram.upper(index)).isGreaterThanOrEqualTo(value);
+			if (index > 0) {
+				assertThat(LatencyHistogram.upper(index - 1)).isLessThan(value);
+			}
+		}
+	}
+
+	@Test
+	public void test_emptyPercentile() {
+		assertThat(new LatencyHistogram().getPercentile(0.99)).isZero();
+	}
+
+	@Test
+	public void test_percentileWithinPrecision() {
+
+		final LatencyHistogram histogram = new LatencyHistogram();
+
+		for (int i = 1; i <= 1000; i++) {
+			histogram.record(i * 1_000_000L);
+		}
+
+		assertThat(histogram.getCount()).isEqualTo(1000);
+		assertThat(histogram.getPercentile(0.5)).isBetween(500_000_000L, 563_000_000L);
+		assertThat(histogram.getPercentile(0.99)).isBetween(990_000_000L, 1_114_000_000L);
+		assertThat(histogram.getPercentile(1)).isGreaterThanOrEqualTo(1_000_000_000L);
+	}
+
+	@Test
+	public void test_decay() {
+
+		final LatencyHistogram histogram = new LatencyHistogram();
+
+		for (int i = 0; i < 10; i++) {
+			histogram.record(100);
+		}
+
+		histogram.decay();
+
+		assertThat(histogram.getCount()).isEqualTo(5);
+	}
+
+	@Test
+	public void test_invalidPercentile() {
+		assertThatThrownBy(() -> new LatencyHistogram().getPercentile(1.5))
+			.isInstanceOf(IllegalArgumentException.class);
+	}
+}
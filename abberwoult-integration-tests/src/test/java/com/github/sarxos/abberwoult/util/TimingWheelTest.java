@@ -0,0 +1,137 @@
+package com.github.sarxos.abberwoult.util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.awaitility.Awaitility.await;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+
+public class TimingWheelTest {
+
+	private TimingWheel wheel;
+
+	@BeforeEach
+	public void setup() {
+		wheel = new TimingWheel("test-wheel", Duration.ofMillis(5), 8);
+	}
+
+	@AfterEach
+	public void teardown() {
+		wheel.close();
+	}
+
+	static final class LatchTask extends TimingWheel.Task {
+
+		final CountDownLatch latch = new CountDownLatch(1);
+		final AtomicLong expired = new AtomicLong();
+
+		@Override
+		protected void expire() {
+			expired.set(System.nanoTime());
+			latch.countDown();
+		}
+	}
+
+	@Test
+	public void test_sizeRoundedToPowerOfTwo() {
+		try (final TimingWheel other = new TimingWheel("test-wheel-size", Duration.ofMillis(5), 100)) {
+			assertThat(other.getSize()).isEqualTo(128);
+		}
+		assertThat(wheel.getSize()).isEqualTo(8);
+	}
+
+	@Test
+	public void test_invalidArguments() {
+		assertThatThrownBy(() -> new TimingWheel("x", Duration.ZERO, 8)).isInstanceOf(IllegalArgumentException.class);
+		assertThatThrownBy(() -> new TimingWheel("x", Duration.ofMillis(1), 0)).isInstanceOf(IllegalArgumentException.class);
+	}
+
+	@Test
+	public void test_expireNotBeforeDeadline() throws InterruptedException {
+
+		final long start = System.nanoTime();
+		final LatchTask task = wheel.schedule(new LatchTask(), Duration.ofMillis(50));
+
+		assertThat(task.latch.await(5, TimeUnit.SECONDS)).isTrue();
+		assertThat(task.expired.get() - start).isGreaterThanOrEqualTo(TimeUnit.MILLISECONDS.toNanos(50));
+	}
+
+	@Test
+	public void test_expireAfterManyRounds() throws InterruptedException {
+
+		// 8 buckets of 5 ms is 40 ms per round, so this one needs few rounds
+
+		final long start = System.nanoTime();
+		final LatchTask task = wheel.schedule(new LatchTask(), Duration.ofMillis(130));
+
+		assertThat(task.latch.await(5, TimeUnit.SECONDS)).isTrue();
+		assertThat(task.expired.get() - start).isGreaterThanOrEqualTo(TimeUnit.MILLISECONDS.toNanos(130));
+	}
+
+	@Test
+	public void test_cancelledTaskDoesNotExpire() throws InterruptedException {
+
+		final LatchTask cancelled = wheel.schedule(new LatchTask(), Duration.ofMillis(20));
+		final LatchTask other = wheel.schedule(new LatchTask(), Duration.ofMillis(60));
+
+		cancelled.cancel();
+
+		assertThat(other.latch.await(5, TimeUnit.SECONDS)).isTrue();
+		assertThat(cancelled.isCancelled()).isTrue();
+		assertThat(cancelled.latch.getCount()).isEqualTo(1);
+	}
+
+	@Test
+	public void test_cancelledTaskIsUnlinkedBeforeDeadline() {
+
+		final LatchTask[] tasks = new LatchTask[100];
+
+		for (int i = 0; i < tasks.length; i++) {
+			tasks[i] = wheel.schedule(new LatchTask(), Duration.ofMinutes(10));
+		}
+
+		await().until(() -> wheel.getPending() == tasks.length);
+
+		for (int i = 0; i < tasks.length; i += 2) {
+			tasks[i].cancel();
+		}
+
+		await().until(() -> wheel.getPending() == tasks.length / 2);
+
+		for (int i = 1; i < tasks.length; i += 2) {
+			tasks[i].cancel();
+		}
+
+		await().until(() -> wheel.getPending() == 0);
+	}
+
+	@Test
+	public void test_manyTasks() throws InterruptedException {
+
+		final AtomicInteger count = new AtomicInteger();
+		final CountDownLatch latch = new CountDownLatch(1000);
+
+		for (int i = 0; i < 1000; i++) {
+			wheel.schedule(new TimingWheel.Task() {
+
+				@Override
+				protected void expire() {
+					count.incrementAndGet();
+					latch.countDown();
+				}
+			}, Duration.ofMillis(i % 100));
+		}
+
+		assertThat(latch.await(5, TimeUnit.SECONDS)).isTrue();
+		assertThat(count.get()).isEqualTo(1000);
+	}
+}
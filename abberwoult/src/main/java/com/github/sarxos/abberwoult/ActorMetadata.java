@@ -0,0 +1,147 @@
+package com.github.sarxos.abberwoult;
+
+import static com.github.sarxos.abberwoult.util.ReflectionUtils.getAnnotationFromClass;
+
+import org.apache.commons.lang3.StringUtils;
+import org.apache.commons.lang3.builder.ToStringBuilder;
+
+import com.github.sarxos.abberwoult.annotation.Autostart;
+import com.github.sarxos.abberwoult.annotation.Dispatcher;
+import com.github.sarxos.abberwoult.annotation.Mailbox;
+import com.github.sarxos.abberwoult.annotation.NamedActor;
+import com.github.sarxos.abberwoult.annotation.Sharded;
+
+import akka.actor.Actor;
+import akka.dispatch.Dispatchers;
+import akka.dispatch.Mailboxes;
+import io.vavr.control.Option;
+
+
+/**
+ * Immutable metadata of the actor class, i.e. the name, path, dispatcher, mailbox, autostart and
+ * sharding information, which otherwise would have to be read from the class annotations. The
+ * metadata of the indexed actor classes is collected in augmentation phase and recorded into the
+ * {@link ActorMetadataRegistry}.
+ *
+ * @author Bartosz Firyn (sarxos)
+ */
+public final class ActorMetadata {
+
+	private static final String USER = "user";
+
+	public static final String DEFAULT_MAILBOX_ID = Mailboxes.DefaultMailboxId();
+	public static final String DEFAULT_MESSAGE_DISPATCHER_ID = Dispatchers.DefaultDispatcherId();
+
+	private final Option<String> name;
+	private final String path;
+	private final String dispatcher;
+	private final String mailbox;
+	private final boolean autostart;
+	private final Option<String> sharding;
+	private final boolean shardingAutostart;
+	private final Option<String> shardingStrategy;
+
+	/**
+	 * @param clazz the actor class name
+	 * @param name the value of {@link NamedActor} annotation or null if actor is not named
+	 * @param dispatcher the value of {@link Dispatcher} annotation or null if not present
+	 * @param mailbox the value of {@link Mailbox} annotation or null if not present
+	 * @param autostart true if actor is annotated with {@link Autostart}
+	 * @param sharding the name of the sharding from {@link Sharded} annotation or null
+	 * @param shardingAutostart the value of {@link Sharded#autostart()}
+	 * @param shardingStrategy the value of {@link Sharded#strategy()} or null if empty
+	 */
+	public ActorMetadata(final String clazz, final String name, final String dispatcher, final String mailbox, final boolean autostart, final String sharding, final boolean shardingAutostart, final String shardingStrategy) {
+		this.name = Option.of(name).map(label -> StringUtils.equals(label, NamedActor.UNKNOWN) ? clazz : label);
+		this.path = "/" + USER + "/" + this.name.getOrElse(clazz);
+		this.dispatcher = Option.of(dispatcher).getOrElse(DEFAULT_MESSAGE_DISPATCHER_ID);
+		this.mailbox = Option.of(mailbox).getOrElse(DEFAULT_MAILBOX_ID);
+		this.autostart = autostart;
+		this.sharding = Option.of(sharding);
+		this.shardingAutostart = sharding != null && shardingAutostart;
+		this.shardingStrategy = Option.of(shardingStrategy).filter(StringUtils::isNotBlank);
+	}
+
+	/**
+	 * Read metadata from the annotations present on a given actor class. This is used for the
+	 * actor classes which metadata has not been recorded in augmentation phase.
+	 *
+	 * @param clazz the actor class
+	 * @return New {@link ActorMetadata}
+	 */
+	public static ActorMetadata of(final Class<?> clazz) {
+
+		final Option<Sharded> sharded = Option.of(clazz.getAnnotation(Sharded.class));
+
+		return new ActorMetadata(
+			clazz.getName(),
+			Option.of(clazz.getAnnotation(NamedActor.class)).map(NamedActor::value).getOrNull(),
+			Option.of(getAnnotationFromClass(clazz, Dispatcher.class)).map(Dispatcher::value).getOrNull(),
+			Option.of(getAnnotationFromClass(clazz, Mailbox.class)).map(Mailbox::value).getOrNull(),
+			clazz.isAnnotationPresent(Autostart.class),
+			sharded.map(Sharded::name).getOrNull(),
+			sharded.map(Sharded::autostart).getOrElse(false),
+			sharded.map(Sharded::strategy).getOrNull());
+	}
+
+	/**
+	 * @return Actor name if actor is annotated with {@link NamedActor}
+	 */
+	public Option<String> getName() {
+		return name;
+	}
+
+	/**
+	 * @return Path of the top level actor, i.e. /user/[name]
+	 */
+	public String getPath() {
+		return path;
+	}
+
+	/**
+	 * @return Message dispatcher ID
+	 */
+	public String getDispatcher() {
+		return dispatcher;
+	}
+
+	/**
+	 * @return Mailbox ID
+	 */
+	public String getMailbox() {
+		return mailbox;
+	}
+
+	/**
+	 * @return True if actor is annotated with {@link Autostart}
+	 */
+	public boolean isAutostart() {
+		return autostart;
+	}
+
+	/**
+	 * @return Sharding name if actor is annotated with {@link Sharded}
+	 */
+	public Option<String> getSharding() {
+		return sharding;
+	}
+
+	/**
+	 * @return True if sharding should be automatically started
+	 */
+	public boolean isShardingAutostart() {
+		return shardingAutostart;
+	}
+
+	/**
+	 * @return The name of shard ID strategy selected in {@link Sharded} annotation
+	 */
+	public Option<String> getShardingStrategy() {
+		return shardingStrategy;
+	}
+
+	@Override
+	public String toString() {
+		return ToStringBuilder.reflectionToString(this);
+	}
+}
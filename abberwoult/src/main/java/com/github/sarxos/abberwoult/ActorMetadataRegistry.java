@@ -0,0 +1,117 @@
+package com.github.sarxos.abberwoult;
+
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.jboss.logging.Logger;
+
+import com.github.sarxos.abberwoult.annotation.Generated;
+
+import io.quarkus.runtime.annotations.Recorder;
+import io.vavr.control.Option;
+
+
+/**
+ * Registry of {@link ActorMetadata}. The metadata of actor classes found in the index is collected
+ * in augmentation phase and recorded at static init, so in runtime it does not have to be read
+ * from the annotations present in the actor class hierarchy. The metadata of a classes which were
+ * not recorded is read from annotations, but only once per class.<br>
+ * <br>
+ *
+ * This class acts as a {@link Recorder} at the augmentation time.
+ *
+ * @author Bartosz Firyn (sarxos)
+ */
+@Recorder
+public class ActorMetadataRegistry {
+
+	private static final Logger LOG = Logger.getLogger(ActorMetadataRegistry.class);
+
+	private static final String RECEIVE_METHOD_NAME = "createReceive";
+
+	/**
+	 * Mapping between actor class name and the recorded metadata.
+	 */
+	private static final Map<String, ActorMetadata> RECORDED = new ConcurrentHashMap<>();
+
+	/**
+	 * Metadata resolved per actor class.
+	 */
+	private static final ClassValue<ActorMetadata> RESOLVED = new ClassValue<ActorMetadata>() {
+
+		@Override
+		protected ActorMetadata computeValue(final Class<?> type) {
+			return resolve(type);
+		}
+	};
+
+	/**
+	 * Tells if actor class has receive generated in augmentation phase, i.e. the one which opens
+	 * {@link AskDeadline} envelopes. Such receive is annotated with {@link Generated}.
+	 */
+	private static final ClassValue<Boolean> GENERATED_RECEIVE = new ClassValue<Boolean>() {
+
+		@Override
+		protected Boolean computeValue(final Class<?> type) {
+			return findReceive(type)
+				.map(receive -> receive.isAnnotationPresent(Generated.class))
+				.getOrElse(false);
+		}
+	};
+
+	/**
+	 * Recording method used when this is {@link Recorder} to register metadata of a given actor
+	 * class. See {@link ActorMetadata} constructor for the arguments description.
+	 */
+	public void register(final String clazz, final String name, final String dispatcher, final String mailbox, final boolean autostart, final String sharding, final boolean shardingAutostart, final String shardingStrategy) {
+		LOG.debugf("Record actor metadata %s", clazz);
+		RECORDED.put(clazz, new ActorMetadata(clazz, name, dispatcher, mailbox, autostart, sharding, shardingAutostart, shardingStrategy));
+	}
+
+	/**
+	 * @param clazz the actor class
+	 * @return Metadata of a given actor class
+	 */
+	public static ActorMetadata get(final Class<?> clazz) {
+		return RESOLVED.get(clazz);
+	}
+
+	/**
+	 * @param clazz the actor class
+	 * @return True if metadata of a given class has been recorded in augmentation phase
+	 */
+	public static boolean isRecorded(final Class<?> clazz) {
+		return RECORDED.containsKey(clazz.getName());
+	}
+
+	/**
+	 * @param clazz the actor class
+	 * @return True if actor class has receive generated in augmentation phase
+	 */
+	public static boolean isReceiveGenerated(final Class<?> clazz) {
+		return GENERATED_RECEIVE.get(clazz);
+	}
+
+	private static Option<Method> findReceive(final Class<?> type) {
+		for (Class<?> c = type; c != null && c != Object.class; c = c.getSuperclass()) {
+			try {
+				return Option.of(c.getDeclaredMethod(RECEIVE_METHOD_NAME));
+			} catch (NoSuchMethodException e) {
+				// not declared in this class, try superclass
+			}
+		}
+		return Option.none();
+	}
+
+	private static ActorMetadata resolve(final Class<?> type) {
+
+		final ActorMetadata metadata = RECORDED.get(type.getName());
+
+		if (metadata == null) {
+			return ActorMetadata.of(type);
+		} else {
+			return metadata;
+		}
+	}
+}
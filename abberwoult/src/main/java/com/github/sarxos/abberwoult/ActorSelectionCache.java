@@ -0,0 +1,221 @@
+package com.github.sarxos.abberwoult;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+import javax.inject.Inject;
+import javax.inject.Singleton;
+
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.jboss.logging.Logger;
+
+import akka.actor.AbstractActor;
+import akka.actor.ActorIdentity;
+import akka.actor.ActorRef;
+import akka.actor.ActorSelection;
+import akka.actor.ActorSystem;
+import akka.actor.Cancellable;
+import akka.actor.Identify;
+import akka.actor.Props;
+import akka.actor.Terminated;
+import io.vavr.control.Option;
+
+
+/**
+ * Caches the {@link ActorRef} resolved from the {@link ActorSelection}, so messages can be sent
+ * directly to the actor instead of walking the actor path every time. There is one entry per actor
+ * path, shared by all {@link AskableActorSelection} instances using this path. The entry resolves
+ * the selection with {@link Identify} when it's used for the first time, watches the resolved
+ * actor and drops it when actor terminates, so it's resolved again on the next use. Until the
+ * selection is resolved, messages should be sent to the selection.<br>
+ * <br>
+ *
+ * Please note that the cached reference points to the given actor incarnation, so the messages
+ * sent after actor was stopped and before the termination is noticed go to dead letters, even if a
+ * new actor has already been started on the same path. This is why cache is disabled by default
+ * and needs to be enabled with {@value #ENABLED_PROP} property. Selections with wildcards are never
+ * cached.
+ *
+ * @author Bartosz Firyn (sarxos)
+ */
+@Singleton
+public class ActorSelectionCache {
+
+	private static final Logger LOG = Logger.getLogger(ActorSelectionCache.class);
+
+	public static final String ENABLED_PROP = "akka.actor.selection.cache.enabled";
+	public static final String ENABLED_DEFAULT = "false";
+
+	/**
+	 * Message used to trigger resolution.
+	 */
+	private static final Object RESOLVE = new Object();
+
+	/**
+	 * Message used to give up resolution when selection does not reply with identity.
+	 */
+	private static final Object GIVE_UP = new Object();
+
+	/**
+	 * The {@link Identify} message ID.
+	 */
+	private static final String IDENTIFY_ID = "abberwoult-selection-cache";
+
+	/**
+	 * Time after which resolution is given up and can be triggered again.
+	 */
+	private static final Duration RESOLVE_TIMEOUT = Duration.ofSeconds(5);
+
+	private final ActorSystem system;
+	private final boolean enabled;
+
+	/**
+	 * Cache entries mapped by the actor path.
+	 */
+	private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+
+	/**
+	 * @param system the actor system in which watchers are created
+	 * @param enabled true if cache is enabled
+	 */
+	@Inject
+	public ActorSelectionCache(final ActorSystem system, @ConfigProperty(name = ENABLED_PROP, defaultValue = ENABLED_DEFAULT) final boolean enabled) {
+		this.system = system;
+		this.enabled = enabled;
+	}
+
+	/**
+	 * Get cache entry for a given selection.
+	 *
+	 * @param selection the actor selection
+	 * @return Cache entry or none if cache is disabled or selection contains wildcards
+	 */
+	public Option<Entry> get(final ActorSelection selection) {
+
+		if (!enabled) {
+			return Option.none();
+		}
+
+		if (isWildcard(selection)) {
+			return Option.none();
+		}
+
+		return Option.of(entries.computeIfAbsent(selection.toSerializationFormat(), p -> new Entry(selection)));
+	}
+
+	/**
+	 * @param selection the actor selection
+	 * @return True if selection path contains wildcards, so it can select many actors
+	 */
+	static boolean isWildcard(final ActorSelection selection) {
+		final String path = selection.toSerializationFormat();
+		return path.indexOf('*') >= 0 || path.indexOf('?') >= 0;
+	}
+
+	public boolean isEnabled() {
+		return enabled;
+	}
+
+	/**
+	 * The cached reference of a single actor path.
+	 */
+	public final class Entry {
+
+		private final AtomicReference<ActorRef> ref = new AtomicReference<>();
+		private final AtomicBoolean resolving = new AtomicBoolean();
+		private final ActorSelection selection;
+		private final ActorRef watcher;
+
+		Entry(final ActorSelection selection) {
+			this.selection = selection;
+			this.watcher = system.actorOf(Props.create(Watcher.class, this));
+		}
+
+		/**
+		 * Get the resolved actor reference. When it's not resolved yet, the resolution is triggered
+		 * (unless one is already in progress) and null is returned, so caller should fall back to
+		 * the selection.
+		 *
+		 * @return Resolved actor reference or null
+		 */
+		public ActorRef get() {
+
+			final ActorRef resolved = ref.get();
+
+			if (resolved == null && resolving.compareAndSet(false, true)) {
+				watcher.tell(RESOLVE, ActorRef.noSender());
+			}
+
+			return resolved;
+		}
+
+		public ActorSelection getSelection() {
+			return selection;
+		}
+
+		void onIdentity(final ActorRef resolved) {
+			LOG.debugf("Selection %s resolved to %s", selection, resolved);
+			ref.set(resolved);
+			resolving.set(false);
+		}
+
+		void onTerminated(final ActorRef terminated) {
+			LOG.debugf("Actor %s resolved from %s terminated", terminated, selection);
+			ref.compareAndSet(terminated, null);
+		}
+	}
+
+	/**
+	 * Resolves the selection and watches the resolved actor. Please note that this is pure Akka
+	 * actor (not the actor derived by Abberwoult).
+	 */
+	static final class Watcher extends AbstractActor {
+
+		private final Entry entry;
+		private Cancellable timeout;
+
+		Watcher(final Entry entry) {
+			this.entry = entry;
+		}
+
+		@Override
+		public Receive createReceive() {
+			return receiveBuilder()
+				.matchEquals(RESOLVE, resolve -> onResolve())
+				.matchEquals(GIVE_UP, giveup -> onGiveUp())
+				.match(ActorIdentity.class, this::onIdentity)
+				.match(Terminated.class, terminated -> entry.onTerminated(terminated.actor()))
+				.build();
+		}
+
+		private void onResolve() {
+			entry.selection.tell(new Identify(IDENTIFY_ID), getSelf());
+			timeout = getContext().getSystem().scheduler().scheduleOnce(RESOLVE_TIMEOUT, getSelf(), GIVE_UP, getContext().getDispatcher(), getSelf());
+		}
+
+		private void onGiveUp() {
+			if (entry.resolving.get()) {
+				entry.onIdentity(null);
+			}
+		}
+
+		private void onIdentity(final ActorIdentity identity) {
+
+			if (timeout != null) {
+				timeout.cancel();
+				timeout = null;
+			}
+
+			final ActorRef resolved = identity.getActorRef().orElse(null);
+
+			if (resolved != null) {
+				getContext().watch(resolved);
+			}
+
+			entry.onIdentity(resolved);
+		}
+	}
+}
@@ -0,0 +1,125 @@
+package com.github.sarxos.abberwoult;
+
+import java.time.Duration;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+import com.github.sarxos.abberwoult.util.LatencyHistogram;
+
+
+/**
+ * The ask timeout of a single target which follows observed ask latency. Latencies are recorded in
+ * the {@link LatencyHistogram} and every few asks the timeout is recomputed as a multiple of the
+ * configured percentile, bounded by floor and ceiling. Until enough asks are observed, the ceiling
+ * is used. Asks which time out are recorded with the time they waited, so timeout grows back when
+ * target slows down.
+ *
+ * @author Bartosz Firyn (sarxos)
+ */
+public final class AdaptiveAskTimeout {
+
+	/**
+	 * The number of recorded asks after which timeout is recomputed.
+	 */
+	private static final int REFRESH_INTERVAL = 64;
+
+	/**
+	 * The number of recorded asks after which histogram decays.
+	 */
+	private static final int DECAY_INTERVAL = 8192;
+
+	private final LatencyHistogram histogram = new LatencyHistogram();
+	private final AtomicLong records = new AtomicLong();
+	private final double percentile;
+	private final double multiplier;
+	private final long floor;
+	private final long ceiling;
+	private final long minSamples;
+
+	/**
+	 * The current timeout in nanoseconds.
+	 */
+	private volatile long timeout;
+
+	/**
+	 * @param percentile the latency percentile, e.g. 0.99
+	 * @param multiplier the multiplier of latency percentile
+	 * @param floor the minimum timeout
+	 * @param ceiling the maximum timeout, used until enough asks are observed
+	 * @param minSamples the number of asks to observe before timeout adapts
+	 */
+	public AdaptiveAskTimeout(final double percentile, final double multiplier, final Duration floor, final Duration ceiling, final long minSamples) {
+
+		if (floor.compareTo(ceiling) > 0) {
+			throw new IllegalArgumentException("Floor " + floor + " must not be greater than ceiling " + ceiling);
+		}
+		if (multiplier <= 0) {
+			throw new IllegalArgumentException("Multiplier must be positive, but was " + multiplier);
+		}
+
+		this.percentile = percentile;
+		this.multiplier = multiplier;
+		this.floor = floor.toNanos();
+		this.ceiling = ceiling.toNanos();
+		this.minSamples = minSamples;
+		this.timeout = this.ceiling;
+	}
+
+	/**
+	 * Run the ask and record its latency.
+	 *
+	 * @param ask the ask to run
+	 * @return Stage completed with ask result
+	 */
+	public <T> CompletionStage<T> ask(final Supplier<CompletionStage<T>> ask) {
+		final long start = System.nanoTime();
+		return ask
+			.get()
+			.whenComplete((result, e) -> record(System.nanoTime() - start));
+	}
+
+	/**
+	 * Record the ask latency.
+	 *
+	 * @param latency the latency in nanoseconds
+	 */
+	public void record(final long latency) {
+
+		histogram.record(latency);
+
+		final long count = records.incrementAndGet();
+
+		if (count % DECAY_INTERVAL == 0) {
+			histogram.decay();
+		}
+		if (count % REFRESH_INTERVAL == 0) {
+			refresh();
+		}
+	}
+
+	/**
+	 * Recompute timeout from the recorded latencies.
+	 */
+	void refresh() {
+
+		if (histogram.getCount() < minSamples) {
+			return;
+		}
+
+		final double adapted = histogram.getPercentile(percentile) * multiplier;
+
+		timeout = (long) Math.min(ceiling, Math.max(floor, adapted));
+	}
+
+	/**
+	 * @return The current ask timeout
+	 */
+	public Duration getTimeout() {
+		return Duration.ofNanos(timeout);
+	}
+
+	public LatencyHistogram getHistogram() {
+		return histogram;
+	}
+}
@@ -0,0 +1,120 @@
+package com.github.sarxos.abberwoult;
+
+import java.io.UnsupportedEncodingException;
+import java.net.URLEncoder;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+import akka.actor.AbstractActor;
+import akka.actor.Cancellable;
+import akka.actor.Status;
+
+
+/**
+ * Collects replies of the entities asked by {@link Sharding#askAll(Collection, Duration)}. A
+ * single collector is the sender of all the messages and correlates every reply with the entity ID
+ * by the name of the replying actor, which is the URL-encoded entity ID in Akka sharding. The
+ * collector completes the result when all entities replied or when the deadline passes, whichever
+ * is first, and stops. Please note that this is pure Akka actor (not the actor derived by
+ * Abberwoult).
+ *
+ * @author Bartosz Firyn (sarxos)
+ * @param <T> the reply type
+ */
+final class AskAllCollector<T> extends AbstractActor {
+
+	/**
+	 * Message sent to self when deadline passes.
+	 */
+	private static final Object DEADLINE = new Object();
+
+	/**
+	 * Entities which did not reply yet, the entity actor name mapped to the entity ID.
+	 */
+	private final Map<String, String> pending = new HashMap<>();
+	private final Map<String, T> results = new LinkedHashMap<>();
+	private final Map<String, Throwable> failures = new LinkedHashMap<>();
+	private final CompletableFuture<AskAllResult<T>> future;
+	private final Duration timeout;
+
+	private Cancellable deadline;
+
+	/**
+	 * @param entityIds the IDs of the asked entities
+	 * @param timeout the deadline after which partial result is completed
+	 * @param future the future to complete
+	 */
+	AskAllCollector(final Collection<String> entityIds, final Duration timeout, final CompletableFuture<AskAllResult<T>> future) {
+		for (final String entityId : entityIds) {
+			pending.put(encode(entityId), entityId);
+		}
+		this.timeout = timeout;
+		this.future = future;
+	}
+
+	private static String encode(final String entityId) {
+		try {
+			return URLEncoder.encode(entityId, "utf-8");
+		} catch (UnsupportedEncodingException e) {
+			throw new IllegalStateException(e);
+		}
+	}
+
+	@Override
+	public void preStart() {
+		if (pending.isEmpty()) {
+			complete();
+		} else {
+			deadline = getContext().getSystem().scheduler().scheduleOnce(timeout, getSelf(), DEADLINE, getContext().getDispatcher(), getSelf());
+		}
+	}
+
+	@Override
+	public void postStop() {
+		if (deadline != null) {
+			deadline.cancel();
+		}
+		complete();
+	}
+
+	@Override
+	public Receive createReceive() {
+		return receiveBuilder()
+			.matchEquals(DEADLINE, deadline -> complete())
+			.matchAny(this::onReply)
+			.build();
+	}
+
+	@SuppressWarnings("unchecked")
+	private void onReply(final Object reply) {
+
+		final String entityId = pending.remove(getSender().path().name());
+
+		if (entityId == null) {
+			return;
+		}
+
+		if (reply instanceof Status.Failure) {
+			failures.put(entityId, ((Status.Failure) reply).cause());
+		} else if (reply instanceof Throwable) {
+			failures.put(entityId, (Throwable) reply);
+		} else {
+			results.put(entityId, (T) reply);
+		}
+
+		if (pending.isEmpty()) {
+			complete();
+		}
+	}
+
+	private void complete() {
+		if (future.complete(new AskAllResult<>(new LinkedHashMap<>(results), new LinkedHashMap<>(failures), new LinkedHashSet<>(pending.values())))) {
+			getContext().stop(getSelf());
+		}
+	}
+}
@@ -0,0 +1,68 @@
+package com.github.sarxos.abberwoult;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.Set;
+
+import org.apache.commons.lang3.builder.ToStringBuilder;
+
+
+/**
+ * The result of {@link Sharding#askAll(java.util.Collection, java.time.Duration)}. It holds the
+ * replies and failures of the entities which replied before the deadline and the IDs of the
+ * entities which did not.
+ *
+ * @author Bartosz Firyn (sarxos)
+ * @param <T> the reply type
+ */
+public final class AskAllResult<T> {
+
+	private final Map<String, T> results;
+	private final Map<String, Throwable> failures;
+	private final Set<String> missing;
+
+	/**
+	 * @param results the replies mapped by entity ID
+	 * @param failures the failures mapped by entity ID
+	 * @param missing the IDs of the entities which did not reply before deadline
+	 */
+	AskAllResult(final Map<String, T> results, final Map<String, Throwable> failures, final Set<String> missing) {
+		this.results = Collections.unmodifiableMap(results);
+		this.failures = Collections.unmodifiableMap(failures);
+		this.missing = Collections.unmodifiableSet(missing);
+	}
+
+	/**
+	 * @return The replies mapped by entity ID
+	 */
+	public Map<String, T> getResults() {
+		return results;
+	}
+
+	/**
+	 * @return The failures (either {@link akka.actor.Status.Failure} cause or {@link Throwable}
+	 *         reply) mapped by entity ID
+	 */
+	public Map<String, Throwable> getFailures() {
+		return failures;
+	}
+
+	/**
+	 * @return The IDs of the entities which did not reply before deadline
+	 */
+	public Set<String> getMissing() {
+		return missing;
+	}
+
+	/**
+	 * @return True if all entities replied before deadline, false if result is partial
+	 */
+	public boolean isComplete() {
+		return missing.isEmpty();
+	}
+
+	@Override
+	public String toString() {
+		return ToStringBuilder.reflectionToString(this);
+	}
+}
@@ -0,0 +1,123 @@
+package com.github.sarxos.abberwoult;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+import com.github.sarxos.abberwoult.annotation.CacheableQuery;
+
+
+/**
+ * Coalesces concurrent asks of equal messages sent to a single target. The first ask is sent to
+ * the target and all the equal asks made before it completes share its reply, so the actor
+ * handles the message only once. When message is {@link CacheableQuery} with positive TTL, the
+ * successful reply is reused for the TTL after it was received. Failed asks are never reused.
+ *
+ * @author Bartosz Firyn (sarxos)
+ */
+public final class AskCoalescer {
+
+	/**
+	 * The number of entries above which expired entries are swept on new flight.
+	 */
+	private static final int SWEEP_THRESHOLD = 1024;
+
+	private final Map<Object, Flight> flights = new ConcurrentHashMap<>();
+	private final LongAdder coalesced = new LongAdder();
+
+	/**
+	 * Ask or join the ask of equal message which is in flight or cached.
+	 *
+	 * @param message the message
+	 * @param ttl the time in milliseconds for which reply is cached
+	 * @param ask the ask to run when there is no equal ask to join
+	 * @return Stage completed with the shared reply
+	 */
+	@SuppressWarnings("unchecked")
+	public <T> CompletionStage<T> ask(final Object message, final long ttl, final Supplier<CompletionStage<T>> ask) {
+
+		for (;;) {
+
+			final Flight existing = flights.get(message);
+
+			if (existing != null) {
+				if (!existing.isExpired()) {
+					coalesced.increment();
+					return (CompletionStage<T>) existing.future.thenApply(Function.identity());
+				}
+				flights.remove(message, existing);
+				continue;
+			}
+
+			final Flight flight = new Flight();
+
+			if (flights.putIfAbsent(message, flight) != null) {
+				continue;
+			}
+
+			if (flights.size() > SWEEP_THRESHOLD) {
+				flights.values().removeIf(Flight::isExpired);
+			}
+
+			final CompletionStage<T> stage;
+
+			try {
+				stage = ask.get();
+			} catch (RuntimeException e) {
+				flights.remove(message, flight);
+				throw e;
+			}
+
+			stage.whenComplete((reply, e) -> {
+				if (e == null && ttl > 0) {
+					flight.expires = System.currentTimeMillis() + ttl;
+				} else {
+					flights.remove(message, flight);
+				}
+				if (e == null) {
+					flight.future.complete(reply);
+				} else {
+					flight.future.completeExceptionally(e);
+				}
+			});
+
+			return (CompletionStage<T>) flight.future.thenApply(Function.identity());
+		}
+	}
+
+	/**
+	 * @return The number of asks which joined another ask instead of being sent
+	 */
+	public long getCoalescedCount() {
+		return coalesced.sum();
+	}
+
+	/**
+	 * @return The number of asks in flight and cached replies
+	 */
+	public int getSize() {
+		return flights.size();
+	}
+
+	/**
+	 * The single ask shared by equal messages.
+	 */
+	private static final class Flight {
+
+		private final CompletableFuture<Object> future = new CompletableFuture<>();
+
+		/**
+		 * The time after which reply cannot be reused, or zero when ask is in flight.
+		 */
+		private volatile long expires;
+
+		boolean isExpired() {
+			final long time = expires;
+			return time != 0 && System.currentTimeMillis() > time;
+		}
+	}
+}
@@ -0,0 +1,97 @@
+package com.github.sarxos.abberwoult;
+
+import javax.inject.Inject;
+import javax.inject.Singleton;
+
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+
+import com.github.sarxos.abberwoult.annotation.CacheableQuery;
+
+import akka.actor.ActorRef;
+import akka.actor.ActorSelection;
+import akka.actor.ActorSystem;
+import io.vavr.control.Option;
+
+
+/**
+ * Holds {@link AskCoalescer} of every ask target, i.e. actor or selection path. Coalescing is
+ * disabled by default and needs to be enabled with {@value #ENABLED_PROP} property. Even when
+ * enabled, only messages annotated with {@link CacheableQuery} are coalesced. The coalescer of
+ * actor or selection is dropped when the actor terminates.
+ *
+ * @author Bartosz Firyn (sarxos)
+ */
+@Singleton
+public class AskCoalescing {
+
+	public static final String ENABLED_PROP = "akka.ask.coalescing.enabled";
+	public static final String ENABLED_DEFAULT = "false";
+
+	/**
+	 * The reply TTL of the message class or -1 if message is not {@link CacheableQuery}.
+	 */
+	private static final ClassValue<Long> TTLS = new ClassValue<Long>() {
+
+		@Override
+		protected Long computeValue(final Class<?> type) {
+			return Option
+				.of(type.getAnnotation(CacheableQuery.class))
+				.map(CacheableQuery::ttl)
+				.getOrElse(-1L);
+		}
+	};
+
+	private final AskTargets<AskCoalescer> coalescers;
+	private final boolean enabled;
+
+	/**
+	 * @param system the actor system in which terminated targets are watched
+	 * @param enabled true if coalescing is enabled
+	 */
+	@Inject
+	public AskCoalescing(final ActorSystem system, @ConfigProperty(name = ENABLED_PROP, defaultValue = ENABLED_DEFAULT) final boolean enabled) {
+		this.coalescers = new AskTargets<>(system);
+		this.enabled = enabled;
+	}
+
+	/**
+	 * @param target the target name
+	 * @return The coalescer of a given target or none if coalescing is disabled
+	 */
+	public Option<AskCoalescer> get(final String target) {
+
+		if (!enabled) {
+			return Option.none();
+		}
+
+		return Option.of(coalescers.get(target, t -> new AskCoalescer()));
+	}
+
+	/**
+	 * @param ref the target actor
+	 * @return The coalescer of a given actor or none if coalescing is disabled
+	 */
+	public Option<AskCoalescer> get(final ActorRef ref) {
+		return enabled ? Option.of(coalescers.get(ref, t -> new AskCoalescer())) : Option.none();
+	}
+
+	/**
+	 * @param selection the target actor selection
+	 * @return The coalescer of a given selection or none if coalescing is disabled
+	 */
+	public Option<AskCoalescer> get(final ActorSelection selection) {
+		return enabled ? Option.of(coalescers.get(selection, t -> new AskCoalescer())) : Option.none();
+	}
+
+	/**
+	 * @param message the message
+	 * @return The reply TTL in milliseconds or -1 if message is not {@link CacheableQuery}
+	 */
+	public static long getTtl(final Object message) {
+		return TTLS.get(message.getClass());
+	}
+
+	public boolean isEnabled() {
+		return enabled;
+	}
+}
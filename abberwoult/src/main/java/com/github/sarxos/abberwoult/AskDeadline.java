@@ -0,0 +1,109 @@
+package com.github.sarxos.abberwoult;
+
+import java.io.Serializable;
+import java.time.Duration;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.apache.commons.lang3.builder.ToStringBuilder;
+import org.jboss.logging.Logger;
+
+
+/**
+ * An envelope which carries asked message together with the time after which nobody waits for the
+ * reply. It's attached by {@link Askable} implementations when {@value AskableActorUtils#DEADLINE_PROP}
+ * is enabled and opened by the generated receive of the asked actor before message is dispatched
+ * to the handler. When the deadline has already passed, the message is skipped and counted in
+ * {@link #getExpiredCount()}, so overloaded actor does not spend time on replies which would be
+ * discarded anyway.<br>
+ * <br>
+ *
+ * The deadline is the wall clock time, so it can be compared on other cluster nodes, as long as
+ * their clocks are synchronized. Please note that only actors with generated receive understand
+ * this envelope, so it's attached only when the class of the asked actor is known and
+ * {@link ActorMetadataRegistry#isReceiveGenerated(Class)}, i.e. for the actors injected with
+ * {@link com.github.sarxos.abberwoult.annotation.ActorOf} and the autostarted shardings.
+ *
+ * @author Bartosz Firyn (sarxos)
+ */
+@SuppressWarnings("serial")
+public final class AskDeadline implements Serializable {
+
+	private static final Logger LOG = Logger.getLogger(AskDeadline.class);
+
+	/**
+	 * The number of messages skipped because of expired deadline.
+	 */
+	private static final LongAdder EXPIRED = new LongAdder();
+
+	private final Object message;
+	private final long deadline;
+
+	/**
+	 * @param message the asked message
+	 * @param deadline the wall clock time in milliseconds after which message expires
+	 */
+	public AskDeadline(final Object message, final long deadline) {
+		this.message = message;
+		this.deadline = deadline;
+	}
+
+	/**
+	 * Wrap message in deadline envelope.
+	 *
+	 * @param message the asked message
+	 * @param timeout the ask timeout
+	 * @return New {@link AskDeadline}
+	 */
+	public static AskDeadline wrap(final Object message, final Duration timeout) {
+		return new AskDeadline(message, System.currentTimeMillis() + timeout.toMillis());
+	}
+
+	/**
+	 * Open the deadline envelope. This is invoked by the generated receive before message is
+	 * dispatched to the handler.
+	 *
+	 * @param message the received message
+	 * @return The message carried in envelope, the same message if it's not an envelope, or null
+	 *         if the deadline has passed and message should be skipped
+	 */
+	public static Object open(final Object message) {
+
+		if (!(message instanceof AskDeadline)) {
+			return message;
+		}
+
+		final AskDeadline envelope = (AskDeadline) message;
+
+		if (envelope.isExpired()) {
+			LOG.debugf("Skipping expired message %s", envelope.message);
+			EXPIRED.increment();
+			return null;
+		}
+
+		return envelope.message;
+	}
+
+	/**
+	 * @return The number of messages skipped because of expired deadline
+	 */
+	public static long getExpiredCount() {
+		return EXPIRED.sum();
+	}
+
+	public boolean isExpired() {
+		return System.currentTimeMillis() > deadline;
+	}
+
+	public Object getMessage() {
+		return message;
+	}
+
+	public long getDeadline() {
+		return deadline;
+	}
+
+	@Override
+	public String toString() {
+		return ToStringBuilder.reflectionToString(this);
+	}
+}
@@ -0,0 +1,95 @@
+package com.github.sarxos.abberwoult;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+import akka.actor.Cancellable;
+import akka.actor.Scheduler;
+import scala.concurrent.ExecutionContext;
+
+
+/**
+ * Hedges asks to a single target. The message is asked once and, when no reply is received within
+ * the hedge delay, the same message is asked again, so a slow routee behind the router does not
+ * delay the reply, as the second copy is routed to another one. The first reply completes the ask
+ * and the pending hedge is cancelled. The delay is the configured percentile of the observed
+ * latency, tracked by {@link AdaptiveAskTimeout}, so only the slowest asks are hedged. Only the
+ * latency of the first ask is observed, even when the hedged one replies first, since the hedge
+ * delay has to follow the latency of the target and not the latency already shortened by hedging.
+ *
+ * @author Bartosz Firyn (sarxos)
+ */
+public final class AskHedge {
+
+	private final AdaptiveAskTimeout delay;
+	private final Scheduler scheduler;
+	private final ExecutionContext dispatcher;
+	private final LongAdder hedged = new LongAdder();
+
+	/**
+	 * @param delay the hedge delay which follows the latency percentile
+	 * @param scheduler the scheduler used to send hedged asks
+	 * @param dispatcher the dispatcher used to run hedged asks
+	 */
+	public AskHedge(final AdaptiveAskTimeout delay, final Scheduler scheduler, final ExecutionContext dispatcher) {
+		this.delay = delay;
+		this.scheduler = scheduler;
+		this.dispatcher = dispatcher;
+	}
+
+	/**
+	 * Run the ask and hedge it when it takes too long.
+	 *
+	 * @param ask the ask to run, invoked at most twice
+	 * @return Stage completed with the first reply
+	 */
+	public <T> CompletionStage<T> ask(final Supplier<CompletionStage<T>> ask) {
+
+		final CompletableFuture<T> result = new CompletableFuture<>();
+		final long start = System.nanoTime();
+		final CompletionStage<T> primary = ask.get();
+
+		primary.whenComplete((reply, e) -> delay.record(System.nanoTime() - start));
+		complete(result, primary);
+
+		if (result.isDone()) {
+			return result;
+		}
+
+		final Cancellable hedge = scheduler.scheduleOnce(delay.getTimeout(), () -> {
+			if (!result.isDone()) {
+				hedged.increment();
+				complete(result, ask.get());
+			}
+		}, dispatcher);
+
+		return result.whenComplete((reply, e) -> hedge.cancel());
+	}
+
+	private static <T> void complete(final CompletableFuture<T> result, final CompletionStage<T> stage) {
+		stage.whenComplete((reply, e) -> {
+			if (e == null) {
+				result.complete(reply);
+			} else {
+				result.completeExceptionally(e);
+			}
+		});
+	}
+
+	/**
+	 * @return The current hedge delay
+	 */
+	public Duration getDelay() {
+		return delay.getTimeout();
+	}
+
+	/**
+	 * @return The number of asks which were hedged
+	 */
+	public long getHedgedCount() {
+		return hedged.sum();
+	}
+}
@@ -0,0 +1,139 @@
+package com.github.sarxos.abberwoult;
+
+import java.time.Duration;
+
+import javax.inject.Inject;
+import javax.inject.Singleton;
+
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+
+import com.github.sarxos.abberwoult.annotation.ActorOf;
+import com.github.sarxos.abberwoult.annotation.Idempotent;
+
+import akka.actor.ActorRef;
+import akka.actor.ActorSelection;
+import akka.actor.ActorSystem;
+import io.vavr.control.Option;
+
+
+/**
+ * Holds {@link AskHedge} of every ask target, i.e. actor or selection path, which is typically a
+ * router. Hedging is disabled by default and needs to be enabled with {@value #ENABLED_PROP}
+ * property. Even when enabled, only messages annotated with {@link Idempotent} are hedged, since
+ * hedged message can be handled twice, and only to targets injected with {@link ActorOf#hedged()},
+ * since hedged ask sent to a single actor would only double its load. The hedge of actor or
+ * selection is dropped when the actor terminates.
+ *
+ * @author Bartosz Firyn (sarxos)
+ */
+@Singleton
+public class AskHedging {
+
+	public static final String ENABLED_PROP = "akka.ask.hedging.enabled";
+	public static final String ENABLED_DEFAULT = "false";
+
+	public static final String PERCENTILE_PROP = "akka.ask.hedging.percentile";
+	public static final String PERCENTILE_DEFAULT = "0.95";
+
+	public static final String MIN_DELAY_PROP = "akka.ask.hedging.min-delay-millis";
+	public static final String MIN_DELAY_DEFAULT = "10";
+
+	public static final String MAX_DELAY_PROP = "akka.ask.hedging.max-delay-millis";
+	public static final String MAX_DELAY_DEFAULT = "1000";
+
+	public static final String MIN_SAMPLES_PROP = "akka.ask.hedging.min-samples";
+	public static final String MIN_SAMPLES_DEFAULT = "100";
+
+	/**
+	 * Tells if message class is annotated with {@link Idempotent}.
+	 */
+	private static final ClassValue<Boolean> IDEMPOTENT = new ClassValue<Boolean>() {
+
+		@Override
+		protected Boolean computeValue(final Class<?> type) {
+			return type.isAnnotationPresent(Idempotent.class);
+		}
+	};
+
+	private final ActorSystem system;
+	private final boolean enabled;
+	private final double percentile;
+	private final Duration minDelay;
+	private final Duration maxDelay;
+	private final long minSamples;
+
+	private final AskTargets<AskHedge> hedges;
+
+	/**
+	 * @param system the actor system which schedules hedged asks
+	 * @param enabled true if hedging is enabled
+	 * @param percentile the latency percentile after which ask is hedged
+	 * @param minDelay the minimum hedge delay in milliseconds
+	 * @param maxDelay the maximum hedge delay in milliseconds, used until enough asks are observed
+	 * @param minSamples the number of asks to observe before delay follows the percentile
+	 */
+	@Inject
+	public AskHedging(
+		final ActorSystem system,
+		@ConfigProperty(name = ENABLED_PROP, defaultValue = ENABLED_DEFAULT) final boolean enabled,
+		@ConfigProperty(name = PERCENTILE_PROP, defaultValue = PERCENTILE_DEFAULT) final double percentile,
+		@ConfigProperty(name = MIN_DELAY_PROP, defaultValue = MIN_DELAY_DEFAULT) final long minDelay,
+		@ConfigProperty(name = MAX_DELAY_PROP, defaultValue = MAX_DELAY_DEFAULT) final long maxDelay,
+		@ConfigProperty(name = MIN_SAMPLES_PROP, defaultValue = MIN_SAMPLES_DEFAULT) final long minSamples) {
+		this.system = system;
+		this.hedges = new AskTargets<>(system);
+		this.enabled = enabled;
+		this.percentile = percentile;
+		this.minDelay = Duration.ofMillis(minDelay);
+		this.maxDelay = Duration.ofMillis(maxDelay);
+		this.minSamples = minSamples;
+	}
+
+	/**
+	 * @param target the target name
+	 * @return The hedge of a given target or none if hedging is disabled
+	 */
+	public Option<AskHedge> get(final String target) {
+
+		if (!enabled) {
+			return Option.none();
+		}
+
+		return Option.of(hedges.get(target, this::create));
+	}
+
+	/**
+	 * @param ref the target actor
+	 * @return The hedge of a given actor or none if hedging is disabled
+	 */
+	public Option<AskHedge> get(final ActorRef ref) {
+		return enabled ? Option.of(hedges.get(ref, this::create)) : Option.none();
+	}
+
+	/**
+	 * @param selection the target actor selection
+	 * @return The hedge of a given selection or none if hedging is disabled
+	 */
+	public Option<AskHedge> get(final ActorSelection selection) {
+		return enabled ? Option.of(hedges.get(selection, this::create)) : Option.none();
+	}
+
+	private AskHedge create(final String target) {
+		return new AskHedge(
+			new AdaptiveAskTimeout(percentile, 1, minDelay, maxDelay, minSamples),
+			system.scheduler(),
+			system.dispatcher());
+	}
+
+	/**
+	 * @param message the message
+	 * @return True if message is annotated with {@link Idempotent} and can be hedged
+	 */
+	public static boolean isIdempotent(final Object message) {
+		return IDEMPOTENT.get(message.getClass());
+	}
+
+	public boolean isEnabled() {
+		return enabled;
+	}
+}
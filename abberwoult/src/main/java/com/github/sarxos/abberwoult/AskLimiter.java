@@ -0,0 +1,172 @@
+package com.github.sarxos.abberwoult;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.DoubleUnaryOperator;
+import java.util.function.Supplier;
+
+import com.github.sarxos.abberwoult.exception.AskRejectedException;
+
+import akka.pattern.AskTimeoutException;
+
+
+/**
+ * Limits the number of asks in flight to a single target. The limit adapts to the target with
+ * additive increase and multiplicative decrease (AIMD). Every ask which completes faster than the
+ * latency threshold increases the limit by {@code 1 / limit}, so the limit grows by one per a full
+ * window of fast asks, and every ask which times out or completes slower than the threshold
+ * multiplies the limit by the backoff ratio. Asks above the limit are rejected immediately with
+ * {@link AskRejectedException}, so the overloaded target is not flooded with messages which would
+ * time out anyway.
+ *
+ * @author Bartosz Firyn (sarxos)
+ */
+public final class AskLimiter {
+
+	private final String target;
+	private final double minLimit;
+	private final double maxLimit;
+	private final double backoff;
+	private final long threshold;
+
+	/**
+	 * The current limit, as the bits of double value.
+	 */
+	private final AtomicLong limit;
+	private final AtomicInteger inflight = new AtomicInteger();
+	private final LongAdder rejected = new LongAdder();
+
+	/**
+	 * @param target the target name used in exception message
+	 * @param initialLimit the initial limit
+	 * @param minLimit the minimum limit
+	 * @param maxLimit the maximum limit
+	 * @param backoff the ratio by which limit is multiplied on timeout or slow ask, less than 1
+	 * @param threshold the latency threshold in nanoseconds
+	 */
+	public AskLimiter(final String target, final int initialLimit, final int minLimit, final int maxLimit, final double backoff, final long threshold) {
+
+		if (minLimit < 1 || minLimit > maxLimit || initialLimit < minLimit || initialLimit > maxLimit) {
+			throw new IllegalArgumentException("Limits must satisfy 1 <= min <= initial <= max, but were " + minLimit + ", " + initialLimit + ", " + maxLimit);
+		}
+		if (backoff <= 0 || backoff >= 1) {
+			throw new IllegalArgumentException("Backoff ratio must be in range (0, 1), but was " + backoff);
+		}
+
+		this.target = target;
+		this.minLimit = minLimit;
+		this.maxLimit = maxLimit;
+		this.backoff = backoff;
+		this.threshold = threshold;
+		this.limit = new AtomicLong(Double.doubleToRawLongBits(initialLimit));
+	}
+
+	/**
+	 * Run the ask if limit allows, or fail immediately with {@link AskRejectedException}.
+	 *
+	 * @param ask the ask to run
+	 * @return Stage completed with ask result
+	 */
+	public <T> CompletionStage<T> ask(final Supplier<CompletionStage<T>> ask) {
+
+		if (!tryAcquire()) {
+			final CompletableFuture<T> future = new CompletableFuture<>();
+			future.completeExceptionally(new AskRejectedException(target, getLimit()));
+			return future;
+		}
+
+		final long start = System.nanoTime();
+		final CompletionStage<T> stage;
+
+		try {
+			stage = ask.get();
+		} catch (RuntimeException e) {
+			inflight.decrementAndGet();
+			throw e;
+		}
+
+		return stage.whenComplete((result, e) -> release(System.nanoTime() - start, isTimeout(e)));
+	}
+
+	/**
+	 * Acquire permit to ask.
+	 *
+	 * @return True if permit has been acquired, false if limit has been reached
+	 */
+	public boolean tryAcquire() {
+		for (;;) {
+
+			final int current = inflight.get();
+
+			if (current >= getLimit()) {
+				rejected.increment();
+				return false;
+			}
+			if (inflight.compareAndSet(current, current + 1)) {
+				return true;
+			}
+		}
+	}
+
+	/**
+	 * Release permit and adapt the limit.
+	 *
+	 * @param latency the ask latency in nanoseconds
+	 * @param timeout true if ask timed out
+	 */
+	public void release(final long latency, final boolean timeout) {
+
+		inflight.decrementAndGet();
+
+		if (timeout || latency > threshold) {
+			update(l -> Math.max(minLimit, l * backoff));
+		} else {
+			update(l -> Math.min(maxLimit, l + 1 / l));
+		}
+	}
+
+	private void update(final DoubleUnaryOperator operator) {
+		for (;;) {
+			final long bits = limit.get();
+			final double next = operator.applyAsDouble(Double.longBitsToDouble(bits));
+			if (limit.compareAndSet(bits, Double.doubleToRawLongBits(next))) {
+				return;
+			}
+		}
+	}
+
+	private static boolean isTimeout(final Throwable e) {
+		final Throwable cause = e instanceof CompletionException ? e.getCause() : e;
+		return cause instanceof AskTimeoutException || cause instanceof TimeoutException;
+	}
+
+	/**
+	 * @return The current limit
+	 */
+	public int getLimit() {
+		return (int) Double.longBitsToDouble(limit.get());
+	}
+
+	/**
+	 * @return The number of asks in flight
+	 */
+	public int getInflight() {
+		return inflight.get();
+	}
+
+	/**
+	 * @return The number of rejected asks
+	 */
+	public long getRejected() {
+		return rejected.sum();
+	}
+
+	public String getTarget() {
+		return target;
+	}
+}
@@ -0,0 +1,106 @@
+package com.github.sarxos.abberwoult;
+
+import java.util.concurrent.TimeUnit;
+
+import javax.inject.Inject;
+import javax.inject.Singleton;
+
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+
+import akka.actor.ActorRef;
+import akka.actor.ActorSelection;
+import akka.actor.ActorSystem;
+import io.vavr.control.Option;
+
+
+/**
+ * Holds {@link AskLimiter} of every ask target, i.e. actor path or sharding. Limiters are
+ * disabled by default and need to be enabled with {@value #ENABLED_PROP} property. The limiter of
+ * actor or selection is dropped when the actor terminates.
+ *
+ * @author Bartosz Firyn (sarxos)
+ */
+@Singleton
+public class AskLimiters {
+
+	public static final String ENABLED_PROP = "akka.ask.limiter.enabled";
+	public static final String ENABLED_DEFAULT = "false";
+
+	public static final String INITIAL_LIMIT_PROP = "akka.ask.limiter.initial-limit";
+	public static final String INITIAL_LIMIT_DEFAULT = "20";
+
+	public static final String MIN_LIMIT_PROP = "akka.ask.limiter.min-limit";
+	public static final String MIN_LIMIT_DEFAULT = "1";
+
+	public static final String MAX_LIMIT_PROP = "akka.ask.limiter.max-limit";
+	public static final String MAX_LIMIT_DEFAULT = "1000";
+
+	public static final String BACKOFF_PROP = "akka.ask.limiter.backoff-ratio";
+	public static final String BACKOFF_DEFAULT = "0.9";
+
+	public static final String THRESHOLD_PROP = "akka.ask.limiter.latency-threshold-millis";
+	public static final String THRESHOLD_DEFAULT = "1000";
+
+	private final AskTargets<AskLimiter> limiters;
+	private final boolean enabled;
+	private final int initialLimit;
+	private final int minLimit;
+	private final int maxLimit;
+	private final double backoff;
+	private final long threshold;
+
+	@Inject
+	public AskLimiters(
+		final ActorSystem system,
+		@ConfigProperty(name = ENABLED_PROP, defaultValue = ENABLED_DEFAULT) final boolean enabled,
+		@ConfigProperty(name = INITIAL_LIMIT_PROP, defaultValue = INITIAL_LIMIT_DEFAULT) final int initialLimit,
+		@ConfigProperty(name = MIN_LIMIT_PROP, defaultValue = MIN_LIMIT_DEFAULT) final int minLimit,
+		@ConfigProperty(name = MAX_LIMIT_PROP, defaultValue = MAX_LIMIT_DEFAULT) final int maxLimit,
+		@ConfigProperty(name = BACKOFF_PROP, defaultValue = BACKOFF_DEFAULT) final double backoff,
+		@ConfigProperty(name = THRESHOLD_PROP, defaultValue = THRESHOLD_DEFAULT) final long threshold) {
+		this.limiters = new AskTargets<>(system);
+		this.enabled = enabled;
+		this.initialLimit = initialLimit;
+		this.minLimit = minLimit;
+		this.maxLimit = maxLimit;
+		this.backoff = backoff;
+		this.threshold = TimeUnit.MILLISECONDS.toNanos(threshold);
+	}
+
+	/**
+	 * @param target the target name
+	 * @return The limiter of a given target or none if limiters are disabled
+	 */
+	public Option<AskLimiter> get(final String target) {
+
+		if (!enabled) {
+			return Option.none();
+		}
+
+		return Option.of(limiters.get(target, this::create));
+	}
+
+	/**
+	 * @param ref the target actor
+	 * @return The limiter of a given actor or none if limiters are disabled
+	 */
+	public Option<AskLimiter> get(final ActorRef ref) {
+		return enabled ? Option.of(limiters.get(ref, this::create)) : Option.none();
+	}
+
+	/**
+	 * @param selection the target actor selection
+	 * @return The limiter of a given selection or none if limiters are disabled
+	 */
+	public Option<AskLimiter> get(final ActorSelection selection) {
+		return enabled ? Option.of(limiters.get(selection, this::create)) : Option.none();
+	}
+
+	private AskLimiter create(final String target) {
+		return new AskLimiter(target, initialLimit, minLimit, maxLimit, backoff, threshold);
+	}
+
+	public boolean isEnabled() {
+		return enabled;
+	}
+}
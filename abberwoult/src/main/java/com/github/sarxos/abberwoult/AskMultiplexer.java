@@ -0,0 +1,402 @@
+package com.github.sarxos.abberwoult;
+
+import static com.github.sarxos.abberwoult.AskableActorUtils.throwIfThrowable;
+
+import java.time.Duration;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+import javax.annotation.PreDestroy;
+import javax.inject.Inject;
+import javax.inject.Singleton;
+
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.jboss.logging.Logger;
+
+import com.github.sarxos.abberwoult.util.TimingWheel;
+
+import akka.actor.AbstractActor;
+import akka.actor.ActorRef;
+import akka.actor.ActorSelection;
+import akka.actor.ActorSystem;
+import akka.actor.Props;
+import akka.actor.Status;
+import akka.pattern.AskTimeoutException;
+import akka.pattern.Patterns;
+
+
+/**
+ * An ask engine used by the {@link Askable} implementations instead of {@link Patterns#ask}.
+ * Every {@link Patterns#ask} creates temporary actor reference registered in the actor system,
+ * schedules timeout task in the scheduler and converts Scala future into Java stage. This engine
+ * keeps a pool of long-lived reply actors instead. Ask takes idle reply actor from the pool, sends
+ * message with this actor as a sender and the first reply received by the reply actor completes
+ * the ask. Timeouts are expired by the single {@link TimingWheel}. A reply actor which timed out is
+ * stopped and never reused, so late replies go to dead letters as they would with
+ * {@link Patterns#ask}.<br>
+ * <br>
+ *
+ * Replies cannot carry correlation ID since handlers reply to the sender directly, so the reply
+ * actor together with the generation of the ask it serves is the correlation. After the reply, the
+ * reply actor is kept in quarantine for {@value #QUARANTINE_PROP} milliseconds before it goes back
+ * to the pool for the next generation. A reply received when there is no ask in progress, i.e.
+ * the duplicate or unsolicited one, cannot be correlated, so it's dropped and the reply actor is
+ * stopped and never reused. Replies which come later than the quarantine still cannot be told
+ * apart from the reply to the next ask, therefore the engine is disabled by default and should be
+ * enabled with {@value #ENABLED_PROP} property only when asked actors reply at most once to every
+ * message. When engine is disabled, or all reply actors are busy, asks go through
+ * {@link Patterns#ask}. When engine is closed, the asks in progress are completed with
+ * {@link AskTimeoutException}.
+ *
+ * @author Bartosz Firyn (sarxos)
+ */
+@Singleton
+public class AskMultiplexer {
+
+	private static final Logger LOG = Logger.getLogger(AskMultiplexer.class);
+
+	public static final String ENABLED_PROP = "akka.ask.multiplexer.enabled";
+	public static final String ENABLED_DEFAULT = "false";
+
+	public static final String MAX_SLOTS_PROP = "akka.ask.multiplexer.max-slots";
+	public static final String MAX_SLOTS_DEFAULT = "4096";
+
+	public static final String TICK_PROP = "akka.ask.multiplexer.tick-millis";
+	public static final String TICK_DEFAULT = "10";
+
+	public static final String QUARANTINE_PROP = "akka.ask.multiplexer.quarantine-millis";
+	public static final String QUARANTINE_DEFAULT = "100";
+
+	/**
+	 * The number of timing wheel buckets.
+	 */
+	private static final int WHEEL_SIZE = 512;
+
+	private final ActorSystem system;
+	private final boolean enabled;
+	private final int maxSlots;
+	private final Duration quarantine;
+	private final TimingWheel wheel;
+
+	/**
+	 * The reply actors which are not used by any ask.
+	 */
+	private final Queue<Slot> idle = new ConcurrentLinkedQueue<>();
+
+	/**
+	 * The live reply actors, both idle and busy.
+	 */
+	private final Set<Slot> live = ConcurrentHashMap.newKeySet();
+
+	/**
+	 * The number of live reply actors.
+	 */
+	private final AtomicInteger slots = new AtomicInteger();
+
+	private volatile boolean closed;
+
+	/**
+	 * @param system the actor system in which reply actors are created
+	 * @param enabled true if engine is enabled, false to use {@link Patterns#ask}
+	 * @param maxSlots the maximum number of reply actors
+	 * @param tick the timing wheel tick in milliseconds
+	 * @param quarantine the time in milliseconds before reply actor can be reused
+	 */
+	@Inject
+	public AskMultiplexer(
+		final ActorSystem system,
+		@ConfigProperty(name = ENABLED_PROP, defaultValue = ENABLED_DEFAULT) final boolean enabled,
+		@ConfigProperty(name = MAX_SLOTS_PROP, defaultValue = MAX_SLOTS_DEFAULT) final int maxSlots,
+		@ConfigProperty(name = TICK_PROP, defaultValue = TICK_DEFAULT) final int tick,
+		@ConfigProperty(name = QUARANTINE_PROP, defaultValue = QUARANTINE_DEFAULT) final long quarantine) {
+		this.system = system;
+		this.enabled = enabled;
+		this.maxSlots = maxSlots;
+		this.quarantine = Duration.ofMillis(quarantine);
+		this.wheel = enabled ? new TimingWheel("abberwoult-ask-wheel", Duration.ofMillis(tick), WHEEL_SIZE) : null;
+	}
+
+	/**
+	 * Close the engine. Asks in progress are completed with {@link AskTimeoutException} and all
+	 * reply actors are stopped. Asks made afterwards go through {@link Patterns#ask}.
+	 */
+	@PreDestroy
+	public void close() {
+
+		closed = true;
+
+		if (wheel != null) {
+			wheel.close();
+		}
+
+		live.forEach(slot -> {
+			interrupt(slot);
+			retire(slot);
+		});
+	}
+
+	/**
+	 * Ask actor reference.
+	 *
+	 * @param target the actor to ask
+	 * @param message the message
+	 * @param timeout the ask timeout
+	 * @return Stage completed with reply
+	 */
+	public <T> CompletionStage<T> ask(final ActorRef target, final Object message, final Duration timeout) {
+
+		final Slot slot = acquire();
+		if (slot == null) {
+			return throwIfThrowable(Patterns.ask(target, message, timeout));
+		}
+
+		final Pending<T> pending = pending(slot, target, message, timeout);
+		target.tell(message, slot.ref);
+
+		return pending.future;
+	}
+
+	/**
+	 * Ask actor selection. Selection with wildcards can select many actors which all reply to the
+	 * same reply actor, so such selection is asked with {@link Patterns#ask}.
+	 *
+	 * @param target the actor selection to ask
+	 * @param message the message
+	 * @param timeout the ask timeout
+	 * @return Stage completed with reply
+	 */
+	public <T> CompletionStage<T> ask(final ActorSelection target, final Object message, final Duration timeout) {
+
+		final Slot slot = ActorSelectionCache.isWildcard(target) ? null : acquire();
+		if (slot == null) {
+			return throwIfThrowable(Patterns.ask(target, message, timeout));
+		}
+
+		final Pending<T> pending = pending(slot, target, message, timeout);
+		target.tell(message, slot.ref);
+
+		return pending.future;
+	}
+
+	private <T> Pending<T> pending(final Slot slot, final Object target, final Object message, final Duration timeout) {
+
+		final Pending<T> pending = new Pending<>(slot, target, message.getClass(), timeout);
+		slot.current.set(pending);
+
+		// engine closed while ask was being made
+
+		if (closed) {
+			interrupt(slot);
+		}
+
+		return wheel.schedule(pending, timeout);
+	}
+
+	private Slot acquire() {
+
+		if (!enabled || closed) {
+			return null;
+		}
+
+		Slot slot;
+		while ((slot = idle.poll()) != null) {
+			if (!slot.retired.get()) {
+				return slot;
+			}
+		}
+
+		if (slots.incrementAndGet() > maxSlots) {
+			slots.decrementAndGet();
+			return null;
+		}
+
+		return new Slot();
+	}
+
+	private void onReply(final Slot slot, final Object reply) {
+
+		final Pending<?> pending = slot.current.getAndSet(null);
+
+		// reply received after the ask has been completed or timed out, or without ask at all, it
+		// cannot be correlated so the reply actor must not be reused
+
+		if (pending == null) {
+			LOG.debugf("Uncorrelated reply %s received by %s, retiring", reply.getClass(), slot.ref);
+			retire(slot);
+			return;
+		}
+
+		pending.cancel();
+		pending.complete(reply);
+
+		wheel.schedule(new Release(slot, pending.generation), quarantine);
+	}
+
+	private void onTimeout(final Pending<?> pending) {
+
+		final Slot slot = pending.slot;
+
+		if (!slot.current.compareAndSet(pending, null)) {
+			return;
+		}
+
+		pending.future.completeExceptionally(new AskTimeoutException(""
+			+ "Ask timed out on [" + pending.target + "] after [" + pending.timeout.toMillis() + " ms]. "
+			+ "Message of type [" + pending.type.getName() + "]"));
+
+		retire(slot);
+	}
+
+	private void onRelease(final Slot slot, final long generation) {
+		if (slot.generation.get() == generation && !slot.retired.get()) {
+			idle.offer(slot);
+		}
+	}
+
+	private void interrupt(final Slot slot) {
+
+		final Pending<?> pending = slot.current.getAndSet(null);
+
+		if (pending == null) {
+			return;
+		}
+
+		pending.cancel();
+		pending.future.completeExceptionally(new AskTimeoutException(""
+			+ "Ask on [" + pending.target + "] has been interrupted because ask multiplexer has been closed. "
+			+ "Message of type [" + pending.type.getName() + "]"));
+	}
+
+	private void retire(final Slot slot) {
+		if (slot.retired.compareAndSet(false, true)) {
+			live.remove(slot);
+			idle.remove(slot);
+			slots.decrementAndGet();
+			system.stop(slot.ref);
+		}
+	}
+
+	/**
+	 * @return True if engine is enabled
+	 */
+	public boolean isEnabled() {
+		return enabled;
+	}
+
+	/**
+	 * @return The number of live reply actors
+	 */
+	public int getSlots() {
+		return slots.get();
+	}
+
+	/**
+	 * @return The number of reply actors not used by any ask
+	 */
+	public int getIdleSlots() {
+		return idle.size();
+	}
+
+	/**
+	 * A reply actor together with the ask it currently serves and the generation of that ask.
+	 */
+	private final class Slot {
+
+		private final AtomicReference<Pending<?>> current = new AtomicReference<>();
+		private final AtomicLong generation = new AtomicLong();
+		private final AtomicBoolean retired = new AtomicBoolean();
+		private final ActorRef ref;
+
+		Slot() {
+			this.ref = system.actorOf(Props.create(ReplyActor.class, AskMultiplexer.this, this));
+			live.add(this);
+			LOG.debugf("New ask reply actor %s", ref);
+		}
+	}
+
+	/**
+	 * Returns reply actor to the pool when its quarantine is over.
+	 */
+	private final class Release extends TimingWheel.Task {
+
+		private final Slot slot;
+		private final long generation;
+
+		Release(final Slot slot, final long generation) {
+			this.slot = slot;
+			this.generation = generation;
+		}
+
+		@Override
+		protected void expire() {
+			onRelease(slot, generation);
+		}
+	}
+
+	/**
+	 * The ask in progress which expires in timing wheel.
+	 */
+	private final class Pending<T> extends TimingWheel.Task {
+
+		private final CompletableFuture<T> future = new CompletableFuture<>();
+		private final Slot slot;
+		private final long generation;
+		private final Object target;
+		private final Class<?> type;
+		private final Duration timeout;
+
+		Pending(final Slot slot, final Object target, final Class<?> type, final Duration timeout) {
+			this.slot = slot;
+			this.generation = slot.generation.incrementAndGet();
+			this.target = target;
+			this.type = type;
+			this.timeout = timeout;
+		}
+
+		@SuppressWarnings("unchecked")
+		void complete(final Object reply) {
+			if (reply instanceof Status.Failure) {
+				future.completeExceptionally(((Status.Failure) reply).cause());
+			} else if (reply instanceof Throwable) {
+				future.completeExceptionally((Throwable) reply);
+			} else {
+				future.complete((T) reply);
+			}
+		}
+
+		@Override
+		protected void expire() {
+			onTimeout(this);
+		}
+	}
+
+	/**
+	 * Receives replies for the asks served by the slot. Please note that this is pure Akka actor
+	 * (not the actor derived by Abberwoult).
+	 */
+	static final class ReplyActor extends AbstractActor {
+
+		private final AskMultiplexer multiplexer;
+		private final Slot slot;
+
+		ReplyActor(final AskMultiplexer multiplexer, final Slot slot) {
+			this.multiplexer = multiplexer;
+			this.slot = slot;
+		}
+
+		@Override
+		public Receive createReceive() {
+			return receiveBuilder()
+				.matchAny(reply -> multiplexer.onReply(slot, reply))
+				.build();
+		}
+	}
+}
@@ -0,0 +1,142 @@
+package com.github.sarxos.abberwoult;
+
+import javax.validation.Validator;
+
+import akka.pattern.Patterns;
+
+
+/**
+ * Immutable options of the {@link Askable} implementations, i.e. the {@link AskableActorRef},
+ * {@link AskableActorSelection} and {@link Sharding}. The factories of these create options once
+ * from the injected beans and configuration and then derive the per-target ones with the
+ * {@code with...} methods, which always return new instance. Every option is disabled in
+ * {@link #DEFAULT} options, so the ask goes directly through {@link Patterns#ask}.
+ *
+ * @author Bartosz Firyn (sarxos)
+ */
+public final class AskOptions {
+
+	/**
+	 * The options with everything disabled.
+	 */
+	public static final AskOptions DEFAULT = new AskOptions(null, null, null, null, false, null, null, null);
+
+	private final Validator validator;
+	private final AskMultiplexer multiplexer;
+	private final ActorSelectionCache cache;
+	private final AskLimiters limiters;
+	private final boolean deadline;
+	private final AdaptiveAskTimeout adaptive;
+	private final AskHedging hedging;
+	private final AskCoalescing coalescing;
+
+	private AskOptions(final Validator validator, final AskMultiplexer multiplexer, final ActorSelectionCache cache, final AskLimiters limiters, final boolean deadline, final AdaptiveAskTimeout adaptive, final AskHedging hedging, final AskCoalescing coalescing) {
+		this.validator = validator;
+		this.multiplexer = multiplexer;
+		this.cache = cache;
+		this.limiters = limiters;
+		this.deadline = deadline;
+		this.adaptive = adaptive;
+		this.hedging = hedging;
+		this.coalescing = coalescing;
+	}
+
+	/**
+	 * @param validator the validator used to validate messages before they are send, or null if
+	 *            messages should be validated by the receiver only
+	 * @return New {@link AskOptions}
+	 */
+	public AskOptions withValidator(final Validator validator) {
+		return new AskOptions(validator, multiplexer, cache, limiters, deadline, adaptive, hedging, coalescing);
+	}
+
+	/**
+	 * @param multiplexer the {@link AskMultiplexer} used to ask, or null to use {@link Patterns#ask}
+	 * @return New {@link AskOptions}
+	 */
+	public AskOptions withMultiplexer(final AskMultiplexer multiplexer) {
+		return new AskOptions(validator, multiplexer, cache, limiters, deadline, adaptive, hedging, coalescing);
+	}
+
+	/**
+	 * @param cache the {@link ActorSelectionCache} used to resolve selections, or null to not cache
+	 * @return New {@link AskOptions}
+	 */
+	public AskOptions withCache(final ActorSelectionCache cache) {
+		return new AskOptions(validator, multiplexer, cache, limiters, deadline, adaptive, hedging, coalescing);
+	}
+
+	/**
+	 * @param limiters the {@link AskLimiters} used to limit asks in flight, or null to not limit
+	 * @return New {@link AskOptions}
+	 */
+	public AskOptions withLimiters(final AskLimiters limiters) {
+		return new AskOptions(validator, multiplexer, cache, limiters, deadline, adaptive, hedging, coalescing);
+	}
+
+	/**
+	 * @param deadline true if asked messages should be wrapped in {@link AskDeadline}
+	 * @return New {@link AskOptions}
+	 */
+	public AskOptions withDeadline(final boolean deadline) {
+		return new AskOptions(validator, multiplexer, cache, limiters, deadline, adaptive, hedging, coalescing);
+	}
+
+	/**
+	 * @param adaptive the {@link AdaptiveAskTimeout} of the target, or null to use the default
+	 *            timeout
+	 * @return New {@link AskOptions}
+	 */
+	public AskOptions withAdaptive(final AdaptiveAskTimeout adaptive) {
+		return new AskOptions(validator, multiplexer, cache, limiters, deadline, adaptive, hedging, coalescing);
+	}
+
+	/**
+	 * @param hedging the {@link AskHedging} used to hedge idempotent asks, or null to not hedge
+	 * @return New {@link AskOptions}
+	 */
+	public AskOptions withHedging(final AskHedging hedging) {
+		return new AskOptions(validator, multiplexer, cache, limiters, deadline, adaptive, hedging, coalescing);
+	}
+
+	/**
+	 * @param coalescing the {@link AskCoalescing} used to coalesce equal cacheable queries, or null
+	 *            to not coalesce
+	 * @return New {@link AskOptions}
+	 */
+	public AskOptions withCoalescing(final AskCoalescing coalescing) {
+		return new AskOptions(validator, multiplexer, cache, limiters, deadline, adaptive, hedging, coalescing);
+	}
+
+	public Validator getValidator() {
+		return validator;
+	}
+
+	public AskMultiplexer getMultiplexer() {
+		return multiplexer;
+	}
+
+	public ActorSelectionCache getCache() {
+		return cache;
+	}
+
+	public AskLimiters getLimiters() {
+		return limiters;
+	}
+
+	public boolean isDeadline() {
+		return deadline;
+	}
+
+	public AdaptiveAskTimeout getAdaptive() {
+		return adaptive;
+	}
+
+	public AskHedging getHedging() {
+		return hedging;
+	}
+
+	public AskCoalescing getCoalescing() {
+		return coalescing;
+	}
+}
@@ -0,0 +1,267 @@
+package com.github.sarxos.abberwoult;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+import org.jboss.logging.Logger;
+
+import akka.actor.AbstractActor;
+import akka.actor.ActorIdentity;
+import akka.actor.ActorRef;
+import akka.actor.ActorSelection;
+import akka.actor.ActorSystem;
+import akka.actor.Identify;
+import akka.actor.Props;
+import akka.actor.Terminated;
+
+
+/**
+ * Holds the per-target ask state, e.g. {@link AskLimiter}, {@link AskHedge} or
+ * {@link AskCoalescer}, mapped by the target path. The state of actor and selection targets is
+ * evicted when target actor terminates, so the map does not grow with every short-lived actor ever
+ * asked. The actor resolved from selection is watched the same way {@link ActorSelectionCache}
+ * does, and the state of selection which does not resolve is evicted immediately. The askables
+ * which already hold the evicted state keep using it, and the new ones get a fresh state.
+ *
+ * @author Bartosz Firyn (sarxos)
+ * @param <T> the type of the per-target state
+ */
+final class AskTargets<T> {
+
+	private static final Logger LOG = Logger.getLogger(AskTargets.class);
+
+	/**
+	 * Time after which the state of selection which did not reply with identity is evicted.
+	 */
+	private static final Duration RESOLVE_TIMEOUT = Duration.ofSeconds(5);
+
+	private final Map<String, T> targets = new ConcurrentHashMap<>();
+	private final ActorSystem system;
+	private volatile ActorRef watcher;
+
+	/**
+	 * @param system the actor system in which the watcher is created, or null to never evict
+	 */
+	AskTargets(final ActorSystem system) {
+		this.system = system;
+	}
+
+	/**
+	 * Get the state of a target which is not an actor, e.g. a sharding. Such state is never
+	 * evicted.
+	 *
+	 * @param target the target name
+	 * @param factory the factory of the state
+	 * @return The state of a given target
+	 */
+	T get(final String target, final Function<String, T> factory) {
+		return targets.computeIfAbsent(target, factory);
+	}
+
+	/**
+	 * @param ref the target actor
+	 * @param factory the factory of the state
+	 * @return The state of a given actor, evicted when actor terminates
+	 */
+	T get(final ActorRef ref, final Function<String, T> factory) {
+
+		final String target = ref.path().toString();
+		final T existing = targets.get(target);
+
+		if (existing != null) {
+			return existing;
+		}
+
+		final T created = factory.apply(target);
+		final T state = targets.putIfAbsent(target, created);
+
+		if (state != null) {
+			return state;
+		}
+
+		watch(new Watch<>(target, created, ref, null));
+
+		return created;
+	}
+
+	/**
+	 * @param selection the target actor selection
+	 * @param factory the factory of the state
+	 * @return The state of a given selection, evicted when the resolved actor terminates
+	 */
+	T get(final ActorSelection selection, final Function<String, T> factory) {
+
+		final String target = selection.toSerializationFormat();
+		final T existing = targets.get(target);
+
+		if (existing != null) {
+			return existing;
+		}
+
+		final T created = factory.apply(target);
+		final T state = targets.putIfAbsent(target, created);
+
+		if (state != null) {
+			return state;
+		}
+
+		watch(new Watch<>(target, created, null, selection));
+
+		return created;
+	}
+
+	private void watch(final Watch<T> watch) {
+		if (system != null) {
+			watcher().tell(watch, ActorRef.noSender());
+		}
+	}
+
+	private ActorRef watcher() {
+
+		ActorRef ref = watcher;
+
+		if (ref == null) {
+			synchronized (this) {
+				if ((ref = watcher) == null) {
+					ref = watcher = system.actorOf(Props.create(Watcher.class, this));
+				}
+			}
+		}
+
+		return ref;
+	}
+
+	void evict(final String target, final T state) {
+		if (targets.remove(target, state)) {
+			LOG.debugf("Ask target %s evicted", target);
+		}
+	}
+
+	/**
+	 * @return The number of targets with state
+	 */
+	int size() {
+		return targets.size();
+	}
+
+	/**
+	 * Message used to evict the state of selection which does not reply with identity.
+	 */
+	private static final class GiveUp {
+
+		private final Watch<Object> watch;
+
+		GiveUp(final Watch<Object> watch) {
+			this.watch = watch;
+		}
+	}
+
+	private static final class Watch<T> {
+
+		private final String target;
+		private final T state;
+		private final ActorRef ref;
+		private final ActorSelection selection;
+
+		Watch(final String target, final T state, final ActorRef ref, final ActorSelection selection) {
+			this.target = target;
+			this.state = state;
+			this.ref = ref;
+			this.selection = selection;
+		}
+	}
+
+	/**
+	 * Watches the targets and evicts their state when they terminate. Please note that this is pure
+	 * Akka actor (not the actor derived by Abberwoult).
+	 */
+	static final class Watcher extends AbstractActor {
+
+		private final AskTargets<Object> targets;
+
+		/**
+		 * The watches of the targets mapped by the watched actor. The same actor can be asked by
+		 * reference and by selection, so there can be many watches per actor.
+		 */
+		private final Map<ActorRef, List<Watch<Object>>> watched = new HashMap<>();
+
+		/**
+		 * The watches of the selections which are being resolved, mapped by the target.
+		 */
+		private final Map<String, Watch<Object>> resolving = new HashMap<>();
+
+		@SuppressWarnings("unchecked")
+		Watcher(final AskTargets<?> targets) {
+			this.targets = (AskTargets<Object>) targets;
+		}
+
+		@Override
+		public Receive createReceive() {
+			return receiveBuilder()
+				.match(Watch.class, this::onWatch)
+				.match(ActorIdentity.class, this::onIdentity)
+				.match(GiveUp.class, this::onGiveUp)
+				.match(Terminated.class, this::onTerminated)
+				.build();
+		}
+
+		@SuppressWarnings("unchecked")
+		private void onWatch(final Watch<?> received) {
+
+			final Watch<Object> watch = (Watch<Object>) received;
+
+			if (watch.ref != null) {
+				watch(watch.ref, watch);
+			} else {
+				resolving.put(watch.target, watch);
+				watch.selection.tell(new Identify(watch.target), getSelf());
+				getContext().getSystem().scheduler().scheduleOnce(RESOLVE_TIMEOUT, getSelf(), new GiveUp(watch), getContext().getDispatcher(), getSelf());
+			}
+		}
+
+		private void onGiveUp(final GiveUp giveup) {
+
+			final Watch<Object> watch = giveup.watch;
+
+			if (resolving.remove(watch.target, watch)) {
+				targets.evict(watch.target, watch.state);
+			}
+		}
+
+		private void onIdentity(final ActorIdentity identity) {
+
+			final Watch<Object> watch = resolving.remove(identity.correlationId());
+
+			if (watch == null) {
+				return;
+			}
+
+			final ActorRef resolved = identity.getActorRef().orElse(null);
+
+			if (resolved != null) {
+				watch(resolved, watch);
+			} else {
+				targets.evict(watch.target, watch.state);
+			}
+		}
+
+		private void watch(final ActorRef ref, final Watch<Object> watch) {
+			watched.computeIfAbsent(ref, r -> new ArrayList<>(1)).add(watch);
+			getContext().watch(ref);
+		}
+
+		private void onTerminated(final Terminated terminated) {
+
+			final List<Watch<Object>> watches = watched.remove(terminated.actor());
+
+			if (watches != null) {
+				watches.forEach(watch -> targets.evict(watch.target, watch.state));
+			}
+		}
+	}
+}
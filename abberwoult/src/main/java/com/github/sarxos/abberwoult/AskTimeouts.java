@@ -0,0 +1,98 @@
+package com.github.sarxos.abberwoult;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import javax.inject.Inject;
+import javax.inject.Singleton;
+
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+
+import com.github.sarxos.abberwoult.config.AskTimeout;
+
+import io.vavr.control.Option;
+
+
+/**
+ * Holds {@link AdaptiveAskTimeout} of every ask target, i.e. actor class, actor path or sharding.
+ * Adaptive timeouts are disabled by default, in which case all asks use the {@link AskTimeout}, and
+ * need to be enabled with {@value #ENABLED_PROP} property. When enabled, the timeout of each ask
+ * which does not specify its own timeout is the multiple of the target latency percentile, bounded
+ * by floor and ceiling. The ceiling defaults to the {@link AskTimeout}.
+ *
+ * @author Bartosz Firyn (sarxos)
+ */
+@Singleton
+public class AskTimeouts {
+
+	public static final String ENABLED_PROP = "akka.ask.timeout.adaptive.enabled";
+	public static final String ENABLED_DEFAULT = "false";
+
+	public static final String PERCENTILE_PROP = "akka.ask.timeout.adaptive.percentile";
+	public static final String PERCENTILE_DEFAULT = "0.99";
+
+	public static final String MULTIPLIER_PROP = "akka.ask.timeout.adaptive.multiplier";
+	public static final String MULTIPLIER_DEFAULT = "3.0";
+
+	public static final String FLOOR_PROP = "akka.ask.timeout.adaptive.floor-millis";
+	public static final String FLOOR_DEFAULT = "100";
+
+	public static final String CEILING_PROP = "akka.ask.timeout.adaptive.ceiling-millis";
+	public static final String CEILING_DEFAULT = "-1";
+
+	public static final String MIN_SAMPLES_PROP = "akka.ask.timeout.adaptive.min-samples";
+	public static final String MIN_SAMPLES_DEFAULT = "100";
+
+	private final boolean enabled;
+	private final double percentile;
+	private final double multiplier;
+	private final Duration floor;
+	private final Duration ceiling;
+	private final long minSamples;
+
+	private final Map<String, AdaptiveAskTimeout> timeouts = new ConcurrentHashMap<>();
+
+	/**
+	 * @param timeout the default ask timeout used as ceiling when ceiling is not configured
+	 * @param enabled true if adaptive timeouts are enabled
+	 * @param percentile the latency percentile
+	 * @param multiplier the multiplier of latency percentile
+	 * @param floor the minimum timeout in milliseconds
+	 * @param ceiling the maximum timeout in milliseconds or negative to use default ask timeout
+	 * @param minSamples the number of asks to observe before timeout adapts
+	 */
+	@Inject
+	public AskTimeouts(
+		@AskTimeout final Duration timeout,
+		@ConfigProperty(name = ENABLED_PROP, defaultValue = ENABLED_DEFAULT) final boolean enabled,
+		@ConfigProperty(name = PERCENTILE_PROP, defaultValue = PERCENTILE_DEFAULT) final double percentile,
+		@ConfigProperty(name = MULTIPLIER_PROP, defaultValue = MULTIPLIER_DEFAULT) final double multiplier,
+		@ConfigProperty(name = FLOOR_PROP, defaultValue = FLOOR_DEFAULT) final long floor,
+		@ConfigProperty(name = CEILING_PROP, defaultValue = CEILING_DEFAULT) final long ceiling,
+		@ConfigProperty(name = MIN_SAMPLES_PROP, defaultValue = MIN_SAMPLES_DEFAULT) final long minSamples) {
+		this.enabled = enabled;
+		this.percentile = percentile;
+		this.multiplier = multiplier;
+		this.floor = Duration.ofMillis(floor);
+		this.ceiling = ceiling < 0 ? timeout : Duration.ofMillis(ceiling);
+		this.minSamples = minSamples;
+	}
+
+	/**
+	 * @param target the target name
+	 * @return The adaptive timeout of a given target or none if adaptive timeouts are disabled
+	 */
+	public Option<AdaptiveAskTimeout> get(final String target) {
+
+		if (!enabled) {
+			return Option.none();
+		}
+
+		return Option.of(timeouts.computeIfAbsent(target, t -> new AdaptiveAskTimeout(percentile, multiplier, floor, ceiling, minSamples)));
+	}
+
+	public boolean isEnabled() {
+		return enabled;
+	}
+}
@@ -1,6 +1,8 @@
 package com.github.sarxos.abberwoult;
 
+import static com.github.sarxos.abberwoult.AskableActorUtils.failIfInvalid;
 import static com.github.sarxos.abberwoult.AskableActorUtils.throwIfThrowable;
+import static com.github.sarxos.abberwoult.AskableActorUtils.validate;
 
 import java.time.Duration;
 import java.util.concurrent.CompletionStage;
@@ -8,6 +10,7 @@ import java.util.concurrent.CompletionStage;
 import javax.annotation.PreDestroy;
 import javax.enterprise.context.Dependent;
 import javax.inject.Inject;
+import javax.validation.Validator;
 
 import com.github.sarxos.abberwoult.annotation.ActorOf;
 import com.github.sarxos.abberwoult.annotation.PostStop;
@@ -35,28 +38,102 @@ public class AskableActorRef implements Askable<Object> {
 
 	private final ActorRef ref;
 	private final Duration timeout;
+	private final Validator validator;
+	private final AskMultiplexer multiplexer;
+	private final AskLimiter limiter;
+	private final boolean deadline;
+	private final AdaptiveAskTimeout adaptive;
+	private final AskHedge hedge;
+	private final AskCoalescer coalescer;
 
 	public AskableActorRef(final ActorRef ref) {
 		this(ref, DEFAULT_TIMEOUT);
 	}
 
 	public AskableActorRef(final ActorRef ref, final Duration timeout) {
+		this(ref, timeout, AskOptions.DEFAULT);
+	}
+
+	/**
+	 * @param ref the actor reference
+	 * @param timeout the default ask timeout
+	 * @param options the {@link AskOptions} used to ask
+	 */
+	public AskableActorRef(final ActorRef ref, final Duration timeout, final AskOptions options) {
 		this.ref = ref;
 		this.timeout = timeout;
+		this.validator = options.getValidator();
+		this.multiplexer = options.getMultiplexer();
+		this.limiter = options.getLimiters() == null ? null : options.getLimiters().get(ref).getOrNull();
+		this.deadline = options.isDeadline();
+		this.adaptive = options.getAdaptive();
+		this.hedge = options.getHedging() == null ? null : options.getHedging().get(ref).getOrNull();
+		this.coalescer = options.getCoalescing() == null ? null : options.getCoalescing().get(ref).getOrNull();
 	}
 
 	@Override
 	public <T> CompletionStage<T> ask(final Object message, final Duration timeout) {
-		return throwIfThrowable(Patterns.ask(ref, message, timeout));
+
+		final CompletionStage<T> invalid = failIfInvalid(validator, message);
+		if (invalid != null) {
+			return invalid;
+		}
+
+		final long ttl = coalescer == null ? -1 : AskCoalescing.getTtl(message);
+
+		if (ttl >= 0) {
+			return coalescer.ask(message, ttl, () -> limit(message, timeout));
+		}
+
+		return limit(message, timeout);
+	}
+
+	private <T> CompletionStage<T> limit(final Object message, final Duration timeout) {
+
+		if (limiter != null) {
+			return limiter.ask(() -> doAsk(message, timeout));
+		}
+
+		return doAsk(message, timeout);
+	}
+
+	private <T> CompletionStage<T> doAsk(final Object message, final Duration timeout) {
+
+		if (adaptive != null) {
+			return adaptive.ask(() -> hedge(message, timeout));
+		}
+
+		return hedge(message, timeout);
+	}
+
+	private <T> CompletionStage<T> hedge(final Object message, final Duration timeout) {
+
+		if (hedge != null && AskHedging.isIdempotent(message)) {
+			return hedge.ask(() -> send(message, timeout));
+		}
+
+		return send(message, timeout);
+	}
+
+	private <T> CompletionStage<T> send(final Object message, final Duration timeout) {
+
+		final Object asked = deadline ? AskDeadline.wrap(message, timeout) : message;
+
+		if (multiplexer != null) {
+			return multiplexer.ask(ref, asked, timeout);
+		}
+
+		return throwIfThrowable(Patterns.ask(ref, asked, timeout));
 	}
 
 	@Override
 	public void tell(final Object message, final ActorRef sender) {
+		validate(validator, message);
 		ref.tell(message, sender);
 	}
 
 	@Override
 	public Duration getTimeout() {
-		return timeout;
+		return adaptive == null ? timeout : adaptive.getTimeout();
 	}
 }
@@ -1,5 +1,7 @@
 package com.github.sarxos.abberwoult;
 
+import static com.github.sarxos.abberwoult.cdi.BeanUtils.getQualifier;
+
 import java.time.Duration;
 
 import javax.enterprise.context.Dependent;
@@ -7,6 +9,9 @@ import javax.enterprise.inject.Produces;
 import javax.enterprise.inject.spi.InjectionPoint;
 import javax.inject.Inject;
 import javax.inject.Singleton;
+import javax.validation.Validator;
+
+import org.eclipse.microprofile.config.inject.ConfigProperty;
 
 import com.github.sarxos.abberwoult.annotation.ActorOf;
 import com.github.sarxos.abberwoult.config.AskTimeout;
@@ -30,10 +35,50 @@ public class AskableActorRefFactory {
 	 */
 	private final Duration timeout;
 
+	/**
+	 * The {@link AskOptions} shared by all created instances.
+	 */
+	private final AskOptions options;
+
+	/**
+	 * True if asked messages should carry {@link AskDeadline}, but only to the actors which can
+	 * open it.
+	 */
+	private final boolean deadline;
+
+	/**
+	 * The adaptive per-target ask timeouts.
+	 */
+	private final AskTimeouts timeouts;
+
+	/**
+	 * The hedges of idempotent asks, used only for the injection points which opt in with
+	 * {@link ActorOf#hedged()}.
+	 */
+	private final AskHedging hedging;
+
 	@Inject
-	public AskableActorRefFactory(final ActorRefFactory factory, @AskTimeout Duration timeout) {
+	public AskableActorRefFactory(
+		final ActorRefFactory factory,
+		@AskTimeout Duration timeout,
+		final Validator validator,
+		@ConfigProperty(name = AskableActorUtils.VALIDATE_PROP, defaultValue = AskableActorUtils.VALIDATE_DEFAULT) final boolean validate,
+		final AskMultiplexer multiplexer,
+		final AskLimiters limiters,
+		@ConfigProperty(name = AskableActorUtils.DEADLINE_PROP, defaultValue = AskableActorUtils.DEADLINE_DEFAULT) final boolean deadline,
+		final AskTimeouts timeouts,
+		final AskHedging hedging,
+		final AskCoalescing coalescing) {
 		this.factory = factory;
 		this.timeout = timeout;
+		this.options = AskOptions.DEFAULT
+			.withValidator(validate ? validator : null)
+			.withMultiplexer(multiplexer)
+			.withLimiters(limiters)
+			.withCoalescing(coalescing);
+		this.deadline = deadline;
+		this.timeouts = timeouts;
+		this.hedging = hedging;
 	}
 
 	/**
@@ -47,6 +92,37 @@ public class AskableActorRefFactory {
 	@Dependent
 	@ActorOf
 	public AskableActorRef create(final InjectionPoint injection) {
-		return new AskableActorRef(factory.create(injection), timeout);
+
+		final AdaptiveAskTimeout adaptive = getQualifier(injection, ActorOf.class)
+			.map(actorOf -> actorOf.value().getName())
+			.flatMap(timeouts::get)
+			.getOrNull();
+
+		return new AskableActorRef(factory.create(injection), timeout, options
+			.withAdaptive(adaptive)
+			.withHedging(hedging(injection))
+			.withDeadline(deadline(injection)));
+	}
+
+	/**
+	 * Hedging is opted in per injection point, since only routers have other routees to which a
+	 * hedged ask can go, and only the user knows what is behind the injected reference.
+	 */
+	private AskHedging hedging(final InjectionPoint injection) {
+		return getQualifier(injection, ActorOf.class)
+			.filter(ActorOf::hedged)
+			.map(actorOf -> hedging)
+			.getOrNull();
+	}
+
+	/**
+	 * @return True if deadlines are enabled and the injected actor class has generated receive
+	 *         which opens {@link AskDeadline}, since other actors would not recognize the message
+	 */
+	private boolean deadline(final InjectionPoint injection) {
+		return deadline && getQualifier(injection, ActorOf.class)
+			.map(ActorOf::value)
+			.map(ActorMetadataRegistry::isReceiveGenerated)
+			.getOrElse(false);
 	}
 }
@@ -1,10 +1,14 @@
 package com.github.sarxos.abberwoult;
 
+import static com.github.sarxos.abberwoult.AskableActorUtils.failIfInvalid;
 import static com.github.sarxos.abberwoult.AskableActorUtils.throwIfThrowable;
+import static com.github.sarxos.abberwoult.AskableActorUtils.validate;
 
 import java.time.Duration;
 import java.util.concurrent.CompletionStage;
 
+import javax.validation.Validator;
+
 import akka.actor.ActorRef;
 import akka.actor.ActorSelection;
 import akka.pattern.Patterns;
@@ -20,28 +24,131 @@ public class AskableActorSelection implements Askable<Object> {
 
 	private final ActorSelection selection;
 	private final Duration timeout;
+	private final Validator validator;
+	private final AskMultiplexer multiplexer;
+	private final AskLimiter limiter;
+	private final boolean deadline;
+	private final AdaptiveAskTimeout adaptive;
+	private final AskHedge hedge;
+	private final AskCoalescer coalescer;
+
+	/**
+	 * The cached actor reference resolved from the selection or null if not cached.
+	 */
+	private final ActorSelectionCache.Entry cached;
 
 	public AskableActorSelection(final ActorSelection selection) {
 		this(selection, DEFAULT_TIMEOUT);
 	}
 
 	public AskableActorSelection(final ActorSelection selection, final Duration timeout) {
+		this(selection, timeout, AskOptions.DEFAULT);
+	}
+
+	/**
+	 * @param selection the actor selection
+	 * @param timeout the default ask timeout
+	 * @param options the {@link AskOptions} used to ask
+	 */
+	public AskableActorSelection(final ActorSelection selection, final Duration timeout, final AskOptions options) {
 		this.selection = selection;
 		this.timeout = timeout;
+		this.validator = options.getValidator();
+		this.multiplexer = options.getMultiplexer();
+		this.cached = options.getCache() == null ? null : options.getCache().get(selection).getOrNull();
+		this.limiter = options.getLimiters() == null ? null : options.getLimiters().get(selection).getOrNull();
+		this.deadline = options.isDeadline();
+		this.adaptive = options.getAdaptive();
+		this.hedge = options.getHedging() == null ? null : options.getHedging().get(selection).getOrNull();
+		this.coalescer = options.getCoalescing() == null ? null : options.getCoalescing().get(selection).getOrNull();
 	}
 
 	@Override
 	public <T> CompletionStage<T> ask(final Object message, final Duration timeout) {
-		return throwIfThrowable(Patterns.ask(selection, message, timeout));
+
+		final CompletionStage<T> invalid = failIfInvalid(validator, message);
+		if (invalid != null) {
+			return invalid;
+		}
+
+		final long ttl = coalescer == null ? -1 : AskCoalescing.getTtl(message);
+
+		if (ttl >= 0) {
+			return coalescer.ask(message, ttl, () -> limit(message, timeout));
+		}
+
+		return limit(message, timeout);
+	}
+
+	private <T> CompletionStage<T> limit(final Object message, final Duration timeout) {
+
+		if (limiter != null) {
+			return limiter.ask(() -> doAsk(message, timeout));
+		}
+
+		return doAsk(message, timeout);
+	}
+
+	private <T> CompletionStage<T> doAsk(final Object message, final Duration timeout) {
+
+		if (adaptive != null) {
+			return adaptive.ask(() -> hedge(message, timeout));
+		}
+
+		return hedge(message, timeout);
+	}
+
+	private <T> CompletionStage<T> hedge(final Object message, final Duration timeout) {
+
+		if (hedge != null && AskHedging.isIdempotent(message)) {
+			return hedge.ask(() -> send(message, timeout));
+		}
+
+		return send(message, timeout);
+	}
+
+	private <T> CompletionStage<T> send(final Object message, final Duration timeout) {
+
+		final Object asked = deadline ? AskDeadline.wrap(message, timeout) : message;
+		final ActorRef ref = resolved();
+
+		if (ref != null) {
+			if (multiplexer != null) {
+				return multiplexer.ask(ref, asked, timeout);
+			} else {
+				return throwIfThrowable(Patterns.ask(ref, asked, timeout));
+			}
+		}
+
+		if (multiplexer != null) {
+			return multiplexer.ask(selection, asked, timeout);
+		}
+
+		return throwIfThrowable(Patterns.ask(selection, asked, timeout));
 	}
 
 	@Override
 	public void tell(Object message, ActorRef sender) {
-		selection.tell(message, sender);
+		validate(validator, message);
+
+		final ActorRef ref = resolved();
+
+		if (ref != null) {
+			ref.tell(message, sender);
+		} else {
+			selection.tell(message, sender);
+		}
+	}
+
+	/**
+	 * @return The actor reference resolved from the selection or null if not (yet) resolved
+	 */
+	private ActorRef resolved() {
+		return cached == null ? null : cached.get();
 	}
 
 	@Override
 	public Duration getTimeout() {
-		return timeout;
+		return adaptive == null ? timeout : adaptive.getTimeout();
 	}
 }
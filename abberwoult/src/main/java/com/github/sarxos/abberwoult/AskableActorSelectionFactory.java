@@ -1,5 +1,7 @@
 package com.github.sarxos.abberwoult;
 
+import static com.github.sarxos.abberwoult.cdi.BeanUtils.getQualifier;
+
 import java.time.Duration;
 
 import javax.enterprise.context.Dependent;
@@ -7,6 +9,9 @@ import javax.enterprise.inject.Produces;
 import javax.enterprise.inject.spi.InjectionPoint;
 import javax.inject.Inject;
 import javax.inject.Singleton;
+import javax.validation.Validator;
+
+import org.eclipse.microprofile.config.inject.ConfigProperty;
 
 import com.github.sarxos.abberwoult.annotation.ActorOf;
 import com.github.sarxos.abberwoult.config.AskTimeout;
@@ -33,10 +38,50 @@ public class AskableActorSelectionFactory {
 	 */
 	private final Duration timeout;
 
+	/**
+	 * The {@link AskOptions} shared by all created instances.
+	 */
+	private final AskOptions options;
+
+	/**
+	 * True if deadlines are enabled in configuration.
+	 */
+	private final boolean deadline;
+
+	/**
+	 * The adaptive per-target ask timeouts.
+	 */
+	private final AskTimeouts timeouts;
+
+	/**
+	 * The hedges of idempotent asks to the selections of routers.
+	 */
+	private final AskHedging hedging;
+
 	@Inject
-	public AskableActorSelectionFactory(final ActorSelectionFactory factory, final @AskTimeout Duration timeout) {
+	public AskableActorSelectionFactory(
+		final ActorSelectionFactory factory,
+		final @AskTimeout Duration timeout,
+		final Validator validator,
+		@ConfigProperty(name = AskableActorUtils.VALIDATE_PROP, defaultValue = AskableActorUtils.VALIDATE_DEFAULT) final boolean validate,
+		final AskMultiplexer multiplexer,
+		final ActorSelectionCache cache,
+		final AskLimiters limiters,
+		@ConfigProperty(name = AskableActorUtils.DEADLINE_PROP, defaultValue = AskableActorUtils.DEADLINE_DEFAULT) final boolean deadline,
+		final AskTimeouts timeouts,
+		final AskHedging hedging,
+		final AskCoalescing coalescing) {
 		this.factory = factory;
 		this.timeout = timeout;
+		this.options = AskOptions.DEFAULT
+			.withValidator(validate ? validator : null)
+			.withMultiplexer(multiplexer)
+			.withCache(cache)
+			.withLimiters(limiters)
+			.withCoalescing(coalescing);
+		this.deadline = deadline;
+		this.timeouts = timeouts;
+		this.hedging = hedging;
 	}
 
 	/**
@@ -50,6 +95,35 @@ public class AskableActorSelectionFactory {
 	@Dependent
 	@ActorOf
 	public AskableActorSelection create(final InjectionPoint injection) {
-		return new AskableActorSelection(factory.create(injection), timeout);
+
+		final ActorSelection selection = factory.create(injection);
+		final AdaptiveAskTimeout adaptive = timeouts
+			.get(selection.toSerializationFormat())
+			.getOrNull();
+
+		return new AskableActorSelection(selection, timeout, options
+			.withAdaptive(adaptive)
+			.withHedging(hedging(injection))
+			.withDeadline(deadline(injection)));
+	}
+
+	/**
+	 * @return The {@link AskHedging} if injection point opts in with {@link ActorOf#hedged()}
+	 */
+	private AskHedging hedging(final InjectionPoint injection) {
+		return getQualifier(injection, ActorOf.class)
+			.filter(ActorOf::hedged)
+			.map(actorOf -> hedging)
+			.getOrNull();
+	}
+
+	/**
+	 * @return True if {@link AskDeadline} can be attached to messages asked from selected actor
+	 */
+	private boolean deadline(final InjectionPoint injection) {
+		return deadline && getQualifier(injection, ActorOf.class)
+			.map(ActorOf::value)
+			.map(ActorMetadataRegistry::isReceiveGenerated)
+			.getOrElse(false);
 	}
 }
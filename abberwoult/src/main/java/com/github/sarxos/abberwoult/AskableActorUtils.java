@@ -1,7 +1,12 @@
 package com.github.sarxos.abberwoult;
 
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CompletionStage;
 
+import javax.validation.Validator;
+
+import com.github.sarxos.abberwoult.exception.MessageHandlerValidationException;
+
 
 /**
  * {@link Askable} utility stuff.
@@ -10,6 +15,18 @@ import java.util.concurrent.CompletionStage;
  */
 class AskableActorUtils {
 
+	/**
+	 * The name of configuration property which enables message validation on the sender side.
+	 */
+	static final String VALIDATE_PROP = "akka.ask.validate";
+	static final String VALIDATE_DEFAULT = "false";
+
+	/**
+	 * The name of configuration property which enables {@link AskDeadline} attached to asks.
+	 */
+	static final String DEADLINE_PROP = "akka.ask.deadline.enabled";
+	static final String DEADLINE_DEFAULT = "false";
+
 	private AskableActorUtils() {
 		// utility class
 	}
@@ -19,6 +36,39 @@ class AskableActorUtils {
 		return (CompletionStage<T>) stage.thenApply(AskableActorUtils::throwIfThrowable);
 	}
 
+	/**
+	 * Validate message before it's send, but only if message is validated by the message handlers
+	 * and validation is enabled, i.e. the {@link Validator} is not null.
+	 *
+	 * @param validator the validator or null if validation is disabled
+	 * @param message the message to validate
+	 * @throws MessageHandlerValidationException when message is not valid
+	 */
+	public static void validate(final Validator validator, final Object message) {
+		if (validator != null && Validation.isValidable(message.getClass())) {
+			Validation.validate(validator, message);
+		}
+	}
+
+	/**
+	 * Validate message before it's asked. This returns failed {@link CompletionStage} if message
+	 * is not valid or null if it's valid and can be send.
+	 *
+	 * @param validator the validator or null if validation is disabled
+	 * @param message the message to validate
+	 * @return Failed {@link CompletionStage} or null if message is valid
+	 */
+	public static <T> CompletionStage<T> failIfInvalid(final Validator validator, final Object message) {
+		try {
+			validate(validator, message);
+		} catch (MessageHandlerValidationException e) {
+			final CompletableFuture<T> future = new CompletableFuture<>();
+			future.completeExceptionally(e);
+			return future;
+		}
+		return null;
+	}
+
 	@SuppressWarnings("unchecked")
 	private static <E extends Throwable> Void sneaky(Throwable e) throws E {
 		throw (E) e;
@@ -0,0 +1,166 @@
+package com.github.sarxos.abberwoult;
+
+import static java.util.Objects.requireNonNull;
+
+import java.util.concurrent.atomic.LongAdder;
+
+
+/**
+ * A bounded cache of the entity ID strings used by {@link ShardMessageExtractor}, so the
+ * {@link String} is not created for every message sent to the same entity when entity ID is not a
+ * {@link String} itself. There is a separate table for {@code long} (and {@code int}) IDs, so they
+ * are not boxed on lookup.<br>
+ * <br>
+ *
+ * The cache is direct-mapped, that is, every ID has exactly one slot and the new ID replaces the
+ * one which was in this slot before. There is no locking, the entries are immutable and a race
+ * between two threads writing to the same slot can only cause a miss. This works well when most of
+ * the traffic goes to a limited number of hot entities which fit into the cache.
+ *
+ * @author Bartosz Firyn (sarxos)
+ */
+public class EntityIdCache {
+
+	/**
+	 * Disabled cache, every lookup creates a new string and is not counted.
+	 */
+	public static final EntityIdCache NONE = new EntityIdCache(0);
+
+	private static final String NULL_ENTITY_ID_ERROR_MESSAGE = "Shard entity ID must not be null";
+
+	private final int capacity;
+	private final int mask;
+	private final ObjectEntry[] objects;
+	private final LongEntry[] longs;
+
+	private final LongAdder hits = new LongAdder();
+	private final LongAdder misses = new LongAdder();
+
+	/**
+	 * @param size the maximum number of entries in each table, rounded up to the power of 2, or 0
+	 *            to disable cache
+	 */
+	public EntityIdCache(final int size) {
+
+		if (size < 0) {
+			throw new IllegalArgumentException("Cache size must not be negative but is " + size);
+		}
+
+		this.capacity = size <= 1 ? size : Integer.highestOneBit(size - 1) << 1;
+		this.mask = capacity - 1;
+		this.objects = new ObjectEntry[capacity];
+		this.longs = new LongEntry[capacity];
+	}
+
+	/**
+	 * @param id the entity ID
+	 * @return The entity ID string
+	 */
+	public String get(final Object id) {
+
+		requireNonNull(id, NULL_ENTITY_ID_ERROR_MESSAGE);
+
+		if (id instanceof String) {
+			return (String) id;
+		}
+		if (capacity == 0) {
+			return id.toString();
+		}
+
+		final int index = index(id.hashCode());
+		final ObjectEntry entry = objects[index];
+
+		if (entry != null && entry.key.equals(id)) {
+			hits.increment();
+			return entry.value;
+		}
+
+		final String value = id.toString();
+
+		objects[index] = new ObjectEntry(id, value);
+		misses.increment();
+
+		return value;
+	}
+
+	/**
+	 * @param id the entity ID
+	 * @return The entity ID string
+	 */
+	public String get(final long id) {
+
+		if (capacity == 0) {
+			return Long.toString(id);
+		}
+
+		final int index = index(Long.hashCode(id));
+		final LongEntry entry = longs[index];
+
+		if (entry != null && entry.key == id) {
+			hits.increment();
+			return entry.value;
+		}
+
+		final String value = Long.toString(id);
+
+		longs[index] = new LongEntry(id, value);
+		misses.increment();
+
+		return value;
+	}
+
+	private int index(final int hash) {
+		final int h = hash * 0x9E3779B9;
+		return (h ^ (h >>> 16)) & mask;
+	}
+
+	/**
+	 * @return Maximum number of entries in each table, 0 if cache is disabled
+	 */
+	public int getCapacity() {
+		return capacity;
+	}
+
+	public boolean isEnabled() {
+		return capacity > 0;
+	}
+
+	public long getHits() {
+		return hits.sum();
+	}
+
+	public long getMisses() {
+		return misses.sum();
+	}
+
+	/**
+	 * @return Ratio of hits to all lookups or 0 if there was no lookup yet
+	 */
+	public double getHitRate() {
+		final long h = getHits();
+		final long total = h + getMisses();
+		return total == 0 ? 0 : (double) h / total;
+	}
+
+	private static final class ObjectEntry {
+
+		private final Object key;
+		private final String value;
+
+		ObjectEntry(final Object key, final String value) {
+			this.key = key;
+			this.value = value;
+		}
+	}
+
+	private static final class LongEntry {
+
+		private final long key;
+		private final String value;
+
+		LongEntry(final long key, final String value) {
+			this.key = key;
+			this.value = value;
+		}
+	}
+}
@@ -0,0 +1,168 @@
+package com.github.sarxos.abberwoult;
+
+import java.lang.reflect.Array;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.Collection;
+import java.util.Map;
+
+import javax.validation.constraints.Max;
+import javax.validation.constraints.Min;
+import javax.validation.constraints.NotEmpty;
+import javax.validation.constraints.Size;
+
+
+/**
+ * Allocation free constraint checks used by the synthetic {@link MessageValidator} classes. The
+ * semantic of every method follows the corresponding constraint from Bean Validation
+ * specification, but whenever a value of unsupported type is given, the check returns false so
+ * the message is passed to the {@link javax.validation.Validator} which knows better.
+ *
+ * @author Bartosz Firyn (sarxos)
+ */
+public final class MessageConstraints {
+
+	private static final int UNKNOWN_SIZE = -1;
+
+	private MessageConstraints() {
+		// utility class
+	}
+
+	/**
+	 * Check {@link NotEmpty} constraint.
+	 *
+	 * @param value the value to check
+	 * @return True if value is not null and not empty
+	 */
+	public static boolean notEmpty(final Object value) {
+		if (value == null) {
+			return false;
+		}
+		return size(value) > 0;
+	}
+
+	/**
+	 * Check {@link Size} constraint.
+	 *
+	 * @param value the value to check
+	 * @param min the minimum size (inclusive)
+	 * @param max the maximum size (inclusive)
+	 * @return True if value is null or its size is within the bounds
+	 */
+	public static boolean size(final Object value, final int min, final int max) {
+		if (value == null) {
+			return true;
+		}
+		final int size = size(value);
+		return size >= min && size <= max;
+	}
+
+	/**
+	 * Check {@link Min} constraint of a primitive value.
+	 *
+	 * @param value the value to check
+	 * @param min the minimum value (inclusive)
+	 * @return True if value is greater or equal to minimum
+	 */
+	public static boolean min(final long value, final long min) {
+		return value >= min;
+	}
+
+	/**
+	 * Check {@link Min} constraint of a boxed value.
+	 *
+	 * @param value the value to check
+	 * @param min the minimum value (inclusive)
+	 * @return True if value is null or greater or equal to minimum
+	 */
+	public static boolean min(final Object value, final long min) {
+		if (value == null) {
+			return true;
+		}
+		if (isIntegral(value)) {
+			return ((Number) value).longValue() >= min;
+		}
+		if (value instanceof BigInteger) {
+			return compare((BigInteger) value, min) >= 0;
+		}
+		if (value instanceof BigDecimal) {
+			return ((BigDecimal) value).compareTo(BigDecimal.valueOf(min)) >= 0;
+		}
+		return false;
+	}
+
+	/**
+	 * Check {@link Max} constraint of a primitive value.
+	 *
+	 * @param value the value to check
+	 * @param max the maximum value (inclusive)
+	 * @return True if value is less or equal to maximum
+	 */
+	public static boolean max(final long value, final long max) {
+		return value <= max;
+	}
+
+	/**
+	 * Check {@link Max} constraint of a boxed value.
+	 *
+	 * @param value the value to check
+	 * @param max the maximum value (inclusive)
+	 * @return True if value is null or less or equal to maximum
+	 */
+	public static boolean max(final Object value, final long max) {
+		if (value == null) {
+			return true;
+		}
+		if (isIntegral(value)) {
+			return ((Number) value).longValue() <= max;
+		}
+		if (value instanceof BigInteger) {
+			return compare((BigInteger) value, max) <= 0;
+		}
+		if (value instanceof BigDecimal) {
+			return ((BigDecimal) value).compareTo(BigDecimal.valueOf(max)) <= 0;
+		}
+		return false;
+	}
+
+	/**
+	 * Compare big integer with a long value without creating new {@link BigInteger} instance.
+	 */
+	private static int compare(final BigInteger value, final long other) {
+		if (value.bitLength() < Long.SIZE) {
+			return Long.compare(value.longValue(), other);
+		} else {
+			return value.signum();
+		}
+	}
+
+	private static boolean isIntegral(final Object value) {
+		return value instanceof Integer
+			|| value instanceof Long
+			|| value instanceof Short
+			|| value instanceof Byte;
+	}
+
+	/**
+	 * Return size of a char sequence, collection, map or array. For any other type of value this
+	 * method returns a negative number so that no size constraint is ever satisfied.
+	 *
+	 * @param value the value
+	 * @return Size of value or negative number if size is not known
+	 */
+	private static int size(final Object value) {
+		if (value instanceof CharSequence) {
+			return ((CharSequence) value).length();
+		}
+		if (value instanceof Collection) {
+			return ((Collection<?>) value).size();
+		}
+		if (value instanceof Map) {
+			return ((Map<?, ?>) value).size();
+		}
+		if (value.getClass().isArray()) {
+			return Array.getLength(value);
+		}
+		return UNKNOWN_SIZE;
+	}
+}
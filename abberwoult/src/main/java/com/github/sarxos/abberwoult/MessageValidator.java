@@ -0,0 +1,33 @@
+package com.github.sarxos.abberwoult;
+
+import javax.validation.Validator;
+
+
+/**
+ * This interface is meant to be implemented by the synthetic message validators generated by the
+ * deployment processor for message classes which are validated in the message handlers. These
+ * validators are then recorded in the {@link Validation} class and used to check message
+ * constraints without going through the {@link Validator}.<br>
+ * <br>
+ *
+ * The generated validator does not collect constraint violations. It only tells if the message is
+ * definitely valid. When it's not, the message is passed to the {@link Validator} which then
+ * produces the violations (or finds the message to be valid after all, in case when it contains
+ * constraints the generated code was not able to verify).
+ *
+ * @author Bartosz Firyn (sarxos)
+ */
+@FunctionalInterface
+public interface MessageValidator {
+
+	/**
+	 * Validator used for classes which have no synthetic validator generated.
+	 */
+	MessageValidator NONE = message -> false;
+
+	/**
+	 * @param message the message to be validated
+	 * @return True if message is valid, false if it's invalid or validity cannot be determined
+	 */
+	boolean isValid(Object message);
+}
@@ -0,0 +1,58 @@
+package com.github.sarxos.abberwoult;
+
+import java.util.function.Function;
+
+import akka.actor.Actor;
+import akka.actor.Deploy;
+import akka.actor.Props;
+import akka.japi.Creator;
+
+
+/**
+ * A template of {@link Props} for actors of the same class which are created with different
+ * constructor arguments. The dispatcher, mailbox and the creator prototype are resolved only once
+ * when template is created by {@link Propser#template(Class)}, so creating {@link Props} from the
+ * template only swaps the arguments.
+ *
+ * @author Bartosz Firyn (sarxos)
+ * @param <T> the actor type
+ */
+public final class PropsTemplate<T extends Actor> {
+
+	private final Class<T> clazz;
+	private final Props empty;
+	private final Deploy deploy;
+	private final Function<Object[], Creator<T>> creators;
+
+	/**
+	 * @param clazz the actor class
+	 * @param empty the {@link Props} used when there are no arguments
+	 * @param creators the function which creates {@link Creator} for a given arguments
+	 */
+	PropsTemplate(final Class<T> clazz, final Props empty, final Function<Object[], Creator<T>> creators) {
+		this.clazz = clazz;
+		this.empty = empty;
+		this.deploy = empty.deploy();
+		this.creators = creators;
+	}
+
+	/**
+	 * Create {@link Props} with given constructor arguments.
+	 *
+	 * @param args the arguments to be passed down to actor constructor
+	 * @return Actor {@link Props}
+	 */
+	public Props props(final Object... args) {
+		if (args != null && args.length == 0) {
+			return empty;
+		} else {
+			return Props
+				.create(clazz, creators.apply(args))
+				.withDeploy(deploy);
+		}
+	}
+
+	public Class<T> getActorClass() {
+		return clazz;
+	}
+}
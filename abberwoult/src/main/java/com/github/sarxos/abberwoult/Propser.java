@@ -1,33 +1,86 @@
 package com.github.sarxos.abberwoult;
 
-import static com.github.sarxos.abberwoult.util.ActorUtils.getMailboxId;
-import static com.github.sarxos.abberwoult.util.ActorUtils.getMessageDispatcherId;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 import javax.inject.Inject;
 import javax.inject.Singleton;
 
+import org.jboss.logging.Logger;
+
 import com.github.sarxos.abberwoult.cdi.BeanLocator;
+import com.github.sarxos.abberwoult.util.ActorUtils;
+import com.github.sarxos.abberwoult.util.ReflectionUtils;
 
 import akka.actor.Actor;
 import akka.actor.Props;
+import akka.japi.Creator;
+import io.quarkus.runtime.annotations.Recorder;
+import io.vavr.control.Option;
 
 
 /**
  * This is injectable factory service which creates {@link Props} instances used to build actors.
  * Every {@link Props} object created by this factory keeps reference to the special
  * {@link ActorCreator} responsible for creating and wiring actor instances. This factory can be
- * injected but does not have to.
+ * injected but does not have to.<br>
+ * <br>
+ *
+ * When {@link SyntheticActorCreator} has been generated for the actor class in augmentation phase,
+ * it is used instead of {@link ActorCreator}. This class acts as a {@link Recorder} at the
+ * augmentation time to register these synthetic creators, and as a {@link Singleton} bean in
+ * runtime. It's never both at the same time.
  *
  * @author Bartosz Firyn (sarxos)
  */
+@Recorder
 @Singleton
 public class Propser {
 
+	private static final Logger LOG = Logger.getLogger(Propser.class);
+
+	private static final Object[] EMPTY_OBJECT_ARRAY = new Object[0];
+
+	/**
+	 * Mapping between actor class name and synthetic creator class name.
+	 */
+	private static final Map<String, String> CREATORS = new ConcurrentHashMap<>();
+
+	/**
+	 * Synthetic creator prototypes resolved per actor class.
+	 */
+	private static final ClassValue<Option<SyntheticActorCreator<?>>> PROTOTYPES = new ClassValue<Option<SyntheticActorCreator<?>>>() {
+
+		@Override
+		protected Option<SyntheticActorCreator<?>> computeValue(final Class<?> type) {
+			return resolve(type);
+		}
+	};
+
 	/**
 	 * A {@link BeanLocator} used by {@link ActorCreator} to process injections in actor class.
 	 */
 	private final BeanLocator locator;
 
+	/**
+	 * The {@link Props} of actors created without arguments, cached per actor class. These can be
+	 * shared because {@link Props} is immutable and creators are stateless.
+	 */
+	private final ClassValue<Props> cache = new ClassValue<Props>() {
+
+		@Override
+		protected Props computeValue(final Class<?> type) {
+			return create(ActorUtils.toActorClass(type), EMPTY_OBJECT_ARRAY);
+		}
+	};
+
+	/**
+	 * Default constructor to be used when this class is used as a recorder {@link Recorder}.
+	 */
+	public Propser() {
+		this.locator = null;
+	}
+
 	/**
 	 * Create new {@link Propser} factory.
 	 *
@@ -39,16 +92,88 @@ public class Propser {
 	}
 
 	/**
-	 * Create {@link Props} for given actor class.
+	 * Recording method used when this is {@link Recorder} to register synthetic creator for a given
+	 * actor class.
+	 *
+	 * @param clazz the actor class name
+	 * @param creator the {@link SyntheticActorCreator} class name
+	 */
+	public void register(final String clazz, final String creator) {
+		LOG.debugf("Record actor creator %s", creator);
+		CREATORS.put(clazz, creator);
+	}
+
+	/**
+	 * Create {@link Props} for given actor class. When there are no arguments, the {@link Props}
+	 * cached for a given class is returned.
 	 *
 	 * @param clazz the actor's class
 	 * @param args the optional arguments to be passed down to actor constructor
 	 * @return Actor {@link Props}
 	 */
 	public <T extends Actor> Props props(final Class<T> clazz, final Object... args) {
+		if (args != null && args.length == 0) {
+			return cache.get(clazz);
+		} else {
+			return create(clazz, args);
+		}
+	}
+
+	/**
+	 * Create {@link PropsTemplate} for given actor class. Template should be used when many actors
+	 * of the same class are created with different arguments, since everything but the arguments
+	 * is resolved only once.
+	 *
+	 * @param clazz the actor's class
+	 * @return New {@link PropsTemplate}
+	 */
+	public <T extends Actor> PropsTemplate<T> template(final Class<T> clazz) {
+		return new PropsTemplate<>(clazz, cache.get(clazz), args -> creator(clazz, args));
+	}
+
+	private <T extends Actor> Props create(final Class<T> clazz, final Object[] args) {
+
+		final ActorMetadata metadata = ActorMetadataRegistry.get(clazz);
+
 		return Props
-			.create(clazz, new ActorCreator<T>(locator, clazz, args))
-			.withDispatcher(getMessageDispatcherId(clazz))
-			.withMailbox(getMailboxId(clazz));
+			.create(clazz, creator(clazz, args))
+			.withDispatcher(metadata.getDispatcher())
+			.withMailbox(metadata.getMailbox());
+	}
+
+	/**
+	 * @param clazz the actor class
+	 * @return True if actor of a given class is created by {@link SyntheticActorCreator}
+	 */
+	public static boolean hasSyntheticCreator(final Class<? extends Actor> clazz) {
+		return PROTOTYPES.get(clazz).isDefined();
+	}
+
+	@SuppressWarnings("unchecked")
+	private <T extends Actor> Creator<T> creator(final Class<T> clazz, final Object[] args) {
+
+		final Option<SyntheticActorCreator<?>> prototype = PROTOTYPES.get(clazz);
+
+		if (prototype.isDefined()) {
+			return (Creator<T>) prototype.get().withArguments(locator, args);
+		} else {
+			return new ActorCreator<T>(locator, clazz, args);
+		}
+	}
+
+	private static Option<SyntheticActorCreator<?>> resolve(final Class<?> type) {
+
+		final String name = CREATORS.get(type.getName());
+
+		if (name == null) {
+			return Option.none();
+		}
+
+		try {
+			final Class<?> clazz = Class.forName(name, true, type.getClassLoader());
+			return Option.of((SyntheticActorCreator<?>) ReflectionUtils.instantiate(clazz));
+		} catch (ClassNotFoundException e) {
+			throw new IllegalStateException(e);
+		}
 	}
 }
@@ -0,0 +1,72 @@
+package com.github.sarxos.abberwoult;
+
+import static java.util.Objects.requireNonNull;
+
+
+/**
+ * A message type lookup table generated in augmentation phase for every instrumented actor class.
+ * The table holds message handler types ordered from the most specific to the least specific one
+ * (the same order in which the handlers used to be matched in a {@link akka.japi.pf.ReceiveBuilder}
+ * chain) and resolves concrete message class into the index of the first matching handler. The
+ * hierarchy walk is performed only once for every message class seen by the table, all subsequent
+ * lookups are a single {@link ClassValue} read.
+ *
+ * @author Bartosz Firyn (sarxos)
+ */
+public final class ReceiveDispatchTable {
+
+	/**
+	 * Index returned when there is no handler able to process message of a given class.
+	 */
+	public static final int UNHANDLED = -1;
+
+	/**
+	 * Message handler types ordered from the most specific to the least specific one.
+	 */
+	private final Class<?>[] types;
+
+	/**
+	 * Resolved handler indexes, computed lazily per message class.
+	 */
+	private final ClassValue<Integer> indexes = new ClassValue<Integer>() {
+
+		@Override
+		protected Integer computeValue(final Class<?> type) {
+			return find(type);
+		}
+	};
+
+	/**
+	 * @param types the message handler types ordered from the most specific one
+	 */
+	public ReceiveDispatchTable(final Class<?>[] types) {
+		this.types = requireNonNull(types, "Message types must not be null").clone();
+	}
+
+	/**
+	 * Return index of a handler which should process message of a given class or
+	 * {@link #UNHANDLED} when no such handler is present.
+	 *
+	 * @param type the message class
+	 * @return Handler index or {@link #UNHANDLED}
+	 */
+	public int indexOf(final Class<?> type) {
+		return indexes.get(type).intValue();
+	}
+
+	/**
+	 * @return The number of handlers in this table
+	 */
+	public int size() {
+		return types.length;
+	}
+
+	private int find(final Class<?> type) {
+		for (int i = 0; i < types.length; i++) {
+			if (types[i].isAssignableFrom(type)) {
+				return i;
+			}
+		}
+		return UNHANDLED;
+	}
+}
@@ -0,0 +1,54 @@
+package com.github.sarxos.abberwoult;
+
+import static java.util.Objects.requireNonNull;
+
+
+/**
+ * A {@link ReceiveInvoker} which dispatches incoming message to one of the handler invokers by
+ * using the {@link ReceiveDispatchTable} generated for the actor class. It replaces a linear chain
+ * of type checks with a constant time lookup, so the cost of dispatch does not grow with the
+ * number of message handlers declared in actor. Messages wrapped in {@link AskDeadline} are
+ * unwrapped before dispatch, or skipped when their deadline has passed.
+ *
+ * @author Bartosz Firyn (sarxos)
+ */
+public final class ReceiveDispatcher implements ReceiveInvoker {
+
+	private final ReceiveDispatchTable table;
+	private final ReceiveInvoker[] invokers;
+	private final ReceiveInvoker unhandled;
+
+	/**
+	 * @param table the dispatch table shared by all instances of the actor class
+	 * @param invokers the handler invokers, in the same order as types in the table
+	 * @param unhandled the invoker to be used when no handler matches the message
+	 */
+	public ReceiveDispatcher(final ReceiveDispatchTable table, final ReceiveInvoker[] invokers, final ReceiveInvoker unhandled) {
+		this.table = requireNonNull(table, "Dispatch table must not be null");
+		this.invokers = requireNonNull(invokers, "Invokers must not be null");
+		this.unhandled = requireNonNull(unhandled, "Unhandled invoker must not be null");
+		if (invokers.length != table.size()) {
+			throw new IllegalArgumentException("Expected " + table.size() + " invokers but got " + invokers.length);
+		}
+	}
+
+	@Override
+	public void apply(final Object received) throws Exception {
+
+		final Object message = AskDeadline.open(received);
+
+		// deadline passed, nobody waits for reply
+
+		if (message == null) {
+			return;
+		}
+
+		final int index = table.indexOf(message.getClass());
+
+		if (index == ReceiveDispatchTable.UNHANDLED) {
+			unhandled.apply(message);
+		} else {
+			invokers[index].apply(message);
+		}
+	}
+}
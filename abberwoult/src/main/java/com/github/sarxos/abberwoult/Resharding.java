@@ -0,0 +1,430 @@
+package com.github.sarxos.abberwoult;
+
+import static java.util.concurrent.CompletableFuture.completedFuture;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.apache.commons.lang3.math.NumberUtils;
+import org.jboss.logging.Logger;
+
+import com.github.sarxos.abberwoult.ReshardingLedger.ReshardingLedgerTimeoutException;
+
+import akka.Done;
+import akka.actor.ActorRef;
+import akka.actor.Cancellable;
+import akka.actor.Scheduler;
+import akka.cluster.sharding.ShardRegion;
+import akka.cluster.sharding.ShardRegion.ClusterShardingStats;
+import akka.cluster.sharding.ShardRegion.CurrentRegions;
+import akka.cluster.sharding.ShardRegion.CurrentShardRegionState;
+import akka.cluster.sharding.ShardRegion.GetClusterShardingStats;
+import akka.cluster.sharding.ShardRegion.ShardRegionStats;
+import akka.cluster.sharding.ShardRegion.ShardState;
+import akka.pattern.AskTimeoutException;
+import akka.pattern.Patterns;
+import io.vavr.control.Option;
+import scala.concurrent.ExecutionContext;
+import scala.concurrent.duration.FiniteDuration;
+
+
+/**
+ * Migrates the entities of a sharding from the old to the new shard layout, see
+ * {@link ReshardingMessageExtractor}. Migration is done shard by shard, for the shards hosted by
+ * the local shard region, and is started periodically on every node which hosts the region, see
+ * {@link #start(Scheduler, ExecutionContext, Duration)}. Messages of the old layout shard are
+ * routed by all the nodes to the region which hosts it, and that region routes them again with
+ * its own extractor, so it's the region which decides where the moved entities live. A shard is
+ * migrated in a controlled hand-off:
+ *
+ * <ol>
+ * <li>the shard is fenced, so its entities hold the messages which are moved to the new layout
+ * instead of processing them,</li>
+ * <li>every entity of the shard receives {@link ReshardingHandoff}, and the entities which are
+ * moved to the other shard store their state,</li>
+ * <li>the shard is marked as migrated in the {@link ReshardingLedger} on all the nodes, so from now
+ * on new messages are routed to the new layout where entities are started again,</li>
+ * <li>every entity of the shard receives completed {@link ReshardingHandoff}, and the moved ones
+ * send held messages back to the region, which now routes them to the new layout, and
+ * passivate. Entities started in the old shard afterwards, by messages sent before the ledger was
+ * updated, forward these messages the same way.</li>
+ * </ol>
+ *
+ * This way the moved entity never processes messages in both shards at the same time. Entities
+ * which are handed off must extend {@link SimpleShardEntityActor} and must be able to restore
+ * their state when started in the new shard.
+ * <br>
+ *
+ * Old layout shards which are not hosted by any region have nothing to hand off and are only
+ * marked in the ledger. Migration stops when all old layout shards are migrated, which is logged.
+ *
+ * @author Bartosz Firyn (sarxos)
+ */
+public class Resharding {
+
+	private static final Logger LOG = Logger.getLogger(Resharding.class);
+
+	/**
+	 * Started reshardings, mapped by sharding name.
+	 */
+	private static final Map<String, Resharding> RESHARDINGS = new ConcurrentHashMap<>();
+
+	/**
+	 * The property with the old cardinality of the sharding which is being resharded to the
+	 * cardinality set in {@value ShardMessageExtractor#CARDINALITY_PROP}.
+	 */
+	public static final String FROM_CARDINALITY_PROP = "akka.cluster.sharding.resharding.from-cardinality";
+
+	/**
+	 * The property with the interval in milliseconds between attempts to migrate the local shards.
+	 */
+	public static final String MIGRATE_INTERVAL_PROP = "akka.cluster.sharding.resharding.migrate-interval-millis";
+	public static final long MIGRATE_INTERVAL_DEFAULT = 10_000;
+
+	/**
+	 * The way the message is handled by the entity of the old layout shard.
+	 */
+	enum Route {
+
+		/**
+		 * Message is processed by the entity.
+		 */
+		DELIVER,
+
+		/**
+		 * Message is held by the entity until hand-off is completed.
+		 */
+		HOLD,
+
+		/**
+		 * Message is sent back to the region and entity passivates.
+		 */
+		FORWARD,
+	}
+
+	private final String name;
+	private final ActorRef region;
+	private final ReshardingMessageExtractor extractor;
+	private final ReshardingLedger ledger;
+	private final Duration timeout;
+
+	/**
+	 * Old layout shards which are being handed off.
+	 */
+	private final Set<Integer> fenced = ConcurrentHashMap.newKeySet();
+
+	/**
+	 * Set when local shards are being migrated.
+	 */
+	private final AtomicBoolean migrating = new AtomicBoolean();
+
+	/**
+	 * Set when completion of the resharding has been reported.
+	 */
+	private final AtomicBoolean completed = new AtomicBoolean();
+
+	/**
+	 * @param name the sharding name
+	 * @param region the shard region which uses given extractor
+	 * @param extractor the resharding extractor
+	 * @param ledger the ledger used by the extractor
+	 * @param timeout the hand-off timeout
+	 */
+	public Resharding(final String name, final ActorRef region, final ReshardingMessageExtractor extractor, final ReshardingLedger ledger, final Duration timeout) {
+		this.name = name;
+		this.region = region;
+		this.extractor = extractor;
+		this.ledger = ledger;
+		this.timeout = timeout;
+	}
+
+	/**
+	 * @param name the sharding name
+	 * @return The started {@link Resharding} of the local region or none if there is no such
+	 */
+	public static Option<Resharding> of(final String name) {
+		return Option.of(RESHARDINGS.get(name));
+	}
+
+	/**
+	 * Make this resharding known to the entities of the local region and migrate the local shards
+	 * periodically, until all old layout shards are migrated. The migration has to be started
+	 * after the region is started, since it is the region which hosts the shards.
+	 *
+	 * @param scheduler the scheduler
+	 * @param dispatcher the dispatcher to run migration on
+	 * @param interval the interval between migration attempts
+	 * @return The {@link Cancellable} of the periodic migration
+	 */
+	public Cancellable start(final Scheduler scheduler, final ExecutionContext dispatcher, final Duration interval) {
+		RESHARDINGS.put(name, this);
+		return scheduler.schedule(interval, interval, this::migrateIfNeeded, dispatcher);
+	}
+
+	private void migrateIfNeeded() {
+
+		if (ledger.isComplete()) {
+			if (completed.compareAndSet(false, true)) {
+				LOG.infof("Resharding of %s to cardinality %d has been completed", name, extractor.getTo().getCardinality());
+			}
+			return;
+		}
+
+		if (!migrating.compareAndSet(false, true)) {
+			return;
+		}
+
+		migrateLocalShards()
+			.thenCompose(local -> markUnhostedShards().thenApply(unhosted -> local + unhosted))
+			.whenComplete((count, e) -> {
+				migrating.set(false);
+				if (e != null) {
+					LOG.errorf(e, "Cannot migrate local shards of %s", name);
+				} else if (count > 0) {
+					LOG.infof("Migrated %d shards of %s", count, name);
+				}
+			});
+	}
+
+	/**
+	 * Migrate all old layout shards hosted by the local shard region, one after another.
+	 *
+	 * @return Stage completed with the number of migrated shards
+	 */
+	public CompletionStage<Integer> migrateLocalShards() {
+		return state().thenCompose(state -> {
+
+			CompletionStage<Integer> stage = completedFuture(0);
+
+			for (final ShardState shard : state.getShards()) {
+
+				final int number = NumberUtils.toInt(shard.shardId(), -1);
+
+				if (number < 0 || number >= ledger.getCardinality() || ledger.isMigrated(number)) {
+					continue;
+				}
+
+				stage = stage.thenCompose(count -> migrate(number).thenApply(done -> count + 1));
+			}
+
+			return stage;
+		});
+	}
+
+	/**
+	 * Mark the old layout shards which are not hosted by any region in the cluster as migrated.
+	 * There are no entities to hand off in such shards, and they would never be migrated
+	 * otherwise. Nothing is marked when not all the regions known to the coordinator reported
+	 * their shards, since the missing ones may host some of them.
+	 *
+	 * @return Stage completed with the number of marked shards
+	 */
+	public CompletionStage<Integer> markUnhostedShards() {
+		return regions().thenCompose(regions -> stats().thenCompose(stats -> {
+
+			if (stats.getRegions().size() < regions.getRegions().size()) {
+				return completedFuture(0);
+			}
+
+			final Set<String> hosted = new HashSet<>();
+			for (final ShardRegionStats region : stats.getRegions().values()) {
+				hosted.addAll(region.getStats().keySet());
+			}
+
+			CompletionStage<Integer> stage = completedFuture(0);
+
+			for (int shard = 0; shard < ledger.getCardinality(); shard++) {
+
+				final int number = shard;
+
+				if (ledger.isMigrated(number) || hosted.contains(extractor.getFrom().getShardId(number))) {
+					continue;
+				}
+
+				stage = stage.thenCompose(count -> mark(number).thenApply(done -> {
+					LOG.infof("Shard %d of %s is not hosted and has been marked as migrated", number, name);
+					return count + 1;
+				}));
+			}
+
+			return stage;
+		}));
+	}
+
+	/**
+	 * Migrate single old layout shard, which has to be hosted by the local shard region. When the
+	 * hand-off fails before the shard is marked in the ledger, the fence is lifted and entities
+	 * process held messages in the old shard. When the ledger update times out, the shard is
+	 * already marked in the local replica and the mark is gossiped, so the shard stays fenced and
+	 * is marked again until all the nodes confirm it.
+	 *
+	 * @param shard the old layout shard number
+	 * @return Stage completed when shard has been migrated
+	 */
+	public CompletionStage<Done> migrate(final int shard) {
+
+		if (ledger.isMigrated(shard)) {
+			return completedFuture(Done.getInstance());
+		}
+
+		LOG.infof("Migrating shard %d of %s to cardinality %d", shard, name, extractor.getTo().getCardinality());
+
+		fenced.add(shard);
+
+		return handoff(shard, false)
+			.thenCompose(done -> mark(shard))
+			.handle((done, e) -> e)
+			.thenCompose(e -> {
+				fenced.remove(shard);
+				return handoff(shard, true).thenApply(done -> {
+					if (e != null) {
+						throw wrap(e);
+					}
+					return done;
+				});
+			})
+			.whenComplete((done, e) -> {
+				if (e == null) {
+					LOG.infof("Shard %d of %s has been migrated", shard, name);
+				} else {
+					LOG.errorf(e, "Shard %d of %s migration failed", shard, name);
+				}
+			});
+	}
+
+	/**
+	 * Mark shard as migrated in the ledger, again and again as long as the update times out.
+	 *
+	 * @param shard the old layout shard number
+	 * @return Stage completed when all the nodes confirmed the update
+	 */
+	private CompletionStage<Done> mark(final int shard) {
+		return ledger
+			.markMigrated(shard)
+			.handle((done, e) -> e)
+			.thenCompose(e -> {
+
+				if (e == null) {
+					return completedFuture(Done.getInstance());
+				}
+				if (!isPending(e)) {
+					throw wrap(e);
+				}
+
+				LOG.warnf("Shard %d of %s migration is pending, marking again: %s", shard, name, e.getMessage());
+
+				return mark(shard);
+			});
+	}
+
+	private static boolean isPending(final Throwable e) {
+		final Throwable cause = e instanceof CompletionException && e.getCause() != null ? e.getCause() : e;
+		return cause instanceof ReshardingLedgerTimeoutException || cause instanceof AskTimeoutException;
+	}
+
+	private static CompletionException wrap(final Throwable e) {
+		return e instanceof CompletionException ? (CompletionException) e : new CompletionException(e);
+	}
+
+	/**
+	 * Decide how the message received by the entity of a given shard should be handled.
+	 *
+	 * @param shardId the ID of the shard where entity lives
+	 * @param message the received message
+	 * @return The {@link Route} of the message
+	 */
+	Route route(final String shardId, final Object message) {
+
+		final int shard = extractor.getMovedFrom(message);
+
+		if (shard < 0 || !shardId.equals(extractor.getFrom().getShardId(shard))) {
+			return Route.DELIVER;
+		}
+		if (ledger.isMigrated(shard)) {
+			return Route.FORWARD;
+		}
+		if (fenced.contains(shard)) {
+			return Route.HOLD;
+		}
+
+		return Route.DELIVER;
+	}
+
+	/**
+	 * @param message the message
+	 * @return True if message is routed to the other shard in the new layout than in the old one
+	 */
+	boolean isMoved(final Object message) {
+		return extractor.getMovedFrom(message) >= 0;
+	}
+
+	/**
+	 * Send message back to the local region, which routes it again.
+	 *
+	 * @param message the message
+	 * @param sender the original sender
+	 */
+	void forward(final Object message, final ActorRef sender) {
+		region.tell(message, sender);
+	}
+
+	private CompletionStage<Done> handoff(final int shard, final boolean completed) {
+
+		final String shardId = extractor.getFrom().getShardId(shard);
+
+		return state().thenCompose(state -> {
+
+			final List<CompletableFuture<Object>> acks = new ArrayList<>();
+
+			for (final ShardState s : state.getShards()) {
+				if (shardId.equals(s.shardId())) {
+					for (final String entityId : s.getEntityIds()) {
+						acks.add(Patterns.ask(region, new ReshardingHandoff(shardId, entityId, completed), timeout).toCompletableFuture());
+					}
+				}
+			}
+
+			return CompletableFuture
+				.allOf(acks.toArray(new CompletableFuture<?>[acks.size()]))
+				.thenApply(v -> Done.getInstance());
+		});
+	}
+
+	private CompletionStage<CurrentRegions> regions() {
+		return Patterns
+			.ask(region, ShardRegion.getCurrentRegionsInstance(), timeout)
+			.thenApply(CurrentRegions.class::cast);
+	}
+
+	private CompletionStage<ClusterShardingStats> stats() {
+		return Patterns
+			.ask(region, new GetClusterShardingStats(FiniteDuration.fromNanos(timeout.toNanos())), timeout.plus(timeout))
+			.thenApply(ClusterShardingStats.class::cast);
+	}
+
+	private CompletionStage<CurrentShardRegionState> state() {
+		return Patterns
+			.ask(region, ShardRegion.getShardRegionStateInstance(), timeout)
+			.thenApply(CurrentShardRegionState.class::cast);
+	}
+
+	public String getName() {
+		return name;
+	}
+
+	/**
+	 * @return True if all old layout shards have been migrated
+	 */
+	public boolean isComplete() {
+		return ledger.isComplete();
+	}
+}
@@ -0,0 +1,55 @@
+package com.github.sarxos.abberwoult;
+
+import java.io.Serializable;
+
+import org.apache.commons.lang3.builder.ToStringBuilder;
+
+
+/**
+ * A message sent by {@link Resharding} to the entity which is handed off from the old shard
+ * layout. It carries the shard and entity ID directly, since the shard ID value of the entity is
+ * not known to the resharding. The hand-off is done in two steps. At first the entity is expected
+ * to store its state and reply with {@link akka.Done}, but it stays alive and holds the messages
+ * which are moved to the new layout. When hand-off is completed, the entity sends the held messages
+ * back to the region, replies with {@link akka.Done} and passivates, see
+ * {@link SimpleShardEntityActor#handoff()}.
+ *
+ * @author Bartosz Firyn (sarxos)
+ */
+@SuppressWarnings("serial")
+public final class ReshardingHandoff implements Serializable {
+
+	private final String shardId;
+	private final String entityId;
+	private final boolean completed;
+
+	public ReshardingHandoff(final String shardId, final String entityId) {
+		this(shardId, entityId, false);
+	}
+
+	public ReshardingHandoff(final String shardId, final String entityId, final boolean completed) {
+		this.shardId = shardId;
+		this.entityId = entityId;
+		this.completed = completed;
+	}
+
+	public String getShardId() {
+		return shardId;
+	}
+
+	public String getEntityId() {
+		return entityId;
+	}
+
+	/**
+	 * @return True if the hand-off is completed and entity should passivate
+	 */
+	public boolean isCompleted() {
+		return completed;
+	}
+
+	@Override
+	public String toString() {
+		return ToStringBuilder.reflectionToString(this);
+	}
+}
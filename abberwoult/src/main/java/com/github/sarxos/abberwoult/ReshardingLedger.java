@@ -0,0 +1,186 @@
+package com.github.sarxos.abberwoult;
+
+import static java.util.concurrent.CompletableFuture.completedFuture;
+
+import java.time.Duration;
+import java.util.concurrent.CompletionStage;
+
+import org.jboss.logging.Logger;
+
+import akka.Done;
+import akka.actor.AbstractActor;
+import akka.actor.ActorRef;
+import akka.actor.ActorSystem;
+import akka.actor.Props;
+import akka.cluster.ddata.DistributedData;
+import akka.cluster.ddata.GSet;
+import akka.cluster.ddata.GSetKey;
+import akka.cluster.ddata.Key;
+import akka.cluster.ddata.Replicator;
+import akka.pattern.Patterns;
+
+
+/**
+ * Keeps the numbers of the old layout shards which have been already migrated to the new layout
+ * during {@link Resharding}. The ledger is replicated across the cluster with Akka Distributed
+ * Data, so every node routes the messages the same way. Shards are only added, never removed. The
+ * shard is marked with {@link Replicator.WriteAll} consistency, so when marking is done, every
+ * reachable node has the shard in its replica and will switch the routing on the next change
+ * notification.<br>
+ * <br>
+ *
+ * The local copy is kept in the array indexed by the shard number, so
+ * {@link #isMigrated(int)} is a single volatile read and can be used for every routed message.
+ *
+ * @author Bartosz Firyn (sarxos)
+ */
+public class ReshardingLedger {
+
+	private static final Logger LOG = Logger.getLogger(ReshardingLedger.class);
+
+	private static final String KEY_PREFIX = "abberwoult-resharding-";
+
+	private final ActorRef replicator;
+	private final Key<GSet<Integer>> key;
+	private final int cardinality;
+	private final Duration timeout;
+
+	/**
+	 * Migrated shards, where the index is the old shard number.
+	 */
+	private volatile boolean[] migrated;
+
+	/**
+	 * @param system the actor system, must use cluster provider
+	 * @param sharding the sharding name
+	 * @param cardinality the old shard layout cardinality
+	 * @param timeout the write timeout
+	 */
+	public ReshardingLedger(final ActorSystem system, final String sharding, final int cardinality, final Duration timeout) {
+		this.replicator = DistributedData.get(system).replicator();
+		this.key = GSetKey.create(KEY_PREFIX + sharding);
+		this.cardinality = cardinality;
+		this.timeout = timeout;
+		this.migrated = new boolean[cardinality];
+		this.replicator.tell(new Replicator.Subscribe<>(key, system.actorOf(Props.create(Subscriber.class, this))), ActorRef.noSender());
+	}
+
+	/**
+	 * @param shard the old layout shard number
+	 * @return True if shard has been migrated to the new layout
+	 */
+	public boolean isMigrated(final int shard) {
+		return migrated[shard];
+	}
+
+	/**
+	 * @return True if all old layout shards have been migrated
+	 */
+	public boolean isComplete() {
+		for (final boolean shard : migrated) {
+			if (!shard) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Mark shard as migrated. Returned stage is completed when all the nodes have been updated and
+	 * only then the local copy is updated. When not all the nodes confirmed the update in time, the
+	 * stage fails with {@link ReshardingLedgerTimeoutException}. The update has been applied to the
+	 * local replica anyway and will be gossiped to the other nodes, so such shard should be marked
+	 * again, which is safe since marking is idempotent.
+	 *
+	 * @param shard the old layout shard number
+	 * @return Stage completed with {@link Done} or with exception when update failed
+	 */
+	public CompletionStage<Done> markMigrated(final int shard) {
+
+		if (isMigrated(shard)) {
+			return completedFuture(Done.getInstance());
+		}
+
+		final Replicator.Update<GSet<Integer>> update = new Replicator.Update<>(
+			key,
+			GSet.create(),
+			new Replicator.WriteAll(scala.concurrent.duration.Duration.fromNanos(timeout.toNanos())),
+			set -> set.add(Integer.valueOf(shard)));
+
+		return Patterns
+			.ask(replicator, update, timeout.plus(timeout))
+			.thenApply(response -> {
+				if (response instanceof Replicator.UpdateSuccess) {
+					mark(shard);
+					return Done.getInstance();
+				} else if (response instanceof Replicator.UpdateTimeout) {
+					throw new ReshardingLedgerTimeoutException(shard);
+				} else {
+					throw new ReshardingLedgerUpdateException(shard, response);
+				}
+			});
+	}
+
+	private synchronized void mark(final int shard) {
+		if (shard >= 0 && shard < cardinality && !migrated[shard]) {
+			final boolean[] copy = migrated.clone();
+			copy[shard] = true;
+			migrated = copy;
+		}
+	}
+
+	private synchronized void merge(final GSet<Integer> set) {
+		final boolean[] copy = migrated.clone();
+		set.getElements().forEach(shard -> {
+			if (shard >= 0 && shard < cardinality) {
+				copy[shard] = true;
+			}
+		});
+		migrated = copy;
+	}
+
+	public int getCardinality() {
+		return cardinality;
+	}
+
+	/**
+	 * Receives ledger changes from the replicator. Please note that this is pure Akka actor (not
+	 * the actor derived by Abberwoult).
+	 */
+	static final class Subscriber extends AbstractActor {
+
+		private final ReshardingLedger ledger;
+
+		Subscriber(final ReshardingLedger ledger) {
+			this.ledger = ledger;
+		}
+
+		@Override
+		@SuppressWarnings("unchecked")
+		public Receive createReceive() {
+			return receiveBuilder()
+				.match(Replicator.Changed.class, changed -> onChanged((Replicator.Changed<GSet<Integer>>) changed))
+				.build();
+		}
+
+		private void onChanged(final Replicator.Changed<GSet<Integer>> changed) {
+			final GSet<Integer> set = changed.dataValue();
+			LOG.debugf("Resharding ledger changed %s", set);
+			ledger.merge(set);
+		}
+	}
+
+	@SuppressWarnings("serial")
+	public static final class ReshardingLedgerUpdateException extends IllegalStateException {
+		public ReshardingLedgerUpdateException(final int shard, final Object response) {
+			super("Cannot mark shard " + shard + " as migrated, replicator responded with " + response);
+		}
+	}
+
+	@SuppressWarnings("serial")
+	public static final class ReshardingLedgerTimeoutException extends IllegalStateException {
+		public ReshardingLedgerTimeoutException(final int shard) {
+			super("Shard " + shard + " has not been marked as migrated on all the nodes in time");
+		}
+	}
+}
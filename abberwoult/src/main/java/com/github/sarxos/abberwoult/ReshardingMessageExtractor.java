@@ -0,0 +1,156 @@
+package com.github.sarxos.abberwoult;
+
+import static java.util.Objects.requireNonNull;
+
+import java.util.function.IntPredicate;
+
+import akka.cluster.sharding.ShardRegion.MessageExtractor;
+
+
+/**
+ * A {@link MessageExtractor} used by the sharding while it's being resharded from the old to the
+ * new cardinality. Messages are routed to the new layout shard when it's the same shard as in
+ * the old layout, or when the old layout shard has been already migrated, otherwise they are
+ * routed to the old layout shard. Once all old shards are migrated, the routing is the same as
+ * the routing of the {@link ShardMessageExtractor} with the new cardinality, so the resharding
+ * can be turned off in the next rolling restart.<br>
+ * <br>
+ *
+ * Shard numbers in both layouts share the same namespace, which is only correct when every ID
+ * mapped into the new layout shard below the old cardinality is mapped into the same shard in
+ * the old layout. This is true for {@link ShardIdStrategy#JUMP} and, when the new cardinality is a
+ * multiple of the old one, for {@link ShardIdStrategy#MODULO} and {@link ShardIdStrategy#MURMUR3}.
+ * Other layouts are rejected. Strategies selected for the message classes must meet the same
+ * condition.
+ *
+ * @author Bartosz Firyn (sarxos)
+ */
+public class ReshardingMessageExtractor implements MessageExtractor {
+
+	private final ShardMessageExtractor from;
+	private final ShardMessageExtractor to;
+	private final IntPredicate migrated;
+
+	/**
+	 * @param from the extractor with the old cardinality
+	 * @param to the extractor with the new cardinality
+	 * @param migrated the predicate which tells if the old layout shard has been migrated
+	 */
+	public ReshardingMessageExtractor(final ShardMessageExtractor from, final ShardMessageExtractor to, final IntPredicate migrated) {
+		this.from = requireNonNull(from, "Old layout extractor must not be null");
+		this.to = requireNonNull(to, "New layout extractor must not be null");
+		this.migrated = requireNonNull(migrated, "Migrated shards predicate must not be null");
+		assertCompatible(from, to);
+	}
+
+	private static void assertCompatible(final ShardMessageExtractor from, final ShardMessageExtractor to) {
+
+		final int oldCardinality = from.getCardinality();
+		final int newCardinality = to.getCardinality();
+
+		if (oldCardinality <= 0 || newCardinality <= oldCardinality) {
+			throw new IncompatibleShardLayoutException("New cardinality " + newCardinality + " must be greater than old cardinality " + oldCardinality);
+		}
+		if (from.getStrategy() != to.getStrategy()) {
+			throw new IncompatibleShardLayoutException("Shard ID strategy cannot be changed during resharding");
+		}
+		if (to.getStrategy() == ShardIdStrategy.JUMP) {
+			return;
+		}
+		if (to.getStrategy() == ShardIdStrategy.MODULO || to.getStrategy() == ShardIdStrategy.MURMUR3) {
+			if (newCardinality % oldCardinality == 0) {
+				return;
+			}
+		}
+
+		throw new IncompatibleShardLayoutException("Cardinality " + oldCardinality + " cannot be changed to " + newCardinality + " with " + to.getStrategy().getClass().getSimpleName());
+	}
+
+	@Override
+	public String shardId(final Object message) {
+
+		if (message instanceof ReshardingHandoff) {
+			return ((ReshardingHandoff) message).getShardId();
+		}
+		if (message instanceof ShardBatch) {
+			return ((ShardBatch) message).getShardId();
+		}
+		if (message instanceof AskDeadline) {
+			return shardId(((AskDeadline) message).getMessage());
+		}
+
+		final int hash = to.getShardIdHash(message);
+		final int shard = to.getShard(message, hash);
+
+		if (shard < from.getCardinality()) {
+			return to.getShardId(shard);
+		}
+
+		final int previous = from.getShard(message, hash);
+
+		if (migrated.test(previous)) {
+			return to.getShardId(shard);
+		} else {
+			return from.getShardId(previous);
+		}
+	}
+
+	/**
+	 * Get the old layout shard number of the message which is routed to the different shard in the
+	 * new layout. Messages routed to the same shard in both layouts are not moved.
+	 *
+	 * @param message the message
+	 * @return The old layout shard number or -1 when message is not moved
+	 */
+	public int getMovedFrom(final Object message) {
+
+		if (message instanceof AskDeadline) {
+			return getMovedFrom(((AskDeadline) message).getMessage());
+		}
+		if (!to.isRoutable(message)) {
+			return -1;
+		}
+
+		final int hash = to.getShardIdHash(message);
+		final int shard = to.getShard(message, hash);
+
+		if (shard < from.getCardinality()) {
+			return -1;
+		} else {
+			return from.getShard(message, hash);
+		}
+	}
+
+	@Override
+	public String entityId(final Object message) {
+		if (message instanceof ReshardingHandoff) {
+			return ((ReshardingHandoff) message).getEntityId();
+		} else if (message instanceof ShardBatch) {
+			return ((ShardBatch) message).getEntityId();
+		} else if (message instanceof AskDeadline) {
+			return entityId(((AskDeadline) message).getMessage());
+		} else {
+			return to.entityId(message);
+		}
+	}
+
+	@Override
+	public Object entityMessage(final Object message) {
+		return to.entityMessage(message);
+	}
+
+	public ShardMessageExtractor getFrom() {
+		return from;
+	}
+
+	public ShardMessageExtractor getTo() {
+		return to;
+	}
+
+	@SuppressWarnings("serial")
+	public static final class IncompatibleShardLayoutException extends IllegalArgumentException {
+		public IncompatibleShardLayoutException(final String message) {
+			super(message);
+		}
+	}
+}
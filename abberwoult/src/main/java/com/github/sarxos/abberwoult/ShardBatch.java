@@ -0,0 +1,53 @@
+package com.github.sarxos.abberwoult;
+
+import java.io.Serializable;
+import java.util.List;
+
+import org.apache.commons.lang3.builder.ToStringBuilder;
+
+
+/**
+ * An envelope which carries many messages routed to the same shard, so these are shipped to the
+ * hosting shard region at once, see {@link Sharding#tellAll(java.util.Collection)}. The envelope
+ * is delivered to the entity of the first message which unpacks it and sends every message to its
+ * parent shard, so every entity receives individual messages in the order they were batched, see
+ * {@link SimpleShardEntityActor#onShardBatch(ShardBatch)}. Therefore messages are batched only
+ * when entities extend {@link SimpleShardEntityActor}.
+ *
+ * @author Bartosz Firyn (sarxos)
+ */
+@SuppressWarnings("serial")
+public final class ShardBatch implements Serializable {
+
+	private final String shardId;
+	private final String entityId;
+	private final List<Object> messages;
+
+	/**
+	 * @param shardId the shard ID of all batched messages
+	 * @param entityId the entity ID of the first message
+	 * @param messages the batched messages
+	 */
+	public ShardBatch(final String shardId, final String entityId, final List<Object> messages) {
+		this.shardId = shardId;
+		this.entityId = entityId;
+		this.messages = messages;
+	}
+
+	public String getShardId() {
+		return shardId;
+	}
+
+	public String getEntityId() {
+		return entityId;
+	}
+
+	public List<Object> getMessages() {
+		return messages;
+	}
+
+	@Override
+	public String toString() {
+		return ToStringBuilder.reflectionToString(this);
+	}
+}
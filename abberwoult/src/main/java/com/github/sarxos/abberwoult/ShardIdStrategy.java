@@ -0,0 +1,142 @@
+package com.github.sarxos.abberwoult;
+
+import static java.lang.Math.abs;
+
+import org.apache.commons.lang3.StringUtils;
+
+import com.github.sarxos.abberwoult.annotation.ShardId;
+import com.github.sarxos.abberwoult.annotation.Sharded;
+import com.github.sarxos.abberwoult.util.ReflectionUtils;
+
+
+/**
+ * A strategy which maps hash code of the shard ID into the shard number in the range from 0 to
+ * cardinality - 1. The strategy can be selected for a message class with {@link ShardId#strategy()},
+ * for a sharding with {@link Sharded#strategy()}, or globally by setting the
+ * {@value ShardMessageExtractor#STRATEGY_PROP} property. The value is either one of the built-in
+ * strategy names, i.e. {@value #MODULO_NAME}, {@value #JUMP_NAME} and {@value #MURMUR3_NAME}, or
+ * the name of the class which implements this interface and has public no-arg constructor.<br>
+ * <br>
+ *
+ * Implementations must be stateless and thread safe. Changing the strategy of a running sharding
+ * moves entities between shards, so all nodes of the cluster must use the same strategy.
+ *
+ * @author Bartosz Firyn (sarxos)
+ */
+@FunctionalInterface
+public interface ShardIdStrategy {
+
+	final String MODULO_NAME = "modulo";
+	final String JUMP_NAME = "jump";
+	final String MURMUR3_NAME = "murmur3";
+
+	/**
+	 * Absolute value of the hash modulo cardinality. This is the default strategy.
+	 */
+	final ShardIdStrategy MODULO = new ModuloShardIdStrategy();
+
+	/**
+	 * Jump consistent hash by John Lamping and Eric Veach.
+	 */
+	final ShardIdStrategy JUMP = new JumpShardIdStrategy();
+
+	/**
+	 * Modulo of the hash mixed by the MurmurHash3 finalizer.
+	 */
+	final ShardIdStrategy MURMUR3 = new Murmur3ShardIdStrategy();
+
+	/**
+	 * @param hash the shard ID hash code
+	 * @param cardinality the number of shards
+	 * @return Shard number in the range from 0 to cardinality - 1
+	 */
+	int shard(final int hash, final int cardinality);
+
+	/**
+	 * Find strategy by the name.
+	 *
+	 * @param name the built-in strategy name or the strategy class name
+	 * @return The {@link ShardIdStrategy}
+	 */
+	static ShardIdStrategy of(final String name) {
+
+		if (StringUtils.isBlank(name) || StringUtils.equals(name, MODULO_NAME)) {
+			return MODULO;
+		}
+		if (StringUtils.equals(name, JUMP_NAME)) {
+			return JUMP;
+		}
+		if (StringUtils.equals(name, MURMUR3_NAME)) {
+			return MURMUR3;
+		}
+
+		final Class<?> clazz = ReflectionUtils.getClazz(name);
+
+		if (!ShardIdStrategy.class.isAssignableFrom(clazz)) {
+			throw new IllegalArgumentException("Class " + name + " does not implement " + ShardIdStrategy.class);
+		}
+
+		return (ShardIdStrategy) ReflectionUtils.instantiate(clazz);
+	}
+
+	/**
+	 * The remainder is taken before the absolute value, so {@link Integer#MIN_VALUE} hash is not
+	 * mapped into negative shard number, while all other hashes are mapped into the same shard as
+	 * with {@code abs(hash) % cardinality}.
+	 */
+	final class ModuloShardIdStrategy implements ShardIdStrategy {
+
+		@Override
+		public int shard(final int hash, final int cardinality) {
+			return abs(hash % cardinality);
+		}
+	}
+
+	/**
+	 * Moves only 1/n of the keys when the number of shards grows from n - 1 to n, and spreads keys
+	 * evenly even when the lower bits of the hash are not well distributed.
+	 *
+	 * @see <a href="https://arxiv.org/abs/1406.2294">A Fast, Minimal Memory, Consistent Hash Algorithm</a>
+	 */
+	final class JumpShardIdStrategy implements ShardIdStrategy {
+
+		@Override
+		public int shard(final int hash, final int cardinality) {
+
+			long key = hash & 0xFFFFFFFFL;
+			long b = -1;
+			long j = 0;
+
+			while (j < cardinality) {
+				b = j;
+				key = key * 2862933555777941757L + 1;
+				j = (long) ((b + 1) * ((double) (1L << 31) / (double) ((key >>> 33) + 1)));
+			}
+
+			return (int) b;
+		}
+	}
+
+	/**
+	 * Mixes all bits of the hash before modulo is taken, so the hash codes which differ only in
+	 * the higher bits (e.g. {@link String#hashCode()} of the IDs with the common suffix) do not end
+	 * up in the same shard.
+	 */
+	final class Murmur3ShardIdStrategy implements ShardIdStrategy {
+
+		@Override
+		public int shard(final int hash, final int cardinality) {
+			return (mix(hash) & Integer.MAX_VALUE) % cardinality;
+		}
+
+		static int mix(final int hash) {
+			int h = hash;
+			h ^= h >>> 16;
+			h *= 0x85ebca6b;
+			h ^= h >>> 13;
+			h *= 0xc2b2ae35;
+			h ^= h >>> 16;
+			return h;
+		}
+	}
+}
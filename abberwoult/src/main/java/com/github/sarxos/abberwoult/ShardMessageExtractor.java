@@ -1,11 +1,10 @@
 package com.github.sarxos.abberwoult;
 
-import static java.lang.Math.abs;
 import static java.util.Objects.requireNonNull;
 
-import java.util.HashMap;
 import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
 
 import javax.inject.Inject;
 import javax.inject.Singleton;
@@ -18,6 +17,7 @@ import com.github.sarxos.abberwoult.ShardMessageExtractor.FieldReader;
 
 import akka.cluster.sharding.ShardRegion.MessageExtractor;
 import io.quarkus.runtime.annotations.Recorder;
+import io.vavr.control.Option;
 
 
 /**
@@ -32,7 +32,13 @@ import io.quarkus.runtime.annotations.Recorder;
  * a {@link Recorder} and in runtime it's a {@link Singleton} bean. Please keep this in mind and
  * don't be fooled with the presence of these two annotations. It cannot be both in the same time
  * because CDI is not yet initialized in augmentation time and therefore there is no concept of
- * {@link Singleton} bean then.
+ * {@link Singleton} bean then.<br>
+ * <br>
+ *
+ * Field readers are resolved only once per message class and the shard ID strings are created up
+ * front for every shard, so extracting IDs does not allocate anything but the entity ID string.
+ * The shard ID is mapped into the shard by the {@link ShardIdStrategy} selected for the message
+ * class or, when there is none, by the default strategy of this extractor.
  *
  * @author Bartosz Firyn (sarxos)
  */
@@ -42,25 +48,81 @@ public class ShardMessageExtractor implements MessageExtractor {
 
 	private static final Logger LOG = Logger.getLogger(ShardMessageExtractor.class);
 
-	private static final Map<String, FieldReader> FIELD_READERS = new HashMap<>();
-	private static final String CARDINALITY_PROP = "akka.cluster.sharding.cardinality";
-	private static final String CARDINALITY_DEFAULT = "100";
+	/**
+	 * Mapping between message class name and field reader.
+	 */
+	private static final Map<String, FieldReader> FIELD_READERS = new ConcurrentHashMap<>();
+
+	/**
+	 * Field readers resolved per message class.
+	 */
+	private static final ClassValue<Option<FieldReader>> READERS = new ClassValue<Option<FieldReader>>() {
+
+		@Override
+		protected Option<FieldReader> computeValue(final Class<?> type) {
+			return Option.of(FIELD_READERS.get(type.getName()));
+		}
+	};
+
+	/**
+	 * Mapping between message class name and the name of {@link ShardIdStrategy} selected for it.
+	 */
+	private static final Map<String, String> STRATEGY_NAMES = new ConcurrentHashMap<>();
+
+	/**
+	 * Strategies selected for the message class, resolved per message class.
+	 */
+	private static final ClassValue<Option<ShardIdStrategy>> STRATEGIES = new ClassValue<Option<ShardIdStrategy>>() {
+
+		@Override
+		protected Option<ShardIdStrategy> computeValue(final Class<?> type) {
+			return Option.of(STRATEGY_NAMES.get(type.getName())).map(ShardIdStrategy::of);
+		}
+	};
+
+	public static final String CARDINALITY_PROP = "akka.cluster.sharding.cardinality";
+	public static final String CARDINALITY_DEFAULT = "100";
+
+	public static final String STRATEGY_PROP = "akka.cluster.sharding.strategy";
+	public static final String STRATEGY_DEFAULT = ShardIdStrategy.MODULO_NAME;
+
+	public static final String ENTITY_ID_CACHE_SIZE_PROP = "akka.cluster.sharding.entity-id-cache.size";
+	public static final String ENTITY_ID_CACHE_SIZE_DEFAULT = "0";
 
 	/**
 	 * This interface is meant to be implemented by the synthetic field readers generated by the
 	 * deployment processor. These field readers are then recorded in this
 	 * {@link ShardMessageExtractor} class and are used to read entity and shard ID of a given
-	 * message.
+	 * message.<br>
+	 * <br>
+	 *
+	 * The shard number is computed by the {@link ShardIdStrategy} from the hash code of the shard
+	 * ID. When shard ID is of type {@code int}, {@code long}, {@link String} or
+	 * {@link java.util.UUID}, the generated reader overrides {@link #getShardIdHash(Object)} and
+	 * calls one of the {@code hash(...)} methods directly, so the shard ID is not boxed. In the
+	 * same way, when entity ID is of type {@code int} or {@code long}, the generated reader
+	 * overrides {@link #getShardEntityId(Object, EntityIdCache)} to look up the {@code long} ID in
+	 * the {@link EntityIdCache}.
 	 */
 	public static interface FieldReader {
 
 		final String NULL_SHARD_ID_ERROR_MESSAGE = "Shard ID must not be null";
 		final String NULL_SHARD_ENTITY_ID_ERROR_MESSAGE = "Shard entity ID must not be null";
 
-		default int getShardId(final Object message, final int cardinality) {
-			final Object value = requireNonNull(readShardId(message), NULL_SHARD_ID_ERROR_MESSAGE);
-			final int shardId = abs(Objects.hashCode(value)) % cardinality;
-			return shardId;
+		default int getShardIdHash(final Object message) {
+			return hash(readShardId(message));
+		}
+
+		default int hash(final int value) {
+			return Integer.hashCode(value);
+		}
+
+		default int hash(final long value) {
+			return Long.hashCode(value);
+		}
+
+		default int hash(final Object value) {
+			return requireNonNull(value, NULL_SHARD_ID_ERROR_MESSAGE).hashCode();
 		}
 
 		default String getShardEntityId(final Object message) {
@@ -69,6 +131,10 @@ public class ShardMessageExtractor implements MessageExtractor {
 			return entityId;
 		}
 
+		default String getShardEntityId(final Object message, final EntityIdCache cache) {
+			return cache.get(requireNonNull(readShardEntityId(message), NULL_SHARD_ENTITY_ID_ERROR_MESSAGE));
+		}
+
 		default Object value(final byte value) {
 			return Byte.valueOf(value);
 		}
@@ -108,21 +174,64 @@ public class ShardMessageExtractor implements MessageExtractor {
 
 	private final int cardinality;
 
+	/**
+	 * Shard ID strings, where the index is the shard ID.
+	 */
+	private final String[] shardIds;
+
+	/**
+	 * The strategy used for messages which have no strategy selected for their class.
+	 */
+	private final ShardIdStrategy strategy;
+
+	/**
+	 * The cache of entity ID strings, shared by all extractors derived from this one.
+	 */
+	private final EntityIdCache cache;
+
 	/**
 	 * Default constructor to be used when this class is used as a recorder {@link Recorder}.
 	 */
 	public ShardMessageExtractor() {
-		this.cardinality = 0;
+		this(0, ShardIdStrategy.MODULO);
 	}
 
 	/**
 	 * Injectable constructor to be used when this class is used as a {@link Singleton} bean.
 	 *
 	 * @param cardinality the sharding cardinality (maximum number of shard regions in cluster)
+	 * @param strategy the name of default {@link ShardIdStrategy}
+	 * @param cacheSize the size of {@link EntityIdCache} or 0 to disable cache
 	 */
 	@Inject
-	public ShardMessageExtractor(@ConfigProperty(name = CARDINALITY_PROP, defaultValue = CARDINALITY_DEFAULT) int cardinality) {
+	public ShardMessageExtractor(
+		@ConfigProperty(name = CARDINALITY_PROP, defaultValue = CARDINALITY_DEFAULT) int cardinality,
+		@ConfigProperty(name = STRATEGY_PROP, defaultValue = STRATEGY_DEFAULT) String strategy,
+		@ConfigProperty(name = ENTITY_ID_CACHE_SIZE_PROP, defaultValue = ENTITY_ID_CACHE_SIZE_DEFAULT) int cacheSize) {
+		this(cardinality, ShardIdStrategy.of(strategy), cacheSize == 0 ? EntityIdCache.NONE : new EntityIdCache(cacheSize));
+	}
+
+	/**
+	 * @param cardinality the sharding cardinality (maximum number of shard regions in cluster)
+	 * @param strategy the default {@link ShardIdStrategy}
+	 */
+	public ShardMessageExtractor(final int cardinality, final ShardIdStrategy strategy) {
+		this(cardinality, strategy, EntityIdCache.NONE);
+	}
+
+	/**
+	 * @param cardinality the sharding cardinality (maximum number of shard regions in cluster)
+	 * @param strategy the default {@link ShardIdStrategy}
+	 * @param cache the {@link EntityIdCache}
+	 */
+	public ShardMessageExtractor(final int cardinality, final ShardIdStrategy strategy, final EntityIdCache cache) {
 		this.cardinality = cardinality;
+		this.strategy = requireNonNull(strategy, "Shard ID strategy must not be null");
+		this.cache = requireNonNull(cache, "Entity ID cache must not be null");
+		this.shardIds = new String[cardinality];
+		for (int i = 0; i < cardinality; i++) {
+			shardIds[i] = Integer.toString(i);
+		}
 	}
 
 	/**
@@ -137,23 +246,85 @@ public class ShardMessageExtractor implements MessageExtractor {
 		FIELD_READERS.put(clazz, reader);
 	}
 
+	/**
+	 * Recording method used when this is {@link Recorder} to register {@link ShardIdStrategy}
+	 * selected for a given message class name.
+	 *
+	 * @param clazz the message class name
+	 * @param strategy the strategy name
+	 */
+	public void registerStrategy(final String clazz, final String strategy) {
+		LOG.debugf("Record shard ID strategy %s for %s", strategy, clazz);
+		STRATEGY_NAMES.put(clazz, strategy);
+	}
+
+	/**
+	 * Create extractor with the same cardinality but different default strategy. This is used by
+	 * the sharding which has its own strategy selected.
+	 *
+	 * @param strategy the default {@link ShardIdStrategy}
+	 * @return New {@link ShardMessageExtractor}
+	 */
+	public ShardMessageExtractor withStrategy(final ShardIdStrategy strategy) {
+		return new ShardMessageExtractor(cardinality, strategy, cache);
+	}
+
+	/**
+	 * Create extractor with the same strategy but different cardinality. This is used by the
+	 * sharding which has its own number of shards.
+	 *
+	 * @param cardinality the number of shards
+	 * @return New {@link ShardMessageExtractor} or this one if cardinality is the same
+	 */
+	public ShardMessageExtractor withCardinality(final int cardinality) {
+		if (cardinality == this.cardinality) {
+			return this;
+		} else {
+			return new ShardMessageExtractor(cardinality, strategy, cache);
+		}
+	}
+
 	@Override
 	public String shardId(final Object message) {
 
 		if (cardinality == 0) {
 			return StringUtils.EMPTY;
 		}
+		if (message instanceof ShardBatch) {
+			return ((ShardBatch) message).getShardId();
+		}
+		if (message instanceof AskDeadline) {
+			return shardId(((AskDeadline) message).getMessage());
+		}
 
-		final String key = key(message);
-		final FieldReader reader = FIELD_READERS.get(key);
+		return getShardId(getShard(message, getShardIdHash(message)));
+	}
 
-		if (reader == null) {
-			throw new NoFieldExtractorException(message);
-		}
+	/**
+	 * @param message the shard routable message
+	 * @return Hash code of the message shard ID
+	 */
+	public int getShardIdHash(final Object message) {
+		return reader(message).getShardIdHash(message);
+	}
 
-		final int shardId = reader.getShardId(message, cardinality);
+	/**
+	 * Map shard ID hash code into the shard number by the strategy selected for the message.
+	 *
+	 * @param message the shard routable message
+	 * @param hash the hash code of the message shard ID
+	 * @return Shard number
+	 */
+	public int getShard(final Object message, final int hash) {
+		return strategy(message).shard(hash, cardinality);
+	}
 
-		return Integer.toString(shardId);
+	/**
+	 * @param shard the shard number
+	 * @return Shard ID string
+	 */
+	public String getShardId(final int shard) {
+		return shardIds[shard];
 	}
 
 	@Override
@@ -162,15 +333,15 @@ public class ShardMessageExtractor implements MessageExtractor {
 		if (cardinality == 0) {
 			return StringUtils.EMPTY;
 		}
-
-		final String key = key(message);
-		final FieldReader reader = FIELD_READERS.get(key);
-
-		if (reader == null) {
-			throw new NoFieldExtractorException(message);
+		if (message instanceof ShardBatch) {
+			return ((ShardBatch) message).getEntityId();
+		}
+		if (message instanceof AskDeadline) {
+			return entityId(((AskDeadline) message).getMessage());
 		}
 
-		final String entityId = reader.getShardEntityId(message);
+		final FieldReader reader = reader(message);
+		final String entityId = reader.getShardEntityId(message, cache);
 
 		return entityId;
 	}
@@ -184,9 +355,44 @@ public class ShardMessageExtractor implements MessageExtractor {
 		}
 	}
 
-	private String key(final Object message) {
+	/**
+	 * @param message the message
+	 * @return True if shard and entity ID can be read from the message
+	 */
+	public boolean isRoutable(final Object message) {
+		return message != null && READERS.get(message.getClass()).isDefined();
+	}
+
+	private FieldReader reader(final Object message) {
+
 		requireNonNull(message, "Message must not be null");
-		return message.getClass().getName();
+
+		final Option<FieldReader> reader = READERS.get(message.getClass());
+
+		if (reader.isDefined()) {
+			return reader.get();
+		}
+
+		throw new NoFieldExtractorException(message);
+	}
+
+	private ShardIdStrategy strategy(final Object message) {
+		return STRATEGIES.get(message.getClass()).getOrElse(strategy);
+	}
+
+	/**
+	 * @return The {@link EntityIdCache} with hit and miss metrics
+	 */
+	public EntityIdCache getEntityIdCache() {
+		return cache;
+	}
+
+	public ShardIdStrategy getStrategy() {
+		return strategy;
+	}
+
+	public int getCardinality() {
+		return cardinality;
 	}
 }
 
@@ -0,0 +1,220 @@
+package com.github.sarxos.abberwoult;
+
+import java.time.Duration;
+import java.util.Set;
+
+import org.apache.commons.lang3.StringUtils;
+import org.apache.commons.lang3.builder.ToStringBuilder;
+import org.eclipse.microprofile.config.Config;
+
+import com.github.sarxos.abberwoult.annotation.Sharded;
+
+import akka.actor.ActorSystem;
+import akka.cluster.sharding.ClusterShardingSettings;
+import io.vavr.control.Option;
+
+
+/**
+ * Immutable settings of the shard region of the {@link Sharded} entity class. The settings are
+ * read from the {@link Sharded} annotation in augmentation phase and can be overridden in runtime
+ * with the configuration properties prefixed with {@code akka.cluster.sharding.region.[name].},
+ * i.e.:
+ *
+ * <ul>
+ * <li>{@code shards} - the number of shards, when not set the
+ * {@value ShardMessageExtractor#CARDINALITY_PROP} is used,</li>
+ * <li>{@code role} - the cluster role of the nodes which host the entities,</li>
+ * <li>{@code remember-entities} - true if entities should be restarted after rebalance,</li>
+ * <li>{@code passivate-idle-after} - the idle time after which entity is passivated, 0 to
+ * disable, when not set the Akka default is used,</li>
+ * <li>{@code strategy} - the {@link ShardIdStrategy} name,</li>
+ * <li>{@code resharding.from-shards} - the old number of shards when region is being resharded,
+ * when not set and region uses the global number of shards, the
+ * {@value Resharding#FROM_CARDINALITY_PROP} is used, see {@link Resharding},</li>
+ * <li>{@code proxy-only} - true if this node should only route messages to the entities hosted
+ * on the other nodes.</li>
+ * </ul>
+ *
+ * A node which does not have the {@code role} of the region, or which is configured to be
+ * {@code proxy-only}, starts a shard region proxy instead of a full region, so entities are never
+ * allocated on it.
+ *
+ * @author Bartosz Firyn (sarxos)
+ */
+public final class ShardRegionSettings {
+
+	private static final String PREFIX = "akka.cluster.sharding.region.";
+
+	private final String actorClassName;
+	private final String name;
+	private final boolean autostart;
+	private final int shards;
+	private final Option<String> role;
+	private final boolean rememberEntities;
+	private final Option<Duration> passivateIdleAfter;
+	private final Option<String> strategy;
+	private final Option<Integer> fromShards;
+	private final boolean proxyOnly;
+
+	/**
+	 * @param actorClassName the entity actor class name
+	 * @param name the value of {@link Sharded#name()}
+	 * @param autostart the value of {@link Sharded#autostart()}
+	 * @param shards the value of {@link Sharded#shards()}, 0 if not set
+	 * @param role the value of {@link Sharded#role()}, empty if not set
+	 * @param rememberEntities the value of {@link Sharded#rememberEntities()}
+	 * @param passivateIdleAfter the value of {@link Sharded#passivateIdleAfter()} in seconds,
+	 *            negative if not set
+	 * @param strategy the value of {@link Sharded#strategy()}, empty if not set
+	 */
+	public ShardRegionSettings(final String actorClassName, final String name, final boolean autostart, final int shards, final String role, final boolean rememberEntities, final long passivateIdleAfter, final String strategy) {
+		this(
+			actorClassName,
+			name,
+			autostart,
+			shards,
+			Option.of(role).filter(StringUtils::isNotBlank),
+			rememberEntities,
+			passivateIdleAfter < 0 ? Option.none() : Option.of(Duration.ofSeconds(passivateIdleAfter)),
+			Option.of(strategy).filter(StringUtils::isNotBlank),
+			Option.none(),
+			false);
+	}
+
+	private ShardRegionSettings(final String actorClassName, final String name, final boolean autostart, final int shards, final Option<String> role, final boolean rememberEntities, final Option<Duration> passivateIdleAfter, final Option<String> strategy, final Option<Integer> fromShards, final boolean proxyOnly) {
+		this.actorClassName = actorClassName;
+		this.name = name;
+		this.autostart = autostart;
+		this.shards = shards;
+		this.role = role;
+		this.rememberEntities = rememberEntities;
+		this.passivateIdleAfter = passivateIdleAfter;
+		this.strategy = strategy;
+		this.fromShards = fromShards;
+		this.proxyOnly = proxyOnly;
+	}
+
+	/**
+	 * Override settings with the values from configuration.
+	 *
+	 * @param config the configuration
+	 * @return New {@link ShardRegionSettings}
+	 */
+	public ShardRegionSettings withConfig(final Config config) {
+
+		final int shards = value(config, "shards", Integer.class).getOrElse(this.shards);
+
+		return new ShardRegionSettings(
+			actorClassName,
+			name,
+			autostart,
+			shards,
+			value(config, "role", String.class).filter(StringUtils::isNotBlank).orElse(role),
+			value(config, "remember-entities", Boolean.class).getOrElse(rememberEntities),
+			value(config, "passivate-idle-after", Duration.class).orElse(passivateIdleAfter),
+			value(config, "strategy", String.class).filter(StringUtils::isNotBlank).orElse(strategy),
+			value(config, "resharding.from-shards", Integer.class)
+				.orElse(() -> shards == 0 ? Option.ofOptional(config.getOptionalValue(Resharding.FROM_CARDINALITY_PROP, Integer.class)) : Option.none())
+				.orElse(fromShards),
+			value(config, "proxy-only", Boolean.class).getOrElse(proxyOnly));
+	}
+
+	private <T> Option<T> value(final Config config, final String key, final Class<T> type) {
+		return Option.ofOptional(config.getOptionalValue(PREFIX + name + "." + key, type));
+	}
+
+	/**
+	 * @param system the actor system
+	 * @return The {@link ClusterShardingSettings} with the role, remember entities and passivation
+	 */
+	public ClusterShardingSettings toClusterShardingSettings(final ActorSystem system) {
+
+		ClusterShardingSettings settings = ClusterShardingSettings
+			.create(system)
+			.withRememberEntities(rememberEntities);
+
+		if (role.isDefined()) {
+			settings = settings.withRole(role.get());
+		}
+		if (passivateIdleAfter.isDefined()) {
+			settings = settings.withPassivateIdleAfter(passivateIdleAfter.get());
+		}
+
+		return settings;
+	}
+
+	/**
+	 * @param extractor the global extractor
+	 * @return The extractor with the number of shards and strategy of this region
+	 */
+	public ShardMessageExtractor toMessageExtractor(final ShardMessageExtractor extractor) {
+		return extractor
+			.withCardinality(shards > 0 ? shards : extractor.getCardinality())
+			.withStrategy(strategy.map(ShardIdStrategy::of).getOrElse(extractor.getStrategy()));
+	}
+
+	public String getActorClassName() {
+		return actorClassName;
+	}
+
+	public String getName() {
+		return name;
+	}
+
+	public boolean isAutostart() {
+		return autostart;
+	}
+
+	/**
+	 * @return The number of shards or 0 if global cardinality should be used
+	 */
+	public int getShards() {
+		return shards;
+	}
+
+	public Option<String> getRole() {
+		return role;
+	}
+
+	public boolean isRememberEntities() {
+		return rememberEntities;
+	}
+
+	public Option<Duration> getPassivateIdleAfter() {
+		return passivateIdleAfter;
+	}
+
+	public Option<String> getStrategy() {
+		return strategy;
+	}
+
+	/**
+	 * @return The old number of shards when region is being resharded
+	 */
+	public Option<Integer> getFromShards() {
+		return fromShards;
+	}
+
+	/**
+	 * @return True if this node is configured to start shard region proxy only
+	 */
+	public boolean isProxyOnly() {
+		return proxyOnly;
+	}
+
+	/**
+	 * Tells if entities can be hosted on a node with given roles. These can be hosted when node is
+	 * not configured to be proxy only and has the region role (if region has any).
+	 *
+	 * @param roles the roles of the cluster node
+	 * @return True if full region should be started, false if proxy should be started
+	 */
+	public boolean isHostedOn(final Set<String> roles) {
+		return !proxyOnly && role.map(roles::contains).getOrElse(true);
+	}
+
+	@Override
+	public String toString() {
+		return ToStringBuilder.reflectionToString(this);
+	}
+}
@@ -1,11 +1,24 @@
 package com.github.sarxos.abberwoult;
 
+import static com.github.sarxos.abberwoult.AskableActorUtils.failIfInvalid;
 import static com.github.sarxos.abberwoult.AskableActorUtils.throwIfThrowable;
+import static com.github.sarxos.abberwoult.AskableActorUtils.validate;
 
 import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CompletionStage;
 
+import javax.validation.Validator;
+
 import akka.actor.ActorRef;
+import akka.actor.ActorRefFactory;
+import akka.actor.Props;
+import akka.cluster.sharding.ShardRegion.MessageExtractor;
 import akka.pattern.Patterns;
 import akka.util.Timeout;
 
@@ -28,27 +41,222 @@ public class Sharding implements Askable<ShardRoutableMessage> {
 	 */
 	private final Duration timeout;
 
+	/**
+	 * The validator used to validate messages before they are send or null if messages should be
+	 * validated by the entity actors only.
+	 */
+	private final Validator validator;
+
+	/**
+	 * The extractor used by the shard region, used to group messages by shard and to read entity
+	 * IDs, or null if messages should not be batched.
+	 */
+	private final MessageExtractor extractor;
+
+	/**
+	 * True if messages sent to many entities of the same shard should be batched. Only
+	 * {@link SimpleShardEntityActor} entities unpack {@link ShardBatch}.
+	 */
+	private final boolean batching;
+
+	/**
+	 * The factory used to create {@link AskAllCollector} or null if {@link #askAll(Collection,
+	 * Duration)} is not supported.
+	 */
+	private final ActorRefFactory factory;
+
+	/**
+	 * The {@link AskMultiplexer} used to ask or null if {@link Patterns#ask} should be used.
+	 */
+	private final AskMultiplexer multiplexer;
+
+	/**
+	 * The {@link AskLimiter} of the shard region or null if asks are not limited.
+	 */
+	private final AskLimiter limiter;
+
+	/**
+	 * True if asked messages should be wrapped in {@link AskDeadline}.
+	 */
+	private final boolean deadline;
+
+	/**
+	 * The {@link AdaptiveAskTimeout} of the shard region or null if default timeout is used.
+	 */
+	private final AdaptiveAskTimeout adaptive;
+
 	/**
 	 * @param region the shard region
 	 * @param timeout the ask timeout
 	 */
 	Sharding(final ActorRef region, final Duration timeout) {
+		this(region, timeout, AskOptions.DEFAULT, null, false, null);
+	}
+
+	/**
+	 * @param region the shard region
+	 * @param timeout the ask timeout
+	 * @param options the {@link AskOptions} used to ask
+	 * @param extractor the extractor used by the shard region or null
+	 * @param batching true if entities are {@link SimpleShardEntityActor} and can unpack {@link ShardBatch}
+	 * @param factory the factory used to create reply collectors or null
+	 */
+	Sharding(final ActorRef region, final Duration timeout, final AskOptions options, final MessageExtractor extractor, final boolean batching, final ActorRefFactory factory) {
 		this.region = region;
 		this.timeout = timeout;
+		this.validator = options.getValidator();
+		this.extractor = extractor;
+		this.batching = batching && extractor != null;
+		this.factory = factory;
+		this.multiplexer = options.getMultiplexer();
+		this.limiter = options.getLimiters() == null ? null : options.getLimiters().get(region).getOrNull();
+		this.deadline = options.isDeadline();
+		this.adaptive = options.getAdaptive();
 	}
 
 	@Override
 	public <T> CompletionStage<T> ask(final ShardRoutableMessage message, final Duration timeout) {
-		return throwIfThrowable(Patterns.ask(region, message, timeout));
+
+		final CompletionStage<T> invalid = failIfInvalid(validator, message);
+		if (invalid != null) {
+			return invalid;
+		}
+
+		if (limiter != null) {
+			return limiter.ask(() -> doAsk(message, timeout));
+		}
+
+		return doAsk(message, timeout);
+	}
+
+	private <T> CompletionStage<T> doAsk(final ShardRoutableMessage message, final Duration timeout) {
+
+		if (adaptive != null) {
+			return adaptive.ask(() -> send(message, timeout));
+		}
+
+		return send(message, timeout);
+	}
+
+	private <T> CompletionStage<T> send(final ShardRoutableMessage message, final Duration timeout) {
+
+		final Object asked = deadline ? AskDeadline.wrap(message, timeout) : message;
+
+		if (multiplexer != null) {
+			return multiplexer.ask(region, asked, timeout);
+		}
+
+		return throwIfThrowable(Patterns.ask(region, asked, timeout));
 	}
 
 	@Override
 	public void tell(final ShardRoutableMessage message, ActorRef sender) {
+		validate(validator, message);
 		region.tell(message, sender);
 	}
 
+	/**
+	 * Send many messages at once. Messages are grouped by the shard ID and every group is sent in
+	 * a single {@link ShardBatch} envelope to the region hosting the shard, where it's unpacked so
+	 * every entity receives individual messages in the order in which they appear in the given
+	 * collection. This cuts the remoting overhead of the broadcast-like workloads where many
+	 * entities in the same shard are notified at once. Batches are unpacked by the
+	 * {@link SimpleShardEntityActor}, so when entities do not extend it, messages are sent one by
+	 * one.
+	 *
+	 * @param messages the messages to send
+	 * @param sender the sender
+	 */
+	public void tellAll(final Collection<? extends ShardRoutableMessage> messages, final ActorRef sender) {
+
+		for (final ShardRoutableMessage message : messages) {
+			validate(validator, message);
+		}
+
+		if (!batching) {
+			for (final ShardRoutableMessage message : messages) {
+				region.tell(message, sender);
+			}
+			return;
+		}
+
+		final Map<String, List<Object>> batches = new LinkedHashMap<>();
+
+		for (final ShardRoutableMessage message : messages) {
+			batches
+				.computeIfAbsent(extractor.shardId(message), shardId -> new ArrayList<>())
+				.add(message);
+		}
+
+		batches.forEach((shardId, batch) -> {
+			if (batch.size() == 1) {
+				region.tell(batch.get(0), sender);
+			} else {
+				region.tell(new ShardBatch(shardId, extractor.entityId(batch.get(0)), batch), sender);
+			}
+		});
+	}
+
+	/**
+	 * Send many messages at once without sender, see {@link #tellAll(Collection, ActorRef)}.
+	 *
+	 * @param messages the messages to send
+	 */
+	public void tellAll(final Collection<? extends ShardRoutableMessage> messages) {
+		tellAll(messages, ActorRef.noSender());
+	}
+
+	/**
+	 * Ask many entities at once and gather their replies. Messages are sent the same way as by
+	 * {@link #tellAll(Collection, ActorRef)}, with a single collector actor as a sender, which
+	 * correlates replies by the entity ID. The returned stage is completed when all entities
+	 * replied or, with partial result, when the timeout passes. It never completes exceptionally
+	 * because of the entity failures, these are collected in the {@link AskAllResult}. Only the
+	 * first reply of every entity is collected, so every message should be sent to a different
+	 * entity.
+	 *
+	 * @param messages the messages to send
+	 * @param timeout the deadline after which partial result is completed
+	 * @return Stage completed with the {@link AskAllResult}
+	 */
+	public <T> CompletionStage<AskAllResult<T>> askAll(final Collection<? extends ShardRoutableMessage> messages, final Duration timeout) {
+
+		if (extractor == null || factory == null) {
+			throw new UnsupportedOperationException("Sharding created without extractor or actor factory cannot gather replies");
+		}
+
+		for (final ShardRoutableMessage message : messages) {
+			final CompletionStage<AskAllResult<T>> invalid = failIfInvalid(validator, message);
+			if (invalid != null) {
+				return invalid;
+			}
+		}
+
+		final List<String> entityIds = new ArrayList<>(messages.size());
+		for (final ShardRoutableMessage message : messages) {
+			entityIds.add(extractor.entityId(message));
+		}
+
+		final CompletableFuture<AskAllResult<T>> future = new CompletableFuture<>();
+		final ActorRef collector = factory.actorOf(Props.create(AskAllCollector.class, entityIds, timeout, future));
+
+		tellAll(messages, collector);
+
+		return future;
+	}
+
+	/**
+	 * Ask many entities at once with default timeout, see {@link #askAll(Collection, Duration)}.
+	 *
+	 * @param messages the messages to send
+	 * @return Stage completed with the {@link AskAllResult}
+	 */
+	public <T> CompletionStage<AskAllResult<T>> askAll(final Collection<? extends ShardRoutableMessage> messages) {
+		return askAll(messages, timeout);
+	}
+
 	@Override
 	public Duration getTimeout() {
-		return timeout;
+		return adaptive == null ? timeout : adaptive.getTimeout();
 	}
 }
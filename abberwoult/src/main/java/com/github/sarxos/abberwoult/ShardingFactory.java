@@ -9,18 +9,30 @@ import javax.enterprise.inject.Produces;
 import javax.enterprise.inject.spi.InjectionPoint;
 import javax.inject.Inject;
 import javax.inject.Singleton;
+import javax.validation.Validator;
+
+import org.eclipse.microprofile.config.inject.ConfigProperty;
 
 import com.github.sarxos.abberwoult.annotation.NamedActor;
 import com.github.sarxos.abberwoult.config.AskTimeout;
+import com.github.sarxos.abberwoult.deployment.ShardAutostarter;
+import com.github.sarxos.abberwoult.util.ReflectionUtils;
 
+import akka.actor.ActorRef;
 import akka.actor.ActorSystem;
 import akka.cluster.sharding.ClusterSharding;
+import akka.cluster.sharding.ShardRegion.MessageExtractor;
+import io.vavr.control.Option;
 
 
 /**
  * This is factory bean which create {@link Sharding} instances which were annotated with {@link NamedActor}
  * annotation. A {@link NamedActor} annotation acts as a name of shard to be injected. The resultant
- * {@link Sharding} is {@link Askable}.
+ * {@link Sharding} is {@link Askable}. The {@link Sharding} sends messages to the region started
+ * by {@link ShardAutostarter}, which is either a full shard region or a shard region proxy,
+ * depending on the node role, so it works the same way on the nodes which do not host entities.
+ * Messages sent to many entities are batched only when the entities extend
+ * {@link SimpleShardEntityActor}, which unpacks {@link ShardBatch}.
  *
  * @author Bartosz Firyn (sarxos)
  */
@@ -32,15 +44,66 @@ public class ShardingFactory {
 	 */
 	private final ClusterSharding sharding;
 
+	/**
+	 * The starter of the regions of {@link com.github.sarxos.abberwoult.annotation.Sharded} entities.
+	 */
+	private final ShardAutostarter autostarter;
+
+	/**
+	 * The extractor used to batch messages sent to regions not started by {@link ShardAutostarter}.
+	 */
+	private final ShardMessageExtractor extractor;
+
+	/**
+	 * The actor system used to create reply collectors.
+	 */
+	private final ActorSystem system;
+
 	/**
 	 * Ask timeout.
 	 */
 	private final Duration timeout;
 
+	/**
+	 * The {@link AskOptions} shared by all created instances.
+	 */
+	private final AskOptions options;
+
+	/**
+	 * True if asked messages should carry {@link AskDeadline}, which is attached only when the
+	 * entities have generated receive.
+	 */
+	private final boolean deadline;
+
+	/**
+	 * The adaptive per-target ask timeouts.
+	 */
+	private final AskTimeouts timeouts;
+
 	@Inject
-	public ShardingFactory(final ClusterSharding sharding, @AskTimeout Duration timeout) {
+	public ShardingFactory(
+		final ClusterSharding sharding,
+		final ShardAutostarter autostarter,
+		final ShardMessageExtractor extractor,
+		final ActorSystem system,
+		@AskTimeout Duration timeout,
+		final Validator validator,
+		@ConfigProperty(name = AskableActorUtils.VALIDATE_PROP, defaultValue = AskableActorUtils.VALIDATE_DEFAULT) final boolean validate,
+		final AskMultiplexer multiplexer,
+		final AskLimiters limiters,
+		@ConfigProperty(name = AskableActorUtils.DEADLINE_PROP, defaultValue = AskableActorUtils.DEADLINE_DEFAULT) final boolean deadline,
+		final AskTimeouts timeouts) {
 		this.sharding = sharding;
+		this.autostarter = autostarter;
+		this.extractor = extractor;
+		this.system = system;
 		this.timeout = timeout;
+		this.options = AskOptions.DEFAULT
+			.withValidator(validate ? validator : null)
+			.withMultiplexer(multiplexer)
+			.withLimiters(limiters);
+		this.deadline = deadline;
+		this.timeouts = timeouts;
 	}
 
 	/**
@@ -53,6 +116,43 @@ public class ShardingFactory {
 	@Produces
 	@NamedActor
 	public Sharding create(final InjectionPoint injection) {
-		return new Sharding(sharding.shardRegion(getName(injection)), timeout);
+		final String name = getName(injection);
+		final AdaptiveAskTimeout adaptive = timeouts.get(name).getOrNull();
+		final AskOptions options = this.options
+			.withAdaptive(adaptive)
+			.withDeadline(deadline && entity(name).map(ActorMetadataRegistry::isReceiveGenerated).getOrElse(false));
+		return new Sharding(region(name), timeout, options, extractor(name), batching(name), system);
+	}
+
+	/**
+	 * Messages can be batched only when entities unpack {@link ShardBatch}, which is known only for
+	 * the regions started by {@link ShardAutostarter}.
+	 */
+	private boolean batching(final String name) {
+		return entity(name)
+			.map(SimpleShardEntityActor.class::isAssignableFrom)
+			.getOrElse(false);
+	}
+
+	/**
+	 * @return The entity class, known only for the regions started by {@link ShardAutostarter}
+	 */
+	private Option<Class<?>> entity(final String name) {
+		return autostarter
+			.getSettings(name)
+			.map(ShardRegionSettings::getActorClassName)
+			.map(ReflectionUtils::getClazz);
+	}
+
+	private MessageExtractor extractor(final String name) {
+		return autostarter
+			.getExtractor(name)
+			.getOrElse(extractor);
+	}
+
+	private ActorRef region(final String name) {
+		return autostarter
+			.getRegion(name)
+			.getOrElse(() -> sharding.shardRegion(name));
 	}
 }
@@ -1,11 +1,24 @@
 package com.github.sarxos.abberwoult;
 
+import java.io.UnsupportedEncodingException;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import com.github.sarxos.abberwoult.annotation.Received;
 import com.github.sarxos.abberwoult.dsl.Timeouts;
 
+import akka.Done;
 import akka.actor.ActorRef;
 import akka.actor.PoisonPill;
 import akka.actor.ReceiveTimeout;
 import akka.cluster.sharding.ShardRegion.Passivate;
+import io.vavr.Tuple;
+import io.vavr.Tuple2;
+import io.vavr.control.Option;
+import scala.PartialFunction;
+import scala.runtime.BoxedUnit;
 
 
 /**
@@ -30,6 +43,33 @@ public abstract class SimpleShardEntityActor extends SimpleActor implements Time
 	 */
 	private static final int RECEIVE_TIMEOUT = 300; // seconds
 
+	/**
+	 * The {@link Resharding} of the sharding this entity belongs to, resolved on the first message.
+	 */
+	private Option<Resharding> resharding;
+
+	/**
+	 * Messages held during the {@link Resharding} hand-off, together with their senders.
+	 */
+	private final List<Tuple2<Object, ActorRef>> held = new ArrayList<>(0);
+
+	/**
+	 * Set when entity has processed a routable message since it has been started or has stored
+	 * its state for the {@link Resharding} hand-off.
+	 */
+	private boolean dirty;
+
+	/**
+	 * Set when entity receives messages which are routed to the other shard in the new layout, so
+	 * it has to be handed off during {@link Resharding}.
+	 */
+	private boolean moved;
+
+	/**
+	 * Set when entity has been moved to the new shard and is being passivated.
+	 */
+	private boolean forwarded;
+
 	/**
 	 * Gracefully disposes this actor by sending {@link Passivate} message to parent shard. Disposal
 	 * is done with {@link Passivate} instead of a clean {@link PoisonPill} because if a message is
@@ -58,4 +98,127 @@ public abstract class SimpleShardEntityActor extends SimpleActor implements Time
 	public int getReceiveTimeout() {
 		return RECEIVE_TIMEOUT;
 	}
+
+	/**
+	 * When sharding is being resharded, every message received by the entity of the old layout
+	 * shard, which is moved to the new layout, is checked by the {@link Resharding} before it's
+	 * processed. Message is held while the shard is handed off and is sent back to the region when
+	 * the shard has been migrated, so the entity never processes it in the old shard. Entity which
+	 * has processed messages in the old shard after the ledger was updated elsewhere, but before
+	 * the update reached this node, calls {@link #handoff()} before it passivates.
+	 */
+	@Override
+	public void aroundReceive(final PartialFunction<Object, BoxedUnit> receive, final Object message) {
+
+		if (resharding == null) {
+			resharding = Resharding.of(getShardingName());
+		}
+
+		if (resharding.isDefined()) {
+			switch (resharding.get().route(getContext().getParent().path().name(), message)) {
+				case HOLD:
+					held.add(Tuple.of(message, getSender()));
+					return;
+				case FORWARD:
+					resharding.get().forward(message, getSender());
+					if (!forwarded) {
+						forwarded = true;
+						if (dirty) {
+							handoff();
+							dirty = false;
+						}
+						dispose();
+					}
+					return;
+				default:
+					if (message instanceof ShardRoutableMessage || message instanceof AskDeadline) {
+						dirty = true;
+						moved |= resharding.get().isMoved(message);
+					}
+					break;
+			}
+		}
+
+		super.aroundReceive(receive, message);
+	}
+
+	@Override
+	public void aroundPostStop() {
+		try {
+			super.aroundPostStop();
+		} finally {
+			release();
+		}
+	}
+
+	private String getShardingName() {
+		try {
+			return URLDecoder.decode(getSelf().path().parent().parent().name(), StandardCharsets.UTF_8.name());
+		} catch (UnsupportedEncodingException e) {
+			throw new IllegalStateException(e);
+		}
+	}
+
+	/**
+	 * Send held messages back to the region, which routes them again.
+	 */
+	private void release() {
+		if (resharding != null && resharding.isDefined()) {
+			held.forEach(entry -> resharding.get().forward(entry._1, entry._2));
+		}
+		held.clear();
+	}
+
+	/**
+	 * Receives {@link ReshardingHandoff} when the shard this entity belongs to is migrated to the
+	 * new shard layout. The entity calls {@link #handoff()} and confirms the hand-off. When the
+	 * hand-off is completed, the entity calls {@link #handoff()} once again if it has processed any
+	 * message since then (or since it has been started), sends held messages back to the region,
+	 * confirms and passivates. Entity which stays in the same shard only confirms the hand-off.
+	 *
+	 * @param handoff the hand-off message
+	 */
+	public void onReshardingHandoff(@Received final ReshardingHandoff handoff) {
+
+		if (moved) {
+			if (!handoff.isCompleted()) {
+				handoff();
+				dirty = false;
+			} else {
+				if (dirty) {
+					handoff();
+				}
+				release();
+				dispose();
+			}
+		}
+
+		getSender().tell(Done.getInstance(), getSelf());
+	}
+
+	/**
+	 * Receives {@link ShardBatch} with messages sent to many entities of the shard this entity
+	 * belongs to. Every message is sent to the parent shard which delivers it to the target entity
+	 * (this one included) locally, preserving the original sender and order.
+	 *
+	 * @param batch the batch of messages
+	 */
+	public void onShardBatch(@Received final ShardBatch batch) {
+
+		final ActorRef shard = getContext().getParent();
+		final ActorRef sender = getSender();
+
+		for (final Object message : batch.getMessages()) {
+			shard.tell(message, sender);
+		}
+	}
+
+	/**
+	 * Invoked before the entity is handed off to the new shard layout. Entity which keeps state
+	 * should store it here, so it can be restored when entity is started in the new shard. Does
+	 * nothing by default.
+	 */
+	protected void handoff() {
+		// override when needed
+	}
 }
@@ -0,0 +1,158 @@
+package com.github.sarxos.abberwoult;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.Parameter;
+
+import javax.enterprise.inject.UnsatisfiedResolutionException;
+
+import com.github.sarxos.abberwoult.cdi.BeanFactory.FieldInjecteeNotAvailableException;
+import com.github.sarxos.abberwoult.cdi.BeanFactory.ParameterInjecteeNotAvailableException;
+import com.github.sarxos.abberwoult.cdi.BeanFactory.UnsatisfiedParameterInjectionException;
+import com.github.sarxos.abberwoult.cdi.BeanLocator;
+
+import akka.actor.Actor;
+import akka.japi.Creator;
+
+
+/**
+ * This is a base class for the actor creators generated in augmentation phase for every indexed
+ * actor class. A generated creator calls actor constructor directly and assigns injectees by
+ * using static setters generated in the actor classes, so there is no reflection involved when
+ * actor is spawned. The {@link Field} and {@link Constructor} references which are required to
+ * locate injectees are resolved only once per actor class.<br>
+ * <br>
+ *
+ * When generated creator is not able to find constructor matching the arguments, it falls back to
+ * the reflection based {@link ActorCreator} which either finds the right one or throws exception
+ * explaining what is wrong.
+ *
+ * @author Bartosz Firyn (sarxos)
+ * @param <T> the actor type
+ */
+@SuppressWarnings("serial")
+public abstract class SyntheticActorCreator<T extends Actor> implements Creator<T> {
+
+	private final Class<T> clazz;
+	private final BeanLocator locator;
+	private final Object[] args;
+
+	/**
+	 * @param clazz the actor class
+	 * @param locator the {@link BeanLocator} used to locate injectable beans
+	 * @param args the actor constructor arguments
+	 */
+	protected SyntheticActorCreator(final Class<T> clazz, final BeanLocator locator, final Object[] args) {
+		this.clazz = clazz;
+		this.locator = locator;
+		this.args = args;
+	}
+
+	/**
+	 * Create new creator of the same type which will use given locator and arguments.
+	 *
+	 * @param locator the {@link BeanLocator} used to locate injectable beans
+	 * @param args the actor constructor arguments
+	 * @return New creator
+	 */
+	public abstract SyntheticActorCreator<T> withArguments(final BeanLocator locator, final Object[] args);
+
+	/**
+	 * Create and wire actor instance. This method is generated.
+	 *
+	 * @param args the actor constructor arguments
+	 * @return New actor or null if there is no constructor matching the arguments
+	 */
+	protected abstract T instantiate(final Object[] args);
+
+	@Override
+	public T create() {
+
+		final T instance = instantiate(args);
+		if (instance != null) {
+			return instance;
+		}
+
+		return new ActorCreator<T>(locator, clazz, args).create();
+	}
+
+	/**
+	 * Find bean to be injected into a given field.
+	 *
+	 * @param field the field
+	 * @return Injectee
+	 */
+	protected Object inject(final Field field) {
+
+		final Object injectee = locator.findBeanFor(field);
+		if (injectee != null) {
+			return injectee;
+		}
+
+		throw new FieldInjecteeNotAvailableException(field);
+	}
+
+	/**
+	 * Find bean to be injected into a given constructor parameter.
+	 *
+	 * @param constructor the constructor
+	 * @param parameters the constructor parameters
+	 * @param position the parameter position
+	 * @return Injectee
+	 */
+	protected Object inject(final Constructor<?> constructor, final Parameter[] parameters, final int position) {
+
+		final Parameter parameter = parameters[position];
+		final Object injectee;
+
+		try {
+			injectee = locator.findBeanFor(constructor, parameter, position);
+		} catch (UnsatisfiedResolutionException e) {
+			throw new UnsatisfiedParameterInjectionException(constructor, parameter, e);
+		}
+
+		if (injectee != null) {
+			return injectee;
+		}
+
+		throw new ParameterInjecteeNotAvailableException(parameter);
+	}
+
+	/**
+	 * Resolve field reference. Used in static initializer of the generated creator.
+	 *
+	 * @param clazz the declaring class
+	 * @param name the field name
+	 * @return Field reference
+	 */
+	protected static Field field(final Class<?> clazz, final String name) {
+		try {
+			return clazz.getDeclaredField(name);
+		} catch (NoSuchFieldException e) {
+			throw new IllegalStateException(e);
+		}
+	}
+
+	/**
+	 * Resolve constructor reference. Used in static initializer of the generated creator.
+	 *
+	 * @param clazz the declaring class
+	 * @param types the constructor parameter types
+	 * @return Constructor reference
+	 */
+	protected static Constructor<?> constructor(final Class<?> clazz, final Class<?>[] types) {
+		try {
+			return clazz.getDeclaredConstructor(types);
+		} catch (NoSuchMethodException e) {
+			throw new IllegalStateException(e);
+		}
+	}
+
+	public Class<T> getActorClass() {
+		return clazz;
+	}
+
+	public Object[] getArgs() {
+		return args;
+	}
+}
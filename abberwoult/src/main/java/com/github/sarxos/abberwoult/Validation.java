@@ -1,20 +1,110 @@
 package com.github.sarxos.abberwoult;
 
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 import javax.validation.ConstraintViolation;
 import javax.validation.Validator;
 
+import org.jboss.logging.Logger;
+
 import com.github.sarxos.abberwoult.dsl.Universe;
 import com.github.sarxos.abberwoult.exception.MessageHandlerValidationException;
+import com.github.sarxos.abberwoult.util.ReflectionUtils;
+
+import io.quarkus.runtime.annotations.Recorder;
 
 
+/**
+ * Validates messages received by the message handlers. A message is first checked by the synthetic
+ * {@link MessageValidator} generated for its class in augmentation phase and only when this one is
+ * not able to confirm message validity, the {@link Validator} is used to collect the constraint
+ * violations.<br>
+ * <br>
+ *
+ * This class acts as a {@link Recorder} at the augmentation time to register synthetic validators
+ * for the message classes.
+ *
+ * @author Bartosz Firyn (sarxos)
+ */
+@Recorder
 public class Validation {
 
+	private static final Logger LOG = Logger.getLogger(Validation.class);
+
+	/**
+	 * Mapping between message class name and synthetic validator class name.
+	 */
+	private static final Map<String, String> VALIDATORS = new ConcurrentHashMap<>();
+
+	/**
+	 * Names of the message classes validated by at least one message handler.
+	 */
+	private static final Set<String> VALIDATED = ConcurrentHashMap.newKeySet();
+
+	/**
+	 * Tells if message of a given class is validated by message handlers, resolved per class.
+	 */
+	private static final ClassValue<Boolean> VALIDABLE = new ClassValue<Boolean>() {
+
+		@Override
+		protected Boolean computeValue(final Class<?> type) {
+			return isValidated(type);
+		}
+	};
+
+	/**
+	 * Synthetic validators resolved per message class.
+	 */
+	private static final ClassValue<MessageValidator> RESOLVED = new ClassValue<MessageValidator>() {
+
+		@Override
+		protected MessageValidator computeValue(final Class<?> type) {
+			return resolve(type);
+		}
+	};
+
+	/**
+	 * Recording method used when this is {@link Recorder} to register synthetic validator for a
+	 * given message class.
+	 *
+	 * @param clazz the message class name
+	 * @param validator the synthetic {@link MessageValidator} class name
+	 */
+	public void register(final String clazz, final String validator) {
+		LOG.debugf("Record message validator %s", validator);
+		VALIDATORS.put(clazz, validator);
+	}
+
+	/**
+	 * Recording method used when this is {@link Recorder} to register message class which is
+	 * validated by at least one message handler.
+	 *
+	 * @param clazz the message class name
+	 */
+	public void registerValidated(final String clazz) {
+		LOG.debugf("Record validated message %s", clazz);
+		VALIDATED.add(clazz);
+	}
+
 	public static void validate(final Universe invoker, final Object message) {
+		validate(invoker.getUniverse().validator(), message);
+	}
+
+	/**
+	 * Validate message and throw {@link MessageHandlerValidationException} if it's not valid.
+	 *
+	 * @param validator the {@link Validator} used when synthetic validator cannot confirm validity
+	 * @param message the message to validate
+	 * @throws MessageHandlerValidationException when message is not valid
+	 */
+	public static void validate(final Validator validator, final Object message) {
+
+		if (RESOLVED.get(message.getClass()).isValid(message)) {
+			return;
+		}
 
-		final ActorUniverse universe = invoker.getUniverse();
-		final Validator validator = universe.validator();
 		final Set<ConstraintViolation<Object>> violations = validator.validate(message);
 
 		if (violations.isEmpty()) {
@@ -24,4 +114,65 @@ public class Validation {
 		throw new MessageHandlerValidationException(violations);
 	}
 
+	/**
+	 * Check if object is valid by using synthetic {@link MessageValidator}. This method is used by
+	 * the synthetic validators to cascade validation into the fields annotated with
+	 * {@link javax.validation.Valid}.
+	 *
+	 * @param object the object to check
+	 * @return True if object is null or valid, false if it's invalid or validity is unknown
+	 */
+	public static boolean isValid(final Object object) {
+		if (object == null) {
+			return true;
+		} else {
+			return RESOLVED.get(object.getClass()).isValid(object);
+		}
+	}
+
+	/**
+	 * Check if message of a given class is validated by message handlers, that is, if the class or
+	 * any of its supertypes is a type of message handler parameter annotated with
+	 * {@link javax.validation.Valid}.
+	 *
+	 * @param type the message class
+	 * @return True if message will be validated by receiver, false otherwise
+	 */
+	public static boolean isValidable(final Class<?> type) {
+		return VALIDABLE.get(type).booleanValue();
+	}
+
+	private static boolean isValidated(final Class<?> type) {
+
+		if (type == null) {
+			return false;
+		}
+		if (VALIDATED.contains(type.getName())) {
+			return true;
+		}
+
+		for (final Class<?> iface : type.getInterfaces()) {
+			if (isValidated(iface)) {
+				return true;
+			}
+		}
+
+		return isValidated(type.getSuperclass());
+	}
+
+	private static MessageValidator resolve(final Class<?> type) {
+
+		final String name = VALIDATORS.get(type.getName());
+
+		if (name == null) {
+			return MessageValidator.NONE;
+		}
+
+		try {
+			final Class<?> clazz = Class.forName(name, true, type.getClassLoader());
+			return (MessageValidator) ReflectionUtils.instantiate(clazz);
+		} catch (ClassNotFoundException e) {
+			throw new IllegalStateException(e);
+		}
+	}
 }
@@ -5,16 +5,21 @@ import static com.github.sarxos.abberwoult.cdi.BeanUtils.getQualifiers;
 import static java.util.Arrays.asList;
 
 import java.lang.annotation.Annotation;
+import java.lang.reflect.AnnotatedElement;
 import java.lang.reflect.Constructor;
 import java.lang.reflect.Field;
 import java.lang.reflect.Member;
 import java.lang.reflect.Parameter;
 import java.lang.reflect.Type;
 import java.util.HashSet;
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
 
 import javax.enterprise.context.spi.CreationalContext;
 import javax.enterprise.inject.Instance;
+import javax.enterprise.inject.spi.Bean;
 import javax.enterprise.inject.spi.BeanManager;
 import javax.enterprise.inject.spi.InjectionPoint;
 import javax.inject.Inject;
@@ -25,7 +30,14 @@ import io.quarkus.arc.impl.CurrentInjectionPointProvider.InjectionPointImpl;
 
 /**
  * This class is used to find beans which matches injection point signature. The injection point
- * here is the {@link Constructor} or a {@link Field} reference.
+ * here is the {@link Constructor} or a {@link Field} reference.<br>
+ * <br>
+ *
+ * The {@link InjectionPoint} created for a given {@link Field} or {@link Parameter} is cached, so
+ * it's built only once, no matter how many actors are wired. When the resolved bean is normal
+ * scoped or {@link Singleton}, the reference (a client proxy or the singleton instance) is cached
+ * as well and returned directly. Only {@link javax.enterprise.context.Dependent} beans, and beans
+ * which scope cannot be determined, are obtained from the container every time.
  *
  * @author Bartosz Firyn (sarxos)
  */
@@ -45,6 +57,14 @@ public class BeanLocator {
 	 */
 	private final Instance<Object> instance;
 
+	/**
+	 * Resolved injection points, the key is either {@link Field} or {@link Parameter}.
+	 */
+	private final Map<AnnotatedElement, ResolvedInjectionPoint> resolved = new ConcurrentHashMap<>();
+
+	private final LongAdder hits = new LongAdder();
+	private final LongAdder misses = new LongAdder();
+
 	/**
 	 * @param bm the {@link BeanManager} from CDI SPI
 	 */
@@ -64,10 +84,19 @@ public class BeanLocator {
 	 * @return Bean which matches {@link Parameter}
 	 */
 	public Object findBeanFor(final Constructor<?> constructor, final Parameter parameter, final int position) {
+
+		final ResolvedInjectionPoint rip = resolved.get(parameter);
+		if (rip != null) {
+			hits.increment();
+			return rip.get();
+		}
+
+		misses.increment();
+
 		final Type type = parameter.getParameterizedType();
 		final Set<Annotation> annotations = asSet(getAnnotations(parameter));
 		final Set<Annotation> qualifiers = asSet(getQualifiers(parameter));
-		return findBean(type, qualifiers, annotations, constructor, position);
+		return findBean(parameter, type, qualifiers, annotations, constructor, position);
 	}
 
 	/**
@@ -77,18 +106,91 @@ public class BeanLocator {
 	 * @return Matching bean
 	 */
 	public Object findBeanFor(final Field field) {
+
+		final ResolvedInjectionPoint rip = resolved.get(field);
+		if (rip != null) {
+			hits.increment();
+			return rip.get();
+		}
+
+		misses.increment();
+
 		final Type type = field.getGenericType();
 		final Set<Annotation> annotations = asSet(getAnnotations(field));
 		final Set<Annotation> qualifiers = asSet(getQualifiers(field));
-		return findBean(type, qualifiers, annotations, field, NO_POSITION);
+		return findBean(field, type, qualifiers, annotations, field, NO_POSITION);
 	}
 
-	private Object findBean(final Type type, final Set<Annotation> qualifiers, final Set<Annotation> annotations, final Member member, final int position) {
+	private Object findBean(final AnnotatedElement key, final Type type, final Set<Annotation> qualifiers, final Set<Annotation> annotations, final Member member, final int position) {
+
 		final InjectionPoint ip = new InjectionPointImpl(type, type, qualifiers, null, annotations, member, position);
+		final Object reference = getInjectableReference(ip);
+
+		// do not hold the reference if bean has to be created for every injection point, the
+		// injection point is cached anyway
+
+		if (isShareable(type, qualifiers)) {
+			resolved.putIfAbsent(key, new ResolvedInjectionPoint(ip, reference));
+		} else {
+			resolved.putIfAbsent(key, new ResolvedInjectionPoint(ip, null));
+		}
+
+		return reference;
+	}
+
+	private Object getInjectableReference(final InjectionPoint ip) {
 		final CreationalContext<Object> ctx = bm.createCreationalContext(null);
 		return bm.getInjectableReference(ip, ctx);
 	}
 
+	/**
+	 * Check if the reference to a bean of given type and qualifiers can be shared between the
+	 * injection points, i.e. if bean is normal scoped (the reference is a client proxy) or if it's
+	 * a {@link Singleton}.
+	 *
+	 * @param type the bean type
+	 * @param qualifiers the bean qualifiers
+	 * @return True if reference can be shared, false otherwise
+	 */
+	private boolean isShareable(final Type type, final Set<Annotation> qualifiers) {
+
+		final Bean<?> bean;
+		try {
+			bean = bm.resolve(bm.getBeans(type, qualifiers.toArray(new Annotation[qualifiers.size()])));
+		} catch (RuntimeException e) {
+			return false;
+		}
+
+		if (bean == null) {
+			return false;
+		}
+
+		final Class<? extends Annotation> scope = bean.getScope();
+
+		return scope == Singleton.class || bm.isNormalScope(scope);
+	}
+
+	/**
+	 * @return Number of injection point lookups served from the cache
+	 */
+	public long getCacheHits() {
+		return hits.sum();
+	}
+
+	/**
+	 * @return Number of injection point lookups which had to be resolved by the container
+	 */
+	public long getCacheMisses() {
+		return misses.sum();
+	}
+
+	/**
+	 * @return Number of cached injection points
+	 */
+	public int getCacheSize() {
+		return resolved.size();
+	}
+
 	/**
 	 * Find bean for a given type and given qualifiers.
 	 *
@@ -109,4 +211,27 @@ public class BeanLocator {
 	private static Set<Annotation> asSet(Annotation[] array) {
 		return new HashSet<>(asList(array));
 	}
+
+	/**
+	 * An {@link InjectionPoint} resolved once, together with the reference to the bean if this one
+	 * can be shared.
+	 */
+	private final class ResolvedInjectionPoint {
+
+		private final InjectionPoint ip;
+		private final Object reference;
+
+		ResolvedInjectionPoint(final InjectionPoint ip, final Object reference) {
+			this.ip = ip;
+			this.reference = reference;
+		}
+
+		Object get() {
+			if (reference != null) {
+				return reference;
+			} else {
+				return getInjectableReference(ip);
+			}
+		}
+	}
 }
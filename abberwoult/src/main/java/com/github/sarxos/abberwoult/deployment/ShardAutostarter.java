@@ -1,35 +1,52 @@
 package com.github.sarxos.abberwoult.deployment;
 
-import static java.util.Collections.synchronizedSet;
+import static java.util.concurrent.CompletableFuture.supplyAsync;
 
-import java.util.Collection;
-import java.util.HashMap;
-import java.util.LinkedHashSet;
+import java.time.Duration;
 import java.util.Map;
-import java.util.function.Function;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
 
 import javax.enterprise.event.Observes;
+import javax.enterprise.inject.Instance;
 import javax.inject.Inject;
 import javax.inject.Singleton;
 
+import org.eclipse.microprofile.config.Config;
 import org.jboss.logging.Logger;
 
-import com.github.sarxos.abberwoult.ActorUniverse;
+import com.github.sarxos.abberwoult.Propser;
+import com.github.sarxos.abberwoult.Resharding;
+import com.github.sarxos.abberwoult.ReshardingLedger;
+import com.github.sarxos.abberwoult.ReshardingMessageExtractor;
+import com.github.sarxos.abberwoult.ShardMessageExtractor;
+import com.github.sarxos.abberwoult.ShardRegionSettings;
 import com.github.sarxos.abberwoult.annotation.Sharded;
+import com.github.sarxos.abberwoult.config.AskTimeout;
 import com.github.sarxos.abberwoult.util.ActorUtils;
 import com.github.sarxos.abberwoult.util.ReflectionUtils;
 
 import akka.actor.Actor;
 import akka.actor.ActorRef;
-import akka.cluster.sharding.Shard;
+import akka.actor.ActorSystem;
+import akka.cluster.Cluster;
+import akka.cluster.sharding.ClusterSharding;
+import akka.cluster.sharding.ShardRegion.MessageExtractor;
 import io.quarkus.runtime.StartupEvent;
 import io.quarkus.runtime.annotations.Recorder;
+import io.vavr.control.Option;
 
 
 /**
- * This is a singleton bean which intercepts {@link StartupEvent} and start all actors annotated
- * with the {@link Sharded} annotation which has {@link Sharded#autostart()} set to true (it's set
- * to true by default).
+ * This is a singleton bean which intercepts {@link StartupEvent} and start shard regions of all
+ * entity actors annotated with the {@link Sharded} annotation which has {@link Sharded#autostart()}
+ * set to true (it's set to true by default). Every region is started with its own
+ * {@link ShardRegionSettings} read from the annotation and overridden by the configuration. The
+ * regions are started in parallel since every start blocks until sharding guardian replies. On
+ * the nodes which should not host entities of a given sharding, i.e. which do not have the role of
+ * the region or are configured to be proxy only, a shard region proxy is started instead, so these
+ * only route messages to the entities hosted elsewhere. When the region is being resharded, the
+ * migration of its local shards is started right after the region, see {@link Resharding}.
  *
  * @author Bartosz Firyn (sarxos)
  */
@@ -40,77 +57,204 @@ public class ShardAutostarter {
 	private static final Logger LOG = Logger.getLogger(ShardAutostarter.class);
 
 	/**
-	 * The list of {@link Actor} classes annotated with {@link Shard} annotation, detected in
-	 * augmentation phase.
+	 * The settings of shard regions detected in augmentation phase, mapped by sharding name.
 	 */
-	private static final Collection<String> SHARDS = synchronizedSet(new LinkedHashSet<>());
+	private static final Map<String, ShardRegionSettings> SHARDS = new ConcurrentHashMap<>();
 
 	/**
-	 * A mapping between class name and corresponding actor reference.
+	 * A mapping between entity class name and corresponding shard region reference.
 	 */
-	private final Map<String, ActorRef> references = new HashMap<>();
+	private final Map<String, ActorRef> references = new ConcurrentHashMap<>();
 
 	/**
-	 * Injected actor universe which is used to spawn actor instances.
+	 * A mapping between sharding name and corresponding shard region (or proxy) reference.
 	 */
-	private final ActorUniverse universe;
+	private final Map<String, ActorRef> regions = new ConcurrentHashMap<>();
 
 	/**
-	 * Constructor used when this class is instantiated as a {@link Singleton}.
+	 * A mapping between sharding name and the message extractor used by its region.
+	 */
+	private final Map<String, MessageExtractor> extractors = new ConcurrentHashMap<>();
+
+	/**
+	 * A mapping between sharding name and the {@link Resharding} of its region.
+	 */
+	private final Map<String, Resharding> reshardings = new ConcurrentHashMap<>();
+
+	private final ActorSystem system;
+	private final Instance<ClusterSharding> sharding;
+	private final Propser propser;
+	private final ShardMessageExtractor extractor;
+	private final Config config;
+	private final Duration timeout;
+
+	/**
+	 * Constructor used when this class is instantiated as a {@link Singleton}. The
+	 * {@link ClusterSharding} is resolved lazily, so it's not required when there are no sharded
+	 * entities.
 	 *
-	 * @param universe the actor universe later used to spawn actor instances
+	 * @param system the actor system
+	 * @param sharding the {@link ClusterSharding} used to start regions
+	 * @param propser the factory of entity actors {@link akka.actor.Props}
+	 * @param extractor the global {@link ShardMessageExtractor}
+	 * @param config the configuration used to override region settings
+	 * @param timeout the timeout used by {@link ReshardingLedger}
 	 */
 	@Inject
-	public ShardAutostarter(final ActorUniverse universe) {
-		this.universe = universe;
+	public ShardAutostarter(final ActorSystem system, final Instance<ClusterSharding> sharding, final Propser propser, final ShardMessageExtractor extractor, final Config config, @AskTimeout final Duration timeout) {
+		this.system = system;
+		this.sharding = sharding;
+		this.propser = propser;
+		this.extractor = extractor;
+		this.config = config;
+		this.timeout = timeout;
 	}
 
 	/**
 	 * Constructor used when this class is instantiated as a {@link Recorder}.
 	 */
 	public ShardAutostarter() {
-		this.universe = null;
+		this.system = null;
+		this.sharding = null;
+		this.propser = null;
+		this.extractor = null;
+		this.config = null;
+		this.timeout = null;
 	}
 
 	/**
 	 * Event interceptor which listen for {@link StartupEvent} to be emitted and start all recorded
-	 * autostartable actors.
+	 * autostartable shard regions.
 	 *
 	 * @param event the event to be intercepted
 	 */
 	void onStart(@Observes final StartupEvent event) {
-		startAllRecordedActors();
+		startAllRecordedShards();
 	}
 
 	/**
-	 * Register autostartable actor class.
+	 * Recording method used when this is {@link Recorder} to register sharded entity class.
 	 *
-	 * @param clazz the actor class
+	 * @param clazz the entity actor class name
+	 * @param name the sharding name
+	 * @param autostart true if region should be started on startup
+	 * @param shards the number of shards, 0 for global cardinality
+	 * @param role the cluster role, empty for all nodes
+	 * @param rememberEntities true if entities should be remembered
+	 * @param passivateIdleAfter the passivation idle time in seconds, negative for Akka default
+	 * @param strategy the shard ID strategy name, empty for global strategy
 	 */
-	public void register(final String clazz) {
-		SHARDS.add(clazz);
-		LOG.infof("Registered actor %s", clazz);
+	public void register(final String clazz, final String name, final boolean autostart, final int shards, final String role, final boolean rememberEntities, final long passivateIdleAfter, final String strategy) {
+		SHARDS.put(name, new ShardRegionSettings(clazz, name, autostart, shards, role, rememberEntities, passivateIdleAfter, strategy));
+		LOG.infof("Registered sharding %s of %s", name, clazz);
 	}
 
-	private void startAllRecordedActors() {
-		LOG.infof("Autostarting actors %s", SHARDS.size());
-		SHARDS.stream()
-			.map(this::loadClass)
-			.peek(clazz -> LOG.infof("Autostarting sharding %s", clazz))
-			.forEach(clazz -> references.computeIfAbsent(clazz.getName(), start(clazz)));
+	private void startAllRecordedShards() {
+
+		LOG.infof("Autostarting shardings %s", SHARDS.size());
+
+		final CompletableFuture<?>[] starts = SHARDS.values().stream()
+			.filter(ShardRegionSettings::isAutostart)
+			.map(settings -> settings.withConfig(config))
+			.map(settings -> supplyAsync(() -> start(settings)))
+			.toArray(CompletableFuture[]::new);
+
+		CompletableFuture
+			.allOf(starts)
+			.join();
 	}
 
-	private Class<? extends Actor> loadClass(String clazz) {
-		return ActorUtils.toActorClass(ReflectionUtils.getClazz(clazz));
+	private ActorRef start(final ShardRegionSettings settings) {
+
+		LOG.infof("Autostarting sharding %s", settings);
+
+		final Class<? extends Actor> clazz = loadClass(settings.getActorClassName());
+		final ShardMessageExtractor to = settings.toMessageExtractor(extractor);
+		final Option<Integer> from = settings.getFromShards().filter(shards -> shards != to.getCardinality());
+
+		final ReshardingLedger ledger;
+		final MessageExtractor regionExtractor;
+
+		if (from.isDefined()) {
+			ledger = new ReshardingLedger(system, settings.getName(), from.get(), timeout);
+			regionExtractor = new ReshardingMessageExtractor(to.withCardinality(from.get()), to, ledger::isMigrated);
+		} else {
+			ledger = null;
+			regionExtractor = to;
+		}
+
+		final boolean hosted = settings.isHostedOn(Cluster.get(system).getSelfRoles());
+		final ActorRef region;
+
+		if (hosted) {
+			region = sharding.get().start(
+				settings.getName(),
+				propser.props(clazz),
+				settings.toClusterShardingSettings(system),
+				regionExtractor);
+		} else {
+			LOG.infof("Sharding %s is not hosted on this node, starting proxy", settings.getName());
+			region = sharding.get().startProxy(
+				settings.getName(),
+				settings.getRole().toJavaOptional(),
+				regionExtractor);
+		}
+
+		if (hosted && ledger != null) {
+			final Resharding resharding = new Resharding(settings.getName(), region, (ReshardingMessageExtractor) regionExtractor, ledger, timeout);
+			final Duration interval = Duration.ofMillis(config.getOptionalValue(Resharding.MIGRATE_INTERVAL_PROP, Long.class).orElse(Resharding.MIGRATE_INTERVAL_DEFAULT));
+			resharding.start(system.scheduler(), system.dispatcher(), interval);
+			reshardings.put(settings.getName(), resharding);
+		}
+
+		references.put(clazz.getName(), region);
+		regions.put(settings.getName(), region);
+		extractors.put(settings.getName(), regionExtractor);
+
+		return region;
 	}
 
-	private Function<String, ActorRef> start(final Class<? extends Actor> clazz) {
-		return className -> universe.actor()
-			.of(clazz)
-			.create();
+	private Class<? extends Actor> loadClass(final String clazz) {
+		return ActorUtils.toActorClass(ReflectionUtils.getClazz(clazz));
 	}
 
+	/**
+	 * @param clazz the entity actor class
+	 * @return The shard region of a given entity class or null if it has not been started
+	 */
 	public ActorRef getRef(final Class<? extends Actor> clazz) {
 		return references.get(clazz.getName());
 	}
+
+	/**
+	 * @param name the sharding name
+	 * @return The shard region or proxy of a given sharding or none if it has not been started
+	 */
+	public Option<ActorRef> getRegion(final String name) {
+		return Option.of(regions.get(name));
+	}
+
+	/**
+	 * @param name the sharding name
+	 * @return The message extractor used by the region or none if region has not been started
+	 */
+	public Option<MessageExtractor> getExtractor(final String name) {
+		return Option.of(extractors.get(name));
+	}
+
+	/**
+	 * @param name the sharding name
+	 * @return The settings of the sharding or none if sharding has not been registered
+	 */
+	public Option<ShardRegionSettings> getSettings(final String name) {
+		return Option.of(SHARDS.get(name)).map(settings -> settings.withConfig(config));
+	}
+
+	/**
+	 * @param name the sharding name
+	 * @return The {@link Resharding} of the region or none if region is not being resharded
+	 */
+	public Option<Resharding> getResharding(final String name) {
+		return Option.of(reshardings.get(name));
+	}
 }
@@ -0,0 +1,16 @@
+package com.github.sarxos.abberwoult.exception;
+
+/**
+ * The exception with which ask fails immediately when the number of asks in flight to the target
+ * reached the limit set by {@link com.github.sarxos.abberwoult.AskLimiter}. Unlike ask timeout, it
+ * means that message has not been sent at all.
+ *
+ * @author Bartosz Firyn (sarxos)
+ */
+@SuppressWarnings("serial")
+public class AskRejectedException extends IllegalStateException {
+
+	public AskRejectedException(final String target, final int limit) {
+		super("Ask to " + target + " rejected, the limit of " + limit + " asks in flight has been reached");
+	}
+}
@@ -1,32 +1,25 @@
 package com.github.sarxos.abberwoult.util;
 
-import static com.github.sarxos.abberwoult.util.ReflectionUtils.getAnnotationFromClass;
-
 import java.util.Objects;
 
-import org.apache.commons.lang3.StringUtils;
-
+import com.github.sarxos.abberwoult.ActorMetadata;
+import com.github.sarxos.abberwoult.ActorMetadataRegistry;
 import com.github.sarxos.abberwoult.AskableActorRef;
 import com.github.sarxos.abberwoult.AskableActorSelection;
 import com.github.sarxos.abberwoult.annotation.Dispatcher;
 import com.github.sarxos.abberwoult.annotation.Mailbox;
-import com.github.sarxos.abberwoult.annotation.NamedActor;
 
 import akka.actor.Actor;
 import akka.actor.ActorRef;
 import akka.actor.ActorSelection;
 import akka.actor.PoisonPill;
-import akka.dispatch.Dispatchers;
-import akka.dispatch.Mailboxes;
 import io.vavr.control.Option;
 
 
 public class ActorUtils {
 
-	private static final String USER = "user";
-
-	public static final String DEFAULT_MAILBOX_ID = Mailboxes.DefaultMailboxId();
-	public static final String DEFAULT_MESSAGE_DISPATCHER_ID = Dispatchers.DefaultDispatcherId();
+	public static final String DEFAULT_MAILBOX_ID = ActorMetadata.DEFAULT_MAILBOX_ID;
+	public static final String DEFAULT_MESSAGE_DISPATCHER_ID = ActorMetadata.DEFAULT_MESSAGE_DISPATCHER_ID;
 
 	/**
 	 * Return actor name. Only the latest actor in inheritance tree is scanned for name.
@@ -35,16 +28,9 @@ public class ActorUtils {
 	 * @return Actor name
 	 */
 	public static Option<String> getActorName(final Class<? extends Actor> clazz) {
-		return Option
-			.of(clazz.getAnnotation(NamedActor.class))
-			.map(NamedActor::value)
-			.map(label -> {
-				if (StringUtils.equals(label, NamedActor.UNKNOWN)) {
-					return clazz.getName();
-				} else {
-					return label;
-				}
-			});
+		return ActorMetadataRegistry
+			.get(clazz)
+			.getName();
 	}
 
 	/**
@@ -55,10 +41,9 @@ public class ActorUtils {
 	 * @return Dispatcher name
 	 */
 	public static final String getMessageDispatcherId(final Class<? extends Actor> clazz) {
-		return Option
-			.of(getAnnotationFromClass(clazz, Dispatcher.class))
-			.map(Dispatcher::value)
-			.getOrElse(DEFAULT_MESSAGE_DISPATCHER_ID);
+		return ActorMetadataRegistry
+			.get(clazz)
+			.getDispatcher();
 	}
 
 	/**
@@ -69,16 +54,15 @@ public class ActorUtils {
 	 * @return Dispatcher name
 	 */
 	public static final String getMailboxId(final Class<? extends Actor> clazz) {
-		return Option
-			.of(getAnnotationFromClass(clazz, Mailbox.class))
-			.map(Mailbox::value)
-			.getOrElse(DEFAULT_MAILBOX_ID);
+		return ActorMetadataRegistry
+			.get(clazz)
+			.getMailbox();
 	}
 
 	public static String getActorPath(final Class<? extends Actor> clazz) {
-		final String name = getActorName(clazz).getOrElse(clazz::getName);
-		final String path = "/" + USER + "/" + name;
-		return path;
+		return ActorMetadataRegistry
+			.get(clazz)
+			.getPath();
 	}
 
 	public static boolean equals(final ActorRef a, final ActorRef b) {
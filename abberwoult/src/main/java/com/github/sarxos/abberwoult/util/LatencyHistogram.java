@@ -0,0 +1,118 @@
+package com.github.sarxos.abberwoult.util;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+
+/**
+ * A lock-free log-linear histogram of latencies. Every power of two range is split into 8 linear
+ * sub-buckets, so the recorded values are approximated with at most 12.5% error, and the whole
+ * positive long range fits into fixed array of 488 counters. Recording is a single atomic
+ * increment and percentiles are computed by walking counters. Old samples can be aged with
+ * {@link #decay()} which halves all the counters, so the histogram follows changes in latency.
+ *
+ * @author Bartosz Firyn (sarxos)
+ */
+public final class LatencyHistogram {
+
+	/**
+	 * The number of bits used to address sub-bucket within a power of two range.
+	 */
+	private static final int SUB_BITS = 3;
+	private static final int SUB_COUNT = 1 << SUB_BITS;
+	private static final int SUB_MASK = SUB_COUNT - 1;
+	private static final int BUCKETS = (64 - SUB_BITS) * SUB_COUNT;
+
+	private final AtomicLongArray counts = new AtomicLongArray(BUCKETS);
+
+	/**
+	 * Record the value.
+	 *
+	 * @param value the value, negative values are recorded as zero
+	 */
+	public void record(final long value) {
+		counts.incrementAndGet(index(Math.max(0, value)));
+	}
+
+	/**
+	 * Get the value below which a given fraction of recorded values fall. The returned value is
+	 * the upper bound of the bucket, so it's never lower than the exact percentile.
+	 *
+	 * @param percentile the percentile in range [0, 1], e.g. 0.99 for p99
+	 * @return The percentile value or zero if no values were recorded
+	 */
+	public long getPercentile(final double percentile) {
+
+		if (percentile < 0 || percentile > 1) {
+			throw new IllegalArgumentException("Percentile must be in range [0, 1], but was " + percentile);
+		}
+
+		final long[] snapshot = new long[BUCKETS];
+		long total = 0;
+
+		for (int i = 0; i < BUCKETS; i++) {
+			total += snapshot[i] = counts.get(i);
+		}
+
+		if (total == 0) {
+			return 0;
+		}
+
+		final long rank = Math.max(1, (long) Math.ceil(percentile * total));
+		long seen = 0;
+
+		for (int i = 0; i < BUCKETS; i++) {
+			seen += snapshot[i];
+			if (seen >= rank) {
+				return upper(i);
+			}
+		}
+
+		return upper(BUCKETS - 1);
+	}
+
+	/**
+	 * @return The number of recorded values (after decay)
+	 */
+	public long getCount() {
+		long total = 0;
+		for (int i = 0; i < BUCKETS; i++) {
+			total += counts.get(i);
+		}
+		return total;
+	}
+
+	/**
+	 * Halve all counters, so the recent values weight more than the older ones.
+	 */
+	public void decay() {
+		for (int i = 0; i < BUCKETS; i++) {
+			counts.getAndUpdate(i, count -> count >>> 1);
+		}
+	}
+
+	static int index(final long value) {
+
+		if (value < SUB_COUNT) {
+			return (int) value;
+		}
+
+		final int exponent = 63 - Long.numberOfLeadingZeros(value);
+		final int sub = (int) (value >>> (exponent - SUB_BITS)) & SUB_MASK;
+
+		return (exponent - SUB_BITS + 1) * SUB_COUNT + sub;
+	}
+
+	static long upper(final int index) {
+
+		if (index < SUB_COUNT) {
+			return index;
+		}
+
+		final int exponent = index / SUB_COUNT - 1 + SUB_BITS;
+		final int sub = index & SUB_MASK;
+
+		// overflows to Long.MAX_VALUE for the very last bucket
+
+		return ((long) (SUB_COUNT + sub + 1) << (exponent - SUB_BITS)) - 1;
+	}
+}
@@ -0,0 +1,142 @@
+package com.github.sarxos.abberwoult.util;
+
+import static java.util.Objects.requireNonNull;
+
+import java.io.PrintStream;
+import java.util.Arrays;
+
+import com.github.sarxos.abberwoult.ShardIdStrategy;
+
+
+/**
+ * Shows how a sample of shard IDs is spread over the shards by a given {@link ShardIdStrategy}.
+ * This should be used to compare strategies on the real IDs before the strategy is rolled out,
+ * because the spread depends on how the hash codes of the IDs are distributed. Example:<br>
+ *
+ * <pre>
+ * ShardDistribution
+ * 	.of(ShardIdStrategy.JUMP, 100, ids)
+ * 	.print(System.out);
+ * </pre>
+ *
+ * The hash codes are computed the same way as in the generated field readers, i.e. by
+ * {@link Object#hashCode()}, so the shard IDs of primitive types should be passed boxed.
+ *
+ * @author Bartosz Firyn (sarxos)
+ */
+public final class ShardDistribution {
+
+	private final ShardIdStrategy strategy;
+	private final int[] counts;
+	private final long total;
+
+	private ShardDistribution(final ShardIdStrategy strategy, final int[] counts, final long total) {
+		this.strategy = strategy;
+		this.counts = counts;
+		this.total = total;
+	}
+
+	/**
+	 * Map sample of shard IDs into the shards.
+	 *
+	 * @param strategy the {@link ShardIdStrategy} to check
+	 * @param cardinality the number of shards
+	 * @param ids the sample of shard IDs
+	 * @return New {@link ShardDistribution}
+	 */
+	public static ShardDistribution of(final ShardIdStrategy strategy, final int cardinality, final Iterable<?> ids) {
+
+		requireNonNull(strategy, "Strategy must not be null");
+		requireNonNull(ids, "Shard IDs must not be null");
+
+		if (cardinality <= 0) {
+			throw new IllegalArgumentException("Cardinality must be positive but is " + cardinality);
+		}
+
+		final int[] counts = new int[cardinality];
+		long total = 0;
+
+		for (final Object id : ids) {
+			counts[strategy.shard(requireNonNull(id, "Shard ID must not be null").hashCode(), cardinality)]++;
+			total++;
+		}
+
+		return new ShardDistribution(strategy, counts, total);
+	}
+
+	/**
+	 * @return Number of shard IDs mapped into each shard, where the index is the shard number
+	 */
+	public int[] getCounts() {
+		return counts.clone();
+	}
+
+	public int getCardinality() {
+		return counts.length;
+	}
+
+	public long getTotal() {
+		return total;
+	}
+
+	public int getMin() {
+		return Arrays.stream(counts).min().getAsInt();
+	}
+
+	public int getMax() {
+		return Arrays.stream(counts).max().getAsInt();
+	}
+
+	public double getMean() {
+		return (double) total / counts.length;
+	}
+
+	public double getStandardDeviation() {
+
+		final double mean = getMean();
+		double sum = 0;
+
+		for (final int count : counts) {
+			sum += (count - mean) * (count - mean);
+		}
+
+		return Math.sqrt(sum / counts.length);
+	}
+
+	/**
+	 * @return The ratio between the largest shard and the mean, where 1.0 is a perfect spread
+	 */
+	public double getSkew() {
+		return total == 0 ? 0 : getMax() / getMean();
+	}
+
+	public int getEmpty() {
+		return (int) Arrays.stream(counts).filter(count -> count == 0).count();
+	}
+
+	/**
+	 * Print the summary and the size of every shard.
+	 *
+	 * @param out the output
+	 */
+	public void print(final PrintStream out) {
+		out.println(this);
+		for (int i = 0; i < counts.length; i++) {
+			out.printf("%6d %10d%n", i, counts[i]);
+		}
+	}
+
+	@Override
+	public String toString() {
+		return String.format("%s: ids=%d shards=%d min=%d max=%d mean=%.2f stddev=%.2f skew=%.3f empty=%d",
+			strategy.getClass().getSimpleName(),
+			total,
+			counts.length,
+			getMin(),
+			getMax(),
+			getMean(),
+			getStandardDeviation(),
+			getSkew(),
+			getEmpty());
+	}
+}
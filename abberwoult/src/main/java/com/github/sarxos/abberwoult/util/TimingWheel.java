@@ -0,0 +1,258 @@
+package com.github.sarxos.abberwoult.util;
+
+import java.time.Duration;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.locks.LockSupport;
+
+import org.jboss.logging.Logger;
+
+
+/**
+ * A hashed timing wheel used to expire large number of short living tasks, e.g. ask timeouts. It
+ * trades precision for throughput, a task expires within one tick after its deadline, but both
+ * scheduling and cancellation are constant time and do not allocate anything but the task itself.
+ * Tasks are scheduled by many threads through the lock-free queue and then placed in the wheel
+ * buckets by the single worker thread which is the only one touching the buckets. Cancelled tasks
+ * are passed to the worker through another lock-free queue and are unlinked from their bucket on
+ * the next tick, so these are not referenced by the wheel until their deadline.
+ *
+ * @author Bartosz Firyn (sarxos)
+ */
+public final class TimingWheel implements AutoCloseable {
+
+	private static final Logger LOG = Logger.getLogger(TimingWheel.class);
+
+	/**
+	 * A task to be expired by the wheel. The task instance can be scheduled only once.
+	 */
+	public abstract static class Task {
+
+		private long deadline;
+		private long rounds;
+		private int bucket = -1;
+		private Task next;
+		private Task previous;
+		private volatile TimingWheel wheel;
+		private volatile boolean cancelled;
+
+		/**
+		 * Cancel the task, so it will not expire.
+		 */
+		public void cancel() {
+
+			if (cancelled) {
+				return;
+			}
+
+			cancelled = true;
+
+			final TimingWheel wheel = this.wheel;
+			if (wheel != null) {
+				wheel.cancellations.add(this);
+			}
+		}
+
+		public boolean isCancelled() {
+			return cancelled;
+		}
+
+		/**
+		 * Invoked by the worker thread when deadline passed. Must not block.
+		 */
+		protected abstract void expire();
+	}
+
+	private final long tick;
+	private final int mask;
+	private final Task[] buckets;
+	private final Queue<Task> incoming = new ConcurrentLinkedQueue<>();
+	private final Queue<Task> cancellations = new ConcurrentLinkedQueue<>();
+	private final long start = System.nanoTime();
+	private final Thread worker;
+
+	private volatile boolean running = true;
+
+	/**
+	 * Only accessed by the worker thread.
+	 */
+	private long ticks;
+
+	/**
+	 * The number of tasks in buckets, only updated by the worker thread.
+	 */
+	private volatile int pending;
+
+	/**
+	 * @param name the worker thread name
+	 * @param tick the tick duration
+	 * @param size the number of buckets, rounded up to the power of two
+	 */
+	public TimingWheel(final String name, final Duration tick, final int size) {
+
+		if (tick.isNegative() || tick.isZero()) {
+			throw new IllegalArgumentException("Tick must be positive, but was " + tick);
+		}
+		if (size <= 0) {
+			throw new IllegalArgumentException("Size must be positive, but was " + size);
+		}
+
+		final int capacity = size == 1 ? 1 : Integer.highestOneBit(size - 1) << 1;
+
+		this.tick = tick.toNanos();
+		this.mask = capacity - 1;
+		this.buckets = new Task[capacity];
+		this.worker = new Thread(this::run, name);
+		this.worker.setDaemon(true);
+		this.worker.start();
+	}
+
+	/**
+	 * Schedule task to expire after a given delay.
+	 *
+	 * @param task the task
+	 * @param delay the delay after which task expires
+	 * @return The same task
+	 */
+	public <T extends Task> T schedule(final T task, final Duration delay) {
+		final Task scheduled = task;
+		scheduled.deadline = System.nanoTime() - start + delay.toNanos();
+		scheduled.wheel = this;
+		incoming.add(scheduled);
+		return task;
+	}
+
+	/**
+	 * @return The number of buckets
+	 */
+	public int getSize() {
+		return buckets.length;
+	}
+
+	/**
+	 * @return The number of tasks placed in the buckets
+	 */
+	public int getPending() {
+		return pending;
+	}
+
+	@Override
+	public void close() {
+		running = false;
+		worker.interrupt();
+	}
+
+	private void run() {
+		while (running) {
+
+			final long wakeup = (ticks + 1) * tick;
+			final long sleep = wakeup - (System.nanoTime() - start);
+
+			if (sleep > 0) {
+				LockSupport.parkNanos(this, sleep);
+				continue;
+			}
+
+			transfer();
+			unlinkCancelled();
+			expireBucket((int) (ticks & mask));
+
+			ticks++;
+		}
+	}
+
+	private void transfer() {
+
+		Task task;
+
+		while ((task = incoming.poll()) != null) {
+
+			if (task.cancelled) {
+				continue;
+			}
+
+			final long due = Math.max(task.deadline / tick, ticks);
+			final int index = (int) (due & mask);
+
+			task.rounds = (due - ticks) / buckets.length;
+			link(task, index);
+		}
+	}
+
+	private void unlinkCancelled() {
+
+		Task task;
+
+		while ((task = cancellations.poll()) != null) {
+			unlink(task);
+		}
+	}
+
+	private void expireBucket(final int index) {
+
+		Task task = buckets[index];
+
+		while (task != null) {
+
+			final Task next = task.next;
+
+			if (task.cancelled) {
+				unlink(task);
+			} else if (task.rounds <= 0) {
+				unlink(task);
+				expire(task);
+			} else {
+				task.rounds--;
+			}
+
+			task = next;
+		}
+	}
+
+	private void link(final Task task, final int index) {
+
+		final Task head = buckets[index];
+
+		task.bucket = index;
+		task.previous = null;
+		task.next = head;
+
+		if (head != null) {
+			head.previous = task;
+		}
+
+		buckets[index] = task;
+		pending++;
+	}
+
+	private void unlink(final Task task) {
+
+		// already expired, unlinked or never placed in the bucket
+
+		if (task.bucket < 0) {
+			return;
+		}
+
+		if (task.previous == null) {
+			buckets[task.bucket] = task.next;
+		} else {
+			task.previous.next = task.next;
+		}
+		if (task.next != null) {
+			task.next.previous = task.previous;
+		}
+
+		task.bucket = -1;
+		task.next = null;
+		task.previous = null;
+		pending--;
+	}
+
+	private void expire(final Task task) {
+		try {
+			task.expire();
+		} catch (Throwable e) {
+			LOG.errorf(e, "Task %s failed to expire", task);
+		}
+	}
+}